@@ -0,0 +1,66 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/AuditProperties.java
+ * @description Paramètres de l'écriture asynchrone du journal d'audit (file, lots, contre-pression)
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.audit")
+@Data
+public class AuditProperties {
+
+    /**
+     * false : écriture synchrone dans le thread de la requête (comportement historique)
+     */
+    private boolean async = true;
+
+    /**
+     * Nombre maximal d'événements en attente d'écriture
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Taille maximale d'un lot JDBC ; un lot plein déclenche une écriture immédiate
+     */
+    private int batchSize = 200;
+
+    /**
+     * Délai maximal avant écriture d'un lot incomplet
+     */
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    /**
+     * Politique appliquée lorsque la file est pleine
+     */
+    private Backpressure backpressure = Backpressure.BLOCK;
+
+    /**
+     * Attente maximale en mode BLOCK avant abandon de l'événement
+     */
+    private Duration blockTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Fichier de débordement (une ligne JSON par événement), rejoué au démarrage
+     */
+    private String spillFile = "data/audit-spill.jsonl";
+
+    /**
+     * Temps accordé à la vidange de la file à l'arrêt de l'application
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /**
+     * BLOCK : l'appelant attend une place (blockTimeout)
+     * DROP_OLDEST : l'événement le plus ancien est abandonné
+     * SPILL : l'événement est écrit dans le fichier de débordement
+     */
+    public enum Backpressure {
+        BLOCK, DROP_OLDEST, SPILL
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/CatalogSearchProperties.java
+ * @description Paramètres du moteur de recherche catalogue (FULLTEXT MySQL ou LIKE)
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.catalog.search")
+@Data
+public class CatalogSearchProperties {
+
+    /**
+     * FULLTEXT : index MySQL avec classement par pertinence
+     * LIKE : recherche historique LOWER(col) LIKE '%terme%' (compatible H2)
+     */
+    private Engine engine = Engine.LIKE;
+
+    /**
+     * Longueur minimale d'un mot indexé (innodb_ft_min_token_size)
+     */
+    private int minTokenLength = 3;
+
+    public enum Engine {
+        LIKE, FULLTEXT
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/EntityCacheConfig.java
+ * @description Cache de second niveau Hibernate : gestionnaire JCache Caffeine en mémoire, une région bornée par entrée de configuration
+ */
+package com.example.gestioncommerciale.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+@Slf4j
+public class EntityCacheConfig {
+
+    /**
+     * Gestionnaire propre au contexte Spring (URI unique) : deux contextes d'un même JVM ne partagent pas leurs régions
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("entity-cache-" + UUID.randomUUID()), EntityCacheConfig.class.getClassLoader());
+        properties.getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+            if (region.getExpireAfterWrite() != null) {
+                configuration.setExpireAfterWrite(OptionalLong.of(region.getExpireAfterWrite().toNanos()));
+            }
+            // Compteurs Caffeine (succès, échecs, évictions) lus par EntityCacheService
+            configuration.setNativeStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+        });
+        log.info("Cache de second niveau : {} région(s) {}", properties.getRegions().size(), properties.getRegions().keySet());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateCustomizer(CacheManager entityCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/EntityCacheProperties.java
+ * @description Régions du cache de second niveau Hibernate : taille maximale et durée de vie par région
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.entity-cache")
+@Data
+public class EntityCacheProperties {
+
+    /**
+     * Régions déclarées (nom utilisé dans @Cache ou dans l'indication de requête) ;
+     * une région absente fait échouer le démarrage
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+
+        /**
+         * Nombre maximal d'entrées (éviction LRU/fréquence au-delà)
+         */
+        private long maxSize = 1000;
+
+        /**
+         * Durée de vie après écriture : filet de sécurité contre les modifications faites hors application.
+         * Absente : pas d'expiration (obligatoire pour la région des horodatages de tables)
+         */
+        private Duration expireAfterWrite;
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/ExportProperties.java
+ * @description Paramètres des exports CSV en flux (curseur JDBC, tampon d'écriture)
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.export")
+@Data
+public class ExportProperties {
+
+    /**
+     * Nombre de lignes rapatriées par aller-retour du curseur JDBC
+     * (MySQL : nécessite useCursorFetch=true dans l'URL)
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Taille du tampon d'écriture vers la réponse HTTP, en caractères
+     */
+    private int bufferSize = 64 * 1024;
+}
@@ -0,0 +1,30 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/ImportProperties.java
+ * @description Paramètres des imports CSV en masse (taille des lots, reprise, rapport d'erreurs)
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.import")
+@Data
+public class ImportProperties {
+
+    /**
+     * Lignes écrites par lot JDBC, chaque lot dans sa propre transaction
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Répertoire des fichiers reçus, points de reprise et rapports d'erreurs
+     */
+    private String workDir = "data/imports";
+
+    /**
+     * Erreurs conservées en mémoire pour l'affichage ; le rapport complet reste sur disque
+     */
+    private int maxDisplayedErrors = 100;
+}
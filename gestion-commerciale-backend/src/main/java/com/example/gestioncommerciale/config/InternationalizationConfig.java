@@ -17,6 +17,11 @@ import java.util.Locale;
 @Configuration
 public class InternationalizationConfig implements WebMvcConfigurer {
     
+    /**
+     * Langue de référence : celle des colonnes name/description du catalogue (sans traduction)
+     */
+    public static final Locale BASE_LOCALE = Locale.FRENCH;
+    
     /**
      * LocaleResolver pour gérer les langues en session
      * Ordre de priorité : URL > paramètre lang > Accept-Language > défaut FR
@@ -24,7 +29,7 @@ public class InternationalizationConfig implements WebMvcConfigurer {
     @Bean
     public LocaleResolver localeResolver() {
         SessionLocaleResolver resolver = new SessionLocaleResolver();
-        resolver.setDefaultLocale(Locale.FRENCH); // Défaut : français
+        resolver.setDefaultLocale(BASE_LOCALE); // Défaut : français
         return resolver;
     }
     
@@ -0,0 +1,25 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/InvoicingProperties.java
+ * @description Paramètres de la facturation par lot (parallélisme, taille des lots)
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.invoicing")
+@Data
+public class InvoicingProperties {
+
+    /**
+     * Nombre de partitions client traitées en parallèle (borne aussi les connexions utilisées)
+     */
+    private int parallelism = 4;
+
+    /**
+     * Nombre de commandes facturées par transaction (et donc entre deux points de reprise)
+     */
+    private int chunkSize = 200;
+}
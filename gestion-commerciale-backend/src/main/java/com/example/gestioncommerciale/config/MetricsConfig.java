@@ -0,0 +1,26 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/MetricsConfig.java
+ * @description Métriques des vues : durée de rendu des gabarits Thymeleaf et des fragments HTMX
+ */
+package com.example.gestioncommerciale.config;
+
+import com.example.gestioncommerciale.service.instrumentation.ViewRenderMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ViewRenderMetricsInterceptor(meterRegistry));
+    }
+}
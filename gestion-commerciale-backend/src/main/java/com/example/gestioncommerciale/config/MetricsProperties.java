@@ -0,0 +1,21 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/MetricsProperties.java
+ * @description Paramètres d'exposition des métriques (collecte Prometheus)
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.metrics")
+@Data
+public class MetricsProperties {
+
+    /**
+     * /actuator/prometheus lisible sans authentification : collecte locale (profil dev) uniquement ;
+     * sinon réservé au rôle ADMIN, le collecteur s'authentifie en HTTP Basic
+     */
+    private boolean anonymousScrape = false;
+}
@@ -0,0 +1,32 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/PageAssemblyProperties.java
+ * @description Paramètres de l'assemblage parallèle des pages de liste (parallélisme, délai par page)
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.page-assembly")
+@Data
+public class PageAssemblyProperties {
+
+    /**
+     * false : sections exécutées l'une après l'autre dans le thread de la requête (diagnostic, comparaison)
+     */
+    private boolean parallel = true;
+
+    /**
+     * Threads partagés par toutes les pages ; chacun tient au plus une connexion JDBC pendant sa section
+     */
+    private int parallelism = 8;
+
+    /**
+     * Délai de la page entière : au-delà, section facultative remplacée par sa valeur de repli, page en erreur sinon
+     */
+    private Duration deadline = Duration.ofSeconds(3);
+}
@@ -0,0 +1,25 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/SearchIndexProperties.java
+ * @description Paramètres des index d'autocomplétion en mémoire (produits, contacts)
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.search-index")
+@Data
+public class SearchIndexProperties {
+
+    /**
+     * Construit les index au démarrage ; sinon la recherche instantanée interroge la base
+     */
+    private boolean enabled = true;
+
+    /**
+     * Nombre de lignes lues par requête lors du chargement initial
+     */
+    private int loadBatchSize = 5000;
+}
@@ -21,10 +21,12 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, MetricsProperties metricsProperties) throws Exception {
         http
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/login", "/css/**", "/js/**", "/images/**").permitAll()
+                .requestMatchers(publicActuatorEndpoints(metricsProperties)).permitAll()  // Sonde, collecte locale (dev)
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/**").hasAnyRole("ADMIN", "MANAGER")
                 .requestMatchers("/admin/**").hasRole("ADMIN")
                 .requestMatchers("/manager/**").hasAnyRole("ADMIN","MANAGER")
@@ -59,6 +61,15 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Santé toujours publique ; métriques Prometheus publiques seulement si la collecte anonyme est activée
+     */
+    private static String[] publicActuatorEndpoints(MetricsProperties metricsProperties) {
+        return metricsProperties.isAnonymousScrape()
+            ? new String[] {"/actuator/health", "/actuator/prometheus"}
+            : new String[] {"/actuator/health"};
+    }
+
     @Bean
     public UserDetailsService userDetailsService() {
         UserDetails admin = User.builder()
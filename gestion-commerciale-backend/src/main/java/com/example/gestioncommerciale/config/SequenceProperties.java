@@ -0,0 +1,44 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/SequenceProperties.java
+ * @description Paramètres de numérotation séquentielle (politique de trous, taille des blocs)
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.sequence")
+@Data
+public class SequenceProperties {
+
+    /**
+     * STRICT : un numéro par appel, verrou de ligne dans la transaction appelante (aucun trou)
+     * ALLOW_GAPS : réservation de blocs en mémoire (trous possibles au redémarrage ou rollback)
+     */
+    private GapPolicy gapPolicy = GapPolicy.STRICT;
+
+    /**
+     * Taille de bloc par défaut en mode ALLOW_GAPS
+     */
+    private int defaultBlockSize = 20;
+
+    /**
+     * Taille de bloc par type de séquence (PRODUCT, CUSTOMER, ...)
+     */
+    private Map<String, Integer> blockSizes = new HashMap<>();
+
+    public enum GapPolicy {
+        STRICT, ALLOW_GAPS
+    }
+
+    public int blockSizeFor(String type) {
+        Integer size = blockSizes.get(type);
+        int resolved = (size != null) ? size : defaultBlockSize;
+        return Math.max(resolved, 1);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/SqlInstrumentationConfig.java
+ * @description Instrumentation SQL : source de données mandataire, filtre HTTP, budgets des contrôleurs, méthodes de service, sessions Hibernate
+ */
+package com.example.gestioncommerciale.config;
+
+import com.example.gestioncommerciale.service.instrumentation.QueryBudgetInterceptor;
+import com.example.gestioncommerciale.service.instrumentation.SqlActivityListener;
+import com.example.gestioncommerciale.service.instrumentation.SqlRequestFilter;
+import com.example.gestioncommerciale.service.instrumentation.SqlServiceMethodInterceptor;
+import com.example.gestioncommerciale.service.instrumentation.SqlSessionListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.sql-instrumentation", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SqlInstrumentationConfig implements WebMvcConfigurer {
+
+    /**
+     * Enveloppe la source de données (pool Hikari conservé derrière, accessible par unwrap)
+     */
+    @Bean
+    public static BeanPostProcessor sqlInstrumentedDataSource(ObjectProvider<SqlInstrumentationProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                SqlInstrumentationProperties settings = properties.getObject();
+                SqlActivityListener listener = new SqlActivityListener(settings.isEnforceBudgets());
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource).listener(listener);
+                if (settings.isCountRows()) {
+                    builder.proxyResultSet().methodListener(listener);
+                }
+                log.info("Instrumentation SQL de la source de données {} (lignes comptées : {}, budgets appliqués : {})",
+                    beanName, settings.isCountRows(), settings.isEnforceBudgets());
+                return builder.build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlRequestFilter> sqlRequestFilter(SqlInstrumentationProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlRequestFilter> registration =
+            new FilterRegistrationBean<>(new SqlRequestFilter(properties, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    /**
+     * Autour de la transaction des services (ordre 0, avant l'intercepteur transactionnel)
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor sqlServiceMethodAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            new AnnotationMatchingPointcut(Service.class, true), new SqlServiceMethodInterceptor(meterRegistry));
+        advisor.setOrder(0);
+        return advisor;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlSessionListenerCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+            SqlSessionListener.class.getName());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor());
+    }
+}
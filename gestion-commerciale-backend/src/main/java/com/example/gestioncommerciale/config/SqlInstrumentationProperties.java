@@ -0,0 +1,52 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/SqlInstrumentationProperties.java
+ * @description Paramètres de l'instrumentation SQL par requête HTTP et par méthode de service
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.sql-instrumentation")
+@Data
+public class SqlInstrumentationProperties {
+
+    /**
+     * false : source de données non instrumentée, aucun compteur ni en-tête
+     */
+    private boolean enabled = true;
+
+    /**
+     * Lignes lues comptées (appels ResultSet.next) ; coût d'un proxy par ResultSet
+     */
+    private boolean countRows = true;
+
+    /**
+     * En-tête de diagnostic X-Query-Count sur chaque réponse
+     */
+    private boolean exposeHeader = false;
+
+    /**
+     * Requête journalisée avec son détail SQL au-delà de cette durée...
+     */
+    private Duration slowRequestThreshold = Duration.ofSeconds(1);
+
+    /**
+     * ... ou de ce nombre de requêtes SQL
+     */
+    private int slowRequestStatements = 50;
+
+    /**
+     * Requêtes distinctes listées dans le journal des requêtes lentes
+     */
+    private int breakdownSize = 10;
+
+    /**
+     * Mode test : la requête SQL qui dépasse le {@code @QueryBudget} du point d'entrée échoue
+     */
+    private boolean enforceBudgets = false;
+}
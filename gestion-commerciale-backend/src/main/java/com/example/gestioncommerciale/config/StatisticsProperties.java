@@ -0,0 +1,33 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/StatisticsProperties.java
+ * @description Paramètres du cache des compteurs de tableau de bord
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.statistics")
+@Data
+public class StatisticsProperties {
+
+    /**
+     * Durée de vie des compteurs en cache ; les écritures des services les invalident plus tôt.
+     * Zéro désactive le cache.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * Seuil (en jours) au-delà duquel un contact est considéré sans suivi récent
+     */
+    private int staleContactDays = 30;
+
+    /**
+     * Relances échues affichées avec les compteurs (les plus anciennes) ; le total reste dans {@code overdue}
+     */
+    private int followupListSize = 20;
+}
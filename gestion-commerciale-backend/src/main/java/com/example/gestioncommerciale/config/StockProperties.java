@@ -0,0 +1,32 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/StockProperties.java
+ * @description Paramètres du journal de stock (compactage périodique des mouvements anciens)
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.stock")
+@Data
+public class StockProperties {
+
+    /**
+     * Délai entre deux compactages du journal (0 : compactage périodique désactivé)
+     */
+    private Duration compactionInterval = Duration.ofHours(6);
+
+    /**
+     * Âge à partir duquel les mouvements d'un produit sont fusionnés en un instantané
+     */
+    private Duration compactionRetention = Duration.ofDays(90);
+
+    /**
+     * Nombre de produits compactés par transaction
+     */
+    private int compactionBatchSize = 500;
+}
@@ -0,0 +1,64 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/VirtualThreadsConfig.java
+ * @description Mode threads virtuels (profil virtual-threads, Java 21+) : garde du pool JDBC et détection d'épinglage
+ */
+package com.example.gestioncommerciale.config;
+
+import com.example.gestioncommerciale.service.VirtualThreadPinningDetector;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Actif seulement si spring.threads.virtual.enabled et JVM 21+ : Tomcat et l'exécuteur de tâches Spring
+ * passent alors sur des threads virtuels, sans borne de concurrence autre que le pool JDBC
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadsConfig {
+
+    /**
+     * Refuse le démarrage si le pool Hikari dépasse le plafond ou fait attendre trop longtemps :
+     * des milliers de requêtes concurrentes ne doivent ni ouvrir autant de connexions MySQL ni s'empiler sans fin
+     */
+    @Bean
+    public InitializingBean hikariPoolGuard(DataSource dataSource, VirtualThreadsProperties properties) {
+        return () -> {
+            HikariDataSource hikari = unwrapHikari(dataSource);
+            if (hikari == null) {
+                log.warn("Threads virtuels : source de données non Hikari, pool JDBC non contrôlé");
+                return;
+            }
+            if (hikari.getMaximumPoolSize() > properties.getMaxPoolSize()) {
+                throw new IllegalStateException("Threads virtuels : pool Hikari de " + hikari.getMaximumPoolSize()
+                    + " connexions au-delà du plafond app.virtual-threads.max-pool-size=" + properties.getMaxPoolSize());
+            }
+            if (hikari.getConnectionTimeout() > properties.getMaxConnectionWait().toMillis()) {
+                throw new IllegalStateException("Threads virtuels : attente de connexion de " + hikari.getConnectionTimeout()
+                    + " ms au-delà de app.virtual-threads.max-connection-wait=" + properties.getMaxConnectionWait());
+            }
+            log.info("Threads virtuels actifs : pool Hikari {} connexions, attente maximale {} ms",
+                hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    public VirtualThreadPinningDetector virtualThreadPinningDetector(VirtualThreadsProperties properties) {
+        return new VirtualThreadPinningDetector(properties);
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) throws SQLException {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari;
+        }
+        return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+    }
+}
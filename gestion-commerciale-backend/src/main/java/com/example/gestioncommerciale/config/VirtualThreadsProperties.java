@@ -0,0 +1,38 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/config/VirtualThreadsProperties.java
+ * @description Paramètres du mode threads virtuels (plafond du pool JDBC, détection d'épinglage)
+ */
+package com.example.gestioncommerciale.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.virtual-threads")
+@Data
+public class VirtualThreadsProperties {
+
+    /**
+     * Plafond du pool Hikari en mode virtuel : les requêtes ne sont plus bornées par le pool Tomcat,
+     * seul le pool JDBC protège MySQL (démarrage refusé au-delà)
+     */
+    private int maxPoolSize = 40;
+
+    /**
+     * Attente maximale d'une connexion JDBC en mode virtuel (démarrage refusé au-delà)
+     */
+    private Duration maxConnectionWait = Duration.ofSeconds(5);
+
+    /**
+     * Durée d'épinglage d'un thread virtuel à partir de laquelle elle est signalée
+     */
+    private Duration pinningThreshold = Duration.ofMillis(20);
+
+    /**
+     * Nombre de frames journalisées par site d'épinglage
+     */
+    private int pinningStackDepth = 8;
+}
@@ -4,6 +4,8 @@
  */
 package com.example.gestioncommerciale.controller;
 
+import com.example.gestioncommerciale.service.StatisticsService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -13,9 +15,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import java.util.Locale;
 
 @Controller
+@RequiredArgsConstructor
 @Slf4j
 public class HomeController {
     
+    private final StatisticsService statisticsService;
+    
     /**
      * Page d'accueil localisée
      */
@@ -37,7 +42,7 @@ public class HomeController {
         model.addAttribute("currentLang", lang);
         model.addAttribute("pageTitle", "nav.home");
         
-        // Statistiques simulées (remplacer par de vraies données plus tard)
+        // Statistiques réelles
         model.addAttribute("stats", getHomeStats());
         
         return "index";
@@ -52,16 +57,9 @@ public class HomeController {
     }
     
     /**
-     * Statistiques pour la page d'accueil (simulées)
+     * Statistiques pour la page d'accueil (compteurs agrégés et mis en cache)
      */
-    private Object getHomeStats() {
-        // Retourner des statistiques simulées
-        // À remplacer par de vraies données depuis les services
-        return new Object() {
-            public final int customers = 1234;
-            public final int products = 567;
-            public final int orders = 89;
-            public final int invoices = 45;
-        };
+    private StatisticsService.HomeStats getHomeStats() {
+        return statisticsService.homeStats();
     }
 }
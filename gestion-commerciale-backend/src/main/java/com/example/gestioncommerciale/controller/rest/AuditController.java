@@ -0,0 +1,27 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/AuditController.java
+ * @description Contrôleur REST exposant les métriques de l'écriture asynchrone de l'audit
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.service.AuditLogWriter;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+
+    private final AuditLogWriter auditLogWriter;
+
+    public AuditController(AuditLogWriter auditLogWriter) {
+        this.auditLogWriter = auditLogWriter;
+    }
+
+    /**
+     * Profondeur de file, événements écrits/abandonnés/débordés et latence d'écriture des lots
+     */
+    @GetMapping("/metrics")
+    public AuditLogWriter.Metrics metrics() {
+        return auditLogWriter.metrics();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/CategoryController.java
+ * @description Contrôleur REST de lecture des catégories, paginé par curseur
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.TranslationDTO;
+import com.example.gestioncommerciale.service.catalog.CatalogTranslations;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.instrumentation.QueryBudget;
+import com.example.gestioncommerciale.service.pagination.KeysetWindow;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/categories")
+public class CategoryController {
+
+    private static final int MAX_SIZE = 200;
+
+    private final CategoryService categoryService;
+    private final CatalogTranslations catalogTranslations;
+
+    public CategoryController(CategoryService categoryService, CatalogTranslations catalogTranslations) {
+        this.categoryService = categoryService;
+        this.catalogTranslations = catalogTranslations;
+    }
+
+    /**
+     * Tranche suivante après le curseur reçu (nextCursor de la réponse précédente)
+     */
+    @GetMapping
+    @QueryBudget(4)
+    public KeysetWindow<CategoryDTO> list(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Long parentId,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "sortOrder") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor
+    ) {
+        return categoryService.scroll(active, parentId, search,
+            Sort.by(Sort.Direction.fromString(direction), sort), Math.min(Math.max(size, 1), MAX_SIZE), cursor);
+    }
+
+    /**
+     * Enregistre la traduction d'une catégorie (étiquette de langue : en, en-GB...)
+     */
+    @PutMapping("/{id}/translations/{locale}")
+    public ResponseEntity<Void> putTranslation(@PathVariable Long id, @PathVariable String locale,
+                                               @Valid @RequestBody TranslationDTO translation) {
+        categoryService.getById(id);
+        catalogTranslations.putCategoryTranslation(id, Locale.forLanguageTag(locale), translation);
+        return ResponseEntity.noContent().build();
+    }
+}
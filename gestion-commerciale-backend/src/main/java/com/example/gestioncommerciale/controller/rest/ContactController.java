@@ -0,0 +1,55 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/ContactController.java
+ * @description Contrôleur REST de lecture des contacts, paginé par curseur
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.dto.crm.ContactDTO;
+import com.example.gestioncommerciale.model.crm.Contact;
+import com.example.gestioncommerciale.service.crm.ContactService;
+import com.example.gestioncommerciale.service.instrumentation.QueryBudget;
+import com.example.gestioncommerciale.service.pagination.KeysetWindow;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/contacts")
+public class ContactController {
+
+    private static final int MAX_SIZE = 200;
+
+    private final ContactService contactService;
+
+    public ContactController(ContactService contactService) {
+        this.contactService = contactService;
+    }
+
+    /**
+     * Tranche suivante après le curseur reçu (nextCursor de la réponse précédente)
+     */
+    @GetMapping
+    public KeysetWindow<ContactDTO> list(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Contact.ContactStatus status,
+            @RequestParam(required = false) Contact.ContactType type,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "lastName") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor
+    ) {
+        return contactService.scroll(status, type, customerId, search,
+            Sort.by(Sort.Direction.fromString(direction), sort), Math.min(Math.max(size, 1), MAX_SIZE), cursor);
+    }
+
+    /**
+     * Relances échues, les plus anciennes d'abord
+     */
+    @GetMapping("/follow-ups")
+    @QueryBudget(1)
+    public List<ContactDTO> followUps(@RequestParam(defaultValue = "50") int size) {
+        return contactService.findContactsDueForFollowup(Math.min(Math.max(size, 1), MAX_SIZE));
+    }
+}
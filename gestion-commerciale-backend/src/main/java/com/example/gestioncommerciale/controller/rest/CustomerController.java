@@ -0,0 +1,50 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/CustomerController.java
+ * @description Contrôleur REST des clients : lecture paginée par curseur, création avec adresses
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.dto.CustomerDTO;
+import com.example.gestioncommerciale.model.Customer;
+import com.example.gestioncommerciale.service.CustomerService;
+import com.example.gestioncommerciale.service.pagination.KeysetWindow;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/customers")
+public class CustomerController {
+
+    private static final int MAX_SIZE = 200;
+
+    private final CustomerService customerService;
+
+    public CustomerController(CustomerService customerService) {
+        this.customerService = customerService;
+    }
+
+    /**
+     * Tranche suivante après le curseur reçu (nextCursor de la réponse précédente)
+     */
+    @GetMapping
+    public KeysetWindow<CustomerDTO> list(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Customer.CustomerStatus status,
+            @RequestParam(required = false) Customer.CustomerType type,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "companyName") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor
+    ) {
+        return customerService.scroll(status, type, search,
+            Sort.by(Sort.Direction.fromString(direction), sort), Math.min(Math.max(size, 1), MAX_SIZE), cursor);
+    }
+
+    @PostMapping
+    public ResponseEntity<CustomerDTO> create(@Valid @RequestBody CustomerDTO customer) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(customerService.create(customer));
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/EntityCacheController.java
+ * @description Contrôleur REST exposant les métriques du cache de second niveau et sa purge
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.service.EntityCacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/entity-cache")
+public class EntityCacheController {
+
+    private final EntityCacheService entityCacheService;
+
+    public EntityCacheController(EntityCacheService entityCacheService) {
+        this.entityCacheService = entityCacheService;
+    }
+
+    /**
+     * Entrées, succès, échecs et évictions par région
+     */
+    @GetMapping("/stats")
+    public List<EntityCacheService.RegionStats> stats() {
+        return entityCacheService.stats();
+    }
+
+    @PostMapping("/evict")
+    public ResponseEntity<List<EntityCacheService.RegionStats>> evict() {
+        entityCacheService.evictAll();
+        return ResponseEntity.ok(stats());
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/InvoicingController.java
+ * @description Contrôleur REST de la facturation par lot : lancement, reprise et suivi des exécutions
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.model.sales.InvoicingRun;
+import com.example.gestioncommerciale.service.sales.InvoicingRunService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/invoicing/runs")
+public class InvoicingController {
+
+    private final InvoicingRunService invoicingRunService;
+
+    public InvoicingController(InvoicingRunService invoicingRunService) {
+        this.invoicingRunService = invoicingRunService;
+    }
+
+    /**
+     * Par défaut : commandes livrées jusqu'à maintenant, factures datées du jour
+     */
+    @PostMapping
+    public ResponseEntity<InvoicingRunService.InvoicingReport> start(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cutoff,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate issueDate
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(invoicingRunService.start(
+            cutoff != null ? cutoff : LocalDateTime.now(),
+            issueDate != null ? issueDate : LocalDate.now()));
+    }
+
+    @PostMapping("/{id}/resume")
+    public InvoicingRunService.InvoicingReport resume(@PathVariable Long id) {
+        return invoicingRunService.resume(id);
+    }
+
+    @GetMapping("/{id}")
+    public InvoicingRun get(@PathVariable Long id) {
+        return invoicingRunService.getById(id);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/OrderController.java
+ * @description Contrôleur REST des commandes : création, consultation et transitions d'état
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.dto.sales.OrderDTO;
+import com.example.gestioncommerciale.dto.sales.OrderRequest;
+import com.example.gestioncommerciale.model.sales.Order;
+import com.example.gestioncommerciale.service.sales.OrderService;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+
+    private static final int MAX_SIZE = 200;
+
+    private final OrderService orderService;
+
+    public OrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @GetMapping
+    public Page<OrderDTO> list(
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return orderService.findAll(status, customerId,
+            PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_SIZE), Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    @GetMapping("/{id}")
+    public OrderDTO get(@PathVariable Long id) {
+        return orderService.getById(id);
+    }
+
+    @PostMapping
+    public ResponseEntity<OrderDTO> create(@Valid @RequestBody OrderRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(orderService.create(request));
+    }
+
+    @PostMapping("/{id}/confirm")
+    public OrderDTO confirm(@PathVariable Long id) {
+        return orderService.confirm(id);
+    }
+
+    @PostMapping("/{id}/deliver")
+    public OrderDTO deliver(@PathVariable Long id) {
+        return orderService.deliver(id);
+    }
+
+    @PostMapping("/{id}/cancel")
+    public OrderDTO cancel(@PathVariable Long id) {
+        return orderService.cancel(id);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/PricingController.java
+ * @description Contrôleur REST tarifaire : listes de prix, prix par liste, règles de TVA et prix résolus
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.dto.pricing.PriceListDTO;
+import com.example.gestioncommerciale.dto.pricing.ResolvedPriceDTO;
+import com.example.gestioncommerciale.dto.pricing.TaxDTO;
+import com.example.gestioncommerciale.service.pricing.PricingService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/pricing")
+public class PricingController {
+
+    private final PricingService pricingService;
+
+    public PricingController(PricingService pricingService) {
+        this.pricingService = pricingService;
+    }
+
+    @GetMapping("/price-lists")
+    public List<PriceListDTO> priceLists() {
+        return pricingService.findAllPriceLists();
+    }
+
+    @PostMapping("/price-lists")
+    public ResponseEntity<PriceListDTO> createPriceList(@Valid @RequestBody PriceListDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(pricingService.createPriceList(request));
+    }
+
+    /**
+     * Corps : identifiant produit → prix HT
+     */
+    @PutMapping("/price-lists/{id}/prices")
+    public Map<String, Integer> putPrices(@PathVariable Long id, @RequestBody Map<Long, BigDecimal> prices) {
+        return Map.of("saved", pricingService.putPrices(id, prices));
+    }
+
+    @DeleteMapping("/price-lists/{id}/prices/{productId}")
+    public ResponseEntity<Void> removePrice(@PathVariable Long id, @PathVariable Long productId) {
+        pricingService.removePrice(id, productId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/taxes")
+    public List<TaxDTO> taxes() {
+        return pricingService.findAllTaxes();
+    }
+
+    @PostMapping("/taxes")
+    public ResponseEntity<TaxDTO> createTax(@Valid @RequestBody TaxDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(pricingService.createTax(request));
+    }
+
+    @PutMapping("/taxes/{id}/rate")
+    public TaxDTO updateTaxRate(@PathVariable Long id, @RequestParam BigDecimal rate) {
+        return pricingService.updateTaxRate(id, rate);
+    }
+
+    @GetMapping("/resolve")
+    public ResolvedPriceDTO resolve(@RequestParam Long productId, @RequestParam(required = false) Long priceListId) {
+        return pricingService.resolve(productId, priceListId);
+    }
+}
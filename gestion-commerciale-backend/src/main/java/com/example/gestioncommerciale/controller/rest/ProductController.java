@@ -0,0 +1,64 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/ProductController.java
+ * @description Contrôleur REST de lecture des produits, paginé par curseur
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.dto.catalog.TranslationDTO;
+import com.example.gestioncommerciale.model.catalog.Product;
+import com.example.gestioncommerciale.service.catalog.CatalogTranslations;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import com.example.gestioncommerciale.service.pagination.KeysetWindow;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/products")
+public class ProductController {
+
+    private static final int MAX_SIZE = 200;
+
+    private final ProductService productService;
+    private final CatalogTranslations catalogTranslations;
+
+    public ProductController(ProductService productService, CatalogTranslations catalogTranslations) {
+        this.productService = productService;
+        this.catalogTranslations = catalogTranslations;
+    }
+
+    /**
+     * Tranche suivante après le curseur reçu (nextCursor de la réponse précédente)
+     */
+    @GetMapping
+    public KeysetWindow<ProductDTO> list(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "true") boolean includeSubcategories,
+            @RequestParam(required = false) Product.ProductStatus status,
+            @RequestParam(required = false) Product.ProductType type,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor
+    ) {
+        return productService.scroll(active, categoryId, includeSubcategories, status, type, search,
+            Sort.by(Sort.Direction.fromString(direction), sort), Math.min(Math.max(size, 1), MAX_SIZE), cursor);
+    }
+
+    /**
+     * Enregistre la traduction d'une produit (étiquette de langue : en, en-GB...)
+     */
+    @PutMapping("/{id}/translations/{locale}")
+    public ResponseEntity<Void> putTranslation(@PathVariable Long id, @PathVariable String locale,
+                                               @Valid @RequestBody TranslationDTO translation) {
+        productService.getById(id);
+        catalogTranslations.putProductTranslation(id, Locale.forLanguageTag(locale), translation);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/QuoteController.java
+ * @description Contrôleur REST des devis : création, consultation, transitions et conversion en commande
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.dto.sales.QuoteConversionDTO;
+import com.example.gestioncommerciale.dto.sales.QuoteDTO;
+import com.example.gestioncommerciale.dto.sales.QuoteRequest;
+import com.example.gestioncommerciale.model.sales.Quote;
+import com.example.gestioncommerciale.service.sales.QuoteService;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/quotes")
+public class QuoteController {
+
+    private static final int MAX_SIZE = 200;
+
+    private final QuoteService quoteService;
+
+    public QuoteController(QuoteService quoteService) {
+        this.quoteService = quoteService;
+    }
+
+    @GetMapping
+    public Page<QuoteDTO> list(
+            @RequestParam(required = false) Quote.QuoteStatus status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return quoteService.findAll(status, customerId,
+            PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_SIZE), Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    @GetMapping("/{id}")
+    public QuoteDTO get(@PathVariable Long id) {
+        return quoteService.getById(id);
+    }
+
+    @PostMapping
+    public ResponseEntity<QuoteDTO> create(@Valid @RequestBody QuoteRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(quoteService.create(request));
+    }
+
+    @PostMapping("/{id}/send")
+    public QuoteDTO send(@PathVariable Long id) {
+        return quoteService.send(id);
+    }
+
+    @PostMapping("/{id}/accept")
+    public QuoteDTO accept(@PathVariable Long id) {
+        return quoteService.accept(id);
+    }
+
+    @PostMapping("/{id}/reject")
+    public QuoteDTO reject(@PathVariable Long id) {
+        return quoteService.reject(id);
+    }
+
+    @PostMapping("/{id}/convert")
+    public ResponseEntity<QuoteConversionDTO> convert(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(quoteService.convertToOrder(id));
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/SearchIndexController.java
+ * @description Contrôleur REST exposant les métriques des index d'autocomplétion en mémoire
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.service.catalog.ProductSearchIndex;
+import com.example.gestioncommerciale.service.crm.ContactSearchIndex;
+import com.example.gestioncommerciale.service.search.InvertedIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search-index")
+public class SearchIndexController {
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ContactSearchIndex contactSearchIndex;
+
+    public SearchIndexController(ProductSearchIndex productSearchIndex, ContactSearchIndex contactSearchIndex) {
+        this.productSearchIndex = productSearchIndex;
+        this.contactSearchIndex = contactSearchIndex;
+    }
+
+    /**
+     * Taille des index, mémoire estimée et extrapolation pour 100 000 lignes
+     */
+    @GetMapping("/stats")
+    public List<InvertedIndex.IndexStats> stats() {
+        return List.of(productSearchIndex.stats(), contactSearchIndex.stats());
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<List<InvertedIndex.IndexStats>> rebuild() {
+        productSearchIndex.rebuild();
+        contactSearchIndex.rebuild();
+        return ResponseEntity.ok(stats());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/StockController.java
+ * @description Contrôleur REST du stock : réservations, journal des mouvements et compactage
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.model.stock.StockMovement;
+import com.example.gestioncommerciale.model.stock.StockReservation;
+import com.example.gestioncommerciale.service.stock.StockLedgerCompactor;
+import com.example.gestioncommerciale.service.stock.StockService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stock")
+public class StockController {
+
+    private static final int MAX_SIZE = 200;
+
+    private final StockService stockService;
+    private final StockLedgerCompactor stockLedgerCompactor;
+
+    public StockController(StockService stockService, StockLedgerCompactor stockLedgerCompactor) {
+        this.stockService = stockService;
+        this.stockLedgerCompactor = stockLedgerCompactor;
+    }
+
+    @PostMapping("/reservations")
+    public ResponseEntity<StockReservation> reserve(@RequestBody ReservationRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .body(stockService.reserve(request.productId(), request.quantity(), request.reference()));
+    }
+
+    @PostMapping("/reservations/{id}/release")
+    public ResponseEntity<Void> release(@PathVariable Long id) {
+        stockService.release(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/reservations/{id}/commit")
+    public ResponseEntity<Void> commit(@PathVariable Long id) {
+        stockService.commit(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Journal d'un produit, du plus récent au plus ancien
+     */
+    @GetMapping("/products/{productId}/movements")
+    public Page<StockMovement> movements(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return stockService.movements(productId, PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_SIZE)));
+    }
+
+    /**
+     * Produits dont le stock affiché ne correspond pas au journal
+     */
+    @GetMapping("/drift")
+    public List<StockService.ProjectionDrift> drift() {
+        return stockService.projectionDrift();
+    }
+
+    @PostMapping("/compaction")
+    public StockLedgerCompactor.CompactionResult compact() {
+        return stockLedgerCompactor.compact();
+    }
+
+    public record ReservationRequest(Long productId, int quantity, String reference) {
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/rest/VirtualThreadController.java
+ * @description Contrôleur REST exposant les sites d'épinglage des threads virtuels (liste vide hors mode virtuel)
+ */
+package com.example.gestioncommerciale.controller.rest;
+
+import com.example.gestioncommerciale.service.VirtualThreadPinningDetector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/virtual-threads")
+public class VirtualThreadController {
+
+    private final ObjectProvider<VirtualThreadPinningDetector> pinningDetector;
+
+    public VirtualThreadController(ObjectProvider<VirtualThreadPinningDetector> pinningDetector) {
+        this.pinningDetector = pinningDetector;
+    }
+
+    /**
+     * Sites d'épinglage observés depuis le démarrage, du plus fréquent au plus rare
+     */
+    @GetMapping("/pinning")
+    public List<VirtualThreadPinningDetector.PinnedSite> pinning() {
+        VirtualThreadPinningDetector detector = pinningDetector.getIfAvailable();
+        return detector != null ? detector.sites() : List.of();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/controller/web/CsvDownload.java
+ * @description En-têtes de téléchargement CSV et flux de réponse, compressé en gzip sur demande
+ */
+package com.example.gestioncommerciale.controller.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+public final class CsvDownload {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private CsvDownload() {
+    }
+
+    /**
+     * Prépare la réponse en pièce jointe « prefixe-AAAA-MM-JJ.csv[.gz] » et renvoie le flux à écrire.
+     * Le flux doit être fermé par l'appelant (écriture de la fin du fichier gzip).
+     */
+    public static OutputStream open(HttpServletResponse response, String prefix, boolean gzip) throws IOException {
+        String filename = prefix + "-" + LocalDate.now() + (gzip ? ".csv.gz" : ".csv");
+        response.setContentType(gzip ? "application/gzip" : "text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build().toString());
+        OutputStream output = response.getOutputStream();
+        return gzip ? new GZIPOutputStream(output, GZIP_BUFFER_SIZE) : output;
+    }
+
+    /**
+     * URL d'export reprenant les filtres de la requête courante
+     */
+    public static String exportUrl(String path, HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null || query.isBlank() ? path : path + "?" + query;
+    }
+}
@@ -5,8 +5,11 @@
 package com.example.gestioncommerciale.controller.web;
 
 import com.example.gestioncommerciale.dto.CustomerDTO;
+import com.example.gestioncommerciale.dto.CustomerRowDTO;
 import com.example.gestioncommerciale.model.Customer;
 import com.example.gestioncommerciale.service.CustomerService;
+import com.example.gestioncommerciale.service.pagination.KeysetPage;
+import com.example.gestioncommerciale.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -20,7 +23,10 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +37,7 @@ import java.util.Map;
 public class CustomerWebController {
     
     private final CustomerService customerService;
+    private final StatisticsService statisticsService;
     
     /**
      * Liste paginée des clients avec recherche et filtres
@@ -44,6 +51,7 @@ public class CustomerWebController {
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "companyName") String sort,
             @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
             Model model,
             HttpServletRequest request
     ) {
@@ -53,8 +61,8 @@ public class CustomerWebController {
         Sort.Direction sortDirection = Sort.Direction.fromString(direction);
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
         
-        // Récupérer les clients avec filtres
-        Page<CustomerDTO> customers = customerService.findWithFilters(status, type, search, pageable);
+        // Curseur pour précédent/suivant, décalage pour un saut de page explicite
+        KeysetPage<CustomerRowDTO> customers = customerService.findRows(status, type, search, pageable, cursor);
         
         // Préparer le modèle
         model.addAttribute("customers", customers);
@@ -64,9 +72,10 @@ public class CustomerWebController {
         model.addAttribute("currentSort", sort);
         model.addAttribute("currentDirection", direction);
         
-        // Statistiques
-        model.addAttribute("totalCustomers", customerService.countAll());
-        model.addAttribute("activeCustomers", customerService.countActiveCustomers());
+        // Statistiques (une requête agrégée, mise en cache)
+        StatisticsService.CustomerStats stats = statisticsService.customerStats();
+        model.addAttribute("totalCustomers", stats.total());
+        model.addAttribute("activeCustomers", stats.active());
         
         // Breadcrumbs
         model.addAttribute("breadcrumbs", List.of(
@@ -77,7 +86,9 @@ public class CustomerWebController {
         // Actions de page
         model.addAttribute("pageActions", List.of(
             Map.of("label", "Nouveau client", "icon", "bi-plus", "variant", "btn-primary", 
-                   "type", "modal", "url", "/customers/new", "target", "#modal-container")
+                   "type", "modal", "url", "/customers/new", "target", "#modal-container"),
+            Map.of("label", "Export CSV", "icon", "bi-download", "variant", "btn-outline-secondary", 
+                   "type", "link", "url", CsvDownload.exportUrl("/customers/export", request))
         ));
         
         // Si requête HTMX, retourner seulement le fragment de tableau
@@ -88,6 +99,27 @@ public class CustomerWebController {
         return "customers/list";
     }
     
+    /**
+     * Export CSV en flux des clients, mêmes filtres et même tri que la liste (gzip=true : fichier .csv.gz)
+     */
+    @GetMapping("/export")
+    public void exportCustomers(
+            @RequestParam(defaultValue = "") String search,
+            @RequestParam(required = false) Customer.CustomerStatus status,
+            @RequestParam(required = false) Customer.CustomerType type,
+            @RequestParam(defaultValue = "companyName") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("Export CSV clients - search: {}, status: {}, type: {}, gzip: {}", search, status, type, gzip);
+        
+        Sort order = Sort.by(Sort.Direction.fromString(direction), sort);
+        try (OutputStream output = CsvDownload.open(response, "clients", gzip)) {
+            customerService.exportCsv(status, type, search, order, output);
+        }
+    }
+    
     /**
      * Fragment de ligne client pour HTMX
      */
@@ -109,7 +141,7 @@ public class CustomerWebController {
             Model model
     ) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<CustomerDTO> customers = customerService.search(q, pageable);
+        Page<CustomerRowDTO> customers = customerService.findRows(null, null, q, pageable, null);
         
         model.addAttribute("customers", customers);
         model.addAttribute("search", q);
@@ -5,7 +5,11 @@
 package com.example.gestioncommerciale.controller.web.catalog;
 
 import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.service.catalog.CatalogTranslations;
 import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.pagination.KeysetPage;
+import com.example.gestioncommerciale.service.StatisticsService;
+import com.example.gestioncommerciale.service.assembly.PageAssembler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -21,6 +25,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @Controller
@@ -30,6 +35,9 @@ import java.util.Map;
 public class CategoryWebController {
     
     private final CategoryService categoryService;
+    private final StatisticsService statisticsService;
+    private final CatalogTranslations catalogTranslations;
+    private final PageAssembler pageAssembler;
     
     /**
      * Liste paginée des catégories avec filtres et recherche
@@ -43,8 +51,11 @@ public class CategoryWebController {
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "sortOrder") String sort,
             @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean includeSubtree,
+            @RequestParam(required = false) String cursor,
             Model model,
-            HttpServletRequest request
+            HttpServletRequest request,
+            Locale locale
     ) {
         log.debug("Liste catégories - search: {}, active: {}, parentId: {}, page: {}", search, active, parentId, page);
         
@@ -52,24 +63,45 @@ public class CategoryWebController {
         Sort.Direction sortDirection = Sort.Direction.fromString(direction);
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
         
-        // Récupérer les catégories avec filtres
-        Page<CategoryDTO> categories = categoryService.findWithFilters(active, parentId, search, pageable);
+        // Sections indépendantes lues en parallèle, chacune dans sa transaction en lecture seule
+        KeysetPage<CategoryDTO> categories;
+        List<CategoryDTO> categoryTree;
+        StatisticsService.CategoryStats stats;
+        try (PageAssembler.Scope scope = pageAssembler.open()) {
+            // Curseur pour précédent/suivant, décalage pour un saut de page explicite
+            PageAssembler.Part<KeysetPage<CategoryDTO>> categoriesPart = scope.required("categories", () -> {
+                KeysetPage<CategoryDTO> rows = categoryService.findWithFilters(
+                    active, parentId, search, includeSubtree, pageable, cursor
+                );
+                catalogTranslations.localizeCategories(rows.getContent(), locale);
+                return rows;
+            });
+            // Arbre de catégories pour le sélecteur parent
+            PageAssembler.Part<List<CategoryDTO>> treePart =
+                scope.optional("categoryTree", categoryService::findCategoryTree, List.of());
+            // Statistiques (une requête agrégée, mise en cache)
+            PageAssembler.Part<StatisticsService.CategoryStats> statsPart =
+                scope.optional("stats", statisticsService::categoryStats, StatisticsService.CategoryStats.EMPTY);
+            model.addAttribute("unavailableSections", scope.join());
+            categories = categoriesPart.get();
+            categoryTree = treePart.get();
+            stats = statsPart.get();
+        }
         
         // Préparer le modèle
         model.addAttribute("categories", categories);
         model.addAttribute("search", search);
         model.addAttribute("active", active);
         model.addAttribute("parentId", parentId);
+        model.addAttribute("includeSubtree", includeSubtree);
         model.addAttribute("currentSort", sort);
         model.addAttribute("currentDirection", direction);
-        
-        // Arbre de catégories pour le sélecteur parent
-        model.addAttribute("categoryTree", categoryService.findCategoryTree());
+        model.addAttribute("categoryTree", categoryTree);
         
         // Statistiques
-        model.addAttribute("totalCategories", categoryService.countAll());
-        model.addAttribute("activeCategories", categoryService.countActiveCategories());
-        model.addAttribute("rootCategories", categoryService.countRootCategories());
+        model.addAttribute("totalCategories", stats.total());
+        model.addAttribute("activeCategories", stats.active());
+        model.addAttribute("rootCategories", stats.roots());
         
         // Breadcrumbs
         model.addAttribute("breadcrumbs", List.of(
@@ -98,13 +130,17 @@ public class CategoryWebController {
      * Vue arbre hiérarchique des catégories
      */
     @GetMapping("/tree")
-    public String categoryTree(Model model) {
-        List<CategoryDTO> categoryTree = categoryService.findCategoryTree();
+    public String categoryTree(@RequestParam(defaultValue = "false") boolean includeSubtree, Model model, Locale locale) {
+        List<CategoryDTO> categoryTree = categoryService.findCategoryTree(includeSubtree);
+        // Noms et chemins traduits compilés une fois par langue : aucun accès base par nœud
+        catalogTranslations.localizeCategories(categoryTree, locale);
         model.addAttribute("categoryTree", categoryTree);
+        model.addAttribute("includeSubtree", includeSubtree);
         
         // Statistiques
-        model.addAttribute("totalCategories", categoryService.countAll());
-        model.addAttribute("activeCategories", categoryService.countActiveCategories());
+        StatisticsService.CategoryStats stats = statisticsService.categoryStats();
+        model.addAttribute("totalCategories", stats.total());
+        model.addAttribute("activeCategories", stats.active());
         
         // Breadcrumbs
         model.addAttribute("breadcrumbs", List.of(
@@ -145,10 +181,12 @@ public class CategoryWebController {
             @RequestParam(required = false) Long parentId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            Model model
+            Model model,
+            Locale locale
     ) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("sortOrder", "name"));
         Page<CategoryDTO> categories = categoryService.findWithFilters(active, parentId, q, pageable);
+        catalogTranslations.localizeCategories(categories.getContent(), locale);
         
         model.addAttribute("categories", categories);
         model.addAttribute("search", q);
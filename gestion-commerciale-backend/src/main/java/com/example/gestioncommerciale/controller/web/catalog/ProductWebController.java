@@ -4,27 +4,50 @@
  */
 package com.example.gestioncommerciale.controller.web.catalog;
 
+import com.example.gestioncommerciale.controller.web.CsvDownload;
 import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductRowDTO;
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
 import com.example.gestioncommerciale.model.catalog.Product;
+import com.example.gestioncommerciale.service.catalog.CatalogTranslations;
 import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductImportService;
 import com.example.gestioncommerciale.service.catalog.ProductService;
+import com.example.gestioncommerciale.service.importing.ImportJob;
+import com.example.gestioncommerciale.service.pagination.KeysetPage;
+import com.example.gestioncommerciale.service.StatisticsService;
+import com.example.gestioncommerciale.service.assembly.PageAssembler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.security.Principal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @Controller
@@ -35,6 +58,10 @@ public class ProductWebController {
     
     private final ProductService productService;
     private final CategoryService categoryService;
+    private final StatisticsService statisticsService;
+    private final ProductImportService productImportService;
+    private final CatalogTranslations catalogTranslations;
+    private final PageAssembler pageAssembler;
     
     /**
      * Liste paginée des produits avec filtres avancés
@@ -44,6 +71,7 @@ public class ProductWebController {
             @RequestParam(defaultValue = "") String search,
             @RequestParam(required = false) Boolean active,
             @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "true") boolean includeSubcategories,
             @RequestParam(required = false) Product.ProductStatus status,
             @RequestParam(required = false) Product.ProductType type,
             @RequestParam(required = false) BigDecimal minPrice,
@@ -52,8 +80,10 @@ public class ProductWebController {
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "name") String sort,
             @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
             Model model,
-            HttpServletRequest request
+            HttpServletRequest request,
+            Locale locale
     ) {
         log.debug("Liste produits - search: {}, active: {}, categoryId: {}, status: {}, page: {}", 
                   search, active, categoryId, status, page);
@@ -62,16 +92,41 @@ public class ProductWebController {
         Sort.Direction sortDirection = Sort.Direction.fromString(direction);
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
         
-        // Récupérer les produits avec filtres
-        Page<ProductDTO> products = productService.findWithFilters(
-            active, categoryId, status, type, minPrice, maxPrice, search, pageable
-        );
+        // Sections indépendantes lues en parallèle, chacune dans sa transaction en lecture seule
+        KeysetPage<ProductRowDTO> products;
+        List<CategoryDTO> categories;
+        StatisticsService.ProductStats stats;
+        try (PageAssembler.Scope scope = pageAssembler.open()) {
+            // Curseur pour précédent/suivant, décalage pour un saut de page explicite
+            // Lignes projetées : seules les colonnes du tableau sont lues
+            PageAssembler.Part<KeysetPage<ProductRowDTO>> productsPart = scope.required("products", () -> {
+                KeysetPage<ProductRowDTO> rows = productService.findRows(
+                    active, categoryId, includeSubcategories, status, type, minPrice, maxPrice, search, pageable, cursor
+                );
+                // Traductions de toute la page en une requête, chemins de catégorie compilés par langue
+                catalogTranslations.localizeProducts(rows.getContent(), locale);
+                return rows;
+            });
+            PageAssembler.Part<List<CategoryDTO>> categoriesPart = scope.optional("categories", () -> {
+                List<CategoryDTO> activeCategories = categoryService.findActiveCategories();
+                catalogTranslations.localizeCategories(activeCategories, locale);
+                return activeCategories;
+            }, List.of());
+            // Statistiques (une requête agrégée, mise en cache)
+            PageAssembler.Part<StatisticsService.ProductStats> statsPart =
+                scope.optional("stats", statisticsService::productStats, StatisticsService.ProductStats.EMPTY);
+            model.addAttribute("unavailableSections", scope.join());
+            products = productsPart.get();
+            categories = categoriesPart.get();
+            stats = statsPart.get();
+        }
         
         // Préparer le modèle
         model.addAttribute("products", products);
         model.addAttribute("search", search);
         model.addAttribute("active", active);
         model.addAttribute("categoryId", categoryId);
+        model.addAttribute("includeSubcategories", includeSubcategories);
         model.addAttribute("status", status);
         model.addAttribute("type", type);
         model.addAttribute("minPrice", minPrice);
@@ -80,15 +135,15 @@ public class ProductWebController {
         model.addAttribute("currentDirection", direction);
         
         // Données pour les filtres
-        model.addAttribute("categories", categoryService.findActiveCategories());
+        model.addAttribute("categories", categories);
         model.addAttribute("productStatuses", Arrays.asList(Product.ProductStatus.values()));
         model.addAttribute("productTypes", Arrays.asList(Product.ProductType.values()));
         
         // Statistiques
-        model.addAttribute("totalProducts", productService.countAll());
-        model.addAttribute("activeProducts", productService.countActiveProducts());
-        model.addAttribute("lowStockProducts", productService.countLowStockProducts());
-        model.addAttribute("outOfStockProducts", productService.countOutOfStockProducts());
+        model.addAttribute("totalProducts", stats.total());
+        model.addAttribute("activeProducts", stats.active());
+        model.addAttribute("lowStockProducts", stats.lowStock());
+        model.addAttribute("outOfStockProducts", stats.outOfStock());
         
         // Breadcrumbs
         model.addAttribute("breadcrumbs", List.of(
@@ -104,7 +159,7 @@ public class ProductWebController {
             Map.of("label", "Import CSV", "icon", "bi-upload", "variant", "btn-outline-secondary", 
                    "type", "modal", "url", "/catalog/products/import", "target", "#modal-container"),
             Map.of("label", "Export CSV", "icon", "bi-download", "variant", "btn-outline-secondary", 
-                   "type", "action", "url", "/catalog/products/export")
+                   "type", "link", "url", CsvDownload.exportUrl("/catalog/products/export", request))
         ));
         
         // Si requête HTMX, retourner seulement le fragment de tableau
@@ -115,12 +170,113 @@ public class ProductWebController {
         return "catalog/products/list";
     }
     
+    /**
+     * Export CSV en flux des produits, mêmes filtres et même tri que la liste (gzip=true : fichier .csv.gz)
+     */
+    @GetMapping("/export")
+    public void exportProducts(
+            @RequestParam(defaultValue = "") String search,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "true") boolean includeSubcategories,
+            @RequestParam(required = false) Product.ProductStatus status,
+            @RequestParam(required = false) Product.ProductType type,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("Export CSV produits - search: {}, active: {}, categoryId: {}, status: {}, gzip: {}", 
+                 search, active, categoryId, status, gzip);
+        
+        Sort order = Sort.by(Sort.Direction.fromString(direction), sort);
+        try (OutputStream output = CsvDownload.open(response, "produits", gzip)) {
+            productService.exportCsv(
+                active, categoryId, includeSubcategories, status, type, minPrice, maxPrice, search, order, output
+            );
+        }
+    }
+    
+    /**
+     * Modal d'import CSV
+     */
+    @GetMapping("/import")
+    public String importModal() {
+        return "catalog/products/_importModal :: import-modal";
+    }
+    
+    /**
+     * Dépôt du fichier et lancement de l'import en arrière-plan ; renvoie le suivi d'avancement
+     */
+    @PostMapping("/import")
+    public String startImport(@RequestParam("file") MultipartFile file, Principal principal, Model model) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Le fichier CSV est vide");
+        }
+        
+        ImportJob job;
+        try (InputStream content = file.getInputStream()) {
+            job = productImportService.upload(file.getOriginalFilename(), content, principal != null ? principal.getName() : null);
+        }
+        productImportService.start(job);
+        
+        model.addAttribute("job", job);
+        return "catalog/products/_importProgress :: import-progress";
+    }
+    
+    /**
+     * Suivi d'un import (rafraîchi par HTMX tant qu'il n'est pas terminé)
+     */
+    @GetMapping("/import/{jobId}")
+    public String importProgress(@PathVariable String jobId, Model model) {
+        ImportJob job = productImportService.find(jobId)
+            .orElseThrow(() -> new RuntimeException("Import non trouvé : " + jobId));
+        model.addAttribute("job", job);
+        return "catalog/products/_importProgress :: import-progress";
+    }
+    
+    @PostMapping("/import/{jobId}/stop")
+    public String stopImport(@PathVariable String jobId, Model model) {
+        ImportJob job = productImportService.find(jobId)
+            .orElseThrow(() -> new RuntimeException("Import non trouvé : " + jobId));
+        job.requestStop();
+        model.addAttribute("job", job);
+        return "catalog/products/_importProgress :: import-progress";
+    }
+    
+    /**
+     * Reprise au dernier lot validé, y compris après un redémarrage de l'application
+     */
+    @PostMapping("/import/{jobId}/resume")
+    public String resumeImport(@PathVariable String jobId, Model model) throws IOException {
+        ImportJob job = productImportService.resume(jobId);
+        productImportService.start(job);
+        model.addAttribute("job", job);
+        return "catalog/products/_importProgress :: import-progress";
+    }
+    
+    /**
+     * Rapport complet des lignes rejetées
+     */
+    @GetMapping("/import/{jobId}/errors")
+    public ResponseEntity<Resource> importErrors(@PathVariable String jobId) {
+        Path report = productImportService.errorReport(jobId);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("import-produits-erreurs-" + jobId + ".csv").build().toString())
+            .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+            .body(new FileSystemResource(report));
+    }
+    
     /**
      * Vue détaillée d'un produit
      */
     @GetMapping("/{id}")
-    public String viewProduct(@PathVariable Long id, Model model) {
+    public String viewProduct(@PathVariable Long id, Model model, Locale locale) {
         ProductDTO product = productService.getById(id);
+        catalogTranslations.localizeProducts(List.of(product), locale);
         model.addAttribute("product", product);
         
         // Breadcrumbs
@@ -138,8 +294,9 @@ public class ProductWebController {
      * Fragment de ligne produit pour HTMX
      */
     @GetMapping("/_row/{id}")
-    public String productRow(@PathVariable Long id, Model model) {
+    public String productRow(@PathVariable Long id, Model model, Locale locale) {
         ProductDTO product = productService.getById(id);
+        catalogTranslations.localizeProducts(List.of(product), locale);
         model.addAttribute("product", product);
         return "catalog/products/_productRow :: product-row";
     }
@@ -152,15 +309,16 @@ public class ProductWebController {
             @RequestParam String q,
             @RequestParam(required = false) Boolean active,
             @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "true") boolean includeSubcategories,
             @RequestParam(required = false) Product.ProductStatus status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            Model model
+            Model model,
+            Locale locale
     ) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("name"));
-        Page<ProductDTO> products = productService.findWithFilters(
-            active, categoryId, status, null, null, null, q, pageable
-        );
+        Page<ProductRowDTO> products = productService.quickSearchRows(q, active, categoryId, includeSubcategories, status, pageable);
+        catalogTranslations.localizeProducts(products.getContent(), locale);
         
         model.addAttribute("products", products);
         model.addAttribute("search", q);
@@ -4,10 +4,16 @@
  */
 package com.example.gestioncommerciale.controller.web.crm;
 
+import com.example.gestioncommerciale.controller.web.CsvDownload;
+import com.example.gestioncommerciale.dto.CustomerDTO;
 import com.example.gestioncommerciale.dto.crm.ContactDTO;
+import com.example.gestioncommerciale.dto.crm.ContactRowDTO;
 import com.example.gestioncommerciale.model.crm.Contact;
 import com.example.gestioncommerciale.service.CustomerService;
 import com.example.gestioncommerciale.service.crm.ContactService;
+import com.example.gestioncommerciale.service.pagination.KeysetPage;
+import com.example.gestioncommerciale.service.StatisticsService;
+import com.example.gestioncommerciale.service.assembly.PageAssembler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -21,7 +27,10 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -35,6 +44,8 @@ public class ContactWebController {
     
     private final ContactService contactService;
     private final CustomerService customerService;
+    private final StatisticsService statisticsService;
+    private final PageAssembler pageAssembler;
     
     /**
      * Liste paginée des contacts avec filtres CRM
@@ -51,6 +62,7 @@ public class ContactWebController {
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "lastName") String sort,
             @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
             Model model,
             HttpServletRequest request
     ) {
@@ -61,10 +73,24 @@ public class ContactWebController {
         Sort.Direction sortDirection = Sort.Direction.fromString(direction);
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
         
-        // Récupérer les contacts avec filtres
-        Page<ContactDTO> contacts = contactService.findWithFilters(
-            status, type, customerId, priority, isPrimary, search, pageable
-        );
+        // Sections indépendantes lues en parallèle, chacune dans sa transaction en lecture seule
+        KeysetPage<ContactRowDTO> contacts;
+        List<CustomerDTO> customers;
+        StatisticsService.ContactStats stats;
+        try (PageAssembler.Scope scope = pageAssembler.open()) {
+            // Curseur pour précédent/suivant, décalage pour un saut de page explicite
+            PageAssembler.Part<KeysetPage<ContactRowDTO>> contactsPart = scope.required("contacts", () ->
+                contactService.findRows(status, type, customerId, priority, isPrimary, search, pageable, cursor));
+            PageAssembler.Part<List<CustomerDTO>> customersPart =
+                scope.optional("customers", customerService::findActiveCustomers, List.of());
+            // Statistiques CRM (une requête agrégée, mise en cache avec les alertes)
+            PageAssembler.Part<StatisticsService.ContactStats> statsPart =
+                scope.optional("stats", statisticsService::contactStats, StatisticsService.ContactStats.EMPTY);
+            model.addAttribute("unavailableSections", scope.join());
+            contacts = contactsPart.get();
+            customers = customersPart.get();
+            stats = statsPart.get();
+        }
         
         // Préparer le modèle
         model.addAttribute("contacts", contacts);
@@ -78,21 +104,21 @@ public class ContactWebController {
         model.addAttribute("currentDirection", direction);
         
         // Données pour les filtres
-        model.addAttribute("customers", customerService.findActiveCustomers());
+        model.addAttribute("customers", customers);
         model.addAttribute("contactStatuses", Arrays.asList(Contact.ContactStatus.values()));
         model.addAttribute("contactTypes", Arrays.asList(Contact.ContactType.values()));
         model.addAttribute("contactPriorities", Arrays.asList(Contact.ContactPriority.values()));
         
         // Statistiques CRM
-        model.addAttribute("totalContacts", contactService.countAll());
-        model.addAttribute("activeContacts", contactService.countByStatus(Contact.ContactStatus.ACTIVE));
-        model.addAttribute("leadsCount", contactService.countByType(Contact.ContactType.LEAD));
-        model.addAttribute("overdueContacts", contactService.countOverdueContacts());
-        model.addAttribute("staleContacts", contactService.countStaleContacts(30));
+        model.addAttribute("totalContacts", stats.total());
+        model.addAttribute("activeContacts", stats.active());
+        model.addAttribute("leadsCount", stats.leads());
+        model.addAttribute("overdueContacts", stats.overdue());
+        model.addAttribute("staleContacts", stats.stale());
         
         // Alerts et suivis
-        model.addAttribute("todaysBirthdays", contactService.findTodaysBirthdays());
-        model.addAttribute("overdueFollowups", contactService.findContactsDueForFollowup());
+        model.addAttribute("todaysBirthdays", stats.todaysBirthdays());
+        model.addAttribute("overdueFollowups", stats.overdueFollowups());
         
         // Breadcrumbs
         model.addAttribute("breadcrumbs", List.of(
@@ -108,7 +134,7 @@ public class ContactWebController {
             Map.of("label", "Import CSV", "icon", "bi-upload", "variant", "btn-outline-secondary", 
                    "type", "modal", "url", "/crm/contacts/import", "target", "#modal-container"),
             Map.of("label", "Export", "icon", "bi-download", "variant", "btn-outline-secondary", 
-                   "type", "action", "url", "/crm/contacts/export")
+                   "type", "link", "url", CsvDownload.exportUrl("/crm/contacts/export", request))
         ));
         
         // Si requête HTMX, retourner seulement le fragment de tableau
@@ -119,6 +145,31 @@ public class ContactWebController {
         return "crm/contacts/list";
     }
     
+    /**
+     * Export CSV en flux des contacts, mêmes filtres et même tri que la liste (gzip=true : fichier .csv.gz)
+     */
+    @GetMapping("/export")
+    public void exportContacts(
+            @RequestParam(defaultValue = "") String search,
+            @RequestParam(required = false) Contact.ContactStatus status,
+            @RequestParam(required = false) Contact.ContactType type,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Contact.ContactPriority priority,
+            @RequestParam(required = false) Boolean isPrimary,
+            @RequestParam(defaultValue = "lastName") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("Export CSV contacts - search: {}, status: {}, type: {}, customerId: {}, gzip: {}", 
+                 search, status, type, customerId, gzip);
+        
+        Sort order = Sort.by(Sort.Direction.fromString(direction), sort);
+        try (OutputStream output = CsvDownload.open(response, "contacts", gzip)) {
+            contactService.exportCsv(status, type, customerId, priority, isPrimary, search, order, output);
+        }
+    }
+    
     /**
      * Vue détaillée d'un contact
      */
@@ -169,9 +220,7 @@ public class ContactWebController {
             Model model
     ) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("lastName", "firstName"));
-        Page<ContactDTO> contacts = contactService.findWithFilters(
-            status, type, customerId, null, null, q, pageable
-        );
+        Page<ContactRowDTO> contacts = contactService.quickSearchRows(q, status, type, customerId, pageable);
         
         model.addAttribute("contacts", contacts);
         model.addAttribute("search", q);
@@ -54,6 +54,8 @@ public class CustomerDTO {
     @Max(value = 365)
     private Integer paymentTermDays = 30;
     
+    private Long priceListId;
+    
     private Customer.CustomerStatus status = Customer.CustomerStatus.ACTIVE;
     
     private Customer.CustomerType type = Customer.CustomerType.COMPANY;
@@ -0,0 +1,30 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/CustomerRowDTO.java
+ * @description Ligne de la liste des clients : colonnes rendues par _customerRow
+ */
+package com.example.gestioncommerciale.dto;
+
+import com.example.gestioncommerciale.model.Customer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * L'ordre des champs est celui du constructeur appelé par CustomerProjections#ROW
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerRowDTO {
+
+    private Long id;
+    private String code;
+    private String companyName;
+    private String siret;
+    private String contactFirstName;
+    private String contactLastName;
+    private String email;
+    private String phone;
+    private Customer.CustomerStatus status;
+    private Customer.CustomerType type;
+}
@@ -0,0 +1,27 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/catalog/LocalizableProduct.java
+ * @description Champs d'un produit affiché que la traduction du catalogue remplace
+ */
+package com.example.gestioncommerciale.dto.catalog;
+
+/**
+ * Implémenté par le DTO complet et par la ligne de liste : une seule traduction pour les deux
+ */
+public interface LocalizableProduct {
+
+    Long getId();
+
+    void setName(String name);
+
+    void setDescription(String description);
+
+    Long getCategoryId();
+
+    String getCategoryPath();
+
+    void setCategoryPath(String categoryPath);
+
+    String getCategoryName();
+
+    void setCategoryName(String categoryName);
+}
@@ -12,7 +12,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
-public class ProductDTO {
+public class ProductDTO implements LocalizableProduct {
     
     private Long id;
     
@@ -54,6 +54,8 @@ public class ProductDTO {
     @DecimalMax(value = "100.0")
     private BigDecimal vatRate = new BigDecimal("20.00");
     
+    private Long taxId;
+    
     // Prix calculés (read-only)
     private BigDecimal priceWithVat;
     private BigDecimal vatAmount;
@@ -119,14 +121,8 @@ public class ProductDTO {
     private String createdBy;
     private String updatedBy;
     
-    // Méthodes de calcul (appelées par le mapper)
+    // Méthodes de calcul (appelées par le mapper) ; prix TTC et TVA résolus par le barème (ProductService)
     public void calculateFields() {
-        if (unitPrice != null && vatRate != null) {
-            BigDecimal vatMultiplier = BigDecimal.ONE.add(vatRate.divide(new BigDecimal("100")));
-            this.priceWithVat = unitPrice.multiply(vatMultiplier).setScale(2, BigDecimal.ROUND_HALF_UP);
-            this.vatAmount = unitPrice.multiply(vatRate.divide(new BigDecimal("100"))).setScale(2, BigDecimal.ROUND_HALF_UP);
-        }
-        
         if (stockManaged != null && stockQuantity != null && minStockLevel != null) {
             this.lowStock = stockManaged && stockQuantity <= minStockLevel;
             this.outOfStock = stockManaged && stockQuantity <= 0;
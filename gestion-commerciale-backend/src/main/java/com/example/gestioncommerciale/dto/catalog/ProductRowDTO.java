@@ -0,0 +1,112 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/catalog/ProductRowDTO.java
+ * @description Ligne de la liste des produits : colonnes rendues par _productRow, catégorie jointe
+ */
+package com.example.gestioncommerciale.dto.catalog;
+
+import com.example.gestioncommerciale.model.catalog.Product;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+public class ProductRowDTO implements LocalizableProduct {
+
+    /**
+     * Longueur de description lue en base : l'écran en affiche 50 caractères, le reste sert d'info-bulle
+     */
+    public static final int DESCRIPTION_LENGTH = 200;
+
+    private Long id;
+    private String code;
+    private String name;
+    private String reference;
+    private String sku;
+    private String description;
+    private String thumbnailUrl;
+    private Product.ProductType type;
+    private Product.ProductStatus status;
+    private Boolean active;
+
+    // Prix
+    private BigDecimal unitPrice;
+    private BigDecimal costPrice;
+    private BigDecimal vatRate;
+    private Long taxId;
+    private BigDecimal priceWithVat;
+    private BigDecimal vatAmount;
+
+    // Stock
+    private Boolean stockManaged;
+    private Integer stockQuantity;
+    private Integer minStockLevel;
+    private Integer maxStockLevel;
+    private Boolean lowStock;
+    private Boolean outOfStock;
+    private String unit;
+
+    // Catégorie
+    private Long categoryId;
+    private String categoryName;
+    private String categoryPath;
+
+    /**
+     * Constructeur de la projection JPQL (ordre de ProductProjections#ROW)
+     */
+    public ProductRowDTO(Long id, String code, String name, String reference, String sku, String description,
+                         String thumbnailUrl, Product.ProductType type, Product.ProductStatus status, Boolean active,
+                         BigDecimal unitPrice, BigDecimal costPrice, BigDecimal vatRate, Long taxId,
+                         Boolean stockManaged, Integer stockQuantity, Integer minStockLevel, Integer maxStockLevel,
+                         String unit, Long categoryId, String categoryName) {
+        this.id = id;
+        this.code = code;
+        this.name = name;
+        this.reference = reference;
+        this.sku = sku;
+        this.description = description;
+        this.thumbnailUrl = thumbnailUrl;
+        this.type = type;
+        this.status = status;
+        this.active = active;
+        this.unitPrice = unitPrice;
+        this.costPrice = costPrice;
+        this.vatRate = vatRate;
+        this.taxId = taxId;
+        this.stockManaged = stockManaged;
+        this.stockQuantity = stockQuantity;
+        this.minStockLevel = minStockLevel;
+        this.maxStockLevel = maxStockLevel;
+        this.unit = unit;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        // Mêmes règles que Product#isLowStock / #isOutOfStock
+        boolean managed = Boolean.TRUE.equals(stockManaged) && stockQuantity != null;
+        this.lowStock = managed && stockQuantity <= (minStockLevel != null ? minStockLevel : 0);
+        this.outOfStock = managed && stockQuantity <= 0;
+    }
+
+    /**
+     * Ligne construite depuis une entité déjà chargée (recherche FULLTEXT native)
+     */
+    public static ProductRowDTO of(Product product) {
+        return new ProductRowDTO(product.getId(), product.getCode(), product.getName(), product.getReference(),
+            product.getSku(), product.getDescription(), product.getThumbnailUrl(), product.getType(),
+            product.getStatus(), product.getActive(), product.getUnitPrice(), product.getCostPrice(),
+            product.getVatRate(), product.getTaxId(), product.getStockManaged(), product.getStockQuantity(),
+            product.getMinStockLevel(), product.getMaxStockLevel(), product.getUnit(),
+            product.getCategory() != null ? product.getCategory().getId() : null,
+            product.getCategory() != null ? product.getCategory().getName() : null);
+    }
+
+    /**
+     * Une traduction reste tronquée comme la colonne projetée
+     */
+    @Override
+    public void setDescription(String description) {
+        this.description = description != null && description.length() > DESCRIPTION_LENGTH
+            ? description.substring(0, DESCRIPTION_LENGTH)
+            : description;
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/catalog/TranslationDTO.java
+ * @description Traduction d'un libellé du catalogue (produit ou catégorie) dans une langue
+ */
+package com.example.gestioncommerciale.dto.catalog;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class TranslationDTO {
+
+    @Size(max = 255, message = "Le nom ne peut pas dépasser 255 caractères")
+    private String name;
+
+    private String description;
+}
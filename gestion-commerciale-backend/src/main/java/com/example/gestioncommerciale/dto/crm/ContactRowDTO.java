@@ -0,0 +1,45 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/crm/ContactRowDTO.java
+ * @description Ligne de la liste des contacts : colonnes rendues par _contactRow, client joint
+ */
+package com.example.gestioncommerciale.dto.crm;
+
+import com.example.gestioncommerciale.model.crm.Contact;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ContactRowDTO {
+
+    private Long id;
+    private String fullName;
+    private Boolean isPrimary;
+    private String jobTitle;
+    private String email;
+    private String phone;
+    private String mobile;
+    private Contact.ContactStatus status;
+    private Contact.ContactType type;
+    private Long customerId;
+    private String customerName;
+
+    /**
+     * Constructeur de la projection JPQL (ordre de ContactProjections#ROW)
+     */
+    public ContactRowDTO(Long id, Contact.Civility civility, String firstName, String lastName, Boolean isPrimary,
+                         String jobTitle, String email, String phone, String mobile, Contact.ContactStatus status,
+                         Contact.ContactType type, Long customerId, String customerName) {
+        this.id = id;
+        this.fullName = Contact.fullName(civility, firstName, lastName);
+        this.isPrimary = isPrimary;
+        this.jobTitle = jobTitle;
+        this.email = email;
+        this.phone = phone;
+        this.mobile = mobile;
+        this.status = status;
+        this.type = type;
+        this.customerId = customerId;
+        this.customerName = customerName;
+    }
+}
@@ -0,0 +1,19 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/pricing/PriceListDTO.java
+ * @description DTO d'une liste de prix
+ */
+package com.example.gestioncommerciale.dto.pricing;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class PriceListDTO {
+
+    private Long id;
+
+    @NotBlank(message = "Le nom de la liste de prix est obligatoire")
+    @Size(max = 100, message = "Le nom ne peut pas dépasser 100 caractères")
+    private String name;
+}
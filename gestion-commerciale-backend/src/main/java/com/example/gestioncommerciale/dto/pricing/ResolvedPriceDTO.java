@@ -0,0 +1,11 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/pricing/ResolvedPriceDTO.java
+ * @description Prix résolu d'un produit pour une liste de prix : HT, taux de TVA effectif, TVA et TTC unitaires
+ */
+package com.example.gestioncommerciale.dto.pricing;
+
+import java.math.BigDecimal;
+
+public record ResolvedPriceDTO(Long productId, Long priceListId, BigDecimal unitPrice,
+                               BigDecimal vatRate, BigDecimal vatAmount, BigDecimal priceWithVat) {
+}
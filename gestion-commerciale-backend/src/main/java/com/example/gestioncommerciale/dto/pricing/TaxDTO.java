@@ -0,0 +1,29 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/pricing/TaxDTO.java
+ * @description DTO d'une règle de TVA
+ */
+package com.example.gestioncommerciale.dto.pricing;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class TaxDTO {
+
+    private Long id;
+
+    @NotBlank(message = "Le code de la règle de TVA est obligatoire")
+    @Size(max = 20, message = "Le code ne peut pas dépasser 20 caractères")
+    private String code;
+
+    @NotNull(message = "Le taux est obligatoire")
+    @DecimalMin(value = "0.0", message = "Le taux doit être positif")
+    @DecimalMax(value = "100.0", message = "Le taux ne peut pas dépasser 100%")
+    private BigDecimal rate;
+}
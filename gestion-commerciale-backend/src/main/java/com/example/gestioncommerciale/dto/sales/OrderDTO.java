@@ -0,0 +1,40 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/sales/OrderDTO.java
+ * @description DTO commande avec client et lignes
+ */
+package com.example.gestioncommerciale.dto.sales;
+
+import com.example.gestioncommerciale.model.sales.Order;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class OrderDTO {
+
+    private Long id;
+    private String code;
+
+    private Long customerId;
+    private String customerCode;
+    private String customerName;
+
+    private Long quoteId;
+
+    private Order.OrderStatus status;
+    private String currencyCode;
+
+    private BigDecimal subtotalHt;
+    private BigDecimal taxAmount;
+    private BigDecimal totalTtc;
+
+    private String notes;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private List<OrderItemDTO> items = new ArrayList<>();
+}
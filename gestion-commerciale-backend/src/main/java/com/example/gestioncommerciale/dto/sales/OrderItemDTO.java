@@ -0,0 +1,24 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/sales/OrderItemDTO.java
+ * @description DTO ligne de commande
+ */
+package com.example.gestioncommerciale.dto.sales;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class OrderItemDTO {
+
+    private Long id;
+    private Long productId;
+    private String sku;
+    private String name;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal taxRate;
+    private BigDecimal lineTotalHt;
+    private BigDecimal lineTaxAmount;
+    private BigDecimal lineTotalTtc;
+}
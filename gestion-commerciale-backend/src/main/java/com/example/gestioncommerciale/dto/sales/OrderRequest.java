@@ -0,0 +1,29 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/sales/OrderRequest.java
+ * @description Création d'une commande : client, devise, notes et lignes
+ */
+package com.example.gestioncommerciale.dto.sales;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class OrderRequest {
+
+    private Long customerId;
+
+    @Size(min = 3, max = 3)
+    private String currencyCode = "EUR";
+
+    @Size(max = 2000)
+    private String notes;
+
+    @NotEmpty(message = "La commande doit contenir au moins une ligne")
+    @Valid
+    private List<SalesLineRequest> lines = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/sales/QuoteConversionDTO.java
+ * @description Résultat de la conversion d'un devis : commande confirmée et écarts avec les prix courants
+ */
+package com.example.gestioncommerciale.dto.sales;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class QuoteConversionDTO {
+
+    private OrderDTO order;
+
+    /**
+     * Produits dont le prix catalogue a changé depuis le devis (le prix devisé est conservé)
+     */
+    private List<PriceChange> priceChanges;
+
+    public record PriceChange(Long productId, String sku, BigDecimal quotedPrice, BigDecimal currentPrice) {
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/sales/QuoteDTO.java
+ * @description DTO devis avec client et lignes
+ */
+package com.example.gestioncommerciale.dto.sales;
+
+import com.example.gestioncommerciale.model.sales.Quote;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class QuoteDTO {
+
+    private Long id;
+    private String code;
+
+    private Long customerId;
+    private String customerCode;
+    private String customerName;
+
+    private Quote.QuoteStatus status;
+    private String currencyCode;
+
+    private BigDecimal subtotalHt;
+    private BigDecimal taxAmount;
+    private BigDecimal totalTtc;
+
+    private LocalDate validUntil;
+    private Boolean expired;
+    private String notes;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private List<QuoteItemDTO> items = new ArrayList<>();
+}
@@ -0,0 +1,32 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/sales/QuoteRequest.java
+ * @description Création d'un devis : client, devise, date de validité, notes et lignes
+ */
+package com.example.gestioncommerciale.dto.sales;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class QuoteRequest {
+
+    private Long customerId;
+
+    @Size(min = 3, max = 3)
+    private String currencyCode = "EUR";
+
+    private LocalDate validUntil;
+
+    @Size(max = 2000)
+    private String notes;
+
+    @NotEmpty(message = "Le devis doit contenir au moins une ligne")
+    @Valid
+    private List<SalesLineRequest> lines = new ArrayList<>();
+}
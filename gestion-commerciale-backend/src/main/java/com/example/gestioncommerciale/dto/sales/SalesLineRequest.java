@@ -0,0 +1,24 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/dto/sales/SalesLineRequest.java
+ * @description Ligne demandée d'un document de vente : produit et quantité, le prix est lu dans le catalogue
+ */
+package com.example.gestioncommerciale.dto.sales;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesLineRequest {
+
+    @NotNull(message = "Le produit est requis")
+    private Long productId;
+
+    @NotNull
+    @Min(value = 1, message = "La quantité doit être positive")
+    private Integer quantity;
+}
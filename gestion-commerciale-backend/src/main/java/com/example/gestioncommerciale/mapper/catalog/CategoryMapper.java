@@ -15,9 +15,10 @@ public interface CategoryMapper {
 
     @Mapping(target = "parentId", source = "parent.id")
     @Mapping(target = "parentName", source = "parent.name")
-    @Mapping(target = "fullPath", expression = "java(category.getFullPath())")
-    @Mapping(target = "level", expression = "java(category.getLevel())")
+    @Mapping(target = "fullPath", ignore = true) // Lu dans l'instantané de l'arbre par le service
+    @Mapping(target = "level", ignore = true)
     @Mapping(target = "productCount", ignore = true) // Sera rempli par le service
+    @Mapping(target = "children", ignore = true) // Assemblés par le service (arbre)
     CategoryDTO toDTO(Category category);
 
     @Mapping(target = "id", ignore = true)
@@ -15,9 +15,9 @@ public interface ProductMapper {
 
     @Mapping(target = "categoryId", source = "category.id")
     @Mapping(target = "categoryName", source = "category.name")
-    @Mapping(target = "categoryPath", source = "category.fullPath")
-    @Mapping(target = "priceWithVat", expression = "java(product.getPriceWithVat())")
-    @Mapping(target = "vatAmount", expression = "java(product.getVatAmount())")
+    @Mapping(target = "categoryPath", ignore = true) // Lu dans l'instantané de l'arbre par le service
+    @Mapping(target = "priceWithVat", ignore = true) // Résolus dans le barème compilé par le service
+    @Mapping(target = "vatAmount", ignore = true)
     @Mapping(target = "lowStock", expression = "java(product.isLowStock())")
     @Mapping(target = "outOfStock", expression = "java(product.isOutOfStock())")
     ProductDTO toDTO(Product product);
@@ -35,6 +35,7 @@ public interface ProductMapper {
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "stockQuantity", ignore = true) // Ajusté par StockService, journalisé
     void updateProductFromDTO(ProductDTO dto, @MappingTarget Product entity);
 
     @AfterMapping
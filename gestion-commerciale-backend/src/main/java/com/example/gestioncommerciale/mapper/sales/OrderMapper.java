@@ -0,0 +1,28 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/mapper/sales/OrderMapper.java
+ * @description Mapper Order avec MapStruct (détail avec lignes, résumé sans lignes)
+ */
+package com.example.gestioncommerciale.mapper.sales;
+
+import com.example.gestioncommerciale.dto.sales.OrderDTO;
+import com.example.gestioncommerciale.dto.sales.OrderItemDTO;
+import com.example.gestioncommerciale.model.sales.Order;
+import com.example.gestioncommerciale.model.sales.OrderItem;
+import org.mapstruct.*;
+
+@Mapper(componentModel = "spring")
+public interface OrderMapper {
+
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "customerCode", source = "customer.code")
+    @Mapping(target = "customerName", source = "customer.companyName")
+    OrderDTO toDTO(Order order);
+
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "customerCode", source = "customer.code")
+    @Mapping(target = "customerName", source = "customer.companyName")
+    @Mapping(target = "items", ignore = true) // Lignes non chargées dans les listes
+    OrderDTO toSummaryDTO(Order order);
+
+    OrderItemDTO toItemDTO(OrderItem item);
+}
@@ -0,0 +1,30 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/mapper/sales/QuoteMapper.java
+ * @description Mapper Quote avec MapStruct (détail avec lignes, résumé sans lignes)
+ */
+package com.example.gestioncommerciale.mapper.sales;
+
+import com.example.gestioncommerciale.dto.sales.QuoteDTO;
+import com.example.gestioncommerciale.dto.sales.QuoteItemDTO;
+import com.example.gestioncommerciale.model.sales.Quote;
+import com.example.gestioncommerciale.model.sales.QuoteItem;
+import org.mapstruct.*;
+
+@Mapper(componentModel = "spring")
+public interface QuoteMapper {
+
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "customerCode", source = "customer.code")
+    @Mapping(target = "customerName", source = "customer.companyName")
+    @Mapping(target = "expired", expression = "java(quote.isExpired())")
+    QuoteDTO toDTO(Quote quote);
+
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "customerCode", source = "customer.code")
+    @Mapping(target = "customerName", source = "customer.companyName")
+    @Mapping(target = "expired", expression = "java(quote.isExpired())")
+    @Mapping(target = "items", ignore = true) // Lignes non chargées dans les listes
+    QuoteDTO toSummaryDTO(Quote quote);
+
+    QuoteItemDTO toItemDTO(QuoteItem item);
+}
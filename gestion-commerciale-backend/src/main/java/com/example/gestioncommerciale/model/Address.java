@@ -22,8 +22,11 @@ import lombok.ToString;
 @ToString(exclude = {"customer"})
 public class Address {
     
+    // Identifiants réservés par blocs dans id_generators (V9) : insertions regroupées en lots JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "address_ids")
+    @TableGenerator(name = "address_ids", table = "id_generators", pkColumnName = "entity_name",
+                    valueColumnName = "next_val", pkColumnValue = "addresses", allocationSize = 50)
     private Long id;
     
     @Enumerated(EnumType.STRING)
@@ -72,6 +72,9 @@ public class Customer {
     @Column(nullable = false)
     private Integer paymentTermDays = 30; // Délai de paiement en jours
     
+    @Column(name = "price_list_id")
+    private Long priceListId; // Liste de prix appliquée aux commandes et devis (null : prix catalogue)
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private CustomerStatus status = CustomerStatus.ACTIVE;
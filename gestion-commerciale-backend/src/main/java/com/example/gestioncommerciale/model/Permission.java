@@ -6,7 +6,11 @@ package com.example.gestioncommerciale.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
@@ -14,6 +18,8 @@ import java.util.Set;
 @Table(name = "permissions")
 @Data
 @NoArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "permissions")
 public class Permission {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -22,6 +28,8 @@ public class Permission {
     private String action;
     private String resource;
     @ManyToMany(mappedBy = "permissions")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Role> roles;
     // getters et setters...
 }
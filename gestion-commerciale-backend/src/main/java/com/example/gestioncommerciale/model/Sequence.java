@@ -8,7 +8,8 @@ import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
-@Table(name = "sequences")
+@Table(name = "sequences",
+       uniqueConstraints = @UniqueConstraint(name = "ux_sequences_type_year", columnNames = {"type", "year"}))
 @Data
 public class Sequence {
     
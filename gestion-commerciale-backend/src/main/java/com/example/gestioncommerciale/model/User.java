@@ -7,6 +7,8 @@ package com.example.gestioncommerciale.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -23,6 +25,7 @@ public class User {
     private String email;
     private Boolean active;
     private LocalDateTime createdAt;
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
       name = "user_roles",
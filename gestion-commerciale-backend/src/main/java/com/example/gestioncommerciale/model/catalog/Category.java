@@ -8,6 +8,8 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -21,6 +23,8 @@ import java.util.List;
 @EqualsAndHashCode(exclude = {"parent", "children", "products"})
 @ToString(exclude = {"parent", "children", "products"})
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 public class Category {
     
     @Id
@@ -53,6 +57,7 @@ public class Category {
     @JoinColumn(name = "parent_id")
     private Category parent;
     
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category-children")
     @OneToMany(mappedBy = "parent", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @OrderBy("sortOrder ASC, name ASC")
     private List<Category> children;
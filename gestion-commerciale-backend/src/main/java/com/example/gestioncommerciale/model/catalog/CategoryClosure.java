@@ -0,0 +1,45 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/catalog/CategoryClosure.java
+ * @description Table de fermeture transitive de l'arbre des catégories (ancêtre, descendant, profondeur)
+ */
+package com.example.gestioncommerciale.model.catalog;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Entity
+@Table(name = "category_closure",
+       indexes = @Index(name = "ix_category_closure_descendant", columnList = "descendant_id"))
+@Data
+@NoArgsConstructor
+public class CategoryClosure {
+
+    @EmbeddedId
+    private Key id;
+
+    /**
+     * 0 pour la ligne réflexive, 1 pour le parent direct, etc.
+     */
+    @Column(nullable = false)
+    private Integer depth;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "ancestor_id", nullable = false)
+        private Long ancestorId;
+
+        @Column(name = "descendant_id", nullable = false)
+        private Long descendantId;
+
+        public Key(Long ancestorId, Long descendantId) {
+            this.ancestorId = ancestorId;
+            this.descendantId = descendantId;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/catalog/CategoryTranslation.java
+ * @description Traduction d'une catégorie (table category_i18n) : nom et description dans une langue, repli sur la fiche à défaut
+ */
+package com.example.gestioncommerciale.model.catalog;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Entity
+@Table(name = "category_i18n")
+@IdClass(CategoryTranslation.Key.class)
+@Data
+public class CategoryTranslation {
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    // Étiquette de langue : en, en-GB...
+    @Id
+    @Column(length = 5)
+    private String locale;
+
+    @Column(length = 255)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Data
+    public static class Key implements Serializable {
+        private Long categoryId;
+        private String locale;
+    }
+}
@@ -16,7 +16,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "ix_products_sku", columnList = "sku"),
+    @Index(name = "ix_products_ean", columnList = "ean"),
+    @Index(name = "ix_products_reference", columnList = "reference")
+})
 @Data
 @EqualsAndHashCode(exclude = {"category"})
 @ToString(exclude = {"category"})
@@ -67,11 +71,16 @@ public class Product {
     @Column(precision = 5, scale = 2)
     private BigDecimal vatRate = new BigDecimal("20.00");
     
+    // Règle de TVA (table taxes) : si renseignée, son taux prime sur vatRate
+    @Column(name = "tax_id")
+    private Long taxId;
+    
     // Stock
     @Column(nullable = false)
     private Boolean stockManaged = false;
     
-    @Column(nullable = false)
+    // Projection du journal stock_movements, modifiée uniquement par StockService (jamais réécrite par JPA)
+    @Column(nullable = false, updatable = false)
     private Integer stockQuantity = 0;
     
     @Column(nullable = false)
@@ -0,0 +1,38 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/catalog/ProductTranslation.java
+ * @description Traduction d'un produit (table product_i18n) : nom et description dans une langue, repli sur la fiche à défaut
+ */
+package com.example.gestioncommerciale.model.catalog;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Entity
+@Table(name = "product_i18n")
+@IdClass(ProductTranslation.Key.class)
+@Data
+public class ProductTranslation {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    // Étiquette de langue : en, en-GB...
+    @Id
+    @Column(length = 5)
+    private String locale;
+
+    @Column(length = 255)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Data
+    public static class Key implements Serializable {
+        private Long productId;
+        private String locale;
+    }
+}
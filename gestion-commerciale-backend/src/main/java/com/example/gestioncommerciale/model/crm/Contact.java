@@ -17,7 +17,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "contacts")
+@Table(name = "contacts", indexes = @Index(name = "ix_contacts_next_contact_date", columnList = "next_contact_date"))
 @Data
 @EqualsAndHashCode(exclude = {"customer"})
 @ToString(exclude = {"customer"})
@@ -176,9 +176,20 @@ public class Contact {
     
     // Méthodes utilitaires
     public String getFullName() {
+        return fullName(civility, firstName, lastName);
+    }
+    
+    public String getCivilityDisplay() {
+        return civilityDisplay(civility);
+    }
+    
+    /**
+     * Nom complet sans entité chargée (lignes projetées des écrans de liste)
+     */
+    public static String fullName(Civility civility, String firstName, String lastName) {
         StringBuilder fullName = new StringBuilder();
         if (civility != null) {
-            fullName.append(getCivilityDisplay()).append(" ");
+            fullName.append(civilityDisplay(civility)).append(" ");
         }
         fullName.append(firstName);
         if (lastName != null && !lastName.trim().isEmpty()) {
@@ -187,7 +198,7 @@ public class Contact {
         return fullName.toString();
     }
     
-    public String getCivilityDisplay() {
+    public static String civilityDisplay(Civility civility) {
         if (civility == null) return "";
         return switch (civility) {
             case MR -> "M.";
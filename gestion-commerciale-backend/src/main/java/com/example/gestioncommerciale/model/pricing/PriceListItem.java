@@ -0,0 +1,50 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/pricing/PriceListItem.java
+ * @description Prix HT d'un produit dans une liste de prix (remplace le prix catalogue pour les clients de la liste)
+ */
+package com.example.gestioncommerciale.model.pricing;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "price_list_items", indexes = {
+    @Index(name = "ix_price_list_items_product", columnList = "product_id")
+})
+@IdClass(PriceListItem.Key.class)
+@Data
+@EntityListeners(AuditingEntityListener.class)
+public class PriceListItem {
+
+    @Id
+    @Column(name = "price_list_id")
+    private Long priceListId;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "unit_price", nullable = false, precision = 14, scale = 2)
+    private BigDecimal unitPrice;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    public static class Key implements Serializable {
+        private Long priceListId;
+        private Long productId;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/sales/Invoice.java
+ * @description Entité Invoice (table invoices) : facture émise pour une commande livrée, totaux repris de la commande
+ */
+package com.example.gestioncommerciale.model.sales;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "invoices", indexes = {
+    @Index(name = "ix_invoices_status_code", columnList = "status_code"),
+    @Index(name = "ix_invoices_order_id", columnList = "order_id")
+})
+@Data
+@EqualsAndHashCode(exclude = {"items"})
+@ToString(exclude = {"items"})
+public class Invoice {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32, unique = true)
+    private String code;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    // Codes de la table de référence invoice_status
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_code", nullable = false, length = 20)
+    private InvoiceStatus status = InvoiceStatus.ISSUED;
+
+    @Column(name = "issue_date", nullable = false)
+    private LocalDate issueDate;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode = "EUR";
+
+    @Column(name = "subtotal_ht", nullable = false, precision = 14, scale = 2)
+    private BigDecimal subtotalHt = BigDecimal.ZERO;
+
+    @Column(name = "tax_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal taxAmount = BigDecimal.ZERO;
+
+    @Column(name = "total_ttc", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalTtc = BigDecimal.ZERO;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @OneToMany(mappedBy = "invoice")
+    @OrderBy("id")
+    private List<InvoiceItem> items = new ArrayList<>();
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum InvoiceStatus {
+        DRAFT, ISSUED, PAID, CANCELLED
+    }
+}
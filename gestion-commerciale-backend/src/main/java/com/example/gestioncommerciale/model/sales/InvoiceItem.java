@@ -0,0 +1,66 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/sales/InvoiceItem.java
+ * @description Ligne de facture : instantané du produit (référence, libellé, prix, TVA) et montants calculés
+ */
+package com.example.gestioncommerciale.model.sales;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "invoice_items", indexes = {
+    @Index(name = "ix_invoice_items_invoice_id", columnList = "invoice_id"),
+    @Index(name = "ix_invoice_items_product_id", columnList = "product_id")
+})
+@Data
+@EqualsAndHashCode(exclude = {"invoice"})
+@ToString(exclude = {"invoice"})
+public class InvoiceItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "invoice_id", nullable = false)
+    private Invoice invoice;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(length = 64)
+    private String sku;
+
+    @Column(length = 255)
+    private String name;
+
+    @Column(nullable = false)
+    private Integer quantity = 1;
+
+    @Column(name = "unit_price", nullable = false, precision = 14, scale = 2)
+    private BigDecimal unitPrice = BigDecimal.ZERO;
+
+    // Taux en %
+    @Column(name = "tax_rate", nullable = false, precision = 5, scale = 2)
+    private BigDecimal taxRate = BigDecimal.ZERO;
+
+    @Column(name = "line_total_ht", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lineTotalHt = BigDecimal.ZERO;
+
+    @Column(name = "line_tax_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lineTaxAmount = BigDecimal.ZERO;
+
+    @Column(name = "line_total_ttc", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lineTotalTtc = BigDecimal.ZERO;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
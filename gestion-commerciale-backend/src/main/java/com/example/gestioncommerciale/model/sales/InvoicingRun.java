@@ -0,0 +1,67 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/sales/InvoicingRun.java
+ * @description Exécution de la facturation par lot : périmètre, avancement et débit de la dernière passe
+ */
+package com.example.gestioncommerciale.model.sales;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "invoicing_runs", indexes = {
+    @Index(name = "ix_invoicing_runs_status", columnList = "status")
+})
+@Data
+public class InvoicingRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RunStatus status = RunStatus.RUNNING;
+
+    // Commandes livrées au plus tard à cette date
+    @Column(nullable = false)
+    private LocalDateTime cutoff;
+
+    @Column(name = "issue_date", nullable = false)
+    private LocalDate issueDate;
+
+    @Column(name = "partitions_total", nullable = false)
+    private Integer partitionsTotal = 0;
+
+    @Column(name = "partitions_done", nullable = false)
+    private Integer partitionsDone = 0;
+
+    @Column(name = "partitions_failed", nullable = false)
+    private Integer partitionsFailed = 0;
+
+    @Column(name = "invoices_created", nullable = false)
+    private Integer invoicesCreated = 0;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Durée de la dernière passe (exécution initiale ou reprise)
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    /**
+     * RUNNING : en cours, ou interrompue par un arrêt brutal (à reprendre)
+     * FAILED : terminée avec des partitions en échec (à reprendre)
+     */
+    public enum RunStatus {
+        RUNNING, COMPLETED, FAILED
+    }
+}
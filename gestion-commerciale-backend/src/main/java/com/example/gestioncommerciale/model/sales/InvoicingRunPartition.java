@@ -0,0 +1,48 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/sales/InvoicingRunPartition.java
+ * @description Partition client d'une exécution de facturation : point de reprise mis à jour à chaque lot validé
+ */
+package com.example.gestioncommerciale.model.sales;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "invoicing_run_partitions",
+       uniqueConstraints = @UniqueConstraint(name = "ux_invoicing_run_partitions", columnNames = {"run_id", "customer_id"}))
+@Data
+public class InvoicingRunPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PartitionStatus status = PartitionStatus.PENDING;
+
+    // Dernière commande facturée : la reprise repart de la suivante
+    @Column(name = "last_order_id", nullable = false)
+    private Long lastOrderId = 0L;
+
+    @Column(name = "invoices_created", nullable = false)
+    private Integer invoicesCreated = 0;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum PartitionStatus {
+        PENDING, DONE, FAILED
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/sales/Order.java
+ * @description Entité Order (table orders) : en-tête de commande client avec totaux HT/TVA/TTC
+ */
+package com.example.gestioncommerciale.model.sales;
+
+import com.example.gestioncommerciale.model.Customer;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "orders", indexes = {
+    @Index(name = "ix_orders_customer_id", columnList = "customer_id"),
+    @Index(name = "ix_orders_status", columnList = "status")
+})
+@Data
+@EqualsAndHashCode(exclude = {"customer", "items"})
+@ToString(exclude = {"customer", "items"})
+public class Order {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32, unique = true)
+    private String code;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id")
+    private Customer customer;
+
+    // Devis d'origine (conversion), unique
+    @Column(name = "quote_id", unique = true)
+    private Long quoteId;
+
+    @Column(name = "billing_address_id")
+    private Long billingAddressId;
+
+    @Column(name = "shipping_address_id")
+    private Long shippingAddressId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OrderStatus status = OrderStatus.DRAFT;
+
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode = "EUR";
+
+    @Column(name = "subtotal_ht", nullable = false, precision = 14, scale = 2)
+    private BigDecimal subtotalHt = BigDecimal.ZERO;
+
+    @Column(name = "tax_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal taxAmount = BigDecimal.ZERO;
+
+    @Column(name = "total_ttc", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalTtc = BigDecimal.ZERO;
+
+    @Column(length = 2000)
+    private String notes;
+
+    // Lignes écrites par lots JDBC (OrderService), lues par jointure
+    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY)
+    @OrderBy("id ASC")
+    private List<OrderItem> items = new ArrayList<>();
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum OrderStatus {
+        DRAFT, CONFIRMED, DELIVERED, INVOICED, CANCELLED
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/sales/OrderItem.java
+ * @description Ligne de commande : instantané du produit (référence, libellé, prix, TVA) et montants calculés
+ */
+package com.example.gestioncommerciale.model.sales;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "order_items", indexes = {
+    @Index(name = "ix_order_items_order_id", columnList = "order_id"),
+    @Index(name = "ix_order_items_product_id", columnList = "product_id")
+})
+@Data
+@EqualsAndHashCode(exclude = {"order"})
+@ToString(exclude = {"order"})
+public class OrderItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(length = 64)
+    private String sku;
+
+    @Column(length = 255)
+    private String name;
+
+    @Column(nullable = false)
+    private Integer quantity = 1;
+
+    @Column(name = "unit_price", nullable = false, precision = 14, scale = 2)
+    private BigDecimal unitPrice = BigDecimal.ZERO;
+
+    // Taux en %
+    @Column(name = "tax_rate", nullable = false, precision = 5, scale = 2)
+    private BigDecimal taxRate = BigDecimal.ZERO;
+
+    @Column(name = "line_total_ht", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lineTotalHt = BigDecimal.ZERO;
+
+    @Column(name = "line_tax_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lineTaxAmount = BigDecimal.ZERO;
+
+    @Column(name = "line_total_ttc", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lineTotalTtc = BigDecimal.ZERO;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
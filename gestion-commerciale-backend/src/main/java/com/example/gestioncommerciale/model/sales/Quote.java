@@ -0,0 +1,80 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/sales/Quote.java
+ * @description Entité Quote (table quotes) : devis client avec date de validité et totaux HT/TVA/TTC
+ */
+package com.example.gestioncommerciale.model.sales;
+
+import com.example.gestioncommerciale.model.Customer;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "quotes", indexes = {
+    @Index(name = "ix_quotes_customer_id", columnList = "customer_id"),
+    @Index(name = "ix_quotes_status", columnList = "status")
+})
+@Data
+@EqualsAndHashCode(exclude = {"customer", "items"})
+@ToString(exclude = {"customer", "items"})
+public class Quote {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32, unique = true)
+    private String code;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id")
+    private Customer customer;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private QuoteStatus status = QuoteStatus.DRAFT;
+
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode = "EUR";
+
+    @Column(name = "subtotal_ht", nullable = false, precision = 14, scale = 2)
+    private BigDecimal subtotalHt = BigDecimal.ZERO;
+
+    @Column(name = "tax_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal taxAmount = BigDecimal.ZERO;
+
+    @Column(name = "total_ttc", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalTtc = BigDecimal.ZERO;
+
+    @Column(name = "valid_until")
+    private LocalDate validUntil;
+
+    @Column(length = 2000)
+    private String notes;
+
+    // Lignes écrites par lots JDBC (QuoteService), lues par jointure
+    @OneToMany(mappedBy = "quote", fetch = FetchType.LAZY)
+    @OrderBy("id ASC")
+    private List<QuoteItem> items = new ArrayList<>();
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum QuoteStatus {
+        DRAFT, SENT, ACCEPTED, REJECTED, CONVERTED
+    }
+
+    public boolean isExpired() {
+        return validUntil != null && validUntil.isBefore(LocalDate.now());
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/stock/StockMovement.java
+ * @description Mouvement du journal de stock (ajout seul) : variation signée du stock disponible d'un produit
+ */
+package com.example.gestioncommerciale.model.stock;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_movements", indexes = {
+    @Index(name = "ix_stock_movements_product", columnList = "product_id, id"),
+    @Index(name = "ix_stock_movements_created_at", columnList = "created_at")
+})
+@Data
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MovementType type;
+
+    /**
+     * Variation du stock disponible (négative pour une réservation, nulle pour une consommation)
+     */
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @Column(length = 100)
+    private String reference;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    public enum MovementType {
+        ADJUSTMENT, RESERVATION, RELEASE, COMMIT, SNAPSHOT
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/model/stock/StockReservation.java
+ * @description Réservation de stock : quantité retirée du disponible jusqu'à sa libération ou sa consommation
+ */
+package com.example.gestioncommerciale.model.stock;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_reservations", indexes = {
+    @Index(name = "ix_stock_reservations_product_status", columnList = "product_id, status"),
+    @Index(name = "ix_stock_reservations_reference", columnList = "reference")
+})
+@Data
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(length = 100)
+    private String reference;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReservationStatus status = ReservationStatus.ACTIVE;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    public enum ReservationStatus {
+        ACTIVE, RELEASED, COMMITTED
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/CustomerProjections.java
+ * @description Projections des clients pour les écrans de liste
+ */
+package com.example.gestioncommerciale.repository;
+
+import com.example.gestioncommerciale.dto.CustomerRowDTO;
+import com.example.gestioncommerciale.model.Customer;
+import com.example.gestioncommerciale.service.pagination.RowProjection;
+
+public final class CustomerProjections {
+
+    private CustomerProjections() {
+    }
+
+    /**
+     * Colonnes de _customerRow ; notes, conditions commerciales et audit ne sont pas lus
+     */
+    public static final RowProjection<Customer, CustomerRowDTO> ROW = new RowProjection<>(
+        Customer.class, CustomerRowDTO.class, (root, cb) -> cb.construct(CustomerRowDTO.class,
+            root.get("id"), root.get("code"), root.get("companyName"), root.get("siret"),
+            root.get("contactFirstName"), root.get("contactLastName"), root.get("email"), root.get("phone"),
+            root.get("status"), root.get("type")));
+}
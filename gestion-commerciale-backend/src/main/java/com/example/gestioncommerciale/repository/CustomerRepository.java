@@ -8,6 +8,7 @@ import com.example.gestioncommerciale.model.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,7 +17,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer> {
 
         Optional<Customer> findByCode(String code);
 
@@ -55,6 +56,14 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
                         @Param("search") String search,
                         Pageable pageable);
 
+        /**
+         * Compteurs du tableau de bord en un seul passage : total, actifs
+         */
+        @Query("SELECT COUNT(c), " +
+                        "COALESCE(SUM(CASE WHEN c.status = :activeStatus THEN 1 ELSE 0 END), 0) " +
+                        "FROM Customer c")
+        List<Object[]> aggregateDashboardCounters(@Param("activeStatus") Customer.CustomerStatus activeStatus);
+
         long countByStatus(Customer.CustomerStatus status);
 
         boolean existsByCode(String code);
@@ -0,0 +1,46 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/CustomerSpecifications.java
+ * @description Critères de filtrage des clients pour la pagination par clé
+ */
+package com.example.gestioncommerciale.repository;
+
+import com.example.gestioncommerciale.model.Customer;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mêmes filtres que {@link CustomerRepository#findWithFilters}
+ */
+public final class CustomerSpecifications {
+
+    private CustomerSpecifications() {
+    }
+
+    public static Specification<Customer> withFilters(Customer.CustomerStatus status,
+                                                      Customer.CustomerType type,
+                                                      String search) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (type != null) {
+                predicates.add(cb.equal(root.get("type"), type));
+            }
+            if (search != null && !search.isBlank()) {
+                String pattern = "%" + search.toLowerCase() + "%";
+                predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("companyName")), pattern),
+                    cb.like(cb.lower(root.get("contactFirstName")), pattern),
+                    cb.like(cb.lower(root.get("contactLastName")), pattern),
+                    cb.like(cb.lower(root.get("email")), pattern),
+                    cb.like(cb.lower(root.get("code")), pattern)
+                ));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
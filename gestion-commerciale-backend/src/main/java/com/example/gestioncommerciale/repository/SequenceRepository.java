@@ -5,7 +5,11 @@
 package com.example.gestioncommerciale.repository;
 
 import com.example.gestioncommerciale.model.Sequence;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,4 +18,11 @@ import java.util.Optional;
 public interface SequenceRepository extends JpaRepository<Sequence, Long> {
     
     Optional<Sequence> findByTypeAndYear(String type, Integer year);
+
+    // Lecture sans verrou ni chargement d'entité (une entité déjà chargée ne serait pas relue par le verrou)
+    boolean existsByTypeAndYear(String type, Integer year);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Sequence s WHERE s.type = :type AND s.year = :year")
+    Optional<Sequence> findByTypeAndYearForUpdate(@Param("type") String type, @Param("year") Integer year);
 }
@@ -0,0 +1,58 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/catalog/CategoryClosureRepository.java
+ * @description Repository de la table de fermeture des catégories (maintenance des chemins)
+ */
+package com.example.gestioncommerciale.repository.catalog;
+
+import com.example.gestioncommerciale.model.catalog.CategoryClosure;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosure.Key> {
+
+    @Query("SELECT cc.id.ancestorId, cc.id.descendantId, cc.depth FROM CategoryClosure cc")
+    List<Object[]> findAllRows();
+
+    @Query("SELECT cc.id.descendantId FROM CategoryClosure cc WHERE cc.id.ancestorId = :ancestorId")
+    List<Long> findDescendantIds(@Param("ancestorId") Long ancestorId);
+
+    @Modifying
+    // Table déclarée : sans elle, Hibernate viderait tout le cache de second niveau à chaque insertion native
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "category_closure"))
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) VALUES (:id, :id, 0)",
+           nativeQuery = true)
+    int insertSelf(@Param("id") Long id);
+
+    /**
+     * Chemins de tous les ancêtres de newParentId (inclus) vers tous les nœuds du sous-arbre de rootId (inclus)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "category_closure"))
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+                   "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 " +
+                   "FROM category_closure a CROSS JOIN category_closure d " +
+                   "WHERE a.descendant_id = :newParentId AND d.ancestor_id = :rootId",
+           nativeQuery = true)
+    int linkSubtree(@Param("rootId") Long rootId, @Param("newParentId") Long newParentId);
+
+    /**
+     * Supprime les chemins entrant dans le sous-arbre depuis l'extérieur (détachement avant déplacement)
+     */
+    @Modifying
+    @Query("DELETE FROM CategoryClosure cc WHERE cc.id.descendantId IN :subtreeIds AND cc.id.ancestorId NOT IN :subtreeIds")
+    int unlinkSubtree(@Param("subtreeIds") Collection<Long> subtreeIds);
+
+    @Modifying
+    @Query("DELETE FROM CategoryClosure cc WHERE cc.id.descendantId = :id OR cc.id.ancestorId = :id")
+    int deleteAllPaths(@Param("id") Long id);
+}
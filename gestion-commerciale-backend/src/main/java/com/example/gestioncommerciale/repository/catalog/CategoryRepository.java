@@ -5,23 +5,42 @@
 package com.example.gestioncommerciale.repository.catalog;
 
 import com.example.gestioncommerciale.model.catalog.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category> {
+    
+    String QUERY_CACHE_REGION = "category-queries";
     
     Optional<Category> findByCode(String code);
     
+    /**
+     * Filtre catégorie de toutes les listes produits : résultat en cache de requêtes,
+     * invalidé par toute écriture sur la table categories
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Category> findByActiveTrue();
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Category> findByParentIsNullOrderBySortOrderAscNameAsc();
     
     List<Category> findByParentIdOrderBySortOrderAscNameAsc(Long parentId);
@@ -42,14 +61,44 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
         Pageable pageable
     );
     
+    /**
+     * Compteurs du tableau de bord en un seul passage : total, actives, racines
+     */
+    @Query("SELECT COUNT(c), " +
+           "COALESCE(SUM(CASE WHEN c.active = true THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN c.parent IS NULL THEN 1 ELSE 0 END), 0) " +
+           "FROM Category c")
+    List<Object[]> aggregateDashboardCounters();
+    
     @Query("SELECT c FROM Category c LEFT JOIN FETCH c.children WHERE c.parent IS NULL ORDER BY c.sortOrder ASC, c.name ASC")
     List<Category> findRootCategoriesWithChildren();
     
+    /**
+     * Colonnes d'affichage de l'arbre, sans hydrater les entités
+     */
+    @Query("SELECT c.id, pa.id, c.code, c.name, c.description, c.iconClass, c.active, c.sortOrder " +
+           "FROM Category c LEFT JOIN c.parent pa ORDER BY c.sortOrder ASC, c.name ASC")
+    List<Object[]> findAllTreeRows();
+    
+    /**
+     * Produits du sous-arbre (toutes profondeurs) de chaque catégorie demandée, via la table de fermeture
+     */
+    @Query("SELECT cc.id.ancestorId, COUNT(p) FROM CategoryClosure cc, Product p " +
+           "WHERE p.category.id = cc.id.descendantId AND cc.id.ancestorId IN :categoryIds " +
+           "GROUP BY cc.id.ancestorId")
+    List<Object[]> countSubtreeProductsGroupedByCategoryIds(@Param("categoryIds") Collection<Long> categoryIds);
+    
+    @Query("SELECT p.category.id, COUNT(p) FROM Product p WHERE p.category.id IN :categoryIds GROUP BY p.category.id")
+    List<Object[]> countProductsGroupedByCategoryIds(@Param("categoryIds") Collection<Long> categoryIds);
+    
+    @Query("SELECT p.category.id, COUNT(p) FROM Product p GROUP BY p.category.id")
+    List<Object[]> countProductsGroupedByCategory();
+    
     @Query("SELECT COUNT(p) FROM Product p WHERE p.category = :category")
     long countProductsByCategory(@Param("category") Category category);
     
-    @Query("SELECT COUNT(p) FROM Product p WHERE p.category IN " +
-           "(SELECT c FROM Category c WHERE c.parent = :category OR c = :category)")
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.category.id IN " +
+           "(SELECT cc.id.descendantId FROM CategoryClosure cc WHERE cc.id.ancestorId = :#{#category.id})")
     long countProductsByCategoryIncludingChildren(@Param("category") Category category);
     
     boolean existsByCode(String code);
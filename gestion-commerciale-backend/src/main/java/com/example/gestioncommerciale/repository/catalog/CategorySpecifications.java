@@ -0,0 +1,42 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/catalog/CategorySpecifications.java
+ * @description Critères de filtrage des catégories pour la pagination par clé
+ */
+package com.example.gestioncommerciale.repository.catalog;
+
+import com.example.gestioncommerciale.model.catalog.Category;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mêmes filtres que {@link CategoryRepository#findWithFilters}
+ */
+public final class CategorySpecifications {
+
+    private CategorySpecifications() {
+    }
+
+    public static Specification<Category> withFilters(Boolean active, Long parentId, String search) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (active != null) {
+                predicates.add(cb.equal(root.get("active"), active));
+            }
+            if (parentId != null) {
+                predicates.add(cb.equal(root.get("parent").get("id"), parentId));
+            }
+            if (search != null && !search.isBlank()) {
+                String pattern = "%" + search.toLowerCase() + "%";
+                predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern),
+                    cb.like(cb.lower(root.get("code")), pattern),
+                    cb.like(cb.lower(root.get("description")), pattern)
+                ));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/catalog/ProductProjections.java
+ * @description Projections des produits pour les écrans de liste
+ */
+package com.example.gestioncommerciale.repository.catalog;
+
+import com.example.gestioncommerciale.dto.catalog.ProductRowDTO;
+import com.example.gestioncommerciale.model.catalog.Category;
+import com.example.gestioncommerciale.model.catalog.Product;
+import com.example.gestioncommerciale.service.pagination.RowProjection;
+import jakarta.persistence.criteria.Join;
+
+public final class ProductProjections {
+
+    private ProductProjections() {
+    }
+
+    /**
+     * Colonnes de _productRow, nom de catégorie joint, description tronquée en base ;
+     * poids, dimensions, EAN, URLs d'image et de document et audit ne sont pas lus
+     */
+    public static final RowProjection<Product, ProductRowDTO> ROW = new RowProjection<>(
+        Product.class, ProductRowDTO.class, (root, cb) -> {
+            Join<Product, Category> category = RowProjection.leftJoin(root, "category");
+            return cb.construct(ProductRowDTO.class,
+                root.get("id"), root.get("code"), root.get("name"), root.get("reference"), root.get("sku"),
+                cb.substring(root.get("description"), 1, ProductRowDTO.DESCRIPTION_LENGTH),
+                root.get("thumbnailUrl"), root.get("type"), root.get("status"), root.get("active"),
+                root.get("unitPrice"), root.get("costPrice"), root.get("vatRate"), root.get("taxId"),
+                root.get("stockManaged"), root.get("stockQuantity"), root.get("minStockLevel"),
+                root.get("maxStockLevel"), root.get("unit"),
+                category.get("id"), category.get("name"));
+        });
+}
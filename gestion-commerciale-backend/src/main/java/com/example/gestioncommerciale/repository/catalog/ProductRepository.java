@@ -9,16 +9,18 @@ import com.example.gestioncommerciale.model.catalog.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
     
     Optional<Product> findByCode(String code);
     
@@ -34,7 +36,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     @Query("SELECT p FROM Product p WHERE " +
            "(:active IS NULL OR p.active = :active) AND " +
-           "(:categoryId IS NULL OR p.category.id = :categoryId) AND " +
+           "(:anyCategory = true OR p.category.id IN :categoryIds) AND " +
            "(:status IS NULL OR p.status = :status) AND " +
            "(:type IS NULL OR p.type = :type) AND " +
            "(:minPrice IS NULL OR p.unitPrice >= :minPrice) AND " +
@@ -48,7 +50,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
            "  LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%')))")
     Page<Product> findWithFilters(
         @Param("active") Boolean active,
-        @Param("categoryId") Long categoryId,
+        @Param("anyCategory") boolean anyCategory,
+        @Param("categoryIds") Collection<Long> categoryIds,
         @Param("status") Product.ProductStatus status,
         @Param("type") Product.ProductType type,
         @Param("minPrice") BigDecimal minPrice,
@@ -57,6 +60,92 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         Pageable pageable
     );
     
+    @Query("SELECT p FROM Product p WHERE p.code = :term OR p.sku = :term OR p.ean = :term OR p.reference = :term")
+    List<Product> findByExactIdentifier(@Param("term") String term);
+
+    /**
+     * Candidats de la recherche FULLTEXT : MATCH seul (index ft_products_name_description) et une branche
+     * par identifiant en préfixe (index de colonne), réunis par UNION plutôt que par OR pour que chaque
+     * branche garde son index ; pertinence nulle pour les candidats trouvés par identifiant seulement
+     */
+    String FULLTEXT_HITS =
+           "SELECT u.id, MAX(u.score) AS score FROM (" +
+           " SELECT id, MATCH(name, description) AGAINST (:query IN BOOLEAN MODE) AS score FROM products " +
+           "  WHERE MATCH(name, description) AGAINST (:query IN BOOLEAN MODE) " +
+           " UNION ALL SELECT id, 0 FROM products WHERE code LIKE :prefix " +
+           " UNION ALL SELECT id, 0 FROM products WHERE sku LIKE :prefix " +
+           " UNION ALL SELECT id, 0 FROM products WHERE ean LIKE :prefix " +
+           " UNION ALL SELECT id, 0 FROM products WHERE reference LIKE :prefix" +
+           ") u GROUP BY u.id";
+
+    String FULLTEXT_FILTERS =
+           "(:active IS NULL OR p.active = :active) AND " +
+           "(:anyCategory = TRUE OR p.category_id IN (:categoryIds)) AND " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:type IS NULL OR p.type = :type) AND " +
+           "(:minPrice IS NULL OR p.unit_price >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR p.unit_price <= :maxPrice)";
+
+    @Query(value = "SELECT p.* FROM products p JOIN (" + FULLTEXT_HITS + ") hits ON hits.id = p.id WHERE " +
+           FULLTEXT_FILTERS + " ORDER BY hits.score DESC, p.name ASC",
+           countQuery = "SELECT COUNT(*) FROM products p JOIN (" + FULLTEXT_HITS + ") hits ON hits.id = p.id WHERE " +
+           FULLTEXT_FILTERS,
+           nativeQuery = true)
+    Page<Product> searchFullText(
+        @Param("query") String query,
+        @Param("prefix") String prefix,
+        @Param("active") Boolean active,
+        @Param("anyCategory") boolean anyCategory,
+        @Param("categoryIds") Collection<Long> categoryIds,
+        @Param("status") String status,
+        @Param("type") String type,
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice,
+        Pageable pageable
+    );
+
+    /**
+     * Identifiants de toute la recherche FULLTEXT dans l'ordre de la liste (pertinence puis nom), pour l'export
+     */
+    @Query(value = "SELECT p.id FROM products p JOIN (" + FULLTEXT_HITS + ") hits ON hits.id = p.id WHERE " +
+           FULLTEXT_FILTERS + " ORDER BY hits.score DESC, p.name ASC",
+           nativeQuery = true)
+    List<Number> findFullTextIds(
+        @Param("query") String query,
+        @Param("prefix") String prefix,
+        @Param("active") Boolean active,
+        @Param("anyCategory") boolean anyCategory,
+        @Param("categoryIds") Collection<Long> categoryIds,
+        @Param("status") String status,
+        @Param("type") String type,
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice
+    );
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE p.id IN :ids")
+    List<Product> findAllWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lignes légères pour l'index d'autocomplétion, parcourues par tranches d'identifiants
+     */
+    @Query("SELECT p.id, p.name, p.code, p.sku, p.ean, p.active, p.category.id, p.status " +
+           "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findSearchIndexRows(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Clés d'unicité de tout le catalogue en une requête (import CSV) : id, code, SKU, EAN
+     */
+    @Query("SELECT p.id, p.code, p.sku, p.ean FROM Product p")
+    List<Object[]> findImportKeys();
+
+    /**
+     * Instantané tarifaire des produits d'un document en une requête : id, code, SKU, libellé, prix HT, TVA, actif
+     */
+    @Query("SELECT p.id, p.code, p.sku, p.name, p.unitPrice, p.vatRate, p.active FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findPricingSnapshots(@Param("ids") Collection<Long> ids);
+
+    long countByIdIn(Collection<Long> ids);
+
     @Query("SELECT p FROM Product p WHERE p.stockManaged = true AND p.stockQuantity <= p.minStockLevel")
     List<Product> findLowStockProducts();
     
@@ -78,6 +167,25 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT COUNT(p) FROM Product p WHERE p.stockManaged = true AND p.stockQuantity = 0")
     long countOutOfStockProducts();
     
+    /**
+     * Compteurs du tableau de bord en un seul passage : total, actifs, stock bas, ruptures
+     */
+    @Query("SELECT COUNT(p), " +
+           "COALESCE(SUM(CASE WHEN p.active = true THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.stockManaged = true AND p.stockQuantity <= p.minStockLevel THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN p.stockManaged = true AND p.stockQuantity = 0 THEN 1 ELSE 0 END), 0) " +
+           "FROM Product p")
+    List<Object[]> aggregateDashboardCounters();
+    
+    /**
+     * Produit repris sur une ligne de commande, de devis ou de facture (lignes sans clé étrangère vers products)
+     */
+    @Query("SELECT CASE WHEN EXISTS (SELECT o.id FROM OrderItem o WHERE o.productId = :productId) " +
+           "OR EXISTS (SELECT q.id FROM QuoteItem q WHERE q.productId = :productId) " +
+           "OR EXISTS (SELECT i.id FROM InvoiceItem i WHERE i.productId = :productId) " +
+           "THEN true ELSE false END FROM Product p WHERE p.id = :productId")
+    boolean isUsedBySalesDocuments(@Param("productId") Long productId);
+    
     boolean existsByCode(String code);
     
     boolean existsBySku(String sku);
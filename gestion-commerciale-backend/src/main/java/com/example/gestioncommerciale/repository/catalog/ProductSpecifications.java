@@ -0,0 +1,77 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/catalog/ProductSpecifications.java
+ * @description Critères de filtrage des produits pour la pagination par clé
+ */
+package com.example.gestioncommerciale.repository.catalog;
+
+import com.example.gestioncommerciale.model.catalog.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Predicate;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mêmes filtres que {@link ProductRepository#findWithFilters}
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * @param categoryIds catégories autorisées, null pour toutes
+     */
+    public static Specification<Product> withFilters(
+            Boolean active,
+            Collection<Long> categoryIds,
+            Product.ProductStatus status,
+            Product.ProductType type,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            String search
+    ) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (active != null) {
+                predicates.add(cb.equal(root.get("active"), active));
+            }
+            if (categoryIds != null) {
+                predicates.add(root.get("category").get("id").in(categoryIds));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (type != null) {
+                predicates.add(cb.equal(root.get("type"), type));
+            }
+            if (minPrice != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("unitPrice"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("unitPrice"), maxPrice));
+            }
+            if (search != null && !search.isBlank()) {
+                String pattern = "%" + search.toLowerCase() + "%";
+                predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern),
+                    cb.like(cb.lower(root.get("code")), pattern),
+                    cb.like(cb.lower(root.get("reference")), pattern),
+                    cb.like(cb.lower(root.get("sku")), pattern),
+                    cb.like(cb.lower(root.get("ean")), pattern),
+                    cb.like(cb.lower(root.get("description")), pattern)
+                ));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Identifiants donnés (recherche instantanée : page déjà classée par l'index)
+     */
+    public static Specification<Product> withIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/crm/ContactProjections.java
+ * @description Projections des contacts pour les écrans de liste
+ */
+package com.example.gestioncommerciale.repository.crm;
+
+import com.example.gestioncommerciale.dto.crm.ContactRowDTO;
+import com.example.gestioncommerciale.model.Customer;
+import com.example.gestioncommerciale.model.crm.Contact;
+import com.example.gestioncommerciale.service.pagination.RowProjection;
+import jakarta.persistence.criteria.Join;
+
+public final class ContactProjections {
+
+    private ContactProjections() {
+    }
+
+    /**
+     * Colonnes de _contactRow et raison sociale du client ; adresse, notes, préférences et suivi ne sont pas lus
+     */
+    public static final RowProjection<Contact, ContactRowDTO> ROW = new RowProjection<>(
+        Contact.class, ContactRowDTO.class, (root, cb) -> {
+            Join<Contact, Customer> customer = RowProjection.leftJoin(root, "customer");
+            return cb.construct(ContactRowDTO.class,
+                root.get("id"), root.get("civility"), root.get("firstName"), root.get("lastName"),
+                root.get("isPrimary"), root.get("jobTitle"), root.get("email"), root.get("phone"),
+                root.get("mobile"), root.get("status"), root.get("type"),
+                customer.get("id"), customer.get("companyName"));
+        });
+}
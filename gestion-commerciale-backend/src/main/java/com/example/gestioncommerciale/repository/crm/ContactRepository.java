@@ -9,16 +9,18 @@ import com.example.gestioncommerciale.model.crm.Contact;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ContactRepository extends JpaRepository<Contact, Long> {
+public interface ContactRepository extends JpaRepository<Contact, Long>, JpaSpecificationExecutor<Contact> {
     
     Optional<Contact> findByCode(String code);
     
@@ -56,8 +58,26 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
         Pageable pageable
     );
     
-    @Query("SELECT c FROM Contact c WHERE c.nextContactDate IS NOT NULL AND c.nextContactDate <= :date")
-    List<Contact> findContactsDueForFollowup(@Param("date") LocalDateTime date);
+    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.customer WHERE c.id IN :ids")
+    List<Contact> findAllWithCustomerByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lignes légères pour l'index d'autocomplétion, parcourues par tranches d'identifiants
+     */
+    @Query("SELECT c.id, c.firstName, c.lastName, c.email, c.phone, c.mobile, cu.companyName, cu.id, c.status, c.type " +
+           "FROM Contact c LEFT JOIN c.customer cu WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findSearchIndexRows(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT c.id, c.firstName, c.lastName, c.email, c.phone, c.mobile, cu.companyName, cu.id, c.status, c.type " +
+           "FROM Contact c JOIN c.customer cu WHERE cu.id = :customerId")
+    List<Object[]> findSearchIndexRowsByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Relances échues, les plus anciennes d'abord ; client chargé pour le DTO
+     */
+    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.customer " +
+           "WHERE c.nextContactDate IS NOT NULL AND c.nextContactDate <= :date ORDER BY c.nextContactDate, c.id")
+    List<Contact> findContactsDueForFollowup(@Param("date") LocalDateTime date, Pageable pageable);
     
     @Query("SELECT c FROM Contact c WHERE c.lastContactDate IS NULL OR c.lastContactDate <= :date")
     List<Contact> findContactsWithoutRecentContact(@Param("date") LocalDateTime date);
@@ -95,6 +115,22 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
     @Query("SELECT COUNT(c) FROM Contact c WHERE c.lastContactDate IS NULL OR c.lastContactDate <= :date")
     long countStaleContacts(@Param("date") LocalDateTime date);
     
+    /**
+     * Compteurs du tableau de bord en un seul passage : total, actifs, prospects, relances dépassées, sans contact récent
+     */
+    @Query("SELECT COUNT(c), " +
+           "COALESCE(SUM(CASE WHEN c.status = :activeStatus THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN c.type = :leadType THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN c.nextContactDate IS NOT NULL AND c.nextContactDate <= :now THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN c.lastContactDate IS NULL OR c.lastContactDate <= :staleBefore THEN 1 ELSE 0 END), 0) " +
+           "FROM Contact c")
+    List<Object[]> aggregateDashboardCounters(
+        @Param("activeStatus") Contact.ContactStatus activeStatus,
+        @Param("leadType") Contact.ContactType leadType,
+        @Param("now") LocalDateTime now,
+        @Param("staleBefore") LocalDateTime staleBefore
+    );
+    
     boolean existsByCode(String code);
     
     boolean existsByEmail(String email);
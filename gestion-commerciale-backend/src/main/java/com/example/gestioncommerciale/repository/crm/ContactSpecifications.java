@@ -0,0 +1,76 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/crm/ContactSpecifications.java
+ * @description Critères de filtrage des contacts pour la pagination par clé
+ */
+package com.example.gestioncommerciale.repository.crm;
+
+import com.example.gestioncommerciale.model.Customer;
+import com.example.gestioncommerciale.model.crm.Contact;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mêmes filtres que {@link ContactRepository#findWithFilters}
+ */
+public final class ContactSpecifications {
+
+    private ContactSpecifications() {
+    }
+
+    public static Specification<Contact> withFilters(
+            Contact.ContactStatus status,
+            Contact.ContactType type,
+            Long customerId,
+            Contact.ContactPriority priority,
+            Boolean isPrimary,
+            String search
+    ) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (type != null) {
+                predicates.add(cb.equal(root.get("type"), type));
+            }
+            if (customerId != null) {
+                predicates.add(cb.equal(root.get("customer").get("id"), customerId));
+            }
+            if (priority != null) {
+                predicates.add(cb.equal(root.get("priority"), priority));
+            }
+            if (isPrimary != null) {
+                predicates.add(cb.equal(root.get("isPrimary"), isPrimary));
+            }
+            if (search != null && !search.isBlank()) {
+                String pattern = "%" + search.toLowerCase() + "%";
+                Join<Contact, Customer> customer = root.join("customer", JoinType.LEFT);
+                predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("firstName")), pattern),
+                    cb.like(cb.lower(root.get("lastName")), pattern),
+                    cb.like(cb.lower(root.get("email")), pattern),
+                    cb.like(cb.lower(root.get("phone")), pattern),
+                    cb.like(cb.lower(root.get("mobile")), pattern),
+                    cb.like(cb.lower(root.get("jobTitle")), pattern),
+                    cb.like(cb.lower(root.get("department")), pattern),
+                    cb.like(cb.lower(customer.get("companyName")), pattern),
+                    cb.like(cb.lower(root.get("code")), pattern)
+                ));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Identifiants donnés (recherche instantanée : page déjà classée par l'index)
+     */
+    public static Specification<Contact> withIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+}
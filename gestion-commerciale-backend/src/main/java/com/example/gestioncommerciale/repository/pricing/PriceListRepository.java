@@ -0,0 +1,28 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/pricing/PriceListRepository.java
+ * @description Repository des listes de prix
+ */
+package com.example.gestioncommerciale.repository.pricing;
+
+import com.example.gestioncommerciale.model.pricing.PriceList;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PriceListRepository extends JpaRepository<PriceList, Long> {
+
+    boolean existsByName(String name);
+
+    /**
+     * Verrou de la liste : sérialise les mises à jour concurrentes de ses prix
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM PriceList l WHERE l.id = :id")
+    Optional<PriceList> findByIdForUpdate(@Param("id") Long id);
+}
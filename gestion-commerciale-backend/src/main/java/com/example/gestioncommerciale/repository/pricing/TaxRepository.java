@@ -0,0 +1,19 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/pricing/TaxRepository.java
+ * @description Repository des règles de TVA
+ */
+package com.example.gestioncommerciale.repository.pricing;
+
+import com.example.gestioncommerciale.model.pricing.Tax;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TaxRepository extends JpaRepository<Tax, Long> {
+
+    Optional<Tax> findByCode(String code);
+
+    boolean existsByCode(String code);
+}
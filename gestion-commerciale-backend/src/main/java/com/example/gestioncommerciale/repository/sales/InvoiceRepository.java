@@ -0,0 +1,37 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/sales/InvoiceRepository.java
+ * @description Repository des factures
+ */
+package com.example.gestioncommerciale.repository.sales;
+
+import com.example.gestioncommerciale.model.sales.Invoice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+
+    Optional<Invoice> findByCode(String code);
+
+    List<Invoice> findByOrderId(Long orderId);
+
+    @EntityGraph(attributePaths = {"items"})
+    @Query("SELECT i FROM Invoice i WHERE i.id = :id")
+    Optional<Invoice> findWithItemsById(@Param("id") Long id);
+
+    /**
+     * Compteurs du tableau de bord en un seul passage : total, émises, payées
+     */
+    @Query("SELECT COUNT(i), " +
+           "COALESCE(SUM(CASE WHEN i.status = :issued THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN i.status = :paid THEN 1 ELSE 0 END), 0) " +
+           "FROM Invoice i")
+    List<Object[]> aggregateDashboardCounters(@Param("issued") Invoice.InvoiceStatus issued,
+                                              @Param("paid") Invoice.InvoiceStatus paid);
+}
@@ -0,0 +1,17 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/sales/InvoicingRunRepository.java
+ * @description Repository des exécutions de facturation par lot
+ */
+package com.example.gestioncommerciale.repository.sales;
+
+import com.example.gestioncommerciale.model.sales.InvoicingRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface InvoicingRunRepository extends JpaRepository<InvoicingRun, Long> {
+
+    Optional<InvoicingRun> findFirstByStatusOrderByIdAsc(InvoicingRun.RunStatus status);
+}
@@ -0,0 +1,61 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/sales/OrderRepository.java
+ * @description Repository des commandes (en-têtes, lignes par jointure, verrou de transition d'état)
+ */
+package com.example.gestioncommerciale.repository.sales;
+
+import com.example.gestioncommerciale.model.sales.Order;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    Optional<Order> findByCode(String code);
+
+    @EntityGraph(attributePaths = {"customer", "items"})
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"customer"})
+    @Query("SELECT o FROM Order o WHERE " +
+           "(:status IS NULL OR o.status = :status) AND " +
+           "(:customerId IS NULL OR o.customer.id = :customerId)")
+    Page<Order> findWithFilters(@Param("status") Order.OrderStatus status,
+                                @Param("customerId") Long customerId,
+                                Pageable pageable);
+
+    /**
+     * Quantités à réserver d'une commande : produits à stock géré, par identifiant croissant
+     */
+    @Query("SELECT i.productId, SUM(i.quantity) FROM OrderItem i, Product p " +
+           "WHERE i.order.id = :orderId AND p.id = i.productId AND p.stockManaged = true " +
+           "GROUP BY i.productId ORDER BY i.productId")
+    List<Object[]> sumStockManagedQuantities(@Param("orderId") Long orderId);
+
+    /**
+     * Compteurs du tableau de bord en un seul passage : total, brouillons, confirmées, livrées
+     */
+    @Query("SELECT COUNT(o), " +
+           "COALESCE(SUM(CASE WHEN o.status = :draft THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN o.status = :confirmed THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN o.status = :delivered THEN 1 ELSE 0 END), 0) " +
+           "FROM Order o")
+    List<Object[]> aggregateDashboardCounters(@Param("draft") Order.OrderStatus draft,
+                                              @Param("confirmed") Order.OrderStatus confirmed,
+                                              @Param("delivered") Order.OrderStatus delivered);
+}
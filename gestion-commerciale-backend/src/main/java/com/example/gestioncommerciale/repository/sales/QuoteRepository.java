@@ -0,0 +1,59 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/sales/QuoteRepository.java
+ * @description Repository des devis (en-têtes, lignes par jointure, revalidation avant conversion)
+ */
+package com.example.gestioncommerciale.repository.sales;
+
+import com.example.gestioncommerciale.model.sales.Quote;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QuoteRepository extends JpaRepository<Quote, Long> {
+
+    Optional<Quote> findByCode(String code);
+
+    @EntityGraph(attributePaths = {"customer", "items"})
+    @Query("SELECT q FROM Quote q WHERE q.id = :id")
+    Optional<Quote> findWithItemsById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT q FROM Quote q WHERE q.id = :id")
+    Optional<Quote> findByIdForUpdate(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"customer"})
+    @Query("SELECT q FROM Quote q WHERE " +
+           "(:status IS NULL OR q.status = :status) AND " +
+           "(:customerId IS NULL OR q.customer.id = :customerId)")
+    Page<Quote> findWithFilters(@Param("status") Quote.QuoteStatus status,
+                                @Param("customerId") Long customerId,
+                                Pageable pageable);
+
+    /**
+     * Revalidation de toutes les lignes d'un devis en une requête, une ligne par produit :
+     * produit du devis, SKU, quantité totale, lignes dont le prix ou la TVA a changé,
+     * produit courant (null si supprimé), actif, stock géré, disponible, prix devisé, prix courant.
+     * Le prix courant est celui de la liste de prix du client (catalogue à défaut), la TVA celle de la règle du produit.
+     */
+    @Query("SELECT i.productId, MIN(i.sku), SUM(i.quantity), " +
+           "SUM(CASE WHEN p.id IS NOT NULL AND (i.unitPrice <> COALESCE(l.unitPrice, p.unitPrice) " +
+           "OR i.taxRate <> COALESCE(t.rate, p.vatRate)) THEN 1 ELSE 0 END), " +
+           "p.id, p.active, p.stockManaged, p.stockQuantity, MIN(i.unitPrice), COALESCE(l.unitPrice, p.unitPrice) " +
+           "FROM QuoteItem i LEFT JOIN Product p ON p.id = i.productId " +
+           "LEFT JOIN PriceListItem l ON l.productId = i.productId AND l.priceListId = :priceListId " +
+           "LEFT JOIN Tax t ON t.id = p.taxId " +
+           "WHERE i.quote.id = :quoteId " +
+           "GROUP BY i.productId, p.id, p.active, p.stockManaged, p.stockQuantity, p.unitPrice, l.unitPrice " +
+           "ORDER BY i.productId")
+    List<Object[]> revalidateLines(@Param("quoteId") Long quoteId, @Param("priceListId") Long priceListId);
+}
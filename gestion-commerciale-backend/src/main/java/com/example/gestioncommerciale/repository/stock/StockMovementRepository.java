@@ -0,0 +1,35 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/stock/StockMovementRepository.java
+ * @description Repository du journal de stock (lecture de l'historique et contrôle de la projection)
+ */
+package com.example.gestioncommerciale.repository.stock;
+
+import com.example.gestioncommerciale.model.stock.StockMovement;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    Page<StockMovement> findByProductIdOrderByIdDesc(Long productId, Pageable pageable);
+
+    long countByProductId(Long productId);
+
+    @Query("SELECT COALESCE(SUM(m.quantity), 0) FROM StockMovement m WHERE m.productId = :productId")
+    long sumQuantityByProductId(@Param("productId") Long productId);
+
+    /**
+     * Produits dont le stock en cache diffère de la somme de leurs mouvements : id, stock, somme du journal
+     */
+    @Query("SELECT p.id, p.stockQuantity, " +
+           "(SELECT COALESCE(SUM(m.quantity), 0) FROM StockMovement m WHERE m.productId = p.id) " +
+           "FROM Product p " +
+           "WHERE p.stockQuantity <> (SELECT COALESCE(SUM(m.quantity), 0) FROM StockMovement m WHERE m.productId = p.id)")
+    List<Object[]> findProjectionDrift();
+}
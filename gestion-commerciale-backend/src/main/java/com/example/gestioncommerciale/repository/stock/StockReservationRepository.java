@@ -0,0 +1,19 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/repository/stock/StockReservationRepository.java
+ * @description Repository des réservations de stock
+ */
+package com.example.gestioncommerciale.repository.stock;
+
+import com.example.gestioncommerciale.model.stock.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    List<StockReservation> findByReferenceOrderByIdAsc(String reference);
+
+    long countByProductIdAndStatus(Long productId, StockReservation.ReservationStatus status);
+}
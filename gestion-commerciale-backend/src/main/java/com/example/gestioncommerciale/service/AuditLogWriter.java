@@ -0,0 +1,478 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/AuditLogWriter.java
+ * @description Écriture asynchrone du journal d'audit : file bornée sans verrou, lots JDBC, vidange à l'arrêt, métriques
+ */
+package com.example.gestioncommerciale.service;
+
+import com.example.gestioncommerciale.config.AuditProperties;
+import com.example.gestioncommerciale.model.AuditLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class AuditLogWriter implements SmartLifecycle, MeterBinder {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO audit_logs (user_id, username, action, module, target_type, target_id, target_name, " +
+        "timestamp, ip_address, user_agent, session_id, status, error_message, old_values, new_values) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * S'arrête après le serveur web : les requêtes en cours ont fini de produire leurs événements
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentLinkedQueue<AuditLog> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final ReentrantLock spillLock = new ReentrantLock();
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanosTotal = new LongAdder();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean writing;
+    private volatile Thread worker;
+
+    // Liés au registre après construction : les écritures du démarrage (relecture du débordement) ne sont pas mesurées
+    private volatile Timer submitTimer;
+    private volatile Timer flushTimer;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          AuditProperties properties,
+                          ObjectMapper objectMapper,
+                          PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Dépose un événement ; écriture directe si l'écrivain n'est pas démarré (démarrage, arrêt, mode synchrone)
+     */
+    public void submit(AuditLog entry) {
+        long start = System.nanoTime();
+        try {
+            enqueue(entry);
+        } finally {
+            Timer timer = submitTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Latence vue de l'appelant (attente de place comprise) et durée des lots ; compteurs et profondeur
+     * de file lus sur les compteurs existants, sans coût sur le chemin d'écriture
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        submitTimer = Timer.builder("app.audit.submit")
+            .description("Dépôt d'un événement d'audit par l'appelant, attente de place comprise")
+            .register(registry);
+        flushTimer = Timer.builder("app.audit.flush")
+            .description("Écriture d'un lot d'événements d'audit")
+            .register(registry);
+        Gauge.builder("app.audit.queue.depth", depth, AtomicInteger::get)
+            .description("Événements d'audit en attente d'écriture")
+            .register(registry);
+        Gauge.builder("app.audit.queue.capacity", properties, AuditProperties::getQueueCapacity)
+            .register(registry);
+        bindEvents(registry, "written", written);
+        bindEvents(registry, "dropped", dropped);
+        bindEvents(registry, "spilled", spilled);
+        bindEvents(registry, "failed", failed);
+    }
+
+    private void bindEvents(MeterRegistry registry, String outcome, LongAdder counter) {
+        FunctionCounter.builder("app.audit.events", counter, LongAdder::sum)
+            .description("Événements d'audit traités, par issue")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private void enqueue(AuditLog entry) {
+        if (!running) {
+            writeBatch(List.of(entry));
+            return;
+        }
+        if (tryEnqueue(entry)) {
+            return;
+        }
+
+        switch (properties.getBackpressure()) {
+            case BLOCK -> {
+                long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+                while (!tryEnqueue(entry)) {
+                    if (System.nanoTime() >= deadline || !running) {
+                        dropped.increment();
+                        log.warn("File d'audit pleine : événement {} {} abandonné", entry.getModule(), entry.getAction());
+                        return;
+                    }
+                    LockSupport.unpark(worker);
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!tryEnqueue(entry)) {
+                    if (poll() != null) {
+                        dropped.increment();
+                    }
+                }
+            }
+            case SPILL -> spill(List.of(entry));
+        }
+    }
+
+    public Metrics metrics() {
+        long count = flushes.sum();
+        return new Metrics(
+            depth.get(),
+            properties.getQueueCapacity(),
+            written.sum(),
+            dropped.sum(),
+            spilled.sum(),
+            failed.sum(),
+            count,
+            nanosToMicros(lastFlushNanos.get()),
+            count == 0 ? 0 : nanosToMicros(flushNanosTotal.sum() / count),
+            nanosToMicros(maxFlushNanos.get())
+        );
+    }
+
+    /**
+     * Attend que la file soit vide (tests, diagnostic)
+     */
+    public boolean awaitDrained(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while ((depth.get() > 0 || writing) && System.currentTimeMillis() < deadline) {
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        return depth.get() == 0 && !writing;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isAsync() || running) {
+            return;
+        }
+        replaySpillFile();
+        running = true;
+        worker = new Thread(this::runLoop, "audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Écriture asynchrone de l'audit démarrée (capacité {}, lots de {}, politique {})",
+                 properties.getQueueCapacity(), properties.getBatchSize(), properties.getBackpressure());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread current = worker;
+        LockSupport.unpark(current);
+        try {
+            current.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<AuditLog> remaining = drain(Integer.MAX_VALUE);
+        if (!remaining.isEmpty()) {
+            // Vidange incomplète dans le délai imparti : rien ne doit être perdu silencieusement
+            log.warn("{} événements d'audit non écrits à l'arrêt, écriture dans {}", remaining.size(), properties.getSpillFile());
+            spill(remaining);
+        }
+        log.info("Écriture asynchrone de l'audit arrêtée ({} événements écrits)", written.sum());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void runLoop() {
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        while (running || depth.get() > 0) {
+            if (running && depth.get() < properties.getBatchSize()) {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+            // Levé avant de retirer des événements : la file vide ne signifie pas « tout est écrit »
+            writing = true;
+            try {
+                List<AuditLog> batch;
+                while (!(batch = drain(properties.getBatchSize())).isEmpty()) {
+                    writeBatch(batch);
+                }
+            } finally {
+                writing = false;
+            }
+        }
+    }
+
+    private boolean tryEnqueue(AuditLog entry) {
+        if (depth.incrementAndGet() > properties.getQueueCapacity()) {
+            depth.decrementAndGet();
+            return false;
+        }
+        queue.offer(entry);
+        if (depth.get() >= properties.getBatchSize()) {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    private AuditLog poll() {
+        AuditLog entry = queue.poll();
+        if (entry != null) {
+            depth.decrementAndGet();
+        }
+        return entry;
+    }
+
+    private List<AuditLog> drain(int max) {
+        List<AuditLog> batch = new ArrayList<>(Math.min(max, properties.getBatchSize()));
+        AuditLog entry;
+        while (batch.size() < max && (entry = poll()) != null) {
+            batch.add(entry);
+        }
+        return batch;
+    }
+
+    private void writeBatch(List<AuditLog> batch) {
+        writeBatch(batch, properties.getBackpressure() == AuditProperties.Backpressure.SPILL);
+    }
+
+    /**
+     * Écrit un lot dans sa propre transaction ; renvoie false si le lot n'a pas été écrit
+     */
+    private boolean writeBatch(List<AuditLog> batch, boolean spillOnFailure) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                    if (entry.getUserId() != null) {
+                        ps.setLong(1, entry.getUserId());
+                    } else {
+                        ps.setNull(1, Types.BIGINT);
+                    }
+                    ps.setString(2, entry.getUsername() != null ? entry.getUsername() : "anonymous");
+                    ps.setString(3, entry.getAction());
+                    ps.setString(4, entry.getModule());
+                    ps.setString(5, entry.getTargetType());
+                    ps.setString(6, entry.getTargetId());
+                    ps.setString(7, entry.getTargetName());
+                    ps.setTimestamp(8, Timestamp.valueOf(entry.getTimestamp()));
+                    ps.setString(9, entry.getIpAddress());
+                    ps.setString(10, entry.getUserAgent());
+                    ps.setString(11, entry.getSessionId());
+                    ps.setString(12, entry.getStatus() != null ? entry.getStatus().name() : null);
+                    ps.setString(13, entry.getErrorMessage());
+                    ps.setString(14, entry.getOldValues());
+                    ps.setString(15, entry.getNewValues());
+                }));
+            written.add(batch.size());
+            return true;
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.error("Échec d'écriture d'un lot de {} événements d'audit : {}", batch.size(), e.getMessage());
+            if (spillOnFailure) {
+                spill(batch);
+            }
+            return false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer timer = flushTimer;
+            if (timer != null) {
+                timer.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+            flushes.increment();
+            flushNanosTotal.add(elapsed);
+            lastFlushNanos.set(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private void spill(List<AuditLog> entries) {
+        Path file = Paths.get(properties.getSpillFile());
+        spillLock.lock();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (AuditLog entry : entries) {
+                    writer.write(objectMapper.writeValueAsString(entry));
+                    writer.newLine();
+                }
+            }
+            spilled.add(entries.size());
+        } catch (IOException e) {
+            dropped.add(entries.size());
+            log.error("Impossible d'écrire {} événements d'audit dans {} : {}", entries.size(), file, e.getMessage());
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Réinjecte les événements débordés lors d'une exécution précédente.
+     * Le fichier de relecture n'est supprimé que si tous les lots ont été écrits ; sinon il ne garde
+     * que les lignes non écrites, reprises au prochain démarrage. Les lignes illisibles sont ignorées.
+     */
+    private void replaySpillFile() {
+        Path file = Paths.get(properties.getSpillFile());
+        Path replaying = file.resolveSibling(file.getFileName() + ".replay");
+        if (!Files.exists(file) && !Files.exists(replaying)) {
+            return;
+        }
+        try {
+            collectSpillFile(file, replaying);
+            List<String> unwritten = new ArrayList<>();
+            List<AuditLog> batch = new ArrayList<>(properties.getBatchSize());
+            List<String> batchLines = new ArrayList<>(properties.getBatchSize());
+            int count = 0;
+            int malformed = 0;
+            int lineNumber = 0;
+            try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        batch.add(objectMapper.readValue(line, AuditLog.class));
+                    } catch (IOException e) {
+                        malformed++;
+                        log.warn("Ligne {} de {} illisible, ignorée : {}", lineNumber, replaying, e.getMessage());
+                        continue;
+                    }
+                    batchLines.add(line);
+                    if (batch.size() == properties.getBatchSize()) {
+                        count += replayBatch(batch, batchLines, unwritten);
+                        batch = new ArrayList<>(properties.getBatchSize());
+                        batchLines = new ArrayList<>(properties.getBatchSize());
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                count += replayBatch(batch, batchLines, unwritten);
+            }
+            failed.add(malformed);
+
+            if (unwritten.isEmpty()) {
+                Files.delete(replaying);
+            } else {
+                // Réécriture atomique : seules les lignes non écrites restent à rejouer
+                Path pending = replaying.resolveSibling(replaying.getFileName() + ".tmp");
+                Files.write(pending, unwritten, StandardCharsets.UTF_8);
+                Files.move(pending, replaying, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.warn("{} événements d'audit non rejoués, conservés dans {}", unwritten.size(), replaying);
+            }
+            log.info("{} événements d'audit rejoués depuis {} ({} lignes illisibles ignorées)", count, file, malformed);
+        } catch (IOException e) {
+            // Fichier de relecture conservé : reprise au prochain démarrage, au risque de doublons
+            log.error("Relecture du fichier de débordement d'audit impossible : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rassemble le débordement dans le fichier de relecture, à la suite d'une relecture interrompue le cas échéant
+     */
+    private void collectSpillFile(Path file, Path replaying) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        if (!Files.exists(replaying)) {
+            Files.move(file, replaying);
+            return;
+        }
+        try (OutputStream out = Files.newOutputStream(replaying, StandardOpenOption.APPEND)) {
+            Files.copy(file, out);
+        }
+        Files.delete(file);
+    }
+
+    private int replayBatch(List<AuditLog> batch, List<String> lines, List<String> unwritten) {
+        if (writeBatch(batch, false)) {
+            return batch.size();
+        }
+        unwritten.addAll(lines);
+        return 0;
+    }
+
+    private static long nanosToMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    public record Metrics(
+        int queueDepth,
+        int queueCapacity,
+        long written,
+        long dropped,
+        long spilled,
+        long failed,
+        long flushes,
+        long lastFlushMicros,
+        long averageFlushMicros,
+        long maxFlushMicros
+    ) {
+    }
+}
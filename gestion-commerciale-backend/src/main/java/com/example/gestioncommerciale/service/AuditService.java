@@ -5,7 +5,6 @@
 package com.example.gestioncommerciale.service;
 
 import com.example.gestioncommerciale.model.AuditLog;
-import com.example.gestioncommerciale.repository.AuditLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,7 +18,7 @@ import jakarta.servlet.http.HttpServletRequest;
 public class AuditService {
     
     @Autowired
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
     
     public void logAction(String action, String module) {
         logAction(action, module, null, null, null);
@@ -50,7 +49,8 @@ public class AuditService {
                 log.setSessionId(request.getSession().getId());
             }
             
-            auditLogRepository.save(log);
+            // Écriture différée par lots ; l'événement est construit ici pour capturer le contexte de la requête
+            auditLogWriter.submit(log);
         } catch (Exception e) {
             // Log l'erreur mais ne pas faire échouer l'opération principale
             System.err.println("Erreur lors de l'enregistrement de l'audit : " + e.getMessage());
@@ -79,7 +79,7 @@ public class AuditService {
                 log.setSessionId(request.getSession().getId());
             }
             
-            auditLogRepository.save(log);
+            auditLogWriter.submit(log);
         } catch (Exception e) {
             System.err.println("Erreur lors de l'enregistrement de l'audit d'échec : " + e.getMessage());
         }
@@ -6,21 +6,35 @@ package com.example.gestioncommerciale.service;
 
 import com.example.gestioncommerciale.dto.AddressDTO;
 import com.example.gestioncommerciale.dto.CustomerDTO;
+import com.example.gestioncommerciale.dto.CustomerRowDTO;
 import com.example.gestioncommerciale.mapper.AddressMapper;
 import com.example.gestioncommerciale.mapper.CustomerMapper;
 import com.example.gestioncommerciale.model.Address;
 import com.example.gestioncommerciale.model.Customer;
 import com.example.gestioncommerciale.repository.AddressRepository;
+import com.example.gestioncommerciale.repository.CustomerProjections;
 import com.example.gestioncommerciale.repository.CustomerRepository;
+import com.example.gestioncommerciale.repository.CustomerSpecifications;
+import com.example.gestioncommerciale.service.crm.ContactSearchIndex;
+import com.example.gestioncommerciale.service.export.CsvColumn;
+import com.example.gestioncommerciale.service.export.CsvExporter;
+import com.example.gestioncommerciale.service.pagination.KeysetPage;
+import com.example.gestioncommerciale.service.pagination.KeysetPager;
+import com.example.gestioncommerciale.service.pagination.KeysetWindow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -34,6 +48,26 @@ public class CustomerService {
     private final CustomerMapper customerMapper;
     private final AddressMapper addressMapper;
     private final SequenceService sequenceService;
+    private final ContactSearchIndex contactSearchIndex;
+    private final KeysetPager keysetPager;
+    private final StatisticsService statisticsService;
+    private final CsvExporter csvExporter;
+
+    private static final List<CsvColumn> EXPORT_COLUMNS = List.of(
+            CsvColumn.of("code"),
+            CsvColumn.of("companyName"),
+            CsvColumn.of("type"),
+            CsvColumn.of("status"),
+            CsvColumn.of("contactFirstName"),
+            CsvColumn.of("contactLastName"),
+            CsvColumn.of("email"),
+            CsvColumn.of("phone"),
+            CsvColumn.of("mobile"),
+            CsvColumn.of("siret"),
+            CsvColumn.of("vatNumber"),
+            CsvColumn.of("creditLimit"),
+            CsvColumn.of("paymentTermDays"),
+            CsvColumn.of("createdAt"));
 
     @Transactional(readOnly = true)
     public Optional<CustomerDTO> findById(Long id) {
@@ -69,6 +103,7 @@ public class CustomerService {
         customer.setUpdatedAt(LocalDateTime.now());
 
         Customer saved = customerRepository.save(customer);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CUSTOMERS);
 
         if (customerDTO.getAddresses() != null && !customerDTO.getAddresses().isEmpty()) {
             createAddresses(saved, customerDTO.getAddresses());
@@ -83,10 +118,18 @@ public class CustomerService {
 
         validateUniqueFields(customerDTO, id);
 
+        String previousCompanyName = existing.getCompanyName();
         customerMapper.updateCustomerFromDTO(customerDTO, existing);
         existing.setUpdatedAt(LocalDateTime.now());
 
         Customer updated = customerRepository.save(existing);
+        if (!Objects.equals(previousCompanyName, updated.getCompanyName())) {
+            // La raison sociale est indexée avec chaque contact du client
+            contactSearchIndex.refreshCustomerAfterCommit(id);
+        }
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CUSTOMERS);
+        // Les alertes CRM affichent la raison sociale du client
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CONTACTS);
         return customerMapper.toDTO(updated);
     }
 
@@ -96,6 +139,8 @@ public class CustomerService {
 
         addressRepository.deleteByCustomerId(id);
         customerRepository.delete(customer);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CUSTOMERS);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CONTACTS);
     }
 
     @Transactional(readOnly = true)
@@ -193,12 +238,18 @@ public class CustomerService {
         }
     }
 
+    /**
+     * Adresses du client créées ensemble : identifiants pris dans le bloc réservé,
+     * insertions envoyées en lots JDBC au flush
+     */
     private void createAddresses(Customer customer, List<AddressDTO> addressDTOs) {
+        List<Address> addresses = new ArrayList<>(addressDTOs.size());
         for (AddressDTO addressDTO : addressDTOs) {
             Address address = addressMapper.toEntity(addressDTO);
             address.setCustomer(customer);
-            addressRepository.save(address);
+            addresses.add(address);
         }
+        addressRepository.saveAll(addresses);
     }
 
     // Dans CustomerService
@@ -211,6 +262,61 @@ public class CustomerService {
                 .map(customerMapper::toDTO);
     }
 
+    /**
+     * Liste des écrans : décalage sans curseur (premier affichage ou saut de page), recherche de clé sinon
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<CustomerDTO> findWithFilters(Customer.CustomerStatus status,
+            Customer.CustomerType type,
+            String search,
+            Pageable pageable,
+            String cursor) {
+        return keysetPager.page(customerRepository, CustomerSpecifications.withFilters(status, type, search),
+                pageable, cursor, Customer.class)
+                .map(customerMapper::toDTO);
+    }
+
+    /**
+     * Liste et recherche des écrans en lignes projetées (colonnes de _customerRow), même pagination
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<CustomerRowDTO> findRows(Customer.CustomerStatus status,
+            Customer.CustomerType type,
+            String search,
+            Pageable pageable,
+            String cursor) {
+        return keysetPager.page(CustomerProjections.ROW, CustomerSpecifications.withFilters(status, type, search),
+                pageable, cursor);
+    }
+
+    /**
+     * Lecture par curseur sans comptage du total (API REST)
+     */
+    @Transactional(readOnly = true)
+    public KeysetWindow<CustomerDTO> scroll(Customer.CustomerStatus status,
+            Customer.CustomerType type,
+            String search,
+            Sort sort,
+            int size,
+            String cursor) {
+        return keysetPager.scroll(customerRepository, CustomerSpecifications.withFilters(status, type, search),
+                sort, size, cursor, Customer.class)
+                .map(customerMapper::toDTO);
+    }
+
+    /**
+     * Export CSV des clients filtrés comme l'écran de liste, écrit en flux dans {@code output}
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(Customer.CustomerStatus status,
+            Customer.CustomerType type,
+            String search,
+            Sort sort,
+            OutputStream output) throws IOException {
+        return csvExporter.export(Customer.class, CustomerSpecifications.withFilters(status, type, search),
+                sort, EXPORT_COLUMNS, output);
+    }
+
     // Dans CustomerService
     @Transactional(readOnly = true)
     public CustomerDTO getById(Long id) {
@@ -0,0 +1,58 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/EntityCacheService.java
+ * @description Suivi du cache de second niveau : taille, succès et échecs par région, purge après modification hors application
+ */
+package com.example.gestioncommerciale.service;
+
+import com.example.gestioncommerciale.config.EntityCacheProperties;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EntityCacheService {
+
+    private final CacheManager entityCacheManager;
+    private final EntityCacheProperties properties;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<RegionStats> stats() {
+        List<RegionStats> stats = new ArrayList<>(properties.getRegions().size());
+        for (Map.Entry<String, EntityCacheProperties.Region> entry : properties.getRegions().entrySet()) {
+            Cache<Object, Object> cache = entityCacheManager.getCache(entry.getKey());
+            if (cache == null) {
+                continue;
+            }
+            com.github.benmanes.caffeine.cache.Cache<?, ?> regionCache = cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+            CacheStats counters = regionCache.stats();
+            stats.add(new RegionStats(entry.getKey(), regionCache.estimatedSize(), entry.getValue().getMaxSize(),
+                counters.hitCount(), counters.missCount(), counters.hitRate(), counters.evictionCount()));
+        }
+        return stats;
+    }
+
+    /**
+     * Vide toutes les régions (entités, collections, requêtes) : à appeler après une modification
+     * des tables de référence par SQL direct ou par un outil externe
+     */
+    public void evictAll() {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictAllRegions();
+        log.info("Cache de second niveau vidé");
+    }
+
+    public record RegionStats(String region, long size, long maxSize, long hits, long misses,
+                              double hitRate, long evictions) {
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/SequenceBlockAllocator.java
+ * @description Réservation de blocs de numéros (hi/lo) distribués en mémoire par compteur atomique
+ */
+package com.example.gestioncommerciale.service;
+
+import com.example.gestioncommerciale.config.SequenceProperties;
+import com.example.gestioncommerciale.model.Sequence;
+import com.example.gestioncommerciale.repository.SequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class SequenceBlockAllocator {
+
+    private static final int MAX_RESERVATION_ATTEMPTS = 3;
+
+    private final SequenceRepository sequenceRepository;
+    private final SequenceProperties sequenceProperties;
+    private final TransactionTemplate reservationTemplate;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> refillLocks = new ConcurrentHashMap<>();
+
+    public SequenceBlockAllocator(SequenceRepository sequenceRepository,
+                                  SequenceProperties sequenceProperties,
+                                  PlatformTransactionManager transactionManager) {
+        this.sequenceRepository = sequenceRepository;
+        this.sequenceProperties = sequenceProperties;
+        this.reservationTemplate = new TransactionTemplate(transactionManager);
+        this.reservationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Retourne la prochaine valeur pour le couple type/année.
+     * Chemin rapide sans accès base ; la réservation d'un nouveau bloc se fait
+     * dans une transaction courte et indépendante de celle de l'appelant.
+     */
+    public long nextValue(String type, int year, String prefix) {
+        String key = type + ":" + year;
+        while (true) {
+            Block block = blocks.get(key);
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value <= block.last) {
+                    return value;
+                }
+            }
+
+            ReentrantLock lock = refillLocks.computeIfAbsent(key, k -> new ReentrantLock());
+            lock.lock();
+            try {
+                // Un autre thread a peut-être déjà rechargé le bloc pendant l'attente
+                if (blocks.get(key) == block) {
+                    blocks.put(key, reserveBlock(type, year, prefix));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Réserve une plage de la taille demandée, hors bloc en mémoire ; retourne sa première valeur
+     */
+    public long reserveRange(String type, int year, String prefix, int size) {
+        return reserveBlock(type, year, prefix, size).next.get();
+    }
+
+    /**
+     * Crée la ligne de séquence si elle n'existe pas, dans une transaction indépendante qui tolère
+     * une création concurrente (bloc de taille nulle)
+     */
+    public void ensureSequence(String type, int year, String prefix) {
+        reserveBlock(type, year, prefix, 0);
+    }
+
+    private Block reserveBlock(String type, int year, String prefix) {
+        return reserveBlock(type, year, prefix, sequenceProperties.blockSizeFor(type));
+    }
+
+    private Block reserveBlock(String type, int year, String prefix, int blockSize) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Block block = reservationTemplate.execute(status -> {
+                    Sequence sequence = sequenceRepository.findByTypeAndYearForUpdate(type, year)
+                        .orElseGet(() -> newSequence(type, year, prefix));
+
+                    long first = sequence.getCurrentValue() + 1;
+                    sequence.setCurrentValue(sequence.getCurrentValue() + blockSize);
+                    sequenceRepository.saveAndFlush(sequence);
+
+                    return new Block(first, sequence.getCurrentValue());
+                });
+                log.debug("Bloc réservé pour {}/{} : {} -> {}", type, year, block.next.get(), block.last);
+                return block;
+            } catch (DataIntegrityViolationException e) {
+                // Création concurrente de la ligne par une autre instance : on relit
+                if (attempt >= MAX_RESERVATION_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Conflit à la création de la séquence {}/{}, nouvelle tentative", type, year);
+            }
+        }
+    }
+
+    private Sequence newSequence(String type, int year, String prefix) {
+        Sequence sequence = new Sequence(type, year, prefix);
+        sequence.setCurrentValue(0L);
+        sequence.setPaddingLength(4);
+        return sequence;
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long last;
+
+        private Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
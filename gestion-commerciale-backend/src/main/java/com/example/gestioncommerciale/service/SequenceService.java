@@ -4,15 +4,24 @@
  */
 package com.example.gestioncommerciale.service;
 
+import com.example.gestioncommerciale.config.SequenceProperties;
 import com.example.gestioncommerciale.model.Sequence;
 import com.example.gestioncommerciale.repository.SequenceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +29,13 @@ import java.util.Optional;
 public class SequenceService {
     
     private final SequenceRepository sequenceRepository;
+    private final SequenceBlockAllocator sequenceBlockAllocator;
+    private final SequenceProperties sequenceProperties;
+    private final MeterRegistry meterRegistry;
+    
+    // Lignes de séquence dont l'existence est acquise (jamais supprimées) : plus de vérification préalable
+    private final Set<String> existingSequences = ConcurrentHashMap.newKeySet();
+    private final Map<String, Timer> waitTimers = new ConcurrentHashMap<>();
     
     public static final String CUSTOMER_TYPE = "CUSTOMER";
     public static final String CUSTOMER_PREFIX = "CLI";
@@ -32,21 +48,98 @@ public class SequenceService {
     @Transactional
     public String generateSequentialCode(String type, String prefix) {
         int currentYear = LocalDate.now().getYear();
-        String yearStr = String.valueOf(currentYear);
         
-        Sequence sequence = getOrCreateSequence(type, currentYear, prefix);
-        sequence.setCurrentValue(sequence.getCurrentValue() + 1);
-        sequence = sequenceRepository.save(sequence);
+        long value;
+        long waitStart = System.nanoTime();
+        if (sequenceProperties.getGapPolicy() == SequenceProperties.GapPolicy.ALLOW_GAPS) {
+            value = sequenceBlockAllocator.nextValue(type, currentYear, prefix);
+            recordWait(type, waitStart);
+        } else {
+            ensureSequenceExists(type, currentYear, prefix);
+            Sequence sequence = getOrCreateSequence(type, currentYear, prefix);
+            recordWait(type, waitStart);
+            sequence.setCurrentValue(sequence.getCurrentValue() + 1);
+            sequence = sequenceRepository.save(sequence);
+            value = sequence.getCurrentValue();
+        }
         
-        String formattedNumber = String.format("%04d", sequence.getCurrentValue());
-        String code = String.format("%s-%s-%s", prefix, yearStr, formattedNumber);
+        String code = formatCode(prefix, currentYear, value);
         
         log.debug("Code généré pour {} : {}", type, code);
         return code;
     }
     
+    /**
+     * Réserve un bloc de codes consécutifs en un seul accès à la séquence.
+     * STRICT : ligne verrouillée jusqu'à la fin de la transaction appelante, aucun trou même en cas de rollback ;
+     * ALLOW_GAPS : bloc réservé dans une transaction indépendante, perdu si l'appelant échoue.
+     */
+    @Transactional
+    public List<String> generateSequentialCodes(String type, String prefix, int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        int currentYear = LocalDate.now().getYear();
+
+        long first;
+        long waitStart = System.nanoTime();
+        if (sequenceProperties.getGapPolicy() == SequenceProperties.GapPolicy.ALLOW_GAPS) {
+            first = sequenceBlockAllocator.reserveRange(type, currentYear, prefix, count);
+            recordWait(type, waitStart);
+        } else {
+            ensureSequenceExists(type, currentYear, prefix);
+            Sequence sequence = getOrCreateSequence(type, currentYear, prefix);
+            recordWait(type, waitStart);
+            first = sequence.getCurrentValue() + 1;
+            sequence.setCurrentValue(sequence.getCurrentValue() + count);
+            sequenceRepository.save(sequence);
+        }
+
+        List<String> codes = new ArrayList<>(count);
+        for (long value = first; value < first + count; value++) {
+            codes.add(formatCode(prefix, currentYear, value));
+        }
+        log.debug("{} codes réservés pour {} : {} -> {}", count, type, codes.get(0), codes.get(count - 1));
+        return codes;
+    }
+    
+    /**
+     * Code affiché : préfixe, année et numéro sur au moins 4 chiffres (CLI-2025-0042)
+     */
+    public static String formatCode(String prefix, int year, long value) {
+        return String.format("%s-%d-%04d", prefix, year, value);
+    }
+    
+    /**
+     * Appels concurrents attendus (lots parallèles, premières créations de l'année) : la ligne est créée
+     * hors de la transaction appelante, qui n'a plus qu'à la verrouiller. Aucune lecture préalable dans
+     * la transaction appelante : elle garderait une connexion pendant que la création en attend une autre.
+     */
+    private void ensureSequenceExists(String type, int year, String prefix) {
+        String key = type + "/" + year;
+        if (existingSequences.contains(key)) {
+            return;
+        }
+        sequenceBlockAllocator.ensureSequence(type, year, prefix);
+        existingSequences.add(key);
+    }
+    
+    /**
+     * Attente d'un numéro : verrou de ligne (STRICT) ou réservation de bloc (ALLOW_GAPS), création
+     * de la ligne de l'année comprise ; quasi nulle quand le bloc en mémoire n'est pas épuisé
+     */
+    private void recordWait(String type, long waitStart) {
+        SequenceProperties.GapPolicy policy = sequenceProperties.getGapPolicy();
+        waitTimers.computeIfAbsent(policy + "/" + type, key -> Timer.builder("app.sequence.wait")
+                .description("Attente d'un numéro de séquence")
+                .tag("type", type)
+                .tag("policy", policy.name())
+                .register(meterRegistry))
+            .record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+    }
+    
     private Sequence getOrCreateSequence(String type, int year, String prefix) {
-        Optional<Sequence> existing = sequenceRepository.findByTypeAndYear(type, year);
+        Optional<Sequence> existing = sequenceRepository.findByTypeAndYearForUpdate(type, year);
         
         if (existing.isPresent()) {
             return existing.get();
@@ -66,6 +159,15 @@ public class SequenceService {
 
     public static final String CONTACT_TYPE = "CONTACT";
     public static final String CONTACT_PREFIX = "CNT";
+
+    public static final String ORDER_TYPE = "ORDER";
+    public static final String ORDER_PREFIX = "CMD";
+
+    public static final String QUOTE_TYPE = "QUOTE";
+    public static final String QUOTE_PREFIX = "DEV";
+
+    public static final String INVOICE_TYPE = "INVOICE";
+    public static final String INVOICE_PREFIX = "FAC";
     
     @Transactional
     public String generateCategoryCode() {
@@ -76,5 +178,20 @@ public class SequenceService {
     public String generateContactCode() {
         return generateSequentialCode(CONTACT_TYPE, CONTACT_PREFIX);
     }
+    
+    @Transactional
+    public String generateOrderCode() {
+        return generateSequentialCode(ORDER_TYPE, ORDER_PREFIX);
+    }
+    
+    @Transactional
+    public String generateQuoteCode() {
+        return generateSequentialCode(QUOTE_TYPE, QUOTE_PREFIX);
+    }
+    
+    @Transactional
+    public List<String> generateInvoiceCodes(int count) {
+        return generateSequentialCodes(INVOICE_TYPE, INVOICE_PREFIX, count);
+    }
 
 }
@@ -0,0 +1,227 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/StatisticsService.java
+ * @description Compteurs des tableaux de bord : une requête agrégée par module, cache à durée de vie courte
+ */
+package com.example.gestioncommerciale.service;
+
+import com.example.gestioncommerciale.config.StatisticsProperties;
+import com.example.gestioncommerciale.dto.crm.ContactDTO;
+import com.example.gestioncommerciale.mapper.crm.ContactMapper;
+import com.example.gestioncommerciale.model.Customer;
+import com.example.gestioncommerciale.model.crm.Contact;
+import com.example.gestioncommerciale.model.sales.Invoice;
+import com.example.gestioncommerciale.model.sales.Order;
+import com.example.gestioncommerciale.repository.CustomerRepository;
+import com.example.gestioncommerciale.repository.catalog.CategoryRepository;
+import com.example.gestioncommerciale.repository.catalog.ProductRepository;
+import com.example.gestioncommerciale.repository.crm.ContactRepository;
+import com.example.gestioncommerciale.repository.sales.InvoiceRepository;
+import com.example.gestioncommerciale.repository.sales.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class StatisticsService {
+
+    public enum Module {
+        PRODUCTS, CATEGORIES, CUSTOMERS, CONTACTS, ORDERS, INVOICES
+    }
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CustomerRepository customerRepository;
+    private final ContactRepository contactRepository;
+    private final OrderRepository orderRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final ContactMapper contactMapper;
+    private final StatisticsProperties properties;
+
+    private final Map<Module, AtomicLong> versions = new EnumMap<>(Module.class);
+    private final Map<Module, Cached> cache = new ConcurrentHashMap<>();
+
+    public StatisticsService(ProductRepository productRepository,
+                             CategoryRepository categoryRepository,
+                             CustomerRepository customerRepository,
+                             ContactRepository contactRepository,
+                             OrderRepository orderRepository,
+                             InvoiceRepository invoiceRepository,
+                             ContactMapper contactMapper,
+                             StatisticsProperties properties) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.customerRepository = customerRepository;
+        this.contactRepository = contactRepository;
+        this.orderRepository = orderRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.contactMapper = contactMapper;
+        this.properties = properties;
+        for (Module module : Module.values()) {
+            versions.put(module, new AtomicLong());
+        }
+    }
+
+    public ProductStats productStats() {
+        return cached(Module.PRODUCTS, () -> {
+            Object[] row = productRepository.aggregateDashboardCounters().get(0);
+            return new ProductStats(count(row[0]), count(row[1]), count(row[2]), count(row[3]));
+        });
+    }
+
+    public CategoryStats categoryStats() {
+        return cached(Module.CATEGORIES, () -> {
+            Object[] row = categoryRepository.aggregateDashboardCounters().get(0);
+            return new CategoryStats(count(row[0]), count(row[1]), count(row[2]));
+        });
+    }
+
+    public CustomerStats customerStats() {
+        return cached(Module.CUSTOMERS, () -> {
+            Object[] row = customerRepository.aggregateDashboardCounters(Customer.CustomerStatus.ACTIVE).get(0);
+            return new CustomerStats(count(row[0]), count(row[1]));
+        });
+    }
+
+    /**
+     * Compteurs CRM et listes d'alertes (anniversaires du jour, relances dépassées)
+     */
+    public ContactStats contactStats() {
+        return cached(Module.CONTACTS, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            Object[] row = contactRepository.aggregateDashboardCounters(
+                Contact.ContactStatus.ACTIVE,
+                Contact.ContactType.LEAD,
+                now,
+                now.minusDays(properties.getStaleContactDays())
+            ).get(0);
+            return new ContactStats(
+                count(row[0]), count(row[1]), count(row[2]), count(row[3]), count(row[4]),
+                contactRepository.findTodaysBirthdays().stream().map(contactMapper::toDTO).toList(),
+                contactRepository.findContactsDueForFollowup(now, PageRequest.of(0, properties.getFollowupListSize())).stream().map(contactMapper::toDTO).toList()
+            );
+        });
+    }
+
+    public OrderStats orderStats() {
+        return cached(Module.ORDERS, () -> {
+            Object[] row = orderRepository.aggregateDashboardCounters(
+                Order.OrderStatus.DRAFT, Order.OrderStatus.CONFIRMED, Order.OrderStatus.DELIVERED
+            ).get(0);
+            return new OrderStats(count(row[0]), count(row[1]), count(row[2]), count(row[3]));
+        });
+    }
+
+    public InvoiceStats invoiceStats() {
+        return cached(Module.INVOICES, () -> {
+            Object[] row = invoiceRepository.aggregateDashboardCounters(
+                Invoice.InvoiceStatus.ISSUED, Invoice.InvoiceStatus.PAID
+            ).get(0);
+            return new InvoiceStats(count(row[0]), count(row[1]), count(row[2]));
+        });
+    }
+
+    /**
+     * Chiffres de la page d'accueil, chacun servi par le cache de son module
+     */
+    public HomeStats homeStats() {
+        return new HomeStats(customerStats().total(), productStats().total(), orderStats().total(),
+                             invoiceStats().total());
+    }
+
+    /**
+     * Invalide les compteurs du module après le commit de la transaction courante (immédiatement sinon)
+     */
+    public void invalidateAfterCommit(Module module) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(module);
+                }
+            });
+        } else {
+            invalidate(module);
+        }
+    }
+
+    public void invalidate(Module module) {
+        versions.get(module).incrementAndGet();
+        cache.remove(module);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(Module module, Supplier<T> loader) {
+        long ttlNanos = properties.getTtl().toNanos();
+        long now = System.nanoTime();
+        Cached entry = cache.get(module);
+        if (entry != null && now - entry.loadedAt() < ttlNanos) {
+            return (T) entry.value();
+        }
+
+        // Sans verrou : deux requêtes concurrentes à l'expiration coûtent au pire deux agrégats
+        long version = versions.get(module).get();
+        T value = loader.get();
+        if (ttlNanos > 0 && versions.get(module).get() == version && !inWriteTransaction()) {
+            cache.put(module, new Cached(value, now));
+            log.debug("Statistiques {} recalculées", module);
+        }
+        return value;
+    }
+
+    private static boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static long count(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private record Cached(Object value, long loadedAt) {
+    }
+
+    public record ProductStats(long total, long active, long lowStock, long outOfStock) {
+        public static final ProductStats EMPTY = new ProductStats(0, 0, 0, 0);
+    }
+
+    public record CategoryStats(long total, long active, long roots) {
+        public static final CategoryStats EMPTY = new CategoryStats(0, 0, 0);
+    }
+
+    public record CustomerStats(long total, long active) {
+    }
+
+    public record ContactStats(
+        long total,
+        long active,
+        long leads,
+        long overdue,
+        long stale,
+        List<ContactDTO> todaysBirthdays,
+        List<ContactDTO> overdueFollowups
+    ) {
+        public static final ContactStats EMPTY = new ContactStats(0, 0, 0, 0, 0, List.of(), List.of());
+    }
+
+    public record OrderStats(long total, long draft, long confirmed, long delivered) {
+    }
+
+    public record InvoiceStats(long total, long issued, long paid) {
+    }
+
+    public record HomeStats(long customers, long products, long orders, long invoices) {
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/VirtualThreadPinningDetector.java
+ * @description Détection des threads virtuels épinglés (blocs synchronized, frames natives) par flux JFR en continu
+ */
+package com.example.gestioncommerciale.service;
+
+import com.example.gestioncommerciale.config.VirtualThreadsProperties;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Un site d'épinglage est la première frame applicative de la pile (à défaut la frame de tête) :
+ * pile complète journalisée à la première occurrence, simple comptage ensuite
+ */
+@Slf4j
+public class VirtualThreadPinningDetector implements AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.example.gestioncommerciale.";
+
+    private final VirtualThreadsProperties properties;
+    private final Map<String, SiteCounters> sites = new ConcurrentHashMap<>();
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningDetector(VirtualThreadsProperties properties) {
+        this.properties = properties;
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(properties.getPinningThreshold()).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Détection d'épinglage des threads virtuels active (seuil {})", properties.getPinningThreshold());
+    }
+
+    /**
+     * Sites d'épinglage observés, du plus fréquent au plus rare
+     */
+    public List<PinnedSite> sites() {
+        return sites.entrySet().stream()
+            .map(entry -> new PinnedSite(entry.getKey(), entry.getValue().count.get(),
+                Duration.ofNanos(entry.getValue().maxNanos.get()), entry.getValue().stack))
+            .sorted(Comparator.comparingLong(PinnedSite::count).reversed())
+            .toList();
+    }
+
+    private void record(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String site = frames.stream()
+            .filter(frame -> frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+            .findFirst()
+            .or(() -> frames.stream().findFirst())
+            .map(VirtualThreadPinningDetector::describe)
+            .orElse("(pile indisponible)");
+        long nanos = event.getDuration().toNanos();
+
+        SiteCounters counters = sites.computeIfAbsent(site, key -> {
+            String stack = frames.stream()
+                .limit(properties.getPinningStackDepth())
+                .map(VirtualThreadPinningDetector::describe)
+                .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+            log.warn("Thread virtuel épinglé {} ms dans {} :\n{}", nanos / 1_000_000, key, stack);
+            return new SiteCounters(stack);
+        });
+        counters.count.incrementAndGet();
+        counters.maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    public record PinnedSite(String site, long count, Duration maxDuration, String stack) {
+    }
+
+    private static final class SiteCounters {
+        private final String stack;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private SiteCounters(String stack) {
+            this.stack = stack;
+        }
+    }
+}
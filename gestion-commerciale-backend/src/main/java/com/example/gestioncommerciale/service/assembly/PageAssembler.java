@@ -0,0 +1,228 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/assembly/PageAssembler.java
+ * @description Assemblage d'une page à partir de lectures indépendantes exécutées en parallèle, chacune dans sa transaction en lecture seule
+ */
+package com.example.gestioncommerciale.service.assembly;
+
+import com.example.gestioncommerciale.config.PageAssemblyProperties;
+import com.example.gestioncommerciale.service.instrumentation.SqlActivity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Portée structurée : les sections sont lancées à l'ouverture, attendues ensemble par {@link Scope#join()}
+ * sous le délai de la page, et celles encore en cours abandonnées à la fermeture. La latence de la page
+ * tend vers celle de la section la plus lente au lieu de la somme de toutes.
+ * <p>
+ * Une section obligatoire en échec fait échouer la page avec son exception d'origine ; une section
+ * facultative en échec ou hors délai prend sa valeur de repli et son nom est rendu par {@code join()}.
+ */
+@Component
+@Slf4j
+public class PageAssembler implements DisposableBean {
+
+    private final PageAssemblyProperties properties;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolExecutor executor;
+
+    public PageAssembler(PageAssemblyProperties properties, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.transactionManager = transactionManager;
+        int parallelism = Math.max(properties.getParallelism(), 1);
+        AtomicInteger threadIndex = new AtomicInteger();
+        // File bornée : au-delà, le thread de la requête exécute lui-même la section (retour au séquentiel sous charge)
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(parallelism * 2), runnable -> {
+                Thread thread = new Thread(runnable, "page-assembly-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public Scope open() {
+        return open(properties.getDeadline());
+    }
+
+    public Scope open(Duration deadline) {
+        return new Scope(deadline);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final Duration deadline;
+        private final long deadlineNanos;
+        private final List<Part<?>> parts = new ArrayList<>();
+        private boolean joined;
+
+        private Scope(Duration deadline) {
+            this.deadline = deadline;
+            this.deadlineNanos = System.nanoTime() + deadline.toNanos();
+        }
+
+        /**
+         * Section sans laquelle la page n'a pas de sens (le tableau principal)
+         */
+        public <T> Part<T> required(String name, Supplier<T> call) {
+            return fork(name, call, true, null);
+        }
+
+        /**
+         * Section accessoire (listes de filtres, compteurs) : valeur de repli en cas d'échec ou de dépassement du délai
+         */
+        public <T> Part<T> optional(String name, Supplier<T> call, T fallback) {
+            return fork(name, call, false, fallback);
+        }
+
+        private <T> Part<T> fork(String name, Supplier<T> call, boolean required, T fallback) {
+            if (joined) {
+                throw new IllegalStateException("Section " + name + " lancée après l'attente de la page");
+            }
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            // Délai de la transaction (appliqué aux requêtes JDBC) aligné sur le délai restant de la page
+            readOnly.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(deadlineNanos - System.nanoTime() + 999_999_999L)));
+            // Requêtes SQL de la section imputées à la requête HTTP qui assemble la page
+            SqlActivity activity = SqlActivity.current();
+            Callable<T> task = DelegatingSecurityContextCallable.create(() -> {
+                SqlActivity previous = SqlActivity.bind(activity);
+                try {
+                    return readOnly.execute(status -> call.get());
+                } finally {
+                    SqlActivity.restore(previous);
+                }
+            }, SecurityContextHolder.getContext());
+
+            Part<T> part = new Part<>(name, required, fallback);
+            if (properties.isParallel()) {
+                part.future = executor.submit(task);
+            } else {
+                FutureTask<T> inline = new FutureTask<>(task);
+                inline.run();
+                part.future = inline;
+            }
+            parts.add(part);
+            return part;
+        }
+
+        /**
+         * Attend toutes les sections jusqu'au délai de la page
+         *
+         * @return noms des sections facultatives remplacées par leur valeur de repli
+         */
+        public List<String> join() {
+            joined = true;
+            List<String> unavailable = new ArrayList<>();
+            for (Part<?> part : parts) {
+                Throwable failure = await(part);
+                if (failure == null) {
+                    continue;
+                }
+                if (part.required) {
+                    close();
+                    if (failure instanceof RuntimeException runtime) {
+                        throw runtime;
+                    }
+                    if (failure instanceof Error error) {
+                        throw error;
+                    }
+                    throw new PageAssemblyException("Section " + part.name + " indisponible", failure);
+                }
+                log.warn("Section {} indisponible, valeur de repli affichée : {}", part.name, failure.toString());
+                unavailable.add(part.name);
+            }
+            return Collections.unmodifiableList(unavailable);
+        }
+
+        private Throwable await(Part<?> part) {
+            try {
+                part.complete(part.future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS));
+                return null;
+            } catch (ExecutionException e) {
+                part.fail();
+                return e.getCause();
+            } catch (TimeoutException e) {
+                part.fail();
+                return new PageAssemblyException("Section " + part.name + " hors délai (" + deadline.toMillis() + " ms)");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                part.fail();
+                return new PageAssemblyException("Attente de la section " + part.name + " interrompue", e);
+            }
+        }
+
+        /**
+         * Abandonne les sections encore en cours : sans interruption (la connexion JDBC reste saine),
+         * leur requête est bornée par le délai de transaction et leur résultat ignoré
+         */
+        @Override
+        public void close() {
+            for (Part<?> part : parts) {
+                if (!part.future.isDone()) {
+                    part.future.cancel(false);
+                }
+            }
+        }
+    }
+
+    public static final class Part<T> {
+
+        private final String name;
+        private final boolean required;
+        private final T fallback;
+        private Future<T> future;
+        private T value;
+        private boolean resolved;
+
+        private Part(String name, boolean required, T fallback) {
+            this.name = name;
+            this.required = required;
+            this.fallback = fallback;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(Object result) {
+            value = (T) result;
+            resolved = true;
+        }
+
+        private void fail() {
+            value = fallback;
+            resolved = true;
+        }
+
+        /**
+         * Résultat de la section, ou sa valeur de repli ; disponible après {@link Scope#join()}
+         */
+        public T get() {
+            if (!resolved) {
+                throw new IllegalStateException("Section " + name + " lue avant l'attente de la page");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/assembly/PageAssemblyException.java
+ * @description Section obligatoire d'une page non obtenue dans le délai de la page
+ */
+package com.example.gestioncommerciale.service.assembly;
+
+public class PageAssemblyException extends RuntimeException {
+
+    public PageAssemblyException(String message) {
+        super(message);
+    }
+
+    public PageAssemblyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
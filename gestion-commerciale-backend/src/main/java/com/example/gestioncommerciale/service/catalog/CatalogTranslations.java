@@ -0,0 +1,266 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/catalog/CatalogTranslations.java
+ * @description Lecture localisée du catalogue (product_i18n, category_i18n) avec repli sur la langue de référence
+ */
+package com.example.gestioncommerciale.service.catalog;
+
+import com.example.gestioncommerciale.config.InternationalizationConfig;
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.LocalizableProduct;
+import com.example.gestioncommerciale.dto.catalog.TranslationDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Les traductions d'une page de produits sont lues en une requête ; les noms et chemins traduits des catégories
+ * sont compilés une fois par langue, rattachés à l'instantané de l'arbre dont ils dérivent.
+ * Une traduction est cherchée par étiquette exacte (en-GB), puis langue seule (en), puis autre variante (en-US) ;
+ * à défaut, le libellé de référence est conservé.
+ */
+@Component
+@Slf4j
+public class CatalogTranslations {
+
+    private static final String PRODUCT_TRANSLATIONS_SQL =
+        "SELECT product_id, locale, name, description FROM product_i18n " +
+        "WHERE product_id IN (:ids) AND (locale = :tag OR locale = :language OR locale LIKE :variants)";
+
+    private static final String CATEGORY_TRANSLATIONS_SQL =
+        "SELECT category_id, locale, name, description FROM category_i18n " +
+        "WHERE locale = ? OR locale = ? OR locale LIKE ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final CategoryTreeCache categoryTreeCache;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, LocalizedCategories> categoriesByLocale = new ConcurrentHashMap<>();
+
+    public CatalogTranslations(JdbcTemplate jdbcTemplate,
+                               NamedParameterJdbcTemplate namedJdbcTemplate,
+                               CategoryTreeCache categoryTreeCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.categoryTreeCache = categoryTreeCache;
+    }
+
+    /**
+     * Traduit en place nom, description et chemin de catégorie d'une page de produits (une requête)
+     */
+    @Transactional(readOnly = true)
+    public void localizeProducts(Collection<? extends LocalizableProduct> products, Locale locale) {
+        if (products.isEmpty() || isBaseLocale(locale)) {
+            return;
+        }
+
+        Map<Long, Translation> translations = new HashMap<>(products.size() * 2);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("ids", products.stream().map(LocalizableProduct::getId).distinct().toList())
+            .addValue("tag", locale.toLanguageTag())
+            .addValue("language", locale.getLanguage())
+            .addValue("variants", locale.getLanguage() + "-%");
+        namedJdbcTemplate.query(PRODUCT_TRANSLATIONS_SQL, params, rs -> {
+            keepBest(translations, rs.getLong(1), new Translation(rs.getString(2), rs.getString(3), rs.getString(4)), locale);
+        });
+
+        LocalizedCategories categories = categories(locale);
+        for (LocalizableProduct product : products) {
+            Translation translation = translations.get(product.getId());
+            if (translation != null) {
+                if (translation.name() != null) {
+                    product.setName(translation.name());
+                }
+                if (translation.description() != null) {
+                    product.setDescription(translation.description());
+                }
+            }
+            if (product.getCategoryId() != null) {
+                product.setCategoryPath(categories.pathOf(product.getCategoryId(), product.getCategoryPath()));
+                product.setCategoryName(categories.nameOf(product.getCategoryId(), product.getCategoryName()));
+            }
+        }
+    }
+
+    /**
+     * Traduit en place des catégories et leurs sous-arbres (children), sans requête une fois la langue compilée
+     */
+    public void localizeCategories(Collection<CategoryDTO> categories, Locale locale) {
+        if (categories == null || categories.isEmpty() || isBaseLocale(locale)) {
+            return;
+        }
+        localize(categories, categories(locale));
+    }
+
+    /**
+     * Chemin traduit d'une catégorie (« Outillage > Perceuses »), chemin de référence à défaut
+     */
+    public String categoryPath(Long categoryId, Locale locale) {
+        String basePath = categoryTreeCache.get().fullPathOf(categoryId);
+        return isBaseLocale(locale) ? basePath : categories(locale).pathOf(categoryId, basePath);
+    }
+
+    @Transactional
+    public void putProductTranslation(Long productId, Locale locale, TranslationDTO translation) {
+        put("product_i18n", "product_id", productId, locale, translation);
+    }
+
+    @Transactional
+    public void putCategoryTranslation(Long categoryId, Locale locale, TranslationDTO translation) {
+        put("category_i18n", "category_id", categoryId, locale, translation);
+        invalidateAfterCommit();
+    }
+
+    /**
+     * Vide les chemins traduits compilés après le commit de la transaction courante (immédiatement sinon)
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        categoriesByLocale.clear();
+    }
+
+    private void put(String table, String keyColumn, Long id, Locale locale, TranslationDTO translation) {
+        if (isBaseLocale(locale)) {
+            throw new IllegalArgumentException("La langue de référence se modifie sur la fiche, pas par traduction : " + locale);
+        }
+        String tag = locale.toLanguageTag();
+        if (tag.length() > 5) {
+            throw new IllegalArgumentException("Code de langue invalide : " + tag);
+        }
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE " + keyColumn + " = ? AND locale = ?", id, tag);
+        jdbcTemplate.update("INSERT INTO " + table + " (" + keyColumn + ", locale, name, description) VALUES (?, ?, ?, ?)",
+                            id, tag, translation.getName(), translation.getDescription());
+        log.info("Traduction {} enregistrée : {} {}", tag, table, id);
+    }
+
+    /**
+     * Noms et chemins traduits de toute l'arborescence pour une langue ; recompilés quand l'arbre change
+     */
+    private LocalizedCategories categories(Locale locale) {
+        CategoryTreeSnapshot tree = categoryTreeCache.get();
+        String key = locale.toLanguageTag();
+        LocalizedCategories cached = categoriesByLocale.get(key);
+        if (cached != null && cached.tree() == tree) {
+            return cached;
+        }
+
+        long expectedVersion = version.get();
+        Map<Long, Translation> translations = new HashMap<>();
+        jdbcTemplate.query(CATEGORY_TRANSLATIONS_SQL, rs -> {
+            keepBest(translations, rs.getLong(1), new Translation(rs.getString(2), rs.getString(3), rs.getString(4)), locale);
+        }, key, locale.getLanguage(), locale.getLanguage() + "-%");
+
+        Map<Long, String> names = new HashMap<>(tree.size() * 2);
+        Map<Long, String> descriptions = new HashMap<>();
+        translations.forEach((id, translation) -> {
+            if (translation.name() != null) {
+                names.put(id, translation.name());
+            }
+            if (translation.description() != null) {
+                descriptions.put(id, translation.description());
+            }
+        });
+        Map<Long, String> paths = new HashMap<>(tree.size() * 2);
+        for (Long rootId : tree.getRootIds()) {
+            collectPaths(tree, rootId, null, names, paths);
+        }
+
+        LocalizedCategories built = new LocalizedCategories(tree, Map.copyOf(names), Map.copyOf(descriptions), Map.copyOf(paths));
+        // Une traduction validée pendant la compilation la rend obsolète : pas de mise en cache
+        if (version.get() == expectedVersion) {
+            categoriesByLocale.put(key, built);
+        }
+        log.debug("Catégories compilées pour la langue {} : {} traductions", key, translations.size());
+        return built;
+    }
+
+    private static void collectPaths(CategoryTreeSnapshot tree, Long id, String parentPath,
+                                     Map<Long, String> names, Map<Long, String> paths) {
+        CategoryTreeSnapshot.Node node = tree.get(id);
+        if (node == null) {
+            return;
+        }
+        String name = names.getOrDefault(id, node.name());
+        String path = parentPath == null ? name : parentPath + CategoryTreeSnapshot.PATH_SEPARATOR + name;
+        paths.put(id, path);
+        for (Long childId : node.childIds()) {
+            collectPaths(tree, childId, path, names, paths);
+        }
+    }
+
+    private static void localize(Collection<CategoryDTO> categories, LocalizedCategories localized) {
+        for (CategoryDTO category : categories) {
+            category.setName(localized.nameOf(category.getId(), category.getName()));
+            category.setDescription(localized.descriptions().getOrDefault(category.getId(), category.getDescription()));
+            category.setFullPath(localized.pathOf(category.getId(), category.getFullPath()));
+            if (category.getParentId() != null) {
+                category.setParentName(localized.nameOf(category.getParentId(), category.getParentName()));
+            }
+            if (category.getChildren() != null) {
+                localize(category.getChildren(), localized);
+            }
+        }
+    }
+
+    /**
+     * Conserve la meilleure traduction d'une ligne : étiquette exacte, puis langue seule, puis variante régionale
+     */
+    private static void keepBest(Map<Long, Translation> translations, long id, Translation candidate, Locale locale) {
+        Translation current = translations.get(id);
+        if (current == null || rank(candidate.locale(), locale) < rank(current.locale(), locale)) {
+            translations.put(id, candidate);
+        }
+    }
+
+    private static int rank(String tag, Locale locale) {
+        if (tag.equalsIgnoreCase(locale.toLanguageTag())) {
+            return 0;
+        }
+        return tag.equalsIgnoreCase(locale.getLanguage()) ? 1 : 2;
+    }
+
+    private static boolean isBaseLocale(Locale locale) {
+        return locale == null || InternationalizationConfig.BASE_LOCALE.getLanguage().equals(locale.getLanguage());
+    }
+
+    private record Translation(String locale, String name, String description) {
+    }
+
+    private record LocalizedCategories(CategoryTreeSnapshot tree, Map<Long, String> names,
+                                       Map<Long, String> descriptions, Map<Long, String> paths) {
+
+        String nameOf(Long id, String fallback) {
+            return names.getOrDefault(id, fallback);
+        }
+
+        String pathOf(Long id, String fallback) {
+            return paths.getOrDefault(id, fallback);
+        }
+    }
+}
@@ -7,19 +7,30 @@ package com.example.gestioncommerciale.service.catalog;
 import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
 import com.example.gestioncommerciale.mapper.catalog.CategoryMapper;
 import com.example.gestioncommerciale.model.catalog.Category;
+import com.example.gestioncommerciale.repository.catalog.CategoryClosureRepository;
 import com.example.gestioncommerciale.repository.catalog.CategoryRepository;
+import com.example.gestioncommerciale.repository.catalog.CategorySpecifications;
 import com.example.gestioncommerciale.service.SequenceService;
+import com.example.gestioncommerciale.service.StatisticsService;
+import com.example.gestioncommerciale.service.pagination.KeysetPage;
+import com.example.gestioncommerciale.service.pagination.KeysetPager;
+import com.example.gestioncommerciale.service.pagination.KeysetWindow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +41,10 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final SequenceService sequenceService;
+    private final CategoryClosureRepository closureRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final KeysetPager keysetPager;
+    private final StatisticsService statisticsService;
     
     public static final String CATEGORY_TYPE = "CATEGORY";
     public static final String CATEGORY_PREFIX = "CAT";
@@ -37,63 +52,117 @@ public class CategoryService {
     @Transactional(readOnly = true)
     public Optional<CategoryDTO> findById(Long id) {
         return categoryRepository.findById(id)
-            .map(this::enrichCategoryDTO);
+            .map(category -> enrichCategoryDTOs(List.of(category), false).get(0));
     }
     
     @Transactional(readOnly = true)
     public CategoryDTO getById(Long id) {
-        return categoryRepository.findById(id)
-            .map(this::enrichCategoryDTO)
+        return findById(id)
             .orElseThrow(() -> new RuntimeException("Catégorie non trouvée avec ID: " + id));
     }
     
     @Transactional(readOnly = true)
     public Optional<CategoryDTO> findByCode(String code) {
         return categoryRepository.findByCode(code)
-            .map(this::enrichCategoryDTO);
+            .map(category -> enrichCategoryDTOs(List.of(category), false).get(0));
     }
     
     @Transactional(readOnly = true)
     public List<CategoryDTO> findRootCategories() {
-        return categoryRepository.findByParentIsNullOrderBySortOrderAscNameAsc()
-            .stream()
-            .map(this::enrichCategoryDTO)
-            .toList();
+        return enrichCategoryDTOs(categoryRepository.findByParentIsNullOrderBySortOrderAscNameAsc(), false);
     }
     
     @Transactional(readOnly = true)
     public List<CategoryDTO> findByParent(Long parentId) {
-        return categoryRepository.findByParentIdOrderBySortOrderAscNameAsc(parentId)
-            .stream()
-            .map(this::enrichCategoryDTO)
-            .toList();
+        return enrichCategoryDTOs(categoryRepository.findByParentIdOrderBySortOrderAscNameAsc(parentId), false);
     }
     
     @Transactional(readOnly = true)
     public List<CategoryDTO> findActiveCategories() {
-        return categoryRepository.findByActiveTrue()
-            .stream()
-            .map(this::enrichCategoryDTO)
-            .toList();
+        return enrichCategoryDTOs(categoryRepository.findByActiveTrue(), false);
     }
     
     @Transactional(readOnly = true)
     public Page<CategoryDTO> findWithFilters(Boolean active, Long parentId, String search, Pageable pageable) {
+        return findWithFilters(active, parentId, search, false, pageable);
+    }
+    
+    /**
+     * @param includeSubtree compte aussi les produits des sous-catégories (toutes profondeurs)
+     */
+    @Transactional(readOnly = true)
+    public Page<CategoryDTO> findWithFilters(Boolean active, Long parentId, String search,
+                                             boolean includeSubtree, Pageable pageable) {
         Page<Category> categories = categoryRepository.findWithFilters(active, parentId, search, pageable);
-        List<CategoryDTO> dtos = categories.getContent()
-            .stream()
-            .map(this::enrichCategoryDTO)
-            .toList();
+        List<CategoryDTO> dtos = enrichCategoryDTOs(categories.getContent(), includeSubtree);
         
         return new PageImpl<>(dtos, pageable, categories.getTotalElements());
     }
     
+    /**
+     * Liste des écrans : décalage sans curseur (premier affichage ou saut de page), recherche de clé sinon
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<CategoryDTO> findWithFilters(Boolean active, Long parentId, String search,
+                                                   boolean includeSubtree, Pageable pageable, String cursor) {
+        KeysetPage<Category> categories = keysetPager.page(
+            categoryRepository, CategorySpecifications.withFilters(active, parentId, search),
+            pageable, cursor, Category.class
+        );
+        return categories.withContent(enrichCategoryDTOs(categories.getContent(), includeSubtree));
+    }
+    
+    /**
+     * Lecture par curseur sans comptage du total (API REST)
+     */
+    @Transactional(readOnly = true)
+    public KeysetWindow<CategoryDTO> scroll(Boolean active, Long parentId, String search,
+                                            Sort sort, int size, String cursor) {
+        KeysetWindow<Category> categories = keysetPager.scroll(
+            categoryRepository, CategorySpecifications.withFilters(active, parentId, search),
+            sort, size, cursor, Category.class
+        );
+        return categories.withContent(enrichCategoryDTOs(categories.content(), false));
+    }
+    
     @Transactional(readOnly = true)
     public List<CategoryDTO> findCategoryTree() {
-        List<Category> rootCategories = categoryRepository.findRootCategoriesWithChildren();
-        return rootCategories.stream()
-            .map(this::enrichCategoryDTOWithChildren)
+        return findCategoryTree(false);
+    }
+    
+    /**
+     * Arbre complet servi par l'instantané en mémoire : une seule requête (COUNT groupé)
+     * quelle que soit sa taille, plus deux lors de la reconstruction après modification
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryDTO> findCategoryTree(boolean includeSubtree) {
+        CategoryTreeSnapshot tree = categoryTreeCache.get();
+        Map<Long, Long> counts = toCountMap(categoryRepository.countProductsGroupedByCategory());
+        
+        List<CategoryDTO> roots = tree.getRootIds().stream()
+            .map(id -> toTreeDTO(tree, tree.get(id), counts))
             .toList();
+        
+        if (includeSubtree) {
+            roots.forEach(this::accumulateSubtreeCounts);
+        }
+        return roots;
+    }
+    
+    /**
+     * Fil d'Ariane de la racine jusqu'à la catégorie (sans requête)
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryTreeSnapshot.Node> findBreadcrumb(Long categoryId) {
+        return categoryTreeCache.get().breadcrumb(categoryId);
+    }
+    
+    /**
+     * Identifiants du sous-arbre de la catégorie, elle-même incluse (sans requête)
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findSubtreeIds(Long categoryId) {
+        return categoryTreeCache.get().descendantsOf(categoryId);
     }
     
     public CategoryDTO create(CategoryDTO categoryDTO) {
@@ -121,10 +190,16 @@ public class CategoryService {
         category.setCreatedAt(LocalDateTime.now());
         category.setUpdatedAt(LocalDateTime.now());
         
-        Category saved = categoryRepository.save(category);
+        Category saved = categoryRepository.saveAndFlush(category);
+        closureRepository.insertSelf(saved.getId());
+        if (saved.getParent() != null) {
+            closureRepository.linkSubtree(saved.getId(), saved.getParent().getId());
+        }
+        categoryTreeCache.invalidateAfterCommit();
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CATEGORIES);
         log.info("Catégorie créée avec succès: {}", saved.getCode());
         
-        return enrichCategoryDTO(categoryMapper.toDTO(saved));
+        return withPath(saved, categoryMapper.toDTO(saved));
     }
     
     public CategoryDTO update(Long id, CategoryDTO categoryDTO) {
@@ -132,6 +207,7 @@ public class CategoryService {
             .orElseThrow(() -> new RuntimeException("Catégorie non trouvée avec ID: " + id));
         
         validateUniqueFields(categoryDTO, id);
+        Long previousParentId = existing.getParent() != null ? existing.getParent().getId() : null;
         
         // Gérer la relation parent
         if (categoryDTO.getParentId() != null) {
@@ -146,13 +222,19 @@ public class CategoryService {
             existing.setParent(null);
         }
         
+        if (!Objects.equals(previousParentId, categoryDTO.getParentId())) {
+            moveSubtree(id, categoryDTO.getParentId());
+        }
+        
         categoryMapper.updateCategoryFromDTO(categoryDTO, existing);
         existing.setUpdatedAt(LocalDateTime.now());
         
         Category updated = categoryRepository.save(existing);
+        categoryTreeCache.invalidateAfterCommit();
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CATEGORIES);
         log.info("Catégorie mise à jour avec succès: {}", updated.getCode());
         
-        return enrichCategoryDTO(categoryMapper.toDTO(updated));
+        return withPath(updated, categoryMapper.toDTO(updated));
     }
     
     public void delete(Long id) {
@@ -170,7 +252,10 @@ public class CategoryService {
             throw new IllegalArgumentException("Impossible de supprimer une catégorie qui contient des produits");
         }
         
+        closureRepository.deleteAllPaths(id);
         categoryRepository.delete(category);
+        categoryTreeCache.invalidateAfterCommit();
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CATEGORIES);
         log.info("Catégorie supprimée avec succès: {}", category.getCode());
     }
     
@@ -201,25 +286,95 @@ public class CategoryService {
         }
     }
     
-    private CategoryDTO enrichCategoryDTO(Category category) {
-        CategoryDTO dto = categoryMapper.toDTO(category);
-        dto.setProductCount(categoryRepository.countProductsByCategory(category));
-        return dto;
+    /**
+     * Nombre de produits pour toute une liste de catégories en une requête groupée
+     * (jointure sur la table de fermeture en mode sous-arbre) ; niveau et chemin lus dans l'instantané
+     */
+    private List<CategoryDTO> enrichCategoryDTOs(List<Category> categories, boolean includeSubtree) {
+        if (categories.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Long> ids = categories.stream().map(Category::getId).toList();
+        Map<Long, Long> counts = toCountMap(includeSubtree
+            ? categoryRepository.countSubtreeProductsGroupedByCategoryIds(ids)
+            : categoryRepository.countProductsGroupedByCategoryIds(ids));
+        CategoryTreeSnapshot tree = categoryTreeCache.get();
+        
+        return categories.stream()
+            .map(category -> {
+                CategoryDTO dto = categoryMapper.toDTO(category);
+                dto.setProductCount(counts.getOrDefault(category.getId(), 0L));
+                dto.setLevel(tree.depthOf(category.getId()));
+                dto.setFullPath(tree.fullPathOf(category.getId()));
+                return dto;
+            })
+            .toList();
     }
     
-    private CategoryDTO enrichCategoryDTO(CategoryDTO dto) {
-        // Enrichir avec le nombre de produits si nécessaire
+    private long accumulateSubtreeCounts(CategoryDTO dto) {
+        long total = dto.getProductCount();
+        if (dto.getChildren() != null) {
+            for (CategoryDTO child : dto.getChildren()) {
+                total += accumulateSubtreeCounts(child);
+            }
+        }
+        dto.setProductCount(total);
+        return total;
+    }
+    
+    private static Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+    
+    /**
+     * Détache le sous-arbre de ses anciens ancêtres puis le rattache sous le nouveau parent
+     */
+    private void moveSubtree(Long id, Long newParentId) {
+        List<Long> subtreeIds = closureRepository.findDescendantIds(id);
+        if (newParentId != null && subtreeIds.contains(newParentId)) {
+            throw new IllegalArgumentException("Une catégorie ne peut pas être déplacée sous l'une de ses sous-catégories");
+        }
+        
+        closureRepository.unlinkSubtree(subtreeIds);
+        if (newParentId != null) {
+            closureRepository.linkSubtree(id, newParentId);
+        }
+    }
+    
+    /**
+     * Niveau et chemin d'une catégorie tout juste écrite (l'instantané n'est pas encore à jour)
+     */
+    private CategoryDTO withPath(Category category, CategoryDTO dto) {
+        dto.setLevel(category.getLevel());
+        dto.setFullPath(category.getFullPath());
         return dto;
     }
     
-    private CategoryDTO enrichCategoryDTOWithChildren(Category category) {
-        CategoryDTO dto = enrichCategoryDTO(category);
-        if (category.hasChildren()) {
-            List<CategoryDTO> childrenDTOs = category.getChildren()
-                .stream()
-                .map(this::enrichCategoryDTOWithChildren)
-                .toList();
-            dto.setChildren(childrenDTOs);
+    private CategoryDTO toTreeDTO(CategoryTreeSnapshot tree, CategoryTreeSnapshot.Node node, Map<Long, Long> counts) {
+        CategoryDTO dto = new CategoryDTO();
+        dto.setId(node.id());
+        dto.setCode(node.code());
+        dto.setName(node.name());
+        dto.setDescription(node.description());
+        dto.setIconClass(node.iconClass());
+        dto.setActive(node.active());
+        dto.setSortOrder(node.sortOrder());
+        dto.setParentId(node.parentId());
+        if (node.parentId() != null) {
+            dto.setParentName(tree.get(node.parentId()).name());
+        }
+        dto.setLevel(node.depth());
+        dto.setFullPath(node.fullPath());
+        dto.setProductCount(counts.getOrDefault(node.id(), 0L));
+        if (node.hasChildren()) {
+            dto.setChildren(node.childIds().stream()
+                .map(childId -> toTreeDTO(tree, tree.get(childId), counts))
+                .toList());
         }
         return dto;
     }
@@ -0,0 +1,99 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/catalog/CategoryTreeCache.java
+ * @description Détient l'instantané courant de l'arbre des catégories, reconstruit après chaque modification
+ */
+package com.example.gestioncommerciale.service.catalog;
+
+import com.example.gestioncommerciale.repository.catalog.CategoryClosureRepository;
+import com.example.gestioncommerciale.repository.catalog.CategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class CategoryTreeCache {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository closureRepository;
+    private final TransactionTemplate buildTemplate;
+
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private volatile CategoryTreeSnapshot snapshot;
+
+    public CategoryTreeCache(CategoryRepository categoryRepository, CategoryClosureRepository closureRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.closureRepository = closureRepository;
+        this.buildTemplate = new TransactionTemplate(transactionManager);
+        this.buildTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.buildTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Instantané courant, construit à la demande (deux requêtes) s'il a été invalidé ; la construction
+     * a sa propre transaction en lecture seule : seul l'état validé y entre, quelle que soit la transaction appelante.
+     * Pendant une construction, les autres appelants n'attendent pas en gardant leur connexion (le pool pourrait
+     * s'épuiser avant que la construction obtienne la sienne) : ils lisent l'arbre dans leur transaction, sans le conserver.
+     */
+    public CategoryTreeSnapshot get() {
+        CategoryTreeSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        if (!buildLock.tryLock()) {
+            return build();
+        }
+        try {
+            if (snapshot == null) {
+                long expectedVersion = version.get();
+                long start = System.currentTimeMillis();
+                CategoryTreeSnapshot built = buildTemplate.execute(status -> build());
+                // Une invalidation survenue pendant la construction rend l'instantané obsolète
+                if (version.get() != expectedVersion) {
+                    return built;
+                }
+                snapshot = built;
+                log.debug("Arbre des catégories reconstruit : {} nœuds en {} ms",
+                          built.size(), System.currentTimeMillis() - start);
+            }
+            return snapshot;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private CategoryTreeSnapshot build() {
+        return CategoryTreeSnapshot.build(categoryRepository.findAllTreeRows(), closureRepository.findAllRows());
+    }
+
+    /**
+     * Invalide l'instantané après le commit de la transaction courante (immédiatement sinon)
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/catalog/CategoryTreeSnapshot.java
+ * @description Instantané immuable de l'arbre des catégories (chemins, profondeurs, descendants)
+ */
+package com.example.gestioncommerciale.service.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Construit à partir de la table de fermeture ; toutes les lectures sont des accès directs aux maps.
+ */
+public final class CategoryTreeSnapshot {
+
+    public static final String PATH_SEPARATOR = " > ";
+
+    private final Map<Long, Node> nodes;
+    private final List<Long> rootIds;
+    private final Map<Long, Set<Long>> descendants;
+    private final Map<String, Long> idsByCode;
+
+    private CategoryTreeSnapshot(Map<Long, Node> nodes, List<Long> rootIds, Map<Long, Set<Long>> descendants) {
+        this.nodes = nodes;
+        this.rootIds = rootIds;
+        this.descendants = descendants;
+        Map<String, Long> codes = new HashMap<>();
+        nodes.values().forEach(node -> codes.put(node.code(), node.id()));
+        this.idsByCode = Collections.unmodifiableMap(codes);
+    }
+
+    /**
+     * @param categoryRows  id, parentId, code, name, description, iconClass, active, sortOrder (triées)
+     * @param closureRows   ancestorId, descendantId, depth
+     */
+    public static CategoryTreeSnapshot build(List<Object[]> categoryRows, List<Object[]> closureRows) {
+        Map<Long, Set<Long>> descendants = new HashMap<>();
+        Map<Long, List<Object[]>> ancestors = new HashMap<>();
+        for (Object[] row : closureRows) {
+            Long ancestorId = (Long) row[0];
+            Long descendantId = (Long) row[1];
+            descendants.computeIfAbsent(ancestorId, k -> new HashSet<>()).add(descendantId);
+            ancestors.computeIfAbsent(descendantId, k -> new ArrayList<>()).add(row);
+        }
+
+        Map<Long, String> names = new HashMap<>();
+        for (Object[] row : categoryRows) {
+            names.put((Long) row[0], (String) row[3]);
+        }
+
+        Map<Long, List<Long>> childIds = new HashMap<>();
+        List<Long> rootIds = new ArrayList<>();
+        for (Object[] row : categoryRows) {
+            Long id = (Long) row[0];
+            Long parentId = (Long) row[1];
+            if (parentId == null || !names.containsKey(parentId)) {
+                rootIds.add(id);
+            } else {
+                childIds.computeIfAbsent(parentId, k -> new ArrayList<>()).add(id);
+            }
+        }
+
+        Map<Long, Node> nodes = new LinkedHashMap<>();
+        for (Object[] row : categoryRows) {
+            Long id = (Long) row[0];
+
+            // Ancêtres du plus lointain au plus proche, la ligne réflexive (profondeur 0) en dernier
+            List<Object[]> path = ancestors.getOrDefault(id, List.of());
+            path.sort(Comparator.comparingInt((Object[] r) -> (Integer) r[2]).reversed());
+            List<Long> pathIds = new ArrayList<>(path.size());
+            StringBuilder fullPath = new StringBuilder();
+            for (Object[] step : path) {
+                Long ancestorId = (Long) step[0];
+                pathIds.add(ancestorId);
+                if (fullPath.length() > 0) {
+                    fullPath.append(PATH_SEPARATOR);
+                }
+                fullPath.append(names.get(ancestorId));
+            }
+            if (pathIds.isEmpty()) {
+                pathIds.add(id);
+                fullPath.append(names.get(id));
+            }
+
+            nodes.put(id, new Node(
+                id,
+                (Long) row[1],
+                (String) row[2],
+                (String) row[3],
+                (String) row[4],
+                (String) row[5],
+                (Boolean) row[6],
+                (Integer) row[7],
+                pathIds.size() - 1,
+                fullPath.toString(),
+                List.copyOf(pathIds),
+                List.copyOf(childIds.getOrDefault(id, List.of()))
+            ));
+        }
+
+        Map<Long, Set<Long>> frozenDescendants = new HashMap<>();
+        descendants.forEach((id, set) -> frozenDescendants.put(id, Set.copyOf(set)));
+
+        return new CategoryTreeSnapshot(
+            Collections.unmodifiableMap(nodes),
+            List.copyOf(rootIds),
+            Collections.unmodifiableMap(frozenDescendants)
+        );
+    }
+
+    public Node get(Long id) {
+        return nodes.get(id);
+    }
+
+    /**
+     * Identifiant de la catégorie portant ce code, null si inconnu
+     */
+    public Long idByCode(String code) {
+        return idsByCode.get(code);
+    }
+
+    public List<Long> getRootIds() {
+        return rootIds;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Sous-arbre complet, la catégorie elle-même incluse
+     */
+    public Set<Long> descendantsOf(Long id) {
+        return descendants.getOrDefault(id, Set.of(id));
+    }
+
+    public boolean isDescendantOf(Long candidateId, Long ancestorId) {
+        return descendantsOf(ancestorId).contains(candidateId);
+    }
+
+    public int depthOf(Long id) {
+        Node node = nodes.get(id);
+        return node != null ? node.depth() : 0;
+    }
+
+    public String fullPathOf(Long id) {
+        Node node = nodes.get(id);
+        return node != null ? node.fullPath() : null;
+    }
+
+    /**
+     * Fil d'Ariane de la racine jusqu'à la catégorie
+     */
+    public List<Node> breadcrumb(Long id) {
+        Node node = nodes.get(id);
+        if (node == null) {
+            return List.of();
+        }
+        return node.pathIds().stream().map(nodes::get).toList();
+    }
+
+    public record Node(
+        Long id,
+        Long parentId,
+        String code,
+        String name,
+        String description,
+        String iconClass,
+        Boolean active,
+        Integer sortOrder,
+        int depth,
+        String fullPath,
+        List<Long> pathIds,
+        List<Long> childIds
+    ) {
+        public boolean hasChildren() {
+            return !childIds.isEmpty();
+        }
+    }
+}
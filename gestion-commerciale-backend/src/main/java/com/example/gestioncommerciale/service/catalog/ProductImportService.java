@@ -0,0 +1,617 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/catalog/ProductImportService.java
+ * @description Import CSV des produits en masse : lecture en flux, validation en mémoire, lots JDBC transactionnels, reprise
+ */
+package com.example.gestioncommerciale.service.catalog;
+
+import com.example.gestioncommerciale.config.ImportProperties;
+import com.example.gestioncommerciale.model.catalog.Product;
+import com.example.gestioncommerciale.repository.catalog.ProductRepository;
+import com.example.gestioncommerciale.service.SequenceService;
+import com.example.gestioncommerciale.service.StatisticsService;
+import com.example.gestioncommerciale.service.export.CsvWriter;
+import com.example.gestioncommerciale.service.importing.CsvReader;
+import com.example.gestioncommerciale.service.importing.ImportJob;
+import com.example.gestioncommerciale.service.importing.ImportRowError;
+import com.example.gestioncommerciale.service.pricing.PricingEngine;
+import com.example.gestioncommerciale.service.stock.StockService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Chaîne d'import sans passer par {@link ProductService#create} (et ses lectures par ligne) :
+ * <ol>
+ *   <li>lecture du fichier en flux, un enregistrement à la fois ;</li>
+ *   <li>unicité code / SKU / EAN contrôlée contre des maps préchargées en une requête ;</li>
+ *   <li>catégorie résolue par son code dans l'instantané {@link CategoryTreeCache} ;</li>
+ *   <li>insertions et mises à jour par lots JDBC, chaque lot dans sa propre transaction.</li>
+ * </ol>
+ * Après chaque lot validé, un point de reprise est écrit sur disque : un import interrompu
+ * reprend à la ligne suivante sans relire la base ni réécrire les lots déjà validés.
+ */
+@Service
+@Slf4j
+public class ProductImportService {
+
+    private static final Pattern JOB_ID = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    /**
+     * Colonnes reconnues : en-tête de l'export CSV, colonne SQL, obligatoire en base, valeur par défaut à la création
+     */
+    private enum Field {
+        CODE("code", "code", Kind.TEXT, false, null, 30),
+        NAME("name", "name", Kind.TEXT, false, null, 150),
+        DESCRIPTION("description", "description", Kind.TEXT, true, null, 1000),
+        CATEGORY("categoryCode", "category_id", Kind.CATEGORY, false, null, 0),
+        TYPE("type", "type", Kind.TYPE, false, Product.ProductType.PRODUCT.name(), 0),
+        STATUS("status", "status", Kind.STATUS, false, Product.ProductStatus.AVAILABLE.name(), 0),
+        ACTIVE("active", "active", Kind.BOOLEAN, false, Boolean.TRUE, 0),
+        REFERENCE("reference", "reference", Kind.TEXT, true, null, 50),
+        SKU("sku", "sku", Kind.TEXT, true, null, 50),
+        EAN("ean", "ean", Kind.TEXT, true, null, 20),
+        UNIT_PRICE("unitPrice", "unit_price", Kind.DECIMAL, false, BigDecimal.ZERO, 0),
+        COST_PRICE("costPrice", "cost_price", Kind.DECIMAL, true, BigDecimal.ZERO, 0),
+        VAT_RATE("vatRate", "vat_rate", Kind.DECIMAL, true, new BigDecimal("20.00"), 0),
+        STOCK_MANAGED("stockManaged", "stock_managed", Kind.BOOLEAN, false, Boolean.FALSE, 0),
+        STOCK_QUANTITY("stockQuantity", "stock_quantity", Kind.INTEGER, false, 0, 0),
+        MIN_STOCK_LEVEL("minStockLevel", "min_stock_level", Kind.INTEGER, false, 0, 0),
+        MAX_STOCK_LEVEL("maxStockLevel", "max_stock_level", Kind.INTEGER, false, 0, 0),
+        UNIT("unit", "unit", Kind.TEXT, true, "pce", 10);
+
+        private final String header;
+        private final String column;
+        private final Kind kind;
+        private final boolean nullable;
+        private final Object defaultValue;
+        private final int maxLength;
+
+        Field(String header, String column, Kind kind, boolean nullable, Object defaultValue, int maxLength) {
+            this.header = header;
+            this.column = column;
+            this.kind = kind;
+            this.nullable = nullable;
+            this.defaultValue = defaultValue;
+            this.maxLength = maxLength;
+        }
+    }
+
+    private enum Kind {
+        TEXT, DECIMAL, INTEGER, BOOLEAN, TYPE, STATUS, CATEGORY
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private static final String INSERT_SQL =
+        "INSERT INTO products (" +
+        Arrays.stream(FIELDS).map(f -> f.column).collect(Collectors.joining(", ")) +
+        ", weight_unit, dimension_unit, created_at, updated_at, created_by, updated_by) VALUES (" +
+        "?, ".repeat(FIELDS.length) + "'kg', 'cm', ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductRepository productRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final SequenceService sequenceService;
+    private final ProductSearchIndex productSearchIndex;
+    private final StatisticsService statisticsService;
+    private final StockService stockService;
+    private final PricingEngine pricingEngine;
+    private final ImportProperties properties;
+    private final TransactionTemplate chunkTemplate;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProductImportService(JdbcTemplate jdbcTemplate,
+                                ProductRepository productRepository,
+                                CategoryTreeCache categoryTreeCache,
+                                SequenceService sequenceService,
+                                ProductSearchIndex productSearchIndex,
+                                StatisticsService statisticsService,
+                                StockService stockService,
+                                PricingEngine pricingEngine,
+                                ImportProperties properties,
+                                PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.productRepository = productRepository;
+        this.categoryTreeCache = categoryTreeCache;
+        this.sequenceService = sequenceService;
+        this.productSearchIndex = productSearchIndex;
+        this.statisticsService = statisticsService;
+        this.stockService = stockService;
+        this.pricingEngine = pricingEngine;
+        this.properties = properties;
+        this.chunkTemplate = new TransactionTemplate(transactionManager);
+        this.chunkTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Copie le fichier reçu dans le répertoire de travail et enregistre l'import (non démarré)
+     */
+    public ImportJob upload(String filename, InputStream content, String username) throws IOException {
+        String id = UUID.randomUUID().toString();
+        Path file = workFile(id, ".csv");
+        Files.createDirectories(file.getParent());
+        Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+
+        ImportJob job = new ImportJob(id, filename, file, username, properties.getMaxDisplayedErrors());
+        jobs.put(id, job);
+        writeCheckpoint(job);
+        log.info("Import produits {} reçu : {} ({} octets)", id, filename, Files.size(file));
+        return job;
+    }
+
+    /**
+     * Lance l'import en arrière-plan (un import à la fois, les suivants attendent leur tour)
+     */
+    public void start(ImportJob job) {
+        executor.submit(() -> run(job));
+    }
+
+    /**
+     * Reprend un import interrompu à partir de son point de reprise sur disque,
+     * y compris après un redémarrage de l'application
+     */
+    public ImportJob resume(String id) throws IOException {
+        Path checkpoint = workFile(id, ".checkpoint");
+        if (!Files.exists(checkpoint)) {
+            throw new RuntimeException("Import non trouvé : " + id);
+        }
+        ImportJob current = jobs.get(id);
+        if (current != null && !current.isResumable()) {
+            throw new IllegalArgumentException("Cet import ne peut pas être repris (statut " + current.getStatus() + ")");
+        }
+
+        Properties saved = new Properties();
+        try (Reader reader = Files.newBufferedReader(checkpoint, StandardCharsets.UTF_8)) {
+            saved.load(reader);
+        }
+        if (ImportJob.Status.COMPLETED.name().equals(saved.getProperty("status"))) {
+            throw new IllegalArgumentException("Cet import est déjà terminé");
+        }
+
+        ImportJob job = new ImportJob(id, saved.getProperty("filename"), workFile(id, ".csv"),
+            saved.getProperty("username"), properties.getMaxDisplayedErrors());
+        job.restore(
+            Long.parseLong(saved.getProperty("committedRows", "0")),
+            Long.parseLong(saved.getProperty("inserted", "0")),
+            Long.parseLong(saved.getProperty("updated", "0")),
+            Long.parseLong(saved.getProperty("rejected", "0"))
+        );
+        jobs.put(id, job);
+        log.info("Reprise de l'import produits {} après {} lignes", id, job.getCommittedRows());
+        return job;
+    }
+
+    public Optional<ImportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Rapport complet des lignes rejetées (CSV : ligne, code, motif)
+     */
+    public Path errorReport(String id) {
+        Path report = workFile(id, "-errors.csv");
+        if (!Files.exists(report)) {
+            throw new RuntimeException("Aucun rapport d'erreurs pour l'import : " + id);
+        }
+        return report;
+    }
+
+    /**
+     * Exécute l'import dans le fil courant
+     */
+    public void run(ImportJob job) {
+        job.start();
+        long skip = job.getCommittedRows();
+        boolean written = false;
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(job.getFile(), StandardCharsets.UTF_8))) {
+            int[] positions = positions(reader.readHeader());
+            Keys keys = loadKeys();
+            CategoryTreeSnapshot categories = categoryTreeCache.get();
+            UpdatePlan update = UpdatePlan.of(positions);
+
+            // Lignes déjà traitées lors d'une exécution précédente : relues sans être analysées
+            for (long i = 0; i < skip && reader.readRecord() != null; i++) {
+                // saut
+            }
+
+            Chunk chunk = new Chunk(skip);
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                job.rowRead();
+                chunk.lastRow++;
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                long line = reader.getRecordNumber();
+                try {
+                    chunk.rows.add(parse(record, positions, keys, categories, line));
+                } catch (IllegalArgumentException e) {
+                    chunk.errors.add(new ImportRowError(line, cell(record, positions, Field.CODE), e.getMessage()));
+                }
+                if (chunk.size() >= properties.getChunkSize()) {
+                    written |= flush(job, chunk, update);
+                    chunk = new Chunk(chunk.lastRow);
+                    if (job.isStopRequested()) {
+                        throw new IllegalStateException("Import interrompu à la demande après " + chunk.lastRow + " lignes");
+                    }
+                }
+            }
+            written |= flush(job, chunk, update);
+
+            job.complete();
+            writeCheckpoint(job);
+            Files.deleteIfExists(job.getFile());
+            log.info("Import produits {} terminé : {} lignes, {} créées, {} mises à jour, {} rejetées, {} lignes/s",
+                     job.getId(), job.getProcessed(), job.getInserted(), job.getUpdated(),
+                     job.getRejected(), job.getRowsPerSecond());
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+            writeCheckpointQuietly(job);
+            log.error("Import produits {} interrompu après {} lignes validées : {}",
+                      job.getId(), job.getCommittedRows(), e.getMessage());
+        } finally {
+            if (written) {
+                statisticsService.invalidate(StatisticsService.Module.PRODUCTS);
+                pricingEngine.invalidate();
+                productSearchIndex.rebuild();
+            }
+        }
+    }
+
+    private static int[] positions(List<String> header) {
+        int[] positions = new int[FIELDS.length];
+        for (Field field : FIELDS) {
+            positions[field.ordinal()] = header.indexOf(field.header);
+        }
+        if (positions[Field.CODE.ordinal()] < 0 && positions[Field.NAME.ordinal()] < 0) {
+            throw new IllegalArgumentException("En-tête invalide : colonne « code » ou « name » attendue");
+        }
+        return positions;
+    }
+
+    /**
+     * Clés d'unicité du catalogue en une seule requête
+     */
+    private Keys loadKeys() {
+        Keys keys = new Keys();
+        for (Object[] row : productRepository.findImportKeys()) {
+            String code = (String) row[1];
+            keys.idsByCode.put(code, (Long) row[0]);
+            if (row[2] != null) {
+                keys.codesBySku.put((String) row[2], code);
+            }
+            if (row[3] != null) {
+                keys.codesByEan.put((String) row[3], code);
+            }
+        }
+        return keys;
+    }
+
+    private ProductRow parse(List<String> record, int[] positions, Keys keys,
+                             CategoryTreeSnapshot categories, long line) {
+        String code = cell(record, positions, Field.CODE);
+        Long id = code != null ? keys.idsByCode.get(code) : null;
+        boolean creating = id == null;
+
+        Object[] values = new Object[FIELDS.length];
+        for (Field field : FIELDS) {
+            if (field == Field.CODE) {
+                continue;
+            }
+            boolean present = positions[field.ordinal()] >= 0;
+            Object value = convert(field, cell(record, positions, field), categories);
+            if (value == null && creating) {
+                value = field.defaultValue;
+            }
+            if (value == null && !field.nullable && (creating || present)) {
+                throw new IllegalArgumentException("Valeur obligatoire : " + field.header);
+            }
+            values[field.ordinal()] = value;
+        }
+
+        if (code == null) {
+            code = sequenceService.generateSequentialCode(ProductService.PRODUCT_TYPE, ProductService.PRODUCT_PREFIX);
+        } else if (code.length() > Field.CODE.maxLength) {
+            throw new IllegalArgumentException("Code trop long (" + Field.CODE.maxLength + " caractères maximum)");
+        }
+        if (!keys.seenCodes.add(code)) {
+            throw new IllegalArgumentException("Code en double dans le fichier");
+        }
+        values[Field.CODE.ordinal()] = code;
+
+        claim(keys.codesBySku, (String) values[Field.SKU.ordinal()], code, "SKU");
+        claim(keys.codesByEan, (String) values[Field.EAN.ordinal()], code, "EAN");
+        return new ProductRow(line, id, code, values);
+    }
+
+    private static void claim(Map<String, String> owners, String value, String code, String label) {
+        if (value == null) {
+            return;
+        }
+        String owner = owners.putIfAbsent(value, code);
+        if (owner != null && !owner.equals(code)) {
+            throw new IllegalArgumentException(label + " déjà utilisé par le produit " + owner + " : " + value);
+        }
+    }
+
+    private static Object convert(Field field, String value, CategoryTreeSnapshot categories) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return switch (field.kind) {
+                case TEXT -> {
+                    if (value.length() > field.maxLength) {
+                        throw new IllegalArgumentException(
+                            field.header + " trop long (" + field.maxLength + " caractères maximum)");
+                    }
+                    yield value;
+                }
+                case DECIMAL -> new BigDecimal(value.replace(',', '.'));
+                case INTEGER -> Integer.valueOf(value);
+                case BOOLEAN -> parseBoolean(value);
+                case TYPE -> Product.ProductType.valueOf(value.toUpperCase(Locale.ROOT)).name();
+                case STATUS -> Product.ProductStatus.valueOf(value.toUpperCase(Locale.ROOT)).name();
+                case CATEGORY -> {
+                    Long categoryId = categories.idByCode(value);
+                    if (categoryId == null) {
+                        throw new IllegalArgumentException("Catégorie inconnue : " + value);
+                    }
+                    yield categoryId;
+                }
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nombre invalide pour " + field.header + " : " + value);
+        } catch (IllegalArgumentException e) {
+            if (field.kind == Kind.TYPE || field.kind == Kind.STATUS) {
+                throw new IllegalArgumentException("Valeur inconnue pour " + field.header + " : " + value);
+            }
+            throw e;
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "oui", "o", "yes", "y", "vrai" -> Boolean.TRUE;
+            case "false", "0", "non", "n", "no", "faux" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException("Booléen invalide : " + value);
+        };
+    }
+
+    /**
+     * Cellule nettoyée, null si la colonne est absente ou vide
+     */
+    private static String cell(List<String> record, int[] positions, Field field) {
+        int position = positions[field.ordinal()];
+        if (position < 0 || position >= record.size()) {
+            return null;
+        }
+        String value = record.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Écrit le lot dans sa propre transaction, puis le point de reprise.
+     * Un lot refusé par la base est rejoué ligne à ligne pour n'écarter que les lignes fautives.
+     *
+     * @return vrai si au moins une ligne a été écrite
+     */
+    private boolean flush(ImportJob job, Chunk chunk, UpdatePlan update) throws IOException {
+        int[] counts = new int[2];
+        if (!chunk.rows.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            try {
+                chunkTemplate.executeWithoutResult(status -> write(chunk.rows, update, now, job.getUsername(), counts));
+            } catch (DataAccessException e) {
+                log.warn("Lot refusé par la base (lignes {} à {}), rejeu ligne à ligne : {}", chunk.rows.get(0).line(),
+                         chunk.rows.get(chunk.rows.size() - 1).line(), e.getMessage());
+                counts[0] = 0;
+                counts[1] = 0;
+                for (ProductRow row : chunk.rows) {
+                    try {
+                        chunkTemplate.executeWithoutResult(status -> write(List.of(row), update, now, job.getUsername(), counts));
+                    } catch (DataAccessException rowFailure) {
+                        chunk.errors.add(new ImportRowError(row.line(), row.code(),
+                            "Rejet base de données : " + NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage()));
+                    }
+                }
+            }
+        }
+
+        chunk.errors.sort(Comparator.comparingLong(ImportRowError::line));
+        appendErrors(job, chunk.errors);
+        job.chunkCommitted(chunk.lastRow, counts[0], counts[1], chunk.errors);
+        writeCheckpoint(job);
+        return counts[0] + counts[1] > 0;
+    }
+
+    private void write(List<ProductRow> rows, UpdatePlan update, Timestamp now, String username, int[] counts) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (ProductRow row : rows) {
+            if (row.id() == null) {
+                Object[] args = Arrays.copyOf(row.values(), FIELDS.length + 4);
+                args[FIELDS.length] = now;
+                args[FIELDS.length + 1] = now;
+                args[FIELDS.length + 2] = username;
+                args[FIELDS.length + 3] = username;
+                inserts.add(args);
+            } else {
+                updates.add(update.args(row, now, username));
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(update.sql(), updates);
+        }
+        if (update.fields().contains(Field.STOCK_QUANTITY)) {
+            // Stocks écrits en valeur absolue : l'écart avec le journal devient un ajustement
+            stockService.reconcile(rows.stream().map(ProductRow::code).toList(), "Import CSV", username);
+        }
+        counts[0] += inserts.size();
+        counts[1] += updates.size();
+    }
+
+    private void appendErrors(ImportJob job, List<ImportRowError> errors) throws IOException {
+        if (errors.isEmpty()) {
+            return;
+        }
+        Path report = workFile(job.getId(), "-errors.csv");
+        boolean created = !Files.exists(report);
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(report, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            CsvWriter csv = new CsvWriter(writer);
+            if (created) {
+                csv.writeBom();
+                csv.writeRow(new Object[]{"line", "code", "message"});
+            }
+            for (ImportRowError error : errors) {
+                csv.writeRow(new Object[]{error.line(), error.key(), error.message()});
+            }
+        }
+    }
+
+    /**
+     * Écriture atomique (fichier temporaire puis renommage) : un arrêt brutal laisse l'ancien ou le nouveau point
+     */
+    private void writeCheckpoint(ImportJob job) throws IOException {
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty("filename", job.getFilename());
+        checkpoint.setProperty("username", job.getUsername() != null ? job.getUsername() : "");
+        checkpoint.setProperty("status", job.getStatus().name());
+        checkpoint.setProperty("committedRows", Long.toString(job.getCommittedRows()));
+        checkpoint.setProperty("inserted", Long.toString(job.getInserted()));
+        checkpoint.setProperty("updated", Long.toString(job.getUpdated()));
+        checkpoint.setProperty("rejected", Long.toString(job.getRejected()));
+
+        Path file = workFile(job.getId(), ".checkpoint");
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            checkpoint.store(writer, "Import produits " + job.getId());
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeCheckpointQuietly(ImportJob job) {
+        try {
+            writeCheckpoint(job);
+        } catch (IOException e) {
+            log.error("Point de reprise de l'import {} non écrit : {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private Path workFile(String id, String suffix) {
+        if (!JOB_ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("Identifiant d'import invalide");
+        }
+        return Paths.get(properties.getWorkDir()).resolve(id + suffix);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Clés préchargées, complétées au fil du fichier par les lignes acceptées
+     */
+    private static final class Keys {
+        private final Map<String, Long> idsByCode = new HashMap<>();
+        private final Map<String, String> codesBySku = new HashMap<>();
+        private final Map<String, String> codesByEan = new HashMap<>();
+        private final Set<String> seenCodes = new HashSet<>();
+    }
+
+    /**
+     * Lignes acceptées et rejetées depuis le dernier point de reprise
+     */
+    private static final class Chunk {
+        private final List<ProductRow> rows = new ArrayList<>();
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long lastRow;
+
+        private Chunk(long lastRow) {
+            this.lastRow = lastRow;
+        }
+
+        private int size() {
+            return rows.size() + errors.size();
+        }
+    }
+
+    private record ProductRow(long line, Long id, String code, Object[] values) {
+    }
+
+    /**
+     * Mise à jour des seules colonnes présentes dans le fichier, requête construite une fois par import
+     */
+    private record UpdatePlan(String sql, List<Field> fields) {
+
+        private static UpdatePlan of(int[] positions) {
+            List<Field> fields = Arrays.stream(FIELDS)
+                .filter(field -> field != Field.CODE && positions[field.ordinal()] >= 0)
+                .toList();
+            StringBuilder sql = new StringBuilder("UPDATE products SET ");
+            fields.forEach(field -> sql.append(field.column).append(" = ?, "));
+            sql.append("updated_at = ?, updated_by = ? WHERE id = ?");
+            return new UpdatePlan(sql.toString(), fields);
+        }
+
+        private Object[] args(ProductRow row, Timestamp now, String username) {
+            Object[] args = new Object[fields.size() + 3];
+            for (int i = 0; i < fields.size(); i++) {
+                args[i] = row.values()[fields.get(i).ordinal()];
+            }
+            args[fields.size()] = now;
+            args[fields.size() + 1] = username;
+            args[fields.size() + 2] = row.id();
+            return args;
+        }
+    }
+}
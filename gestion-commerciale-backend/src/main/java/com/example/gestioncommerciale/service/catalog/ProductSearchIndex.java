@@ -0,0 +1,109 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/catalog/ProductSearchIndex.java
+ * @description Index d'autocomplétion produits (nom, code, SKU, EAN) construit au démarrage
+ */
+package com.example.gestioncommerciale.service.catalog;
+
+import com.example.gestioncommerciale.config.SearchIndexProperties;
+import com.example.gestioncommerciale.model.catalog.Product;
+import com.example.gestioncommerciale.repository.catalog.ProductRepository;
+import com.example.gestioncommerciale.service.search.InvertedIndex;
+import com.example.gestioncommerciale.service.search.RebuildableIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    private final ProductRepository productRepository;
+    private final SearchIndexProperties properties;
+    private final RebuildableIndex<Attributes> index = new RebuildableIndex<>("products");
+
+    public ProductSearchIndex(ProductRepository productRepository, SearchIndexProperties properties) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Construit un nouvel index puis le substitue à l'index servi (l'ancien répond jusque-là)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long elapsed = index.rebuild(target -> {
+            long afterId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = productRepository.findSearchIndexRows(afterId, PageRequest.of(0, properties.getLoadBatchSize()));
+                for (Object[] row : rows) {
+                    put(target, (Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4],
+                        (Boolean) row[5], (Long) row[6], (Product.ProductStatus) row[7]);
+                    afterId = (Long) row[0];
+                }
+            } while (rows.size() == properties.getLoadBatchSize());
+        });
+        log.info("Index de recherche produits construit : {} produits en {} ms", stats().documents(), elapsed);
+    }
+
+    public boolean isReady() {
+        return index.current().isReady();
+    }
+
+    /**
+     * Réindexe le produit après commit (valeurs capturées à l'appel)
+     */
+    public void indexAfterCommit(Product product) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Long id = product.getId();
+        String name = product.getName();
+        String code = product.getCode();
+        String sku = product.getSku();
+        String ean = product.getEan();
+        Boolean active = product.getActive();
+        Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        Product.ProductStatus status = product.getStatus();
+        InvertedIndex.afterCommit(() -> index.apply(target -> put(target, id, name, code, sku, ean, active, categoryId, status)));
+    }
+
+    public void removeAfterCommit(Long id) {
+        if (properties.isEnabled()) {
+            InvertedIndex.afterCommit(() -> index.apply(target -> target.remove(id)));
+        }
+    }
+
+    /**
+     * @param categoryIds catégories acceptées (null = toutes)
+     */
+    public InvertedIndex.SearchHits search(String query, Boolean active, Collection<Long> categoryIds,
+                                           Product.ProductStatus status, int offset, int limit) {
+        return index.current().search(query, attributes ->
+                (active == null || active.equals(attributes.active()))
+                    && (categoryIds == null || categoryIds.contains(attributes.categoryId()))
+                    && (status == null || status == attributes.status()),
+            offset, limit);
+    }
+
+    public InvertedIndex.IndexStats stats() {
+        return index.current().stats();
+    }
+
+    private static void put(InvertedIndex<Attributes> target, Long id, String name, String code, String sku, String ean,
+                            Boolean active, Long categoryId, Product.ProductStatus status) {
+        String sortKey = name != null ? InvertedIndex.normalize(name) : "";
+        target.put(id, new Attributes(active, categoryId, status), sortKey, name, code, sku, ean);
+    }
+
+    record Attributes(Boolean active, Long categoryId, Product.ProductStatus status) {
+    }
+}
@@ -4,25 +4,53 @@
  */
 package com.example.gestioncommerciale.service.catalog;
 
+import com.example.gestioncommerciale.config.CatalogSearchProperties;
 import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductRowDTO;
 import com.example.gestioncommerciale.mapper.catalog.ProductMapper;
 import com.example.gestioncommerciale.model.catalog.Category;
 import com.example.gestioncommerciale.model.catalog.Product;
 import com.example.gestioncommerciale.repository.catalog.CategoryRepository;
+import com.example.gestioncommerciale.repository.catalog.ProductProjections;
 import com.example.gestioncommerciale.repository.catalog.ProductRepository;
+import com.example.gestioncommerciale.repository.catalog.ProductSpecifications;
 import com.example.gestioncommerciale.service.SequenceService;
+import com.example.gestioncommerciale.service.StatisticsService;
+import com.example.gestioncommerciale.service.export.CsvColumn;
+import com.example.gestioncommerciale.service.export.CsvExporter;
+import com.example.gestioncommerciale.service.pagination.KeysetPage;
+import com.example.gestioncommerciale.service.pagination.KeysetPager;
+import com.example.gestioncommerciale.service.pagination.KeysetWindow;
+import com.example.gestioncommerciale.service.pricing.PriceBook;
+import com.example.gestioncommerciale.service.pricing.PricingEngine;
+import com.example.gestioncommerciale.service.sales.Amounts;
+import com.example.gestioncommerciale.service.search.InvertedIndex;
+import com.example.gestioncommerciale.service.stock.StockService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +62,37 @@ public class ProductService {
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
     private final SequenceService sequenceService;
+    private final CatalogSearchProperties searchProperties;
+    private final ProductSearchIndex productSearchIndex;
+    private final CategoryTreeCache categoryTreeCache;
+    private final KeysetPager keysetPager;
+    private final StatisticsService statisticsService;
+    private final CsvExporter csvExporter;
+    private final StockService stockService;
+    private final PricingEngine pricingEngine;
+    private final MeterRegistry meterRegistry;
+    
+    private static final List<CsvColumn> EXPORT_COLUMNS = List.of(
+        CsvColumn.of("code"),
+        CsvColumn.of("name"),
+        CsvColumn.of("categoryCode", "category.code"),
+        CsvColumn.of("categoryName", "category.name"),
+        CsvColumn.of("type"),
+        CsvColumn.of("status"),
+        CsvColumn.of("active"),
+        CsvColumn.of("reference"),
+        CsvColumn.of("sku"),
+        CsvColumn.of("ean"),
+        CsvColumn.of("unitPrice"),
+        CsvColumn.of("costPrice"),
+        CsvColumn.of("vatRate"),
+        CsvColumn.of("stockManaged"),
+        CsvColumn.of("stockQuantity"),
+        CsvColumn.of("minStockLevel"),
+        CsvColumn.of("maxStockLevel"),
+        CsvColumn.of("unit"),
+        CsvColumn.of("description")
+    );
     
     public static final String PRODUCT_TYPE = "PRODUCT";
     public static final String PRODUCT_PREFIX = "PRD";
@@ -41,33 +100,33 @@ public class ProductService {
     @Transactional(readOnly = true)
     public Optional<ProductDTO> findById(Long id) {
         return productRepository.findById(id)
-            .map(productMapper::toDTO);
+            .map(this::toDTO);
     }
     
     @Transactional(readOnly = true)
     public ProductDTO getById(Long id) {
         return productRepository.findById(id)
-            .map(productMapper::toDTO)
+            .map(this::toDTO)
             .orElseThrow(() -> new RuntimeException("Produit non trouvé avec ID: " + id));
     }
     
     @Transactional(readOnly = true)
     public Optional<ProductDTO> findByCode(String code) {
         return productRepository.findByCode(code)
-            .map(productMapper::toDTO);
+            .map(this::toDTO);
     }
     
     @Transactional(readOnly = true)
     public Optional<ProductDTO> findBySku(String sku) {
         return productRepository.findBySku(sku)
-            .map(productMapper::toDTO);
+            .map(this::toDTO);
     }
     
     @Transactional(readOnly = true)
     public List<ProductDTO> findActiveProducts() {
         return productRepository.findByActiveTrue()
             .stream()
-            .map(productMapper::toDTO)
+            .map(this::toDTO)
             .toList();
     }
     
@@ -75,7 +134,7 @@ public class ProductService {
     public List<ProductDTO> findByCategory(Long categoryId) {
         return productRepository.findByCategoryIdOrderByNameAsc(categoryId)
             .stream()
-            .map(productMapper::toDTO)
+            .map(this::toDTO)
             .toList();
     }
     
@@ -90,23 +149,269 @@ public class ProductService {
             String search, 
             Pageable pageable
     ) {
-        Page<Product> products = productRepository.findWithFilters(
-            active, categoryId, status, type, minPrice, maxPrice, search, pageable
+        return findWithFilters(active, categoryId, false, status, type, minPrice, maxPrice, search, pageable);
+    }
+    
+    /**
+     * @param includeSubcategories filtre sur tout le sous-arbre de categoryId (instantané de l'arbre)
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> findWithFilters(
+            Boolean active, 
+            Long categoryId, 
+            boolean includeSubcategories,
+            Product.ProductStatus status,
+            Product.ProductType type,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            String search, 
+            Pageable pageable
+    ) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Collection<Long> categoryIds = resolveCategoryIds(categoryId, includeSubcategories);
+            Page<Product> products = (searchProperties.getEngine() == CatalogSearchProperties.Engine.FULLTEXT)
+                ? searchFullText(active, categoryIds, status, type, minPrice, maxPrice, search, pageable)
+                : findWithLike(active, categoryIds, status, type, minPrice, maxPrice, search, pageable);
+            
+            List<ProductDTO> dtos = products.getContent()
+                .stream()
+                .map(this::toDTO)
+                .toList();
+            
+            return new PageImpl<>(dtos, pageable, products.getTotalElements());
+        } finally {
+            sample.stop(searchTimer("page", filterCombination(active, categoryId, includeSubcategories,
+                status, type, minPrice, maxPrice, search)));
+        }
+    }
+    
+    /**
+     * Liste des écrans : sans curseur, la page demandée est lue par décalage (premier affichage
+     * ou saut explicite) ; avec curseur, la lecture reprend après la dernière ligne affichée.
+     * La recherche FULLTEXT, classée par pertinence, reste paginée par décalage.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ProductDTO> findWithFilters(
+            Boolean active, 
+            Long categoryId, 
+            boolean includeSubcategories,
+            Product.ProductStatus status,
+            Product.ProductType type,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            String search, 
+            Pageable pageable,
+            String cursor
+    ) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Collection<Long> categoryIds = resolveCategoryIds(categoryId, includeSubcategories);
+            if (searchProperties.getEngine() == CatalogSearchProperties.Engine.FULLTEXT && search != null && !search.isBlank()) {
+                Page<Product> products = searchFullText(active, categoryIds, status, type, minPrice, maxPrice, search, pageable);
+                KeysetWindow<Product> window = new KeysetWindow<>(
+                    products.getContent(), pageable.getPageSize(), pageable.getPageNumber(), null, null);
+                return new KeysetPage<>(window, pageable.getSort(), products.getTotalElements()).map(this::toDTO);
+            }
+            
+            return keysetPager.page(
+                productRepository,
+                ProductSpecifications.withFilters(active, categoryIds, status, type, minPrice, maxPrice, search),
+                pageable, cursor, Product.class
+            ).map(this::toDTO);
+        } finally {
+            sample.stop(searchTimer(cursor == null ? "page" : "keyset", filterCombination(active, categoryId,
+                includeSubcategories, status, type, minPrice, maxPrice, search)));
+        }
+    }
+    
+    /**
+     * Liste des écrans en lignes projetées : mêmes filtres et même pagination que {@link #findWithFilters},
+     * seules les colonnes affichées sont lues (catégorie jointe, description tronquée)
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ProductRowDTO> findRows(
+            Boolean active, 
+            Long categoryId, 
+            boolean includeSubcategories,
+            Product.ProductStatus status,
+            Product.ProductType type,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            String search, 
+            Pageable pageable,
+            String cursor
+    ) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Collection<Long> categoryIds = resolveCategoryIds(categoryId, includeSubcategories);
+            KeysetPage<ProductRowDTO> rows;
+            if (searchProperties.getEngine() == CatalogSearchProperties.Engine.FULLTEXT && search != null && !search.isBlank()) {
+                // Requête native classée par pertinence : entités converties en lignes
+                Page<Product> products = searchFullText(active, categoryIds, status, type, minPrice, maxPrice, search, pageable);
+                KeysetWindow<ProductRowDTO> window = new KeysetWindow<>(
+                    products.getContent().stream().map(ProductRowDTO::of).toList(),
+                    pageable.getPageSize(), pageable.getPageNumber(), null, null);
+                rows = new KeysetPage<>(window, pageable.getSort(), products.getTotalElements());
+            } else {
+                rows = keysetPager.page(
+                    ProductProjections.ROW,
+                    ProductSpecifications.withFilters(active, categoryIds, status, type, minPrice, maxPrice, search),
+                    pageable, cursor
+                );
+            }
+            completeRows(rows.getContent());
+            return rows;
+        } finally {
+            sample.stop(searchTimer("rows", filterCombination(active, categoryId, includeSubcategories,
+                status, type, minPrice, maxPrice, search)));
+        }
+    }
+    
+    /**
+     * Lecture par curseur sans comptage du total (API REST)
+     */
+    @Transactional(readOnly = true)
+    public KeysetWindow<ProductDTO> scroll(
+            Boolean active, 
+            Long categoryId, 
+            boolean includeSubcategories,
+            Product.ProductStatus status,
+            Product.ProductType type,
+            String search, 
+            Sort sort,
+            int size,
+            String cursor
+    ) {
+        Collection<Long> categoryIds = resolveCategoryIds(categoryId, includeSubcategories);
+        return keysetPager.scroll(
+            productRepository,
+            ProductSpecifications.withFilters(active, categoryIds, status, type, null, null, search),
+            sort, size, cursor, Product.class
+        ).map(this::toDTO);
+    }
+    
+    /**
+     * Export CSV des produits filtrés comme l'écran de liste, écrit en flux dans {@code output}.
+     * Avec le moteur FULLTEXT, une saisie est résolue comme sur la liste (identifiant exact, puis MATCH
+     * et préfixes d'identifiants) et les lignes sont exportées dans l'ordre de pertinence.
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(
+            Boolean active, 
+            Long categoryId, 
+            boolean includeSubcategories,
+            Product.ProductStatus status,
+            Product.ProductType type,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            String search, 
+            Sort sort,
+            OutputStream output
+    ) throws IOException {
+        Collection<Long> categoryIds = resolveCategoryIds(categoryId, includeSubcategories);
+        if (searchProperties.getEngine() == CatalogSearchProperties.Engine.FULLTEXT && search != null && !search.isBlank()) {
+            List<Long> ids = fullTextIds(active, categoryIds, status, type, minPrice, maxPrice, search);
+            if (ids != null) {
+                return csvExporter.export(Product.class, ids, EXPORT_COLUMNS, output);
+            }
+        }
+        return csvExporter.export(
+            Product.class,
+            ProductSpecifications.withFilters(active, categoryIds, status, type, minPrice, maxPrice, search),
+            sort, EXPORT_COLUMNS, output
+        );
+    }
+    
+    /**
+     * Recherche instantanée : identifiants classés par l'index en mémoire,
+     * puis chargement de la seule page demandée. Repli sur la base si l'index n'est pas prêt.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> quickSearch(
+            String search,
+            Boolean active,
+            Long categoryId,
+            Product.ProductStatus status,
+            Pageable pageable
+    ) {
+        return quickSearch(search, active, categoryId, false, status, pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> quickSearch(
+            String search,
+            Boolean active,
+            Long categoryId,
+            boolean includeSubcategories,
+            Product.ProductStatus status,
+            Pageable pageable
+    ) {
+        if (search == null || search.isBlank() || !productSearchIndex.isReady()) {
+            return findWithFilters(active, categoryId, includeSubcategories, status, null, null, null, search, pageable);
+        }
+        
+        InvertedIndex.SearchHits hits = productSearchIndex.search(
+            search, active, resolveCategoryIds(categoryId, includeSubcategories), status,
+            (int) pageable.getOffset(), pageable.getPageSize()
+        );
+        if (hits.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+        
+        Map<Long, Product> byId = productRepository.findAllWithCategoryByIdIn(hits.ids())
+            .stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductDTO> dtos = hits.ids().stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .map(this::toDTO)
+            .toList();
+        
+        return new PageImpl<>(dtos, pageable, hits.total());
+    }
+    
+    /**
+     * Recherche instantanée en lignes projetées : identifiants de l'index, puis une requête limitée aux colonnes affichées
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductRowDTO> quickSearchRows(
+            String search,
+            Boolean active,
+            Long categoryId,
+            boolean includeSubcategories,
+            Product.ProductStatus status,
+            Pageable pageable
+    ) {
+        if (search == null || search.isBlank() || !productSearchIndex.isReady()) {
+            return findRows(active, categoryId, includeSubcategories, status, null, null, null, search, pageable, null);
+        }
+        
+        InvertedIndex.SearchHits hits = productSearchIndex.search(
+            search, active, resolveCategoryIds(categoryId, includeSubcategories), status,
+            (int) pageable.getOffset(), pageable.getPageSize()
         );
+        if (hits.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
         
-        List<ProductDTO> dtos = products.getContent()
+        Map<Long, ProductRowDTO> byId = keysetPager.rows(ProductProjections.ROW, ProductSpecifications.withIds(hits.ids()))
             .stream()
-            .map(productMapper::toDTO)
+            .collect(Collectors.toMap(ProductRowDTO::getId, Function.identity()));
+        List<ProductRowDTO> rows = hits.ids().stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
             .toList();
+        completeRows(rows);
         
-        return new PageImpl<>(dtos, pageable, products.getTotalElements());
+        return new PageImpl<>(rows, pageable, hits.total());
     }
     
     @Transactional(readOnly = true)
     public List<ProductDTO> findLowStockProducts() {
         return productRepository.findLowStockProducts()
             .stream()
-            .map(productMapper::toDTO)
+            .map(this::toDTO)
             .toList();
     }
     
@@ -114,7 +419,7 @@ public class ProductService {
     public List<ProductDTO> findOutOfStockProducts() {
         return productRepository.findOutOfStockProducts()
             .stream()
-            .map(productMapper::toDTO)
+            .map(this::toDTO)
             .toList();
     }
     
@@ -124,6 +429,7 @@ public class ProductService {
         }
         
         validateUniqueFields(productDTO, null);
+        PriceBook book = pricingEngine.current();
         
         Product product = productMapper.toEntity(productDTO);
         
@@ -136,9 +442,13 @@ public class ProductService {
         product.setUpdatedAt(LocalDateTime.now());
         
         Product saved = productRepository.save(product);
+        stockService.recordOpening(saved.getId(), saved.getStockQuantity());
+        productSearchIndex.indexAfterCommit(saved);
+        pricingEngine.invalidateAfterCommit();
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.PRODUCTS);
         log.info("Produit créé avec succès: {}", saved.getCode());
         
-        return productMapper.toDTO(saved);
+        return toDTO(saved, book);
     }
     
     public ProductDTO update(Long id, ProductDTO productDTO) {
@@ -146,6 +456,7 @@ public class ProductService {
             .orElseThrow(() -> new RuntimeException("Produit non trouvé avec ID: " + id));
         
         validateUniqueFields(productDTO, id);
+        PriceBook book = pricingEngine.current();
         
         // Gérer la relation catégorie
         if (!existing.getCategory().getId().equals(productDTO.getCategoryId())) {
@@ -158,36 +469,40 @@ public class ProductService {
         existing.setUpdatedAt(LocalDateTime.now());
         
         Product updated = productRepository.save(existing);
+        productSearchIndex.indexAfterCommit(updated);
+        pricingEngine.invalidateAfterCommit();
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.PRODUCTS);
         log.info("Produit mis à jour avec succès: {}", updated.getCode());
         
-        return productMapper.toDTO(updated);
+        return toDTO(updated, book);
     }
     
     public void delete(Long id) {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Produit non trouvé avec ID: " + id));
         
-        // TODO: Vérifier qu'il n'y a pas de commandes/factures liées
+        // Vérifier qu'il n'y a pas de commandes, devis ou factures liés
+        if (productRepository.isUsedBySalesDocuments(id)) {
+            throw new IllegalArgumentException("Impossible de supprimer un produit utilisé dans des commandes, devis ou factures");
+        }
         
         productRepository.delete(product);
+        productSearchIndex.removeAfterCommit(id);
+        pricingEngine.invalidateAfterCommit();
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.PRODUCTS);
         log.info("Produit supprimé avec succès: {}", product.getCode());
     }
     
+    /**
+     * Inventaire : fixe le stock disponible, l'écart est journalisé par StockService
+     */
     public ProductDTO updateStock(Long id, Integer newQuantity) {
-        Product product = productRepository.findById(id)
+        stockService.adjust(id, newQuantity, "Inventaire");
+        Product updated = productRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Produit non trouvé avec ID: " + id));
-        
-        if (!product.getStockManaged()) {
-            throw new IllegalArgumentException("Ce produit n'a pas de gestion de stock activée");
-        }
-        
-        product.setStockQuantity(newQuantity);
-        product.setUpdatedAt(LocalDateTime.now());
-        
-        Product updated = productRepository.save(product);
         log.info("Stock mis à jour pour le produit {}: {} unités", updated.getCode(), newQuantity);
         
-        return productMapper.toDTO(updated);
+        return toDTO(updated);
     }
     
     @Transactional(readOnly = true)
@@ -215,6 +530,272 @@ public class ProductService {
         return productRepository.countByCategoryId(categoryId);
     }
     
+    /**
+     * Recherche via l'index FULLTEXT : code/SKU/EAN/référence exacts d'abord, puis MATCH ... AGAINST
+     * classé par pertinence, complété par les identifiants commençant par la saisie ; LIKE pour les termes trop courts
+     */
+    private Page<Product> searchFullText(
+            Boolean active,
+            Collection<Long> categoryIds,
+            Product.ProductStatus status,
+            Product.ProductType type,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            String search,
+            Pageable pageable
+    ) {
+        if (search == null || search.isBlank()) {
+            return findWithLike(active, categoryIds, status, type, minPrice, maxPrice, search, pageable);
+        }
+        
+        String term = search.trim();
+        if (pageable.getPageNumber() == 0) {
+            List<Product> exactMatches = exactIdentifierMatches(active, categoryIds, status, type, minPrice, maxPrice, term);
+            if (!exactMatches.isEmpty()) {
+                return new PageImpl<>(exactMatches, pageable, exactMatches.size());
+            }
+        }
+        
+        String booleanQuery = toBooleanModeQuery(term, searchProperties.getMinTokenLength());
+        if (booleanQuery == null) {
+            return findWithLike(active, categoryIds, status, type, minPrice, maxPrice, search, pageable);
+        }
+        
+        // Tri par pertinence : le tri demandé n'est pas appliqué à la requête native
+        return productRepository.searchFullText(
+            booleanQuery,
+            toPrefixPattern(term),
+            active,
+            categoryIds == null,
+            categoryFilter(categoryIds),
+            status != null ? status.name() : null,
+            type != null ? type.name() : null,
+            minPrice,
+            maxPrice,
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+        );
+    }
+    
+    /**
+     * Identifiants de la recherche FULLTEXT, dans l'ordre de la liste, pour l'export ;
+     * null quand la liste elle-même se replie sur LIKE (aucun mot de longueur indexée)
+     */
+    private List<Long> fullTextIds(
+            Boolean active,
+            Collection<Long> categoryIds,
+            Product.ProductStatus status,
+            Product.ProductType type,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            String search
+    ) {
+        String term = search.trim();
+        List<Product> exactMatches = exactIdentifierMatches(active, categoryIds, status, type, minPrice, maxPrice, term);
+        if (!exactMatches.isEmpty()) {
+            return exactMatches.stream().map(Product::getId).toList();
+        }
+        
+        String booleanQuery = toBooleanModeQuery(term, searchProperties.getMinTokenLength());
+        if (booleanQuery == null) {
+            return null;
+        }
+        return productRepository.findFullTextIds(
+            booleanQuery,
+            toPrefixPattern(term),
+            active,
+            categoryIds == null,
+            categoryFilter(categoryIds),
+            status != null ? status.name() : null,
+            type != null ? type.name() : null,
+            minPrice,
+            maxPrice
+        ).stream().map(Number::longValue).toList();
+    }
+    
+    /**
+     * Code, SKU, EAN ou référence saisis en entier (un seul mot), filtres de la liste appliqués
+     */
+    private List<Product> exactIdentifierMatches(
+            Boolean active,
+            Collection<Long> categoryIds,
+            Product.ProductStatus status,
+            Product.ProductType type,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            String term
+    ) {
+        if (term.contains(" ")) {
+            return List.of();
+        }
+        return productRepository.findByExactIdentifier(term)
+            .stream()
+            .filter(p -> active == null || active.equals(p.getActive()))
+            .filter(p -> categoryIds == null || categoryIds.contains(p.getCategory().getId()))
+            .filter(p -> status == null || status == p.getStatus())
+            .filter(p -> type == null || type == p.getType())
+            .filter(p -> minPrice == null || p.getUnitPrice().compareTo(minPrice) >= 0)
+            .filter(p -> maxPrice == null || p.getUnitPrice().compareTo(maxPrice) <= 0)
+            .toList();
+    }
+    
+    private Page<Product> findWithLike(
+            Boolean active,
+            Collection<Long> categoryIds,
+            Product.ProductStatus status,
+            Product.ProductType type,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            String search,
+            Pageable pageable
+    ) {
+        return productRepository.findWithFilters(
+            active, categoryIds == null, categoryFilter(categoryIds), status, type, minPrice, maxPrice, search, pageable
+        );
+    }
+    
+    /**
+     * Durée des recherches filtrées du catalogue par forme de liste et combinaison de filtres
+     */
+    private Timer searchTimer(String variant, String filters) {
+        return Timer.builder("app.catalog.product.search")
+            .description("Recherche filtrée de produits")
+            .tag("variant", variant)
+            .tag("filters", filters)
+            .tag("engine", searchProperties.getEngine().name())
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Filtres renseignés, sans leurs valeurs (« active+category+search », « none ») : cardinalité bornée
+     */
+    private static String filterCombination(Boolean active, Long categoryId, boolean includeSubcategories,
+                                            Product.ProductStatus status, Product.ProductType type,
+                                            BigDecimal minPrice, BigDecimal maxPrice, String search) {
+        StringJoiner filters = new StringJoiner("+").setEmptyValue("none");
+        if (active != null) {
+            filters.add("active");
+        }
+        if (categoryId != null) {
+            filters.add(includeSubcategories ? "subtree" : "category");
+        }
+        if (status != null) {
+            filters.add("status");
+        }
+        if (type != null) {
+            filters.add("type");
+        }
+        if (minPrice != null || maxPrice != null) {
+            filters.add("price");
+        }
+        if (search != null && !search.isBlank()) {
+            filters.add("search");
+        }
+        return filters.toString();
+    }
+    
+    /**
+     * Catégories à filtrer (null = toutes) ; le sous-arbre est lu dans l'instantané, sans requête
+     */
+    private Collection<Long> resolveCategoryIds(Long categoryId, boolean includeSubcategories) {
+        if (categoryId == null) {
+            return null;
+        }
+        return includeSubcategories ? categoryTreeCache.get().descendantsOf(categoryId) : Set.of(categoryId);
+    }
+    
+    private static Collection<Long> categoryFilter(Collection<Long> categoryIds) {
+        // Liste IN jamais vide : ignorée par la requête quand anyCategory est vrai
+        return categoryIds != null ? categoryIds : List.of(-1L);
+    }
+    
+    /**
+     * Convertit la saisie en requête BOOLEAN MODE : chaque mot requis et en préfixe (+mot*).
+     * Retourne null si aucun mot n'atteint la longueur minimale indexée.
+     */
+    static String toBooleanModeQuery(String search, int minTokenLength) {
+        StringBuilder query = new StringBuilder();
+        for (String token : search.trim().split("\\s+")) {
+            String cleaned = token.replaceAll("[+\\-<>()~*\"@]", "");
+            if (cleaned.length() >= minTokenLength) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append('+').append(cleaned).append('*');
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+    
+    /**
+     * Motif LIKE « commence par » (index utilisables), jokers de la saisie échappés
+     */
+    static String toPrefixPattern(String search) {
+        return search.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+    
+    private ProductDTO toDTO(Product product) {
+        return toDTO(product, pricingEngine.current());
+    }
+    
+    /**
+     * Chemin de catégorie lu dans l'instantané de l'arbre (évite de remonter les parents paresseux),
+     * prix TTC et TVA lus dans le barème compilé, recalculés depuis l'entité si le barème ne la reflète pas
+     * (produit en cours de création ou de modification)
+     */
+    private ProductDTO toDTO(Product product, PriceBook book) {
+        ProductDTO dto = productMapper.toDTO(product);
+        if (dto.getCategoryId() != null) {
+            dto.setCategoryPath(categoryTreeCache.get().fullPathOf(dto.getCategoryId()));
+        }
+        if (product.getUnitPrice() != null) {
+            long unitCents = Amounts.toCents(product.getUnitPrice());
+            long rate = book.unitCents(product.getId(), PriceBook.BASE_LIST) == unitCents
+                ? book.rateBasisPoints(product.getId())
+                : resolveRate(product, book);
+            long vatCents = Amounts.tax(unitCents, rate);
+            dto.setVatAmount(Amounts.fromCents(vatCents));
+            dto.setPriceWithVat(Amounts.fromCents(unitCents + vatCents));
+        }
+        return dto;
+    }
+    
+    /**
+     * Chemin de catégorie et prix TTC des lignes projetées, mêmes sources que {@link #toDTO(Product, PriceBook)}
+     */
+    private void completeRows(List<ProductRowDTO> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        PriceBook book = pricingEngine.current();
+        CategoryTreeSnapshot tree = categoryTreeCache.get();
+        for (ProductRowDTO row : rows) {
+            if (row.getCategoryId() != null) {
+                row.setCategoryPath(tree.fullPathOf(row.getCategoryId()));
+            }
+            if (row.getUnitPrice() != null) {
+                long unitCents = Amounts.toCents(row.getUnitPrice());
+                long rate = book.unitCents(row.getId(), PriceBook.BASE_LIST) == unitCents
+                    ? book.rateBasisPoints(row.getId())
+                    : resolveRate(row.getTaxId(), row.getVatRate(), book);
+                long vatCents = Amounts.tax(unitCents, rate);
+                row.setVatAmount(Amounts.fromCents(vatCents));
+                row.setPriceWithVat(Amounts.fromCents(unitCents + vatCents));
+            }
+        }
+    }
+    
+    private static long resolveRate(Product product, PriceBook book) {
+        return resolveRate(product.getTaxId(), product.getVatRate(), book);
+    }
+    
+    private static long resolveRate(Long taxId, BigDecimal vatRate, PriceBook book) {
+        long rate = taxId != null ? book.taxRate(taxId) : PriceBook.MISSING;
+        if (rate != PriceBook.MISSING) {
+            return rate;
+        }
+        return vatRate != null ? Amounts.toBasisPoints(vatRate) : 0;
+    }
+    
     private void validateUniqueFields(ProductDTO productDTO, Long excludeId) {
         if (productDTO.getCode() != null) {
             boolean codeExists = (excludeId == null) 
@@ -0,0 +1,120 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/crm/ContactSearchIndex.java
+ * @description Index d'autocomplétion contacts (nom, email, téléphones, société) construit au démarrage
+ */
+package com.example.gestioncommerciale.service.crm;
+
+import com.example.gestioncommerciale.config.SearchIndexProperties;
+import com.example.gestioncommerciale.model.crm.Contact;
+import com.example.gestioncommerciale.repository.crm.ContactRepository;
+import com.example.gestioncommerciale.service.search.InvertedIndex;
+import com.example.gestioncommerciale.service.search.RebuildableIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class ContactSearchIndex {
+
+    private final ContactRepository contactRepository;
+    private final SearchIndexProperties properties;
+    private final RebuildableIndex<Attributes> index = new RebuildableIndex<>("contacts");
+
+    public ContactSearchIndex(ContactRepository contactRepository, SearchIndexProperties properties) {
+        this.contactRepository = contactRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Construit un nouvel index puis le substitue à l'index servi (l'ancien répond jusque-là)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long elapsed = index.rebuild(target -> {
+            long afterId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = contactRepository.findSearchIndexRows(afterId, PageRequest.of(0, properties.getLoadBatchSize()));
+                for (Object[] row : rows) {
+                    put(target, row);
+                    afterId = (Long) row[0];
+                }
+            } while (rows.size() == properties.getLoadBatchSize());
+        });
+        log.info("Index de recherche contacts construit : {} contacts en {} ms", stats().documents(), elapsed);
+    }
+
+    public boolean isReady() {
+        return index.current().isReady();
+    }
+
+    /**
+     * Réindexe le contact après commit (valeurs capturées à l'appel)
+     */
+    public void indexAfterCommit(Contact contact) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Object[] row = {
+            contact.getId(), contact.getFirstName(), contact.getLastName(), contact.getEmail(),
+            contact.getPhone(), contact.getMobile(),
+            contact.getCustomer() != null ? contact.getCustomer().getCompanyName() : null,
+            contact.getCustomer() != null ? contact.getCustomer().getId() : null,
+            contact.getStatus(), contact.getType()
+        };
+        InvertedIndex.afterCommit(() -> index.apply(target -> put(target, row)));
+    }
+
+    public void removeAfterCommit(Long id) {
+        if (properties.isEnabled()) {
+            InvertedIndex.afterCommit(() -> index.apply(target -> target.remove(id)));
+        }
+    }
+
+    /**
+     * Réindexe les contacts d'un client (changement de raison sociale)
+     */
+    public void refreshCustomerAfterCommit(Long customerId) {
+        if (properties.isEnabled()) {
+            InvertedIndex.afterCommit(() -> {
+                List<Object[]> rows = contactRepository.findSearchIndexRowsByCustomerId(customerId);
+                index.apply(target -> rows.forEach(row -> put(target, row)));
+            });
+        }
+    }
+
+    public InvertedIndex.SearchHits search(String query, Contact.ContactStatus status, Contact.ContactType type,
+                                           Long customerId, int offset, int limit) {
+        return index.current().search(query, attributes ->
+                (status == null || status == attributes.status())
+                    && (type == null || type == attributes.type())
+                    && (customerId == null || customerId.equals(attributes.customerId())),
+            offset, limit);
+    }
+
+    public InvertedIndex.IndexStats stats() {
+        return index.current().stats();
+    }
+
+    private static void put(InvertedIndex<Attributes> target, Object[] row) {
+        String firstName = (String) row[1];
+        String lastName = (String) row[2];
+        // Tri identique à la liste : nom puis prénom
+        String sortKey = InvertedIndex.normalize((lastName != null ? lastName : "") + " " + (firstName != null ? firstName : ""));
+        target.put((Long) row[0],
+            new Attributes((Long) row[7], (Contact.ContactStatus) row[8], (Contact.ContactType) row[9]),
+            sortKey,
+            firstName, lastName, (String) row[3], (String) row[4], (String) row[5], (String) row[6]);
+    }
+
+    record Attributes(Long customerId, Contact.ContactStatus status, Contact.ContactType type) {
+    }
+}
@@ -5,24 +5,42 @@
 package com.example.gestioncommerciale.service.crm;
 
 import com.example.gestioncommerciale.dto.crm.ContactDTO;
+import com.example.gestioncommerciale.dto.crm.ContactRowDTO;
 import com.example.gestioncommerciale.mapper.crm.ContactMapper;
 import com.example.gestioncommerciale.model.Customer;
 import com.example.gestioncommerciale.model.crm.Contact;
 import com.example.gestioncommerciale.repository.CustomerRepository;
+import com.example.gestioncommerciale.repository.crm.ContactProjections;
 import com.example.gestioncommerciale.repository.crm.ContactRepository;
+import com.example.gestioncommerciale.repository.crm.ContactSpecifications;
 import com.example.gestioncommerciale.service.SequenceService;
+import com.example.gestioncommerciale.service.StatisticsService;
+import com.example.gestioncommerciale.service.export.CsvColumn;
+import com.example.gestioncommerciale.service.export.CsvExporter;
+import com.example.gestioncommerciale.service.pagination.KeysetPage;
+import com.example.gestioncommerciale.service.pagination.KeysetPager;
+import com.example.gestioncommerciale.service.pagination.KeysetWindow;
+import com.example.gestioncommerciale.service.search.InvertedIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +52,33 @@ public class ContactService {
     private final CustomerRepository customerRepository;
     private final ContactMapper contactMapper;
     private final SequenceService sequenceService;
+    private final ContactSearchIndex contactSearchIndex;
+    private final KeysetPager keysetPager;
+    private final StatisticsService statisticsService;
+    private final CsvExporter csvExporter;
+    
+    private static final List<CsvColumn> EXPORT_COLUMNS = List.of(
+        CsvColumn.of("code"),
+        CsvColumn.of("type"),
+        CsvColumn.of("status"),
+        CsvColumn.of("civility"),
+        CsvColumn.of("firstName"),
+        CsvColumn.of("lastName"),
+        CsvColumn.of("jobTitle"),
+        CsvColumn.of("department"),
+        CsvColumn.of("email"),
+        CsvColumn.of("phone"),
+        CsvColumn.of("mobile"),
+        CsvColumn.of("customerCode", "customer.code"),
+        CsvColumn.of("customerName", "customer.companyName"),
+        CsvColumn.of("priority"),
+        CsvColumn.of("isPrimary"),
+        CsvColumn.of("city"),
+        CsvColumn.of("postalCode"),
+        CsvColumn.of("country"),
+        CsvColumn.of("lastContactDate"),
+        CsvColumn.of("nextContactDate")
+    );
     
     public static final String CONTACT_TYPE = "CONTACT";
     public static final String CONTACT_PREFIX = "CNT";
@@ -101,9 +146,160 @@ public class ContactService {
         return new PageImpl<>(dtos, pageable, contacts.getTotalElements());
     }
     
+    /**
+     * Liste des écrans : décalage sans curseur (premier affichage ou saut de page), recherche de clé sinon
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ContactDTO> findWithFilters(
+            Contact.ContactStatus status,
+            Contact.ContactType type,
+            Long customerId,
+            Contact.ContactPriority priority,
+            Boolean isPrimary,
+            String search,
+            Pageable pageable,
+            String cursor
+    ) {
+        return keysetPager.page(
+            contactRepository,
+            ContactSpecifications.withFilters(status, type, customerId, priority, isPrimary, search),
+            pageable, cursor, Contact.class
+        ).map(contactMapper::toDTO);
+    }
+    
+    /**
+     * Liste des écrans en lignes projetées (colonnes de _contactRow, client joint), même pagination
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ContactRowDTO> findRows(
+            Contact.ContactStatus status,
+            Contact.ContactType type,
+            Long customerId,
+            Contact.ContactPriority priority,
+            Boolean isPrimary,
+            String search,
+            Pageable pageable,
+            String cursor
+    ) {
+        return keysetPager.page(
+            ContactProjections.ROW,
+            ContactSpecifications.withFilters(status, type, customerId, priority, isPrimary, search),
+            pageable, cursor
+        );
+    }
+    
+    /**
+     * Lecture par curseur sans comptage du total (API REST)
+     */
+    @Transactional(readOnly = true)
+    public KeysetWindow<ContactDTO> scroll(
+            Contact.ContactStatus status,
+            Contact.ContactType type,
+            Long customerId,
+            String search,
+            Sort sort,
+            int size,
+            String cursor
+    ) {
+        return keysetPager.scroll(
+            contactRepository,
+            ContactSpecifications.withFilters(status, type, customerId, null, null, search),
+            sort, size, cursor, Contact.class
+        ).map(contactMapper::toDTO);
+    }
+    
+    /**
+     * Export CSV des contacts filtrés comme l'écran de liste, écrit en flux dans {@code output}
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(
+            Contact.ContactStatus status,
+            Contact.ContactType type,
+            Long customerId,
+            Contact.ContactPriority priority,
+            Boolean isPrimary,
+            String search,
+            Sort sort,
+            OutputStream output
+    ) throws IOException {
+        return csvExporter.export(
+            Contact.class,
+            ContactSpecifications.withFilters(status, type, customerId, priority, isPrimary, search),
+            sort, EXPORT_COLUMNS, output
+        );
+    }
+    
+    /**
+     * Recherche instantanée : identifiants classés par l'index en mémoire,
+     * puis chargement de la seule page demandée. Repli sur la base si l'index n'est pas prêt.
+     */
+    @Transactional(readOnly = true)
+    public Page<ContactDTO> quickSearch(
+            String search,
+            Contact.ContactStatus status,
+            Contact.ContactType type,
+            Long customerId,
+            Pageable pageable
+    ) {
+        if (search == null || search.isBlank() || !contactSearchIndex.isReady()) {
+            return findWithFilters(status, type, customerId, null, null, search, pageable);
+        }
+        
+        InvertedIndex.SearchHits hits = contactSearchIndex.search(
+            search, status, type, customerId, (int) pageable.getOffset(), pageable.getPageSize()
+        );
+        if (hits.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+        
+        Map<Long, Contact> byId = contactRepository.findAllWithCustomerByIdIn(hits.ids())
+            .stream()
+            .collect(Collectors.toMap(Contact::getId, Function.identity()));
+        List<ContactDTO> dtos = hits.ids().stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .map(contactMapper::toDTO)
+            .toList();
+        
+        return new PageImpl<>(dtos, pageable, hits.total());
+    }
+    
+    /**
+     * Recherche instantanée en lignes projetées : identifiants de l'index, puis une requête limitée aux colonnes affichées
+     */
+    @Transactional(readOnly = true)
+    public Page<ContactRowDTO> quickSearchRows(
+            String search,
+            Contact.ContactStatus status,
+            Contact.ContactType type,
+            Long customerId,
+            Pageable pageable
+    ) {
+        if (search == null || search.isBlank() || !contactSearchIndex.isReady()) {
+            return findRows(status, type, customerId, null, null, search, pageable, null);
+        }
+        
+        InvertedIndex.SearchHits hits = contactSearchIndex.search(
+            search, status, type, customerId, (int) pageable.getOffset(), pageable.getPageSize()
+        );
+        if (hits.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+        
+        Map<Long, ContactRowDTO> byId = keysetPager.rows(ContactProjections.ROW, ContactSpecifications.withIds(hits.ids()))
+            .stream()
+            .collect(Collectors.toMap(ContactRowDTO::getId, Function.identity()));
+        List<ContactRowDTO> rows = hits.ids().stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .toList();
+        
+        return new PageImpl<>(rows, pageable, hits.total());
+    }
+    
     @Transactional(readOnly = true)
-    public List<ContactDTO> findContactsDueForFollowup() {
-        return contactRepository.findContactsDueForFollowup(LocalDateTime.now())
+    public List<ContactDTO> findContactsDueForFollowup(int limit) {
+        return contactRepository.findContactsDueForFollowup(LocalDateTime.now(), PageRequest.of(0, limit))
             .stream()
             .map(contactMapper::toDTO)
             .toList();
@@ -166,6 +362,8 @@ public class ContactService {
         contact.setUpdatedAt(LocalDateTime.now());
         
         Contact saved = contactRepository.save(contact);
+        contactSearchIndex.indexAfterCommit(saved);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CONTACTS);
         log.info("Contact créé avec succès: {} pour le client {}", saved.getCode(), customer.getCompanyName());
         
         return contactMapper.toDTO(saved);
@@ -194,6 +392,8 @@ public class ContactService {
         existing.setUpdatedAt(LocalDateTime.now());
         
         Contact updated = contactRepository.save(existing);
+        contactSearchIndex.indexAfterCommit(updated);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CONTACTS);
         log.info("Contact mis à jour avec succès: {}", updated.getCode());
         
         return contactMapper.toDTO(updated);
@@ -214,6 +414,8 @@ public class ContactService {
         }
         
         contactRepository.delete(contact);
+        contactSearchIndex.removeAfterCommit(id);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CONTACTS);
         log.info("Contact supprimé avec succès: {}", contact.getCode());
     }
     
@@ -226,6 +428,7 @@ public class ContactService {
         contact.setUpdatedAt(LocalDateTime.now());
         
         Contact updated = contactRepository.save(contact);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CONTACTS);
         log.info("Dernier contact mis à jour pour: {}", updated.getCode());
         
         return contactMapper.toDTO(updated);
@@ -242,6 +445,7 @@ public class ContactService {
         contact.setUpdatedAt(LocalDateTime.now());
         
         Contact updated = contactRepository.save(contact);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CONTACTS);
         log.info("Prochain contact programmé pour: {} le {}", updated.getCode(), nextContactDate);
         
         return contactMapper.toDTO(updated);
@@ -258,6 +462,7 @@ public class ContactService {
         contact.setUpdatedAt(LocalDateTime.now());
         
         Contact updated = contactRepository.save(contact);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.CONTACTS);
         log.info("Contact défini comme primaire: {}", updated.getCode());
         
         return contactMapper.toDTO(updated);
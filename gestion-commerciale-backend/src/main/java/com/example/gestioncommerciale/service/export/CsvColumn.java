@@ -0,0 +1,20 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/export/CsvColumn.java
+ * @description Colonne d'export CSV : en-tête et chemin de propriété de l'entité
+ */
+package com.example.gestioncommerciale.service.export;
+
+/**
+ * @param header en-tête de la colonne (reconnu par l'import CSV)
+ * @param path   propriété de l'entité ; « association.propriété » passe par une jointure externe
+ */
+public record CsvColumn(String header, String path) {
+
+    public static CsvColumn of(String path) {
+        return new CsvColumn(path, path);
+    }
+
+    public static CsvColumn of(String header, String path) {
+        return new CsvColumn(header, path);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/export/CsvExporter.java
+ * @description Export CSV en flux : requête de colonnes parcourue par curseur avant seul, écrite au fil de l'eau
+ */
+package com.example.gestioncommerciale.service.export;
+
+import com.example.gestioncommerciale.config.ExportProperties;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.SelectionQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seules les colonnes exportées sont sélectionnées (aucune entité chargée, contexte de persistance vide) ;
+ * les lignes sont lues par paquets de {@code fetch-size} et écrites aussitôt dans le flux de sortie.
+ * La mémoire consommée ne dépend donc pas du nombre de lignes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CsvExporter {
+
+    private final EntityManager entityManager;
+    private final ExportProperties properties;
+
+    /**
+     * Écrit l'en-tête puis toutes les lignes satisfaisant le filtre ; le flux n'est pas fermé.
+     *
+     * @return nombre de lignes exportées (hors en-tête)
+     */
+    @Transactional(readOnly = true)
+    public <E> long export(Class<E> type,
+                           Specification<E> filter,
+                           Sort sort,
+                           List<CsvColumn> columns,
+                           OutputStream output) throws IOException {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<E> root = query.from(type);
+
+        Map<String, Join<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = columns.stream()
+            .<Selection<?>>map(column -> resolve(root, column.path(), joins))
+            .toList();
+        query.multiselect(selections);
+
+        Predicate predicate = filter.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Identifiant en dernier critère : ordre stable d'un export à l'autre
+        query.orderBy(QueryUtils.toOrders(sort.and(Sort.by("id")), root, cb));
+
+        CsvWriter csv = open(columns, output);
+
+        long rows = 0;
+        // Requête de sélection typée : lecture seule, hors cache, parcourue sans matérialiser le résultat
+        SelectionQuery<Object[]> selection = entityManager.unwrap(Session.class).createSelectionQuery(query);
+        try (ScrollableResults<Object[]> results = selection
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .setFetchSize(properties.getFetchSize())
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                csv.writeRow(results.get());
+                rows++;
+            }
+        }
+        csv.flush();
+
+        log.info("Export CSV {} : {} lignes", type.getSimpleName(), rows);
+        return rows;
+    }
+
+    /**
+     * Export d'une liste d'identifiants déjà classée (recherche native, par pertinence) : lignes lues
+     * par paquets de {@code fetch-size} identifiants et écrites dans l'ordre de la liste ; le flux n'est pas fermé.
+     *
+     * @return nombre de lignes exportées (hors en-tête)
+     */
+    @Transactional(readOnly = true)
+    public <E> long export(Class<E> type,
+                           List<Long> orderedIds,
+                           List<CsvColumn> columns,
+                           OutputStream output) throws IOException {
+        CsvWriter csv = open(columns, output);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        long rows = 0;
+        int chunkSize = properties.getFetchSize();
+        for (int from = 0; from < orderedIds.size(); from += chunkSize) {
+            List<Long> chunk = orderedIds.subList(from, Math.min(from + chunkSize, orderedIds.size()));
+            CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+            Root<E> root = query.from(type);
+            Map<String, Join<?, ?>> joins = new HashMap<>();
+            List<Selection<?>> selections = new ArrayList<>(columns.size() + 1);
+            columns.forEach(column -> selections.add(resolve(root, column.path(), joins)));
+            // Identifiant en dernière colonne, retiré à l'écriture : remise dans l'ordre de la liste
+            selections.add(root.get("id"));
+            query.multiselect(selections).where(root.get("id").in(chunk));
+
+            Map<Long, Object[]> byId = new HashMap<>(chunk.size() * 2);
+            for (Object[] row : entityManager.unwrap(Session.class).createSelectionQuery(query)
+                    .setReadOnly(true)
+                    .setCacheMode(CacheMode.IGNORE)
+                    .getResultList()) {
+                byId.put((Long) row[columns.size()], Arrays.copyOf(row, columns.size()));
+            }
+            for (Long id : chunk) {
+                Object[] row = byId.get(id);
+                // Ligne supprimée depuis la recherche : ignorée
+                if (row != null) {
+                    csv.writeRow(row);
+                    rows++;
+                }
+            }
+        }
+        csv.flush();
+
+        log.info("Export CSV {} : {} lignes (liste classée)", type.getSimpleName(), rows);
+        return rows;
+    }
+
+    private CsvWriter open(List<CsvColumn> columns, OutputStream output) throws IOException {
+        CsvWriter csv = new CsvWriter(new BufferedWriter(
+            new OutputStreamWriter(output, StandardCharsets.UTF_8), properties.getBufferSize()));
+        csv.writeBom();
+        csv.writeRow(columns.stream().map(CsvColumn::header).toArray());
+        return csv;
+    }
+
+    /**
+     * Chemin « a.b.c » : une jointure externe par association, partagée entre colonnes
+     */
+    private static Path<?> resolve(Root<?> root, String path, Map<String, Join<?, ?>> joins) {
+        String[] parts = path.split("\\.");
+        From<?, ?> from = root;
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < parts.length - 1; i++) {
+            prefix.append(parts[i]).append('.');
+            From<?, ?> parent = from;
+            String association = parts[i];
+            from = joins.computeIfAbsent(prefix.toString(), key -> parent.join(association, JoinType.LEFT));
+        }
+        return from.get(parts[parts.length - 1]);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/export/CsvWriter.java
+ * @description Écriture CSV (séparateur point-virgule, guillemets RFC 4180) caractère par caractère
+ */
+package com.example.gestioncommerciale.service.export;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Les valeurs sont écrites directement dans le {@link Writer} sous-jacent, sans chaîne
+ * intermédiaire par ligne : le coût mémoire est celui du tampon, quel que soit le volume.
+ */
+public class CsvWriter implements Flushable {
+
+    public static final char SEPARATOR = ';';
+
+    private final Writer out;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Marque d'ordre des octets : indique l'UTF-8 aux tableurs qui ne le détectent pas
+     */
+    public void writeBom() throws IOException {
+        out.write('\uFEFF');
+    }
+
+    public void writeRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(SEPARATOR);
+            }
+            writeValue(values[i]);
+        }
+        out.write("\r\n");
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String text) {
+            writeText(text);
+        } else if (value instanceof BigDecimal decimal) {
+            out.write(decimal.toPlainString());
+        } else if (value instanceof Enum<?> constant) {
+            out.write(constant.name());
+        } else if (value instanceof TemporalAccessor || value instanceof Number || value instanceof Boolean) {
+            out.write(value.toString());
+        } else {
+            writeText(value.toString());
+        }
+    }
+
+    private void writeText(String text) throws IOException {
+        if (!needsQuotes(text)) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == SEPARATOR || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
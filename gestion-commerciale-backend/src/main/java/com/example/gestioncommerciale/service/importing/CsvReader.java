@@ -0,0 +1,120 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/importing/CsvReader.java
+ * @description Lecture CSV en flux (RFC 4180, point-virgule ou virgule), un enregistrement à la fois
+ */
+package com.example.gestioncommerciale.service.importing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seul l'enregistrement courant est en mémoire : la taille du fichier est sans incidence.
+ * Le séparateur est déduit de la ligne d'en-tête ; les champs entre guillemets peuvent contenir
+ * séparateurs, guillemets doublés et retours à la ligne.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int EOF = -1;
+    private static final char BOM = '\uFEFF';
+
+    private final Reader in;
+    private final char[] buffer = new char[64 * 1024];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private char separator = ';';
+    private int width = 16;
+    private long recordNumber;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Lit l'en-tête et fixe le séparateur : point-virgule, ou virgule s'il n'y a aucun point-virgule
+     */
+    public List<String> readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            return List.of();
+        }
+        if (header.size() == 1 && header.get(0).indexOf(',') >= 0) {
+            separator = ',';
+            header = List.of(header.get(0).split(",", -1));
+        }
+        List<String> names = new ArrayList<>(header.size());
+        for (String name : header) {
+            names.add(name.replace(String.valueOf(BOM), "").trim());
+        }
+        width = names.size();
+        return names;
+    }
+
+    /**
+     * @return les champs de l'enregistrement suivant, null en fin de fichier
+     */
+    public List<String> readRecord() throws IOException {
+        int c = next();
+        if (c == EOF) {
+            return null;
+        }
+        recordNumber++;
+        List<String> fields = new ArrayList<>(width);
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IllegalArgumentException("Guillemet non fermé dans l'enregistrement " + recordNumber);
+                }
+                if (c == '"') {
+                    int following = next();
+                    if (following != '"') {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == EOF) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = next();
+        }
+    }
+
+    /**
+     * Nombre d'enregistrements lus, en-tête compris (numéro de ligne logique du dernier lu)
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    private int next() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
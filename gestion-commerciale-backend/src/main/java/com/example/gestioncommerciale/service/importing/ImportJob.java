@@ -0,0 +1,195 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/importing/ImportJob.java
+ * @description État d'avancement d'un import CSV : compteurs, débit, erreurs affichées, point de reprise
+ */
+package com.example.gestioncommerciale.service.importing;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mis à jour par le fil d'import, lu par les requêtes de suivi (HTMX) : compteurs atomiques, champs volatils.
+ */
+public class ImportJob {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    private final String filename;
+    private final Path file;
+    private final String username;
+    private final int maxDisplayedErrors;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<ImportRowError> errors = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile Status status = Status.PENDING;
+    private volatile String failure;
+    private volatile long committedRows;
+    private volatile long resumedFrom;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile boolean stopRequested;
+
+    public ImportJob(String id, String filename, Path file, String username, int maxDisplayedErrors) {
+        this.id = id;
+        this.filename = filename;
+        this.file = file;
+        this.username = username;
+        this.maxDisplayedErrors = maxDisplayedErrors;
+    }
+
+    /**
+     * Reprise : compteurs restaurés depuis le point de reprise, les lignes validées ne sont pas relues
+     */
+    public void restore(long committedRows, long inserted, long updated, long rejected) {
+        this.committedRows = committedRows;
+        this.resumedFrom = committedRows;
+        this.processed.set(committedRows);
+        this.inserted.set(inserted);
+        this.updated.set(updated);
+        this.rejected.set(rejected);
+        this.stopRequested = false;
+    }
+
+    public void start() {
+        status = Status.RUNNING;
+        failure = null;
+        startNanos = System.nanoTime();
+        endNanos = 0;
+    }
+
+    public void complete() {
+        endNanos = System.nanoTime();
+        status = Status.COMPLETED;
+    }
+
+    public void fail(String message) {
+        endNanos = System.nanoTime();
+        failure = message;
+        status = Status.FAILED;
+    }
+
+    /**
+     * Arrêt demandé : pris en compte après le prochain lot validé, l'import reste reprenable
+     */
+    public void requestStop() {
+        stopRequested = true;
+    }
+
+    public boolean isStopRequested() {
+        return stopRequested;
+    }
+
+    public void rowRead() {
+        processed.incrementAndGet();
+    }
+
+    /**
+     * Comptabilise un lot validé (commit effectué)
+     */
+    public void chunkCommitted(long lastRow, int insertedRows, int updatedRows, List<ImportRowError> chunkErrors) {
+        inserted.addAndGet(insertedRows);
+        updated.addAndGet(updatedRows);
+        rejected.addAndGet(chunkErrors.size());
+        for (ImportRowError error : chunkErrors) {
+            if (errors.size() >= maxDisplayedErrors) {
+                break;
+            }
+            errors.add(error);
+        }
+        committedRows = lastRow;
+    }
+
+    /**
+     * Lignes traitées par seconde depuis le (re)démarrage
+     */
+    public long getRowsPerSecond() {
+        long start = startNanos;
+        if (start == 0) {
+            return 0;
+        }
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        long elapsed = Math.max(end - start, 1);
+        return (processed.get() - resumedFrom) * 1_000_000_000L / elapsed;
+    }
+
+    public long getElapsedMillis() {
+        long start = startNanos;
+        if (start == 0) {
+            return 0;
+        }
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - start) / 1_000_000;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public boolean isResumable() {
+        return status == Status.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getInserted() {
+        return inserted.get();
+    }
+
+    public long getUpdated() {
+        return updated.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getCommittedRows() {
+        return committedRows;
+    }
+
+    public long getResumedFrom() {
+        return resumedFrom;
+    }
+
+    public List<ImportRowError> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+}
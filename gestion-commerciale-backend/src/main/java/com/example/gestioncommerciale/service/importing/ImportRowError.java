@@ -0,0 +1,13 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/importing/ImportRowError.java
+ * @description Ligne rejetée par un import CSV
+ */
+package com.example.gestioncommerciale.service.importing;
+
+/**
+ * @param line    numéro de ligne logique dans le fichier (1 = en-tête)
+ * @param key     clé métier de la ligne quand elle est connue (code produit)
+ * @param message motif du rejet
+ */
+public record ImportRowError(long line, String key, String message) {
+}
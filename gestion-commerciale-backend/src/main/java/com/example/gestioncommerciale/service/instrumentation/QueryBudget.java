@@ -0,0 +1,21 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/instrumentation/QueryBudget.java
+ * @description Nombre maximal de requêtes SQL d'un point d'entrée HTTP, authentification comprise
+ */
+package com.example.gestioncommerciale.service.instrumentation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Dépassement journalisé en production ; en mode test ({@code app.sql-instrumentation.enforce-budgets})
+ * la requête SQL de trop échoue, et la requête HTTP avec elle.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
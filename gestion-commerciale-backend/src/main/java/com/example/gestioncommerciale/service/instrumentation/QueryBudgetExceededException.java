@@ -0,0 +1,12 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/instrumentation/QueryBudgetExceededException.java
+ * @description Point d'entrée dépassant son budget de requêtes SQL (mode test)
+ */
+package com.example.gestioncommerciale.service.instrumentation;
+
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(int budget, long count, String statement) {
+        super("Budget de " + budget + " requête(s) SQL dépassé (requête n°" + count + " : " + statement + ")");
+    }
+}
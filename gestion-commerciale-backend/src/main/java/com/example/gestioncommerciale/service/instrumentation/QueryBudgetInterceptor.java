@@ -0,0 +1,25 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/instrumentation/QueryBudgetInterceptor.java
+ * @description Applique le budget de requêtes SQL déclaré par la méthode de contrôleur à l'activité de la requête
+ */
+package com.example.gestioncommerciale.service.instrumentation;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlActivity activity = SqlActivity.current();
+        if (activity != null && handler instanceof HandlerMethod method) {
+            QueryBudget budget = method.getMethodAnnotation(QueryBudget.class);
+            if (budget != null) {
+                activity.setBudget(budget.value());
+            }
+        }
+        return true;
+    }
+}
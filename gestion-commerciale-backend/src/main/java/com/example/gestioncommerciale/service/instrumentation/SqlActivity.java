@@ -0,0 +1,135 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/instrumentation/SqlActivity.java
+ * @description Activité SQL d'une requête HTTP ou d'un appel de service : requêtes, lignes lues, temps JDBC, détail par requête
+ */
+package com.example.gestioncommerciale.service.instrumentation;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Attachée au thread courant par le filtre HTTP (ou par l'intercepteur des services hors requête) ;
+ * les sections parallèles d'une page s'y rattachent aussi, d'où des compteurs partagés entre threads.
+ * Les compteurs sont cumulatifs : la part d'un appel de service est la différence de deux {@link #snapshot()}.
+ */
+public final class SqlActivity {
+
+    /**
+     * Requêtes distinctes retenues dans le détail ; les suivantes sont regroupées sous {@link #OTHER_STATEMENTS}
+     */
+    static final int MAX_DISTINCT_STATEMENTS = 200;
+    static final String OTHER_STATEMENTS = "(autres requêtes)";
+
+    private static final ThreadLocal<SqlActivity> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder jdbcNanos = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final Map<String, StatementStats> breakdown = new ConcurrentHashMap<>();
+    private final AtomicInteger budget = new AtomicInteger();
+
+    public static SqlActivity current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Attache l'activité au thread courant
+     *
+     * @return activité précédente, à restaurer par {@link #restore(SqlActivity)}
+     */
+    public static SqlActivity bind(SqlActivity activity) {
+        SqlActivity previous = CURRENT.get();
+        CURRENT.set(activity);
+        return previous;
+    }
+
+    public static void restore(SqlActivity previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Plafond de requêtes déclaré par le point d'entrée ({@link QueryBudget}) ; 0 : aucun
+     */
+    public void setBudget(int budget) {
+        this.budget.set(budget);
+    }
+
+    public int getBudget() {
+        return budget.get();
+    }
+
+    /**
+     * @return nombre de requêtes, celle qui démarre comprise
+     */
+    long statementStarted() {
+        statements.increment();
+        return statements.sum();
+    }
+
+    void statementCompleted(String sql, long nanos) {
+        jdbcNanos.add(nanos);
+        StatementStats stats = breakdown.get(sql);
+        if (stats == null) {
+            String key = breakdown.size() < MAX_DISTINCT_STATEMENTS ? sql : OTHER_STATEMENTS;
+            stats = breakdown.computeIfAbsent(key, ignored -> new StatementStats());
+        }
+        stats.count.incrementAndGet();
+        stats.nanos.addAndGet(nanos);
+    }
+
+    void rowFetched() {
+        rows.increment();
+    }
+
+    void cacheAccessed(boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+
+    void flushed() {
+        flushes.increment();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(statements.sum(), rows.sum(), jdbcNanos.sum(), cacheHits.sum(), cacheMisses.sum(), flushes.sum());
+    }
+
+    /**
+     * Requêtes les plus fréquentes d'abord (une requête répétée des dizaines de fois signale un N+1)
+     */
+    public List<StatementSummary> topStatements(int limit) {
+        return breakdown.entrySet().stream()
+            .map(entry -> new StatementSummary(entry.getKey(), entry.getValue().count.get(), entry.getValue().nanos.get()))
+            .sorted(Comparator.comparingLong(StatementSummary::count).reversed()
+                .thenComparing(Comparator.comparingLong(StatementSummary::nanos).reversed()))
+            .limit(limit)
+            .toList();
+    }
+
+    public record Snapshot(long statements, long rows, long jdbcNanos, long cacheHits, long cacheMisses, long flushes) {
+
+        public Snapshot minus(Snapshot before) {
+            return new Snapshot(statements - before.statements, rows - before.rows, jdbcNanos - before.jdbcNanos,
+                cacheHits - before.cacheHits, cacheMisses - before.cacheMisses, flushes - before.flushes);
+        }
+    }
+
+    public record StatementSummary(String sql, long count, long nanos) {
+    }
+
+    private static final class StatementStats {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+    }
+}
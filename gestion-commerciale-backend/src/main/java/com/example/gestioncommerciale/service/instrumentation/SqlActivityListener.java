@@ -0,0 +1,72 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/instrumentation/SqlActivityListener.java
+ * @description Écoute JDBC de la source de données instrumentée : chaque requête et chaque ligne lue sont imputées à l'activité du thread
+ */
+package com.example.gestioncommerciale.service.instrumentation;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Hibernate, JdbcTemplate et les écritures SQL directes passent tous par la même source de données :
+ * le décompte couvre l'ensemble des accès, pas seulement ceux de l'ORM.
+ */
+public class SqlActivityListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String STARTED_AT = "sqlActivityStartedAt";
+
+    private final boolean enforceBudgets;
+
+    public SqlActivityListener(boolean enforceBudgets) {
+        this.enforceBudgets = enforceBudgets;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+        SqlActivity activity = SqlActivity.current();
+        if (activity == null) {
+            return;
+        }
+        long count = activity.statementStarted();
+        int budget = activity.getBudget();
+        // Mode test : la requête de trop échoue avant exécution, au point exact du dépassement
+        if (enforceBudgets && budget > 0 && count > budget) {
+            throw new QueryBudgetExceededException(budget, count, statement(queries));
+        }
+        executionInfo.addCustomValue(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+        SqlActivity activity = SqlActivity.current();
+        Long startedAt = executionInfo.getCustomValue(STARTED_AT, Long.class);
+        if (activity != null && startedAt != null) {
+            activity.statementCompleted(statement(queries), System.nanoTime() - startedAt);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext context) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext context) {
+        if (context.getTarget() instanceof ResultSet && Boolean.TRUE.equals(context.getResult())
+                && "next".equals(context.getMethod().getName())) {
+            SqlActivity activity = SqlActivity.current();
+            if (activity != null) {
+                activity.rowFetched();
+            }
+        }
+    }
+
+    private static String statement(List<QueryInfo> queries) {
+        return queries.isEmpty() ? "" : queries.get(0).getQuery();
+    }
+}
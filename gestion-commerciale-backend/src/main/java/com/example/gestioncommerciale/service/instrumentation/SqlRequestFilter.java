@@ -0,0 +1,136 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/instrumentation/SqlRequestFilter.java
+ * @description Activité SQL de chaque requête HTTP : métriques par route, en-tête X-Query-Count, journal des requêtes lentes
+ */
+package com.example.gestioncommerciale.service.instrumentation;
+
+import com.example.gestioncommerciale.config.SqlInstrumentationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Placé avant la chaîne de sécurité : les requêtes d'authentification comptent dans le total de la requête.
+ */
+@Slf4j
+public class SqlRequestFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private final SqlInstrumentationProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public SqlRequestFilter(SqlInstrumentationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlActivity activity = new SqlActivity();
+        SqlActivity previous = SqlActivity.bind(activity);
+        QueryCountResponse countingResponse = properties.isExposeHeader() ? new QueryCountResponse(response, activity) : null;
+        long startedAt = System.nanoTime();
+        try {
+            chain.doFilter(request, countingResponse != null ? countingResponse : response);
+        } finally {
+            SqlActivity.restore(previous);
+            if (countingResponse != null) {
+                countingResponse.writeHeader();
+            }
+            record(request, activity, System.nanoTime() - startedAt);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlActivity activity, long elapsedNanos) {
+        SqlActivity.Snapshot totals = activity.snapshot();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("uri", route, "method", request.getMethod());
+
+        DistributionSummary.builder("app.sql.request.statements")
+            .description("Requêtes SQL par requête HTTP")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(totals.statements());
+        DistributionSummary.builder("app.sql.request.rows")
+            .description("Lignes lues par requête HTTP")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(totals.rows());
+        Timer.builder("app.sql.request.jdbc")
+            .description("Temps passé dans JDBC par requête HTTP")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(totals.jdbcNanos(), TimeUnit.NANOSECONDS);
+
+        int budget = activity.getBudget();
+        if (budget > 0 && totals.statements() > budget) {
+            meterRegistry.counter("app.sql.request.budget.exceeded", tags).increment();
+            log.warn("Budget SQL dépassé : {} {} ({}) a exécuté {} requêtes pour un budget de {}",
+                request.getMethod(), request.getRequestURI(), route, totals.statements(), budget);
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (elapsedMillis >= properties.getSlowRequestThreshold().toMillis()
+                || totals.statements() >= properties.getSlowRequestStatements()) {
+            log.warn("Requête lente {} {} ({}) : {} ms, {}", request.getMethod(), request.getRequestURI(), route,
+                elapsedMillis, describe(activity, totals));
+        }
+    }
+
+    private String describe(SqlActivity activity, SqlActivity.Snapshot totals) {
+        StringBuilder description = new StringBuilder()
+            .append(totals.statements()).append(" requêtes SQL, ")
+            .append(totals.rows()).append(" lignes, JDBC ")
+            .append(TimeUnit.NANOSECONDS.toMillis(totals.jdbcNanos())).append(" ms, cache L2 ")
+            .append(totals.cacheHits()).append(" succès / ").append(totals.cacheMisses()).append(" échecs, ")
+            .append(totals.flushes()).append(" flush(s)");
+        for (SqlActivity.StatementSummary statement : activity.topStatements(properties.getBreakdownSize())) {
+            description.append(String.format("%n  %5d x %6d ms  %s", statement.count(),
+                TimeUnit.NANOSECONDS.toMillis(statement.nanos()), statement.sql()));
+        }
+        return description.toString();
+    }
+
+    /**
+     * L'en-tête doit partir avant le corps : posé au moment où la réponse est validée,
+     * ou en fin de requête si le corps tient encore dans le tampon
+     */
+    private static final class QueryCountResponse extends OnCommittedResponseWrapper {
+
+        private final SqlActivity activity;
+        private boolean headerWritten;
+
+        private QueryCountResponse(HttpServletResponse response, SqlActivity activity) {
+            super(response);
+            this.activity = activity;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeader();
+        }
+
+        private void writeHeader() {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (!headerWritten && !response.isCommitted()) {
+                response.setHeader(QUERY_COUNT_HEADER, String.valueOf(activity.snapshot().statements()));
+                headerWritten = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/instrumentation/SqlServiceMethodInterceptor.java
+ * @description Activité SQL de chaque appel de méthode de service : requêtes, lignes et temps JDBC par méthode
+ */
+package com.example.gestioncommerciale.service.instrumentation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Placé autour de la transaction : les requêtes du flush et du commit sont imputées à la méthode.
+ * Mesure inclusive (les appels de service imbriqués comptent aussi pour l'appelant) ; hors requête HTTP
+ * (traitements planifiés, lots), l'appel de plus haut niveau porte sa propre activité.
+ */
+public class SqlServiceMethodInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public SqlServiceMethodInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        SqlActivity activity = SqlActivity.current();
+        boolean owner = activity == null;
+        SqlActivity previous = null;
+        if (owner) {
+            activity = new SqlActivity();
+            previous = SqlActivity.bind(activity);
+        }
+        SqlActivity.Snapshot before = activity.snapshot();
+        try {
+            return invocation.proceed();
+        } finally {
+            SqlActivity.Snapshot delta = activity.snapshot().minus(before);
+            if (owner) {
+                SqlActivity.restore(previous);
+            }
+            meters.computeIfAbsent(invocation.getMethod(), method -> register(invocation)).record(delta);
+        }
+    }
+
+    private Meters register(MethodInvocation invocation) {
+        MeterRegistry registry = meterRegistry.getObject();
+        Tags tags = Tags.of("service", AopUtils.getTargetClass(invocation.getThis()).getSimpleName(),
+            "method", invocation.getMethod().getName());
+        return new Meters(
+            DistributionSummary.builder("app.sql.service.statements")
+                .description("Requêtes SQL par appel de méthode de service")
+                .tags(tags)
+                .register(registry),
+            DistributionSummary.builder("app.sql.service.rows")
+                .description("Lignes lues par appel de méthode de service")
+                .tags(tags)
+                .register(registry),
+            Timer.builder("app.sql.service.jdbc")
+                .description("Temps passé dans JDBC par appel de méthode de service")
+                .tags(tags)
+                .register(registry));
+    }
+
+    private record Meters(DistributionSummary statements, DistributionSummary rows, Timer jdbc) {
+
+        void record(SqlActivity.Snapshot delta) {
+            statements.record(delta.statements());
+            rows.record(delta.rows());
+            jdbc.record(delta.jdbcNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/instrumentation/SqlSessionListener.java
+ * @description Événements de session Hibernate imputés à l'activité du thread : accès au cache de second niveau, flushs
+ */
+package com.example.gestioncommerciale.service.instrumentation;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Instancié par Hibernate pour chaque session ({@code hibernate.session.events.auto}) : les statistiques
+ * globales de la fabrique de sessions ne disent pas quelle requête HTTP a manqué le cache ou déclenché un flush.
+ */
+public class SqlSessionListener extends BaseSessionEventListener {
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        SqlActivity activity = SqlActivity.current();
+        if (activity != null) {
+            activity.cacheAccessed(hit);
+        }
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        SqlActivity activity = SqlActivity.current();
+        if (activity != null) {
+            activity.flushed();
+        }
+    }
+}
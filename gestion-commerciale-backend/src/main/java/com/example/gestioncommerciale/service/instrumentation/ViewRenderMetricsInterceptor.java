@@ -0,0 +1,66 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/instrumentation/ViewRenderMetricsInterceptor.java
+ * @description Durée de rendu des vues Thymeleaf et des fragments HTMX, par gabarit et fragment
+ */
+package com.example.gestioncommerciale.service.instrumentation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entre postHandle et afterCompletion, le DispatcherServlet ne fait que rendre la vue :
+ * l'écart mesure le rendu seul, hors traitement du contrôleur
+ */
+public class ViewRenderMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String VIEW = ViewRenderMetricsInterceptor.class.getName() + ".view";
+    private static final String STARTED_AT = ViewRenderMetricsInterceptor.class.getName() + ".startedAt";
+    private static final String FRAGMENT_SEPARATOR = "::";
+
+    private final MeterRegistry meterRegistry;
+
+    public ViewRenderMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        // Corps JSON (@ResponseBody), vue instanciée par le contrôleur, redirection : aucun gabarit rendu
+        if (modelAndView == null || !modelAndView.isReference()) {
+            return;
+        }
+        String view = modelAndView.getViewName();
+        if (view == null || view.startsWith("redirect:") || view.startsWith("forward:")) {
+            return;
+        }
+        request.setAttribute(VIEW, view);
+        request.setAttribute(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(VIEW) instanceof String view)
+                || !(request.getAttribute(STARTED_AT) instanceof Long startedAt)) {
+            return;
+        }
+        int separator = view.indexOf(FRAGMENT_SEPARATOR);
+        String template = separator < 0 ? view : view.substring(0, separator).trim();
+        String fragment = separator < 0 ? "none" : view.substring(separator + FRAGMENT_SEPARATOR.length()).trim();
+        Timer.builder("app.view.render")
+            .description("Rendu d'une vue Thymeleaf ou d'un fragment HTMX")
+            .tag("template", template)
+            .tag("fragment", fragment)
+            .tag("htmx", String.valueOf("true".equals(request.getHeader("HX-Request"))))
+            .tag("exception", ex == null ? "none" : ex.getClass().getSimpleName())
+            .register(meterRegistry)
+            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+}
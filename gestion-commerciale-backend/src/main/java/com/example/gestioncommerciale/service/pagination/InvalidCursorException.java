@@ -0,0 +1,16 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/pagination/InvalidCursorException.java
+ * @description Curseur de pagination illisible ou produit pour un autre tri
+ */
+package com.example.gestioncommerciale.service.pagination;
+
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/pagination/InvalidSortException.java
+ * @description Propriété de tri inconnue ou non autorisée (association, chemin imbriqué)
+ */
+package com.example.gestioncommerciale.service.pagination;
+
+public class InvalidSortException extends IllegalArgumentException {
+
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
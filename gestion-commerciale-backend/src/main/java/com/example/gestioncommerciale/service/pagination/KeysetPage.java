@@ -0,0 +1,55 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/pagination/KeysetPage.java
+ * @description Page compatible Spring Data enrichie des curseurs de pagination par clé
+ */
+package com.example.gestioncommerciale.service.pagination;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page utilisée par les écrans de liste : les liens « précédent / suivant » portent un curseur,
+ * les numéros de page restent disponibles pour les sauts explicites (pagination par décalage).
+ */
+public class KeysetPage<T> extends PageImpl<T> {
+
+    private final String nextCursor;
+    private final String previousCursor;
+
+    public KeysetPage(KeysetWindow<T> window, Sort sort, long total) {
+        super(window.content(), PageRequest.of(window.number(), window.size(), sort), total);
+        this.nextCursor = window.nextCursor();
+        this.previousCursor = window.previousCursor();
+    }
+
+    private KeysetPage(List<T> content, PageRequest pageable, long total, String nextCursor, String previousCursor) {
+        super(content, pageable, total);
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    @Override
+    public <U> KeysetPage<U> map(Function<? super T, ? extends U> converter) {
+        return withContent(getContent().stream().<U>map(converter).toList());
+    }
+
+    /**
+     * Même page et mêmes curseurs, contenu converti d'un bloc (enrichissement groupé)
+     */
+    public <U> KeysetPage<U> withContent(List<U> content) {
+        PageRequest pageable = PageRequest.of(getNumber(), getSize(), getSort());
+        return new KeysetPage<>(content, pageable, getTotalElements(), nextCursor, previousCursor);
+    }
+}
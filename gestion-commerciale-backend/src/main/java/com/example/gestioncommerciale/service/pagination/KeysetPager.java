@@ -0,0 +1,375 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/pagination/KeysetPager.java
+ * @description Pagination par clé (seek) : curseurs opaques encodant le tri et les valeurs de la dernière ligne
+ */
+package com.example.gestioncommerciale.service.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sans curseur, la page demandée est lue par décalage (premier affichage ou saut explicite) ;
+ * avec un curseur, la lecture reprend après (ou avant) la clé encodée, sans OFFSET.
+ * Le tri est toujours complété par l'identifiant pour garantir un ordre total.
+ * Seules les colonnes simples de l'entité sont acceptées comme propriétés de tri (ni association, ni chemin).
+ * Une clé nulle est encodée telle quelle et classée avant toute valeur, comme le fait MySQL :
+ * en tête en ordre croissant, en fin en ordre décroissant.
+ * Le total des écrans est compté sur la page lue par décalage puis transporté par les curseurs :
+ * la navigation précédent / suivant ne relance pas de COUNT (total figé jusqu'au prochain saut de page).
+ */
+@Component
+public class KeysetPager {
+
+    private static final String ID = "id";
+    private static final String INVALID_CURSOR = "Curseur de pagination invalide";
+    private static final String INVALID_SORT = "Propriété de tri non autorisée : ";
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public KeysetPager(ObjectMapper objectMapper, EntityManager entityManager) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Page complète pour les écrans de liste (total compté pour l'affichage des numéros de page,
+     * repris du curseur lors de la navigation)
+     */
+    public <E> KeysetPage<E> page(JpaSpecificationExecutor<E> repository, Specification<E> spec,
+                                  Pageable pageable, String cursor, Class<E> entityType) {
+        Sort sort = withTieBreaker(sortable(pageable.getSort(), entityType));
+        if (cursor == null || cursor.isBlank()) {
+            Page<E> page = repository.findAll(spec, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort));
+            KeysetWindow<E> window = window(page.getContent(), page.getSize(), page.getNumber(),
+                page.hasNext(), page.hasPrevious(), sort, entityType, page.getTotalElements());
+            return new KeysetPage<>(window, sort, page.getTotalElements());
+        }
+        Cursor decoded = decode(cursor, sort, entityType);
+        long total = decoded.total() != null ? decoded.total() : repository.count(spec);
+        KeysetWindow<E> window = seek(spec, sort, pageable.getPageSize(), decoded, entityType, total);
+        return new KeysetPage<>(window, sort, total);
+    }
+
+    /**
+     * Tranche par curseur sans comptage, pour l'API REST
+     */
+    public <E> KeysetWindow<E> scroll(JpaSpecificationExecutor<E> repository, Specification<E> spec,
+                                      Sort sort, int size, String cursor, Class<E> entityType) {
+        Sort fullSort = withTieBreaker(sortable(sort, entityType));
+        if (cursor == null || cursor.isBlank()) {
+            Window<E> first = repository.findBy(spec, q -> q.sortBy(fullSort).limit(size).scroll(ScrollPosition.keyset()));
+            return window(first.getContent(), size, 0, first.hasNext(), false, fullSort, entityType, null);
+        }
+        Cursor decoded = decode(cursor, fullSort, entityType);
+        return seek(spec, fullSort, size, decoded, entityType, decoded.total());
+    }
+
+    /**
+     * Page d'écran en lignes projetées : mêmes règles que {@link #page}, mais seules les colonnes
+     * de la projection sont lues (ni entité gérée, ni association paresseuse)
+     */
+    public <E, R> KeysetPage<R> page(RowProjection<E, R> projection, Specification<E> spec,
+                                     Pageable pageable, String cursor) {
+        Sort sort = withTieBreaker(sortable(pageable.getSort(), projection.entityType()));
+        int size = pageable.getPageSize();
+        if (cursor == null || cursor.isBlank()) {
+            List<R> rows = fetch(projection, spec, sort, null, false, (int) pageable.getOffset(), size + 1);
+            boolean hasNext = rows.size() > size;
+            List<R> content = hasNext ? rows.subList(0, size) : rows;
+            // Total déduit sans comptage quand la page n'est pas pleine (comme Spring Data)
+            long total = !hasNext && (pageable.getOffset() == 0 || !content.isEmpty())
+                ? pageable.getOffset() + content.size()
+                : count(projection.entityType(), spec);
+            KeysetWindow<R> window = rowWindow(content, size, pageable.getPageNumber(), hasNext,
+                pageable.getPageNumber() > 0, sort, projection, total);
+            return new KeysetPage<>(window, sort, total);
+        }
+
+        Cursor decoded = decode(cursor, sort, projection.entityType());
+        long total = decoded.total() != null ? decoded.total() : count(projection.entityType(), spec);
+        List<R> rows = fetch(projection, spec, sort, decoded.keys(), decoded.backward(), 0, size + 1);
+        boolean more = rows.size() > size;
+        List<R> content = new ArrayList<>(more ? rows.subList(0, size) : rows);
+        if (decoded.backward()) {
+            Collections.reverse(content);
+        }
+        boolean hasNext = decoded.backward() || more;
+        boolean hasPrevious = !decoded.backward() || more;
+        int number = hasPrevious ? Math.max(decoded.page(), 1) : 0;
+        KeysetWindow<R> window = rowWindow(content, size, number, hasNext, hasPrevious, sort, projection, total);
+        return new KeysetPage<>(window, sort, total);
+    }
+
+    /**
+     * Lignes projetées sans pagination (recherche instantanée : identifiants déjà classés par l'index)
+     */
+    public <E, R> List<R> rows(RowProjection<E, R> projection, Specification<E> spec) {
+        return fetch(projection, spec, Sort.unsorted(), null, false, 0, Integer.MAX_VALUE);
+    }
+
+    private <E, R> List<R> fetch(RowProjection<E, R> projection, Specification<E> spec, Sort sort,
+                                 Map<String, Object> after, boolean backward, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(projection.rowType());
+        Root<E> root = query.from(projection.entityType());
+
+        // Filtres d'abord : la projection réutilise leurs jointures (RowProjection#leftJoin)
+        List<Predicate> predicates = new ArrayList<>(2);
+        Predicate filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        query.select(projection.selection().apply(root, cb));
+        if (after != null) {
+            predicates.add(seekPredicate(cb, root, sort, after, backward));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        if (sort.isSorted()) {
+            // En reculant, lecture en ordre inverse depuis la clé puis remise à l'endroit par l'appelant
+            query.orderBy(QueryUtils.toOrders(backward ? reverse(sort) : sort, root, cb));
+        }
+        return entityManager.createQuery(query)
+            .setFirstResult(offset)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    /**
+     * (a > :a) OR (a = :a AND b > :b) OR ... selon le sens de chaque tri, NULL étant la plus petite valeur
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <E> Predicate seekPredicate(CriteriaBuilder cb, Root<E> root, Sort sort,
+                                               Map<String, Object> keys, boolean backward) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalities = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path path = root.get(order.getProperty());
+            Comparable value = (Comparable) keys.get(order.getProperty());
+            boolean ascending = order.isAscending() != backward;
+            Predicate beyond;
+            if (value == null) {
+                // Rien n'est plus petit que NULL : en descendant, seules les égalités suivantes départagent
+                beyond = ascending ? cb.isNotNull(path) : null;
+            } else {
+                beyond = ascending ? cb.greaterThan(path, value) : cb.or(cb.lessThan(path, value), cb.isNull(path));
+            }
+            if (beyond != null) {
+                List<Predicate> step = new ArrayList<>(equalities);
+                step.add(beyond);
+                alternatives.add(cb.and(step.toArray(Predicate[]::new)));
+            }
+            equalities.add(value == null ? cb.isNull(path) : cb.equal(path, value));
+        }
+        return alternatives.isEmpty() ? cb.disjunction() : cb.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    private <E> long count(Class<E> entityType, Specification<E> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityType);
+        query.select(cb.count(root));
+        Predicate filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            query.where(filter);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private <R> KeysetWindow<R> rowWindow(List<R> content, int size, int number, boolean hasNext, boolean hasPrevious,
+                                          Sort sort, RowProjection<?, R> projection, Long total) {
+        // Le curseur exige les clés de tri sur la ligne comme sur l'entité
+        if (!supports(sort, projection.rowType())) {
+            return new KeysetWindow<>(content, size, number, null, null);
+        }
+        return window(content, size, number, hasNext, hasPrevious, sort, projection.entityType(), total);
+    }
+
+    private static Sort reverse(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(order.with(order.getDirection().isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * Recherche de clé sur l'entité entière ; prédicat construit ici plutôt que par le défilement
+     * de Spring Data, qui ne sait pas reprendre après une clé nulle
+     */
+    private <E> KeysetWindow<E> seek(Specification<E> spec, Sort sort, int size, Cursor decoded, Class<E> entityType,
+                                     Long total) {
+        RowProjection<E, E> entities = new RowProjection<>(entityType, entityType, (root, cb) -> root);
+        List<E> rows = fetch(entities, spec, sort, decoded.keys(), decoded.backward(), 0, size + 1);
+        boolean more = rows.size() > size;
+        List<E> content = new ArrayList<>(more ? rows.subList(0, size) : rows);
+        if (decoded.backward()) {
+            Collections.reverse(content);
+        }
+
+        // En reculant, « more » indique s'il reste des lignes avant la tranche
+        boolean hasNext = decoded.backward() || more;
+        boolean hasPrevious = !decoded.backward() || more;
+        int number = hasPrevious ? Math.max(decoded.page(), 1) : 0;
+        return window(content, size, number, hasNext, hasPrevious, sort, entityType, total);
+    }
+
+    /**
+     * @param total total à transporter dans les curseurs, null s'il n'a pas été compté (API REST)
+     */
+    private <E> KeysetWindow<E> window(List<E> content, int size, int number, boolean hasNext,
+                                       boolean hasPrevious, Sort sort, Class<?> entityType, Long total) {
+        String next = null;
+        String previous = null;
+        if (!content.isEmpty() && supports(sort, entityType)) {
+            if (hasNext) {
+                next = encode(sort, keysOf(content.get(content.size() - 1), sort), number + 1, false, total);
+            }
+            if (hasPrevious) {
+                previous = encode(sort, keysOf(content.get(0), sort), number - 1, true, total);
+            }
+        }
+        return new KeysetWindow<>(content, size, number, next, previous);
+    }
+
+    /**
+     * Liste blanche des propriétés de tri reçues de l'appelant : attributs simples de l'entité uniquement
+     */
+    private Sort sortable(Sort sort, Class<?> entityType) {
+        EntityType<?> entity = entityManager.getMetamodel().entity(entityType);
+        for (Sort.Order order : sort) {
+            Attribute<?, ?> attribute = entity.getAttributes().stream()
+                .filter(candidate -> candidate.getName().equals(order.getProperty()))
+                .findFirst()
+                .orElse(null);
+            if (attribute == null || attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+                throw new InvalidSortException(INVALID_SORT + order.getProperty());
+            }
+        }
+        return sort;
+    }
+
+    private static Sort withTieBreaker(Sort sort) {
+        if (sort.getOrderFor(ID) != null) {
+            return sort;
+        }
+        Sort.Direction direction = sort.stream().findFirst().map(Sort.Order::getDirection).orElse(Sort.Direction.ASC);
+        return sort.and(Sort.by(direction, ID));
+    }
+
+    /**
+     * Le curseur n'est proposé que pour des propriétés directes de l'entité ;
+     * sinon seule la pagination par décalage est disponible.
+     */
+    private static boolean supports(Sort sort, Class<?> entityType) {
+        for (Sort.Order order : sort) {
+            if (BeanUtils.getPropertyDescriptor(entityType, order.getProperty()) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<String, Object> keysOf(Object entity, Sort sort) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            keys.put(order.getProperty(), wrapper.getPropertyValue(order.getProperty()));
+        }
+        return keys;
+    }
+
+    private String encode(Sort sort, Map<String, Object> keys, int page, boolean backward, Long total) {
+        // Valeurs conservées sous forme textuelle : pas de perte sur BigDecimal ni sur les dates
+        Map<String, String> values = new LinkedHashMap<>();
+        keys.forEach((property, value) -> values.put(property, value == null ? null : objectMapper.convertValue(value, String.class)));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new Payload(signature(sort), values, page, backward, total));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Impossible d'encoder le curseur de pagination", e);
+        }
+    }
+
+    private Cursor decode(String cursor, Sort sort, Class<?> entityType) {
+        Payload payload;
+        try {
+            payload = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), Payload.class);
+        } catch (Exception e) {
+            throw new InvalidCursorException(INVALID_CURSOR, e);
+        }
+        // Un curseur n'est valable que pour le tri qui l'a produit
+        if (payload.keys() == null || !signature(sort).equals(payload.sort())) {
+            throw new InvalidCursorException(INVALID_CURSOR);
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityType, property);
+            // Clé absente : curseur altéré ; clé nulle : valeur légitime, sauf pour l'identifiant
+            String raw = payload.keys().get(property);
+            if (descriptor == null || !payload.keys().containsKey(property) || (raw == null && ID.equals(property))) {
+                throw new InvalidCursorException(INVALID_CURSOR);
+            }
+            if (raw == null) {
+                keys.put(property, null);
+                continue;
+            }
+            try {
+                keys.put(property, objectMapper.convertValue(raw, descriptor.getPropertyType()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCursorException(INVALID_CURSOR, e);
+            }
+        }
+        // Total négatif : curseur altéré, recompté plutôt que rejeté
+        Long total = payload.total() != null && payload.total() >= 0 ? payload.total() : null;
+        return new Cursor(keys, Math.max(payload.page(), 0), payload.backward(), total);
+    }
+
+    private static String signature(Sort sort) {
+        StringBuilder signature = new StringBuilder();
+        for (Sort.Order order : sort) {
+            if (!signature.isEmpty()) {
+                signature.append(',');
+            }
+            signature.append(order.getProperty()).append(':').append(order.getDirection().name().toLowerCase());
+        }
+        return signature.toString();
+    }
+
+    private record Cursor(Map<String, Object> keys, int page, boolean backward, Long total) {
+    }
+
+    record Payload(String sort, Map<String, String> keys, int page, boolean backward, Long total) {
+    }
+}
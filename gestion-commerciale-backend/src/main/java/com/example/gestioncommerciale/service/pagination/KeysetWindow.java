@@ -0,0 +1,40 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/pagination/KeysetWindow.java
+ * @description Tranche de résultats obtenue par recherche de clé (seek), avec curseurs opaques
+ */
+package com.example.gestioncommerciale.service.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Résultat d'une lecture par curseur, sans comptage du total.
+ *
+ * @param number         numéro de page indicatif (affichage uniquement)
+ * @param nextCursor     curseur de la page suivante, null s'il n'y en a pas
+ * @param previousCursor curseur de la page précédente, null s'il n'y en a pas
+ */
+public record KeysetWindow<T>(
+    List<T> content,
+    int size,
+    int number,
+    String nextCursor,
+    String previousCursor
+) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public <U> KeysetWindow<U> map(Function<? super T, ? extends U> converter) {
+        return withContent(content.stream().<U>map(converter).toList());
+    }
+
+    public <U> KeysetWindow<U> withContent(List<U> converted) {
+        return new KeysetWindow<>(converted, size, number, nextCursor, previousCursor);
+    }
+}
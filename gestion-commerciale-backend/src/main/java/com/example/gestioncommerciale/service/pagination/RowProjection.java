@@ -0,0 +1,37 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/pagination/RowProjection.java
+ * @description Projection d'une entité vers une ligne d'écran : seules les colonnes affichées sont sélectionnées
+ */
+package com.example.gestioncommerciale.service.pagination;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.function.BiFunction;
+
+/**
+ * La sélection est en général un {@code cb.construct(rowType, ...)} ; les jointures nécessaires aux libellés
+ * (catégorie, client) y sont déclarées. Les propriétés de tri doivent exister sur la ligne pour la pagination par clé.
+ */
+public record RowProjection<E, R>(
+    Class<E> entityType,
+    Class<R> rowType,
+    BiFunction<Root<E>, CriteriaBuilder, Selection<R>> selection
+) {
+
+    /**
+     * Jointure externe sur une association, réutilisée si les filtres l'ont déjà posée
+     */
+    @SuppressWarnings("unchecked")
+    public static <E, Y> Join<E, Y> leftJoin(Root<E> root, String attribute) {
+        for (Join<E, ?> join : root.getJoins()) {
+            if (join.getJoinType() == JoinType.LEFT && join.getAttribute().getName().equals(attribute)) {
+                return (Join<E, Y>) join;
+            }
+        }
+        return root.join(attribute, JoinType.LEFT);
+    }
+}
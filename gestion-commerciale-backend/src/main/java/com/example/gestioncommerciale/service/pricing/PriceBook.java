@@ -0,0 +1,248 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/pricing/PriceBook.java
+ * @description Barème compilé immuable : prix (produit × liste de prix) et taux de TVA résolus, en centimes
+ */
+package com.example.gestioncommerciale.service.pricing;
+
+import com.example.gestioncommerciale.service.sales.Amounts;
+
+import java.util.Arrays;
+
+/**
+ * Tables à adressage ouvert sur clés long primitives : une recherche ne crée aucun objet.
+ * Les prix de liste sont indexés par une clé composée (liste sur 23 bits, produit sur 40 bits) ;
+ * un produit absent d'une liste prend son prix catalogue. Taux en points de base (20,00 % = 2000).
+ */
+public final class PriceBook {
+
+    public static final long MISSING = Long.MIN_VALUE;
+
+    // Prix catalogue (aucune liste de prix)
+    public static final long BASE_LIST = 0L;
+
+    private static final int PRODUCT_ID_BITS = 40;
+    private static final long MAX_PRODUCT_ID = (1L << PRODUCT_ID_BITS) - 1;
+    private static final long MAX_LIST_ID = (1L << 23) - 1;
+
+    private static final PriceBook EMPTY = new Builder().build();
+
+    private final LongTable slots;
+    private final long[] baseCents;
+    private final long[] rateBasisPoints;
+    private final LongTable listPrices;
+    private final LongTable taxRates;
+
+    private PriceBook(LongTable slots, long[] baseCents, long[] rateBasisPoints, LongTable listPrices, LongTable taxRates) {
+        this.slots = slots;
+        this.baseCents = baseCents;
+        this.rateBasisPoints = rateBasisPoints;
+        this.listPrices = listPrices;
+        this.taxRates = taxRates;
+    }
+
+    public static PriceBook empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean contains(long productId) {
+        return slots.get(productId) != MISSING;
+    }
+
+    /**
+     * Prix unitaire HT du produit dans la liste (prix catalogue à défaut), MISSING si le produit est inconnu
+     */
+    public long unitCents(long productId, long priceListId) {
+        if (priceListId != BASE_LIST && inRange(productId, priceListId)) {
+            long listed = listPrices.get(priceListId << PRODUCT_ID_BITS | productId);
+            if (listed != MISSING) {
+                return listed;
+            }
+        }
+        long slot = slots.get(productId);
+        return slot == MISSING ? MISSING : baseCents[(int) slot];
+    }
+
+    /**
+     * Taux de TVA effectif du produit (règle de TVA, sinon taux du produit), MISSING si le produit est inconnu
+     */
+    public long rateBasisPoints(long productId) {
+        long slot = slots.get(productId);
+        return slot == MISSING ? MISSING : rateBasisPoints[(int) slot];
+    }
+
+    /**
+     * Prix unitaire TTC, TVA arrondie au centime comme sur les lignes de document
+     */
+    public long ttcCents(long productId, long priceListId) {
+        long unit = unitCents(productId, priceListId);
+        if (unit == MISSING) {
+            return MISSING;
+        }
+        return unit + Amounts.tax(unit, rateBasisPoints(productId));
+    }
+
+    /**
+     * Taux d'une règle de TVA, MISSING si elle n'existe pas
+     */
+    public long taxRate(long taxId) {
+        return taxRates.get(taxId);
+    }
+
+    public int products() {
+        return baseCents.length;
+    }
+
+    public int listPrices() {
+        return listPrices.size();
+    }
+
+    private static boolean inRange(long productId, long priceListId) {
+        return productId > 0 && productId <= MAX_PRODUCT_ID && priceListId > 0 && priceListId <= MAX_LIST_ID;
+    }
+
+    /**
+     * Accumule les lignes lues (taxes, produits, prix de liste) puis compile le barème
+     */
+    public static final class Builder {
+
+        private final LongList taxIds = new LongList();
+        private final LongList taxBasisPoints = new LongList();
+        private final LongList productIds = new LongList();
+        private final LongList productCents = new LongList();
+        private final LongList productBasisPoints = new LongList();
+        private final LongList productTaxIds = new LongList();
+        private final LongList listKeys = new LongList();
+        private final LongList listCents = new LongList();
+
+        private Builder() {
+        }
+
+        public Builder tax(long taxId, long rateBasisPoints) {
+            taxIds.add(taxId);
+            taxBasisPoints.add(rateBasisPoints);
+            return this;
+        }
+
+        /**
+         * @param taxId règle de TVA du produit, 0 si aucune
+         */
+        public Builder product(long productId, long unitCents, long rateBasisPoints, long taxId) {
+            if (productId <= 0 || productId > MAX_PRODUCT_ID) {
+                throw new IllegalArgumentException("Identifiant produit hors plage du barème : " + productId);
+            }
+            productIds.add(productId);
+            productCents.add(unitCents);
+            productBasisPoints.add(rateBasisPoints);
+            productTaxIds.add(taxId);
+            return this;
+        }
+
+        public Builder listPrice(long priceListId, long productId, long unitCents) {
+            if (!inRange(productId, priceListId)) {
+                throw new IllegalArgumentException("Prix de liste hors plage du barème : liste " + priceListId
+                    + ", produit " + productId);
+            }
+            listKeys.add(priceListId << PRODUCT_ID_BITS | productId);
+            listCents.add(unitCents);
+            return this;
+        }
+
+        public PriceBook build() {
+            LongTable taxes = new LongTable(taxIds.size);
+            for (int i = 0; i < taxIds.size; i++) {
+                taxes.put(taxIds.values[i], taxBasisPoints.values[i]);
+            }
+
+            int count = productIds.size;
+            LongTable slots = new LongTable(count);
+            long[] cents = Arrays.copyOf(productCents.values, count);
+            long[] rates = new long[count];
+            for (int i = 0; i < count; i++) {
+                slots.put(productIds.values[i], i);
+                long taxRate = productTaxIds.values[i] != 0 ? taxes.get(productTaxIds.values[i]) : MISSING;
+                rates[i] = taxRate != MISSING ? taxRate : productBasisPoints.values[i];
+            }
+
+            LongTable listPrices = new LongTable(listKeys.size);
+            for (int i = 0; i < listKeys.size; i++) {
+                listPrices.put(listKeys.values[i], listCents.values[i]);
+            }
+            return new PriceBook(slots, cents, rates, listPrices, taxes);
+        }
+    }
+
+    /**
+     * Table de hachage long → long à sondage linéaire, taux de remplissage ≤ 50 % ; la clé 0 marque une case vide
+     */
+    private static final class LongTable {
+
+        private final long[] keys;
+        private final long[] values;
+        private final int mask;
+        private int size;
+
+        private LongTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 1) * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private void put(long key, long value) {
+            int index = indexOf(key);
+            while (keys[index] != 0 && keys[index] != key) {
+                index = (index + 1) & mask;
+            }
+            if (keys[index] == 0) {
+                keys[index] = key;
+                size++;
+            }
+            values[index] = value;
+        }
+
+        private long get(long key) {
+            if (key == 0) {
+                return MISSING;
+            }
+            int index = indexOf(key);
+            long candidate;
+            while ((candidate = keys[index]) != 0) {
+                if (candidate == key) {
+                    return values[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return MISSING;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private int indexOf(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    private static final class LongList {
+
+        private long[] values = new long[16];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
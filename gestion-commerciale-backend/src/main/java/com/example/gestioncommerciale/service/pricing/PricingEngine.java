@@ -0,0 +1,121 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/pricing/PricingEngine.java
+ * @description Détient le barème compilé courant, reconstruit et substitué d'un bloc après chaque modification tarifaire
+ */
+package com.example.gestioncommerciale.service.pricing;
+
+import com.example.gestioncommerciale.service.sales.Amounts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Trois lectures (taxes, produits, prix de liste) compilées en un PriceBook immuable, publié par référence volatile :
+ * les lecteurs voient l'ancien ou le nouveau barème, jamais un état partiel. Le barème mis en cache est toujours lu dans
+ * sa propre transaction en lecture seule : l'instantané REPEATABLE READ de l'appelant (ou ses écritures non validées)
+ * n'y entre pas. Pendant une compilation, les autres appelants n'attendent pas : attendre en gardant leur connexion
+ * pourrait épuiser le pool dont la compilation a besoin ; ils lisent le barème dans leur propre transaction, sans le conserver.
+ */
+@Component
+@Slf4j
+public class PricingEngine {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate loadTemplate;
+
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private volatile PriceBook book;
+
+    public PricingEngine(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.loadTemplate = new TransactionTemplate(transactionManager);
+        this.loadTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Barème courant, compilé à la demande s'il a été invalidé
+     */
+    public PriceBook current() {
+        PriceBook current = book;
+        if (current != null) {
+            return current;
+        }
+
+        if (!buildLock.tryLock()) {
+            return load();
+        }
+        try {
+            if (book == null) {
+                long expectedVersion = version.get();
+                long start = System.currentTimeMillis();
+                PriceBook built = loadTemplate.execute(status -> load());
+                // Une invalidation survenue pendant la lecture rend le barème obsolète : pas de mise en cache
+                if (version.get() != expectedVersion) {
+                    return built;
+                }
+                book = built;
+                log.debug("Barème compilé : {} produits, {} prix de liste en {} ms",
+                          built.products(), built.listPrices(), System.currentTimeMillis() - start);
+            }
+            return book;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * Invalide le barème après le commit de la transaction courante (immédiatement sinon)
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PricingEngine.this);
+            }
+        });
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        book = null;
+    }
+
+    private PriceBook load() {
+        PriceBook.Builder builder = PriceBook.builder();
+        jdbcTemplate.query("SELECT id, rate FROM taxes", rs -> {
+            builder.tax(rs.getLong(1), Amounts.toBasisPoints(rs.getBigDecimal(2)));
+        });
+        // tax_id NULL lu comme 0 : aucune règle de TVA
+        jdbcTemplate.query("SELECT id, unit_price, vat_rate, tax_id FROM products", rs -> {
+            builder.product(rs.getLong(1), Amounts.toCents(rs.getBigDecimal(2)),
+                            Amounts.toBasisPoints(rs.getBigDecimal(3)), rs.getLong(4));
+        });
+        jdbcTemplate.query("SELECT price_list_id, product_id, unit_price FROM price_list_items", rs -> {
+            builder.listPrice(rs.getLong(1), rs.getLong(2), Amounts.toCents(rs.getBigDecimal(3)));
+        });
+        return builder.build();
+    }
+}
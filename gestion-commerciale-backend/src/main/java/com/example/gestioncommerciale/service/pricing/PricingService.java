@@ -0,0 +1,181 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/pricing/PricingService.java
+ * @description Service tarifaire : listes de prix, prix par liste, règles de TVA et résolution d'un prix
+ */
+package com.example.gestioncommerciale.service.pricing;
+
+import com.example.gestioncommerciale.dto.pricing.PriceListDTO;
+import com.example.gestioncommerciale.dto.pricing.ResolvedPriceDTO;
+import com.example.gestioncommerciale.dto.pricing.TaxDTO;
+import com.example.gestioncommerciale.model.pricing.PriceList;
+import com.example.gestioncommerciale.model.pricing.Tax;
+import com.example.gestioncommerciale.repository.catalog.ProductRepository;
+import com.example.gestioncommerciale.repository.pricing.PriceListRepository;
+import com.example.gestioncommerciale.repository.pricing.TaxRepository;
+import com.example.gestioncommerciale.service.sales.Amounts;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Toute modification invalide le barème compilé après commit : commandes, devis et listes produits
+ * lisent le nouveau tarif dès la transaction suivante
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class PricingService {
+
+    private static final String DELETE_PRICE_SQL =
+        "DELETE FROM price_list_items WHERE price_list_id = ? AND product_id = ?";
+
+    private static final String INSERT_PRICE_SQL =
+        "INSERT INTO price_list_items (price_list_id, product_id, unit_price, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final PriceListRepository priceListRepository;
+    private final TaxRepository taxRepository;
+    private final ProductRepository productRepository;
+    private final PricingEngine pricingEngine;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public List<PriceListDTO> findAllPriceLists() {
+        return priceListRepository.findAll(Sort.by("name")).stream().map(PricingService::toDTO).toList();
+    }
+
+    public PriceListDTO createPriceList(PriceListDTO request) {
+        if (priceListRepository.existsByName(request.getName())) {
+            throw new IllegalArgumentException("Une liste de prix avec ce nom existe déjà: " + request.getName());
+        }
+        PriceList priceList = new PriceList();
+        priceList.setName(request.getName());
+        priceList.setCreatedAt(LocalDateTime.now());
+        priceList.setUpdatedAt(LocalDateTime.now());
+        PriceList saved = priceListRepository.save(priceList);
+        log.info("Liste de prix créée : {}", saved.getName());
+        return toDTO(saved);
+    }
+
+    /**
+     * Fixe les prix HT de plusieurs produits dans une liste (remplace les prix existants), en un lot JDBC
+     *
+     * @return nombre de prix enregistrés
+     */
+    public int putPrices(Long priceListId, Map<Long, BigDecimal> prices) {
+        PriceList priceList = priceListRepository.findByIdForUpdate(priceListId)
+            .orElseThrow(() -> new RuntimeException("Liste de prix non trouvée avec ID: " + priceListId));
+        if (prices == null || prices.isEmpty()) {
+            return 0;
+        }
+        prices.forEach((productId, price) -> {
+            if (price == null || price.signum() < 0) {
+                throw new IllegalArgumentException("Prix invalide pour le produit " + productId + " : " + price);
+            }
+        });
+        if (productRepository.countByIdIn(prices.keySet()) != prices.size()) {
+            throw new IllegalArgumentException("La liste " + priceList.getName() + " référence des produits inconnus");
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> keys = new ArrayList<>(prices.size());
+        List<Object[]> rows = new ArrayList<>(prices.size());
+        prices.forEach((productId, price) -> {
+            keys.add(new Object[]{priceListId, productId});
+            rows.add(new Object[]{priceListId, productId, price, now, now});
+        });
+        // Suppression puis insertion : portable, et sans concurrence grâce au verrou de la liste
+        jdbcTemplate.batchUpdate(DELETE_PRICE_SQL, keys);
+        jdbcTemplate.batchUpdate(INSERT_PRICE_SQL, rows);
+        pricingEngine.invalidateAfterCommit();
+        log.info("Liste de prix {} : {} prix enregistrés", priceList.getName(), rows.size());
+        return rows.size();
+    }
+
+    public void removePrice(Long priceListId, Long productId) {
+        int removed = jdbcTemplate.update(DELETE_PRICE_SQL, priceListId, productId);
+        if (removed == 0) {
+            throw new RuntimeException("Prix non trouvé pour la liste " + priceListId + " et le produit " + productId);
+        }
+        pricingEngine.invalidateAfterCommit();
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaxDTO> findAllTaxes() {
+        return taxRepository.findAll(Sort.by("code")).stream().map(PricingService::toDTO).toList();
+    }
+
+    public TaxDTO createTax(TaxDTO request) {
+        if (taxRepository.existsByCode(request.getCode())) {
+            throw new IllegalArgumentException("Une règle de TVA avec ce code existe déjà: " + request.getCode());
+        }
+        Tax tax = new Tax();
+        tax.setCode(request.getCode());
+        tax.setRate(request.getRate());
+        tax.setCreatedAt(LocalDateTime.now());
+        tax.setUpdatedAt(LocalDateTime.now());
+        Tax saved = taxRepository.save(tax);
+        pricingEngine.invalidateAfterCommit();
+        log.info("Règle de TVA créée : {} ({} %)", saved.getCode(), saved.getRate());
+        return toDTO(saved);
+    }
+
+    /**
+     * Change le taux d'une règle : s'applique à tous les produits qui la référencent
+     */
+    public TaxDTO updateTaxRate(Long id, BigDecimal rate) {
+        if (rate == null || rate.signum() < 0 || rate.compareTo(BigDecimal.valueOf(100)) > 0) {
+            throw new IllegalArgumentException("Taux de TVA invalide : " + rate);
+        }
+        Tax tax = taxRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Règle de TVA non trouvée avec ID: " + id));
+        BigDecimal previous = tax.getRate();
+        tax.setRate(rate);
+        tax.setUpdatedAt(LocalDateTime.now());
+        Tax saved = taxRepository.save(tax);
+        pricingEngine.invalidateAfterCommit();
+        log.info("Règle de TVA {} : {} % -> {} %", saved.getCode(), previous, rate);
+        return toDTO(saved);
+    }
+
+    /**
+     * Prix d'un produit pour une liste (prix catalogue si la liste ne le fixe pas), lu dans le barème compilé
+     */
+    @Transactional(readOnly = true)
+    public ResolvedPriceDTO resolve(Long productId, Long priceListId) {
+        PriceBook book = pricingEngine.current();
+        long unitCents = book.unitCents(productId, priceListId != null ? priceListId : PriceBook.BASE_LIST);
+        if (unitCents == PriceBook.MISSING) {
+            throw new RuntimeException("Produit non trouvé avec ID: " + productId);
+        }
+        long rate = book.rateBasisPoints(productId);
+        long vatCents = Amounts.tax(unitCents, rate);
+        return new ResolvedPriceDTO(productId, priceListId, Amounts.fromCents(unitCents), Amounts.fromCents(rate),
+                                    Amounts.fromCents(vatCents), Amounts.fromCents(unitCents + vatCents));
+    }
+
+    private static PriceListDTO toDTO(PriceList priceList) {
+        PriceListDTO dto = new PriceListDTO();
+        dto.setId(priceList.getId());
+        dto.setName(priceList.getName());
+        return dto;
+    }
+
+    private static TaxDTO toDTO(Tax tax) {
+        TaxDTO dto = new TaxDTO();
+        dto.setId(tax.getId());
+        dto.setCode(tax.getCode());
+        dto.setRate(tax.getRate());
+        return dto;
+    }
+}
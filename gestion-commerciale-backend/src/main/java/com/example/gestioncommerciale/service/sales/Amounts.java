@@ -0,0 +1,71 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/sales/Amounts.java
+ * @description Arithmétique des montants en centimes (long) : calculs de lignes et totaux sans BigDecimal intermédiaire
+ */
+package com.example.gestioncommerciale.service.sales;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Montants à 2 décimales portés en centimes, taux en points de base (20,00 % = 2000).
+ * Les BigDecimal ne sont créés qu'aux frontières : lecture des prix, écriture des colonnes DECIMAL(14,2).
+ */
+public final class Amounts {
+
+    private static final long BASIS_POINTS = 10_000L;
+
+    private Amounts() {
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount == null ? 0L : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static long toBasisPoints(BigDecimal rate) {
+        return toCents(rate);
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public static long lineTotal(long unitCents, int quantity) {
+        return Math.multiplyExact(unitCents, (long) quantity);
+    }
+
+    /**
+     * TVA d'une ligne, arrondie au centime le plus proche (demi vers le haut, comme RoundingMode.HALF_UP)
+     */
+    public static long tax(long htCents, long rateBasisPoints) {
+        long product = Math.multiplyExact(htCents, rateBasisPoints);
+        long half = BASIS_POINTS / 2;
+        return product >= 0 ? (product + half) / BASIS_POINTS : -((-product + half) / BASIS_POINTS);
+    }
+
+    /**
+     * Cumul des lignes d'un document, alimenté en une passe
+     */
+    public static final class Totals {
+
+        private long ht;
+        private long tax;
+
+        public void add(long lineHt, long lineTax) {
+            ht = Math.addExact(ht, lineHt);
+            tax = Math.addExact(tax, lineTax);
+        }
+
+        public long ht() {
+            return ht;
+        }
+
+        public long tax() {
+            return tax;
+        }
+
+        public long ttc() {
+            return Math.addExact(ht, tax);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/sales/InvoiceBatchWriter.java
+ * @description Facturation d'un lot de commandes livrées d'un client, point de reprise compris, en une transaction
+ */
+package com.example.gestioncommerciale.service.sales;
+
+import com.example.gestioncommerciale.service.SequenceService;
+import com.example.gestioncommerciale.service.StatisticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pas de double facturation : les commandes du lot sont verrouillées, facturées et passées à INVOICED
+ * dans la transaction qui avance le point de reprise ; une commande déjà facturée n'est plus éligible.
+ */
+@Component
+@Slf4j
+public class InvoiceBatchWriter {
+
+    private static final String SELECT_ORDERS_SQL =
+        "SELECT id, currency_code, subtotal_ht, tax_amount, total_ttc FROM orders " +
+        "WHERE customer_id = ? AND status = 'DELIVERED' AND updated_at <= ? AND id > ? " +
+        "ORDER BY id LIMIT ? FOR UPDATE";
+
+    private static final String INSERT_INVOICE_SQL =
+        "INSERT INTO invoices (code, order_id, status_code, issue_date, due_date, currency_code, " +
+        "subtotal_ht, tax_amount, total_ttc, created_at, updated_at) " +
+        "VALUES (?, ?, 'ISSUED', ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Lignes reprises des commandes en une instruction ; la borne d'identifiant écarte d'éventuelles factures antérieures
+    private static final String COPY_LINES_SQL =
+        "INSERT INTO invoice_items (invoice_id, product_id, sku, name, quantity, unit_price, tax_rate, " +
+        "line_total_ht, line_tax_amount, line_total_ttc, created_at, updated_at) " +
+        "SELECT i.id, oi.product_id, oi.sku, oi.name, oi.quantity, oi.unit_price, oi.tax_rate, " +
+        "oi.line_total_ht, oi.line_tax_amount, oi.line_total_ttc, ?, ? " +
+        "FROM invoices i JOIN order_items oi ON oi.order_id = i.order_id " +
+        "WHERE i.id > ? AND i.order_id IN (%s) ORDER BY oi.id";
+
+    private static final String MARK_INVOICED_SQL =
+        "UPDATE orders SET status = 'INVOICED', updated_at = ? WHERE status = 'DELIVERED' AND id IN (%s)";
+
+    private static final String CHECKPOINT_SQL =
+        "UPDATE invoicing_run_partitions SET last_order_id = ?, invoices_created = invoices_created + ?, " +
+        "status = ?, error = NULL, updated_at = ? WHERE id = ?";
+
+    private static final String FAIL_SQL =
+        "UPDATE invoicing_run_partitions SET status = 'FAILED', error = ?, updated_at = ? WHERE id = ?";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceService sequenceService;
+    private final StatisticsService statisticsService;
+    private final TransactionTemplate transactionTemplate;
+
+    public InvoiceBatchWriter(JdbcTemplate jdbcTemplate,
+                              SequenceService sequenceService,
+                              StatisticsService statisticsService,
+                              PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceService = sequenceService;
+        this.statisticsService = statisticsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Facture au plus chunkSize commandes du client après lastOrderId : numéros réservés en un bloc,
+     * en-têtes en un lot JDBC, lignes par INSERT ... SELECT, puis point de reprise
+     */
+    public ChunkResult invoiceChunk(Partition partition, long lastOrderId, LocalDateTime cutoff,
+                                    LocalDate issueDate, int chunkSize) {
+        return transactionTemplate.execute(status -> {
+            List<OrderTotals> orders = jdbcTemplate.query(SELECT_ORDERS_SQL,
+                (rs, rowNum) -> new OrderTotals(rs.getLong(1), rs.getString(2),
+                    rs.getBigDecimal(3), rs.getBigDecimal(4), rs.getBigDecimal(5)),
+                partition.customerId(), Timestamp.valueOf(cutoff), lastOrderId, chunkSize);
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            long last = lastOrderId;
+            if (!orders.isEmpty()) {
+                last = orders.get(orders.size() - 1).id();
+                writeInvoices(orders, issueDate, partition.paymentTermDays(), now);
+                statisticsService.invalidateAfterCommit(StatisticsService.Module.ORDERS);
+                statisticsService.invalidateAfterCommit(StatisticsService.Module.INVOICES);
+            }
+
+            boolean done = orders.size() < chunkSize;
+            jdbcTemplate.update(CHECKPOINT_SQL, last, orders.size(), done ? "DONE" : "PENDING", now, partition.id());
+            return new ChunkResult(orders.size(), last, done);
+        });
+    }
+
+    public void markFailed(Partition partition, String error) {
+        String message = error == null ? "" : error;
+        String truncated = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update(FAIL_SQL, truncated, Timestamp.valueOf(LocalDateTime.now()), partition.id()));
+    }
+
+    private void writeInvoices(List<OrderTotals> orders, LocalDate issueDate, int paymentTermDays, Timestamp now) {
+        // Borne lue avant l'insertion : seules les factures écrites ici reçoivent les lignes
+        Long floor = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM invoices", Long.class);
+
+        // En numérotation stricte, la séquence reste verrouillée jusqu'à la validation : réservée au plus tard
+        List<String> codes = sequenceService.generateInvoiceCodes(orders.size());
+        Date issued = Date.valueOf(issueDate);
+        Date due = Date.valueOf(issueDate.plusDays(paymentTermDays));
+        List<Object[]> args = new ArrayList<>(orders.size());
+        Object[] ids = new Object[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            OrderTotals order = orders.get(i);
+            args.add(new Object[] {
+                codes.get(i), order.id(), issued, due, order.currencyCode(),
+                order.subtotalHt(), order.taxAmount(), order.totalTtc(), now, now
+            });
+            ids[i] = order.id();
+        }
+        jdbcTemplate.batchUpdate(INSERT_INVOICE_SQL, args);
+
+        String placeholders = String.join(", ", Collections.nCopies(ids.length, "?"));
+        Object[] copyArgs = new Object[ids.length + 3];
+        copyArgs[0] = now;
+        copyArgs[1] = now;
+        copyArgs[2] = floor;
+        System.arraycopy(ids, 0, copyArgs, 3, ids.length);
+        jdbcTemplate.update(COPY_LINES_SQL.formatted(placeholders), copyArgs);
+
+        Object[] markArgs = new Object[ids.length + 1];
+        markArgs[0] = now;
+        System.arraycopy(ids, 0, markArgs, 1, ids.length);
+        int marked = jdbcTemplate.update(MARK_INVOICED_SQL.formatted(placeholders), markArgs);
+        if (marked != ids.length) {
+            throw new IllegalStateException("Commandes modifiées pendant la facturation : " + marked + "/" + ids.length);
+        }
+    }
+
+    /**
+     * Partition client d'une exécution, avec son délai de paiement
+     */
+    public record Partition(Long id, Long customerId, long lastOrderId, int paymentTermDays) {
+    }
+
+    public record ChunkResult(int invoices, long lastOrderId, boolean done) {
+    }
+
+    private record OrderTotals(long id, String currencyCode, BigDecimal subtotalHt, BigDecimal taxAmount,
+                               BigDecimal totalTtc) {
+    }
+}
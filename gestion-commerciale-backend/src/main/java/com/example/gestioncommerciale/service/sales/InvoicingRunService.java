@@ -0,0 +1,222 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/sales/InvoicingRunService.java
+ * @description Facturation par lot de fin de mois : partitions client en parallèle, reprise après interruption
+ */
+package com.example.gestioncommerciale.service.sales;
+
+import com.example.gestioncommerciale.config.InvoicingProperties;
+import com.example.gestioncommerciale.model.sales.InvoicingRun;
+import com.example.gestioncommerciale.repository.sales.InvoicingRunRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Une partition par client ayant des commandes livrées avant la date de coupure. Chaque partition est facturée
+ * par lots, un lot par transaction avec son point de reprise : après un arrêt brutal, la reprise repart
+ * des partitions non terminées sans refacturer les commandes déjà passées à INVOICED.
+ */
+@Service
+@Slf4j
+public class InvoicingRunService {
+
+    private static final String PLAN_PARTITIONS_SQL =
+        "INSERT INTO invoicing_run_partitions (run_id, customer_id, status, last_order_id, invoices_created, updated_at) " +
+        "SELECT ?, customer_id, 'PENDING', 0, 0, ? FROM orders " +
+        "WHERE status = 'DELIVERED' AND customer_id IS NOT NULL AND updated_at <= ? GROUP BY customer_id";
+
+    private static final String OPEN_PARTITIONS_SQL =
+        "SELECT p.id, p.customer_id, p.last_order_id, c.payment_term_days FROM invoicing_run_partitions p " +
+        "JOIN customers c ON c.id = p.customer_id WHERE p.run_id = ? AND p.status <> 'DONE' ORDER BY p.customer_id";
+
+    private static final String FINISH_SQL =
+        "UPDATE invoicing_runs SET " +
+        "partitions_done = (SELECT COUNT(*) FROM invoicing_run_partitions WHERE run_id = ? AND status = 'DONE'), " +
+        "partitions_failed = (SELECT COUNT(*) FROM invoicing_run_partitions WHERE run_id = ? AND status = 'FAILED'), " +
+        "invoices_created = (SELECT COALESCE(SUM(invoices_created), 0) FROM invoicing_run_partitions WHERE run_id = ?), " +
+        "status = CASE WHEN EXISTS (SELECT 1 FROM invoicing_run_partitions WHERE run_id = ? AND status <> 'DONE') " +
+        "THEN 'FAILED' ELSE 'COMPLETED' END, " +
+        "finished_at = ?, duration_ms = ? WHERE id = ?";
+
+    private static final String SYSTEM_USER = "system";
+
+    private final InvoicingRunRepository invoicingRunRepository;
+    private final InvoiceBatchWriter invoiceBatchWriter;
+    private final InvoicingProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public InvoicingRunService(InvoicingRunRepository invoicingRunRepository,
+                               InvoiceBatchWriter invoiceBatchWriter,
+                               InvoicingProperties properties,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager) {
+        this.invoicingRunRepository = invoicingRunRepository;
+        this.invoiceBatchWriter = invoiceBatchWriter;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public InvoicingRun getById(Long id) {
+        return invoicingRunRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Facturation non trouvée avec ID: " + id));
+    }
+
+    /**
+     * Facture toutes les commandes livrées au plus tard à cutoff, datées de issueDate
+     */
+    public InvoicingReport start(LocalDateTime cutoff, LocalDate issueDate) {
+        if (!runLock.tryLock()) {
+            throw new IllegalArgumentException("Une facturation est déjà en cours");
+        }
+        try {
+            invoicingRunRepository.findFirstByStatusOrderByIdAsc(InvoicingRun.RunStatus.RUNNING).ifPresent(run -> {
+                throw new IllegalArgumentException("Facturation " + run.getId() + " interrompue : la reprendre avant d'en lancer une autre");
+            });
+            InvoicingRun run = transactionTemplate.execute(status -> plan(cutoff, issueDate));
+            log.info("Facturation {} : {} partition(s) client, commandes livrées jusqu'au {}",
+                     run.getId(), run.getPartitionsTotal(), cutoff);
+            return execute(run);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Reprend une facturation interrompue ou en échec : seules les partitions non terminées sont traitées,
+     * chacune à partir de son dernier point de reprise
+     */
+    public InvoicingReport resume(Long runId) {
+        if (!runLock.tryLock()) {
+            throw new IllegalArgumentException("Une facturation est déjà en cours");
+        }
+        try {
+            InvoicingRun run = getById(runId);
+            if (run.getStatus() == InvoicingRun.RunStatus.COMPLETED) {
+                throw new IllegalArgumentException("Facturation " + runId + " déjà terminée");
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE invoicing_runs SET status = 'RUNNING' WHERE id = ?", runId));
+            log.info("Reprise de la facturation {}", runId);
+            return execute(run);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private InvoicingRun plan(LocalDateTime cutoff, LocalDate issueDate) {
+        LocalDateTime now = LocalDateTime.now();
+        InvoicingRun run = new InvoicingRun();
+        run.setCutoff(cutoff);
+        run.setIssueDate(issueDate);
+        run.setStartedAt(now);
+        run.setCreatedBy(currentUsername());
+        run = invoicingRunRepository.saveAndFlush(run);
+
+        int partitions = jdbcTemplate.update(PLAN_PARTITIONS_SQL, run.getId(), Timestamp.valueOf(now), Timestamp.valueOf(cutoff));
+        run.setPartitionsTotal(partitions);
+        return invoicingRunRepository.save(run);
+    }
+
+    private InvoicingReport execute(InvoicingRun run) {
+        List<InvoiceBatchWriter.Partition> partitions = jdbcTemplate.query(OPEN_PARTITIONS_SQL,
+            (rs, rowNum) -> new InvoiceBatchWriter.Partition(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getInt(4)),
+            run.getId());
+
+        int parallelism = Math.max(properties.getParallelism(), 1);
+        AtomicInteger threadIndex = new AtomicInteger();
+        // File bornée : au-delà, le thread appelant traite lui-même la partition (contre-pression)
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(parallelism * 2), runnable -> {
+                Thread thread = new Thread(runnable, "invoicing-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        AtomicInteger invoices = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long startedAt = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(partitions.size());
+            for (InvoiceBatchWriter.Partition partition : partitions) {
+                futures.add(executor.submit(() -> invoicePartition(run, partition, invoices, failed)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Facturation " + run.getId() + " interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Facturation " + run.getId() + " : erreur inattendue", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(FINISH_SQL,
+            run.getId(), run.getId(), run.getId(), run.getId(),
+            Timestamp.valueOf(LocalDateTime.now()), elapsedMillis, run.getId()));
+        InvoicingRun finished = getById(run.getId());
+
+        double perSecond = invoices.get() * 1000.0 / Math.max(elapsedMillis, 1);
+        InvoicingReport report = new InvoicingReport(finished.getId(), finished.getStatus(), partitions.size(),
+            failed.get(), invoices.get(), elapsedMillis, perSecond);
+        log.info("Facturation {} {} : {} facture(s), {} partition(s) dont {} en échec, en {} ms ({} factures/s)",
+                 report.runId(), report.status(), report.invoices(), report.partitions(), report.failedPartitions(),
+                 report.elapsedMillis(), Math.round(report.invoicesPerSecond()));
+        return report;
+    }
+
+    private void invoicePartition(InvoicingRun run, InvoiceBatchWriter.Partition partition,
+                                  AtomicInteger invoices, AtomicInteger failed) {
+        long lastOrderId = partition.lastOrderId();
+        try {
+            while (true) {
+                InvoiceBatchWriter.ChunkResult chunk = invoiceBatchWriter.invoiceChunk(
+                    partition, lastOrderId, run.getCutoff(), run.getIssueDate(), Math.max(properties.getChunkSize(), 1));
+                invoices.addAndGet(chunk.invoices());
+                lastOrderId = chunk.lastOrderId();
+                if (chunk.done()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("Facturation {} : échec pour le client {} après la commande {}",
+                      run.getId(), partition.customerId(), lastOrderId, e);
+            invoiceBatchWriter.markFailed(partition, e.getMessage());
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : SYSTEM_USER;
+    }
+
+    /**
+     * Bilan d'une passe (exécution initiale ou reprise) ; le débit porte sur les factures de cette passe
+     */
+    public record InvoicingReport(Long runId, InvoicingRun.RunStatus status, int partitions, int failedPartitions,
+                                  int invoices, long elapsedMillis, double invoicesPerSecond) {
+    }
+}
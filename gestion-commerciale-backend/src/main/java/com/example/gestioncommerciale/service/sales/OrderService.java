@@ -0,0 +1,213 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/sales/OrderService.java
+ * @description Service des commandes : création avec lignes par lot JDBC, cycle de vie et réservations de stock
+ */
+package com.example.gestioncommerciale.service.sales;
+
+import com.example.gestioncommerciale.dto.sales.OrderDTO;
+import com.example.gestioncommerciale.dto.sales.OrderItemDTO;
+import com.example.gestioncommerciale.dto.sales.OrderRequest;
+import com.example.gestioncommerciale.mapper.sales.OrderMapper;
+import com.example.gestioncommerciale.model.Customer;
+import com.example.gestioncommerciale.model.sales.Order;
+import com.example.gestioncommerciale.model.sales.Quote;
+import com.example.gestioncommerciale.model.stock.StockReservation;
+import com.example.gestioncommerciale.repository.CustomerRepository;
+import com.example.gestioncommerciale.repository.sales.OrderRepository;
+import com.example.gestioncommerciale.repository.stock.StockReservationRepository;
+import com.example.gestioncommerciale.service.SequenceService;
+import com.example.gestioncommerciale.service.StatisticsService;
+import com.example.gestioncommerciale.service.stock.StockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class OrderService {
+
+    private static final String COPY_QUOTE_ITEMS_SQL =
+        "INSERT INTO order_items (order_id, product_id, sku, name, quantity, unit_price, tax_rate, " +
+        "line_total_ht, line_tax_amount, line_total_ttc, created_at, updated_at) " +
+        "SELECT ?, product_id, sku, name, quantity, unit_price, tax_rate, " +
+        "line_total_ht, line_tax_amount, line_total_ttc, ?, ? " +
+        "FROM quote_items WHERE quote_id = ? ORDER BY id";
+
+    private static final Set<Order.OrderStatus> CANCELLABLE = EnumSet.of(Order.OrderStatus.DRAFT, Order.OrderStatus.CONFIRMED);
+
+    private final OrderRepository orderRepository;
+    private final CustomerRepository customerRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final OrderMapper orderMapper;
+    private final SalesLinePricer salesLinePricer;
+    private final SalesLineWriter salesLineWriter;
+    private final SequenceService sequenceService;
+    private final StockService stockService;
+    private final StatisticsService statisticsService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public Page<OrderDTO> findAll(Order.OrderStatus status, Long customerId, Pageable pageable) {
+        return orderRepository.findWithFilters(status, customerId, pageable).map(orderMapper::toSummaryDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderDTO getById(Long id) {
+        return orderRepository.findWithItemsById(id)
+            .map(orderMapper::toDTO)
+            .orElseThrow(() -> new RuntimeException("Commande non trouvée avec ID: " + id));
+    }
+
+    /**
+     * Crée une commande brouillon : prix de la liste du client (catalogue à défaut) lus dans le barème compilé,
+     * en-tête puis toutes les lignes en un seul lot JDBC
+     */
+    public OrderDTO create(OrderRequest request) {
+        Customer customer = null;
+        if (request.getCustomerId() != null) {
+            customer = customerRepository.findById(request.getCustomerId())
+                .orElseThrow(() -> new RuntimeException("Client non trouvé avec ID: " + request.getCustomerId()));
+        }
+        SalesLinePricer.PricedDocument priced = salesLinePricer.price(
+            request.getLines(), customer != null ? customer.getPriceListId() : null);
+
+        LocalDateTime now = LocalDateTime.now();
+        Order order = new Order();
+        order.setCode(sequenceService.generateOrderCode());
+        order.setCustomer(customer);
+        if (request.getCurrencyCode() != null) {
+            order.setCurrencyCode(request.getCurrencyCode());
+        }
+        order.setNotes(request.getNotes());
+        order.setSubtotalHt(Amounts.fromCents(priced.totals().ht()));
+        order.setTaxAmount(Amounts.fromCents(priced.totals().tax()));
+        order.setTotalTtc(Amounts.fromCents(priced.totals().ttc()));
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        Order saved = orderRepository.save(order);
+
+        salesLineWriter.insert(SalesLineWriter.Target.ORDER, saved.getId(), priced.lines(), now);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.ORDERS);
+        log.info("Commande créée : {} ({} lignes, {} TTC)", saved.getCode(), priced.lines().size(), saved.getTotalTtc());
+
+        OrderDTO dto = orderMapper.toSummaryDTO(saved);
+        dto.setItems(priced.lines().stream().map(OrderService::toItemDTO).toList());
+        return dto;
+    }
+
+    /**
+     * Commande brouillon issue d'un devis : en-tête reprenant ses totaux,
+     * lignes copiées en base par une seule instruction INSERT ... SELECT
+     */
+    public Order createFromQuote(Quote quote) {
+        LocalDateTime now = LocalDateTime.now();
+        Order order = new Order();
+        order.setCode(sequenceService.generateOrderCode());
+        order.setCustomer(quote.getCustomer());
+        order.setQuoteId(quote.getId());
+        order.setCurrencyCode(quote.getCurrencyCode());
+        order.setNotes(quote.getNotes());
+        order.setSubtotalHt(quote.getSubtotalHt());
+        order.setTaxAmount(quote.getTaxAmount());
+        order.setTotalTtc(quote.getTotalTtc());
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        Order saved = orderRepository.save(order);
+
+        Timestamp timestamp = Timestamp.valueOf(now);
+        int copied = jdbcTemplate.update(COPY_QUOTE_ITEMS_SQL, saved.getId(), timestamp, timestamp, quote.getId());
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.ORDERS);
+        log.info("Commande {} créée depuis le devis {} ({} lignes copiées)", saved.getCode(), quote.getCode(), copied);
+        return saved;
+    }
+
+    /**
+     * Confirme un brouillon et réserve en un lot le stock des produits gérés, par identifiant croissant
+     * (ordre de verrouillage stable entre commandes concurrentes) ; tout ou rien
+     */
+    public OrderDTO confirm(Long id) {
+        Order order = lockForTransition(id, EnumSet.of(Order.OrderStatus.DRAFT));
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (Object[] row : orderRepository.sumStockManagedQuantities(id)) {
+            quantities.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        stockService.reserveAll(quantities, order.getCode());
+        return transition(order, Order.OrderStatus.CONFIRMED);
+    }
+
+    /**
+     * Livre une commande confirmée : ses réservations sont consommées
+     */
+    public OrderDTO deliver(Long id) {
+        Order order = lockForTransition(id, EnumSet.of(Order.OrderStatus.CONFIRMED));
+        for (StockReservation reservation : activeReservations(order)) {
+            stockService.commit(reservation.getId());
+        }
+        return transition(order, Order.OrderStatus.DELIVERED);
+    }
+
+    /**
+     * Annule un brouillon ou une commande confirmée : ses réservations sont libérées
+     */
+    public OrderDTO cancel(Long id) {
+        Order order = lockForTransition(id, CANCELLABLE);
+        for (StockReservation reservation : activeReservations(order)) {
+            stockService.release(reservation.getId());
+        }
+        return transition(order, Order.OrderStatus.CANCELLED);
+    }
+
+    private Order lockForTransition(Long id, Set<Order.OrderStatus> allowed) {
+        Order order = orderRepository.findByIdForUpdate(id)
+            .orElseThrow(() -> new RuntimeException("Commande non trouvée avec ID: " + id));
+        if (!allowed.contains(order.getStatus())) {
+            throw new IllegalArgumentException("Commande " + order.getCode() + " au statut " + order.getStatus()
+                + " : statut attendu " + allowed);
+        }
+        return order;
+    }
+
+    private List<StockReservation> activeReservations(Order order) {
+        return stockReservationRepository.findByReferenceOrderByIdAsc(order.getCode()).stream()
+            .filter(reservation -> reservation.getStatus() == StockReservation.ReservationStatus.ACTIVE)
+            .toList();
+    }
+
+    private OrderDTO transition(Order order, Order.OrderStatus status) {
+        Order.OrderStatus previous = order.getStatus();
+        order.setStatus(status);
+        order.setUpdatedAt(LocalDateTime.now());
+        Order saved = orderRepository.save(order);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.ORDERS);
+        log.info("Commande {} : {} -> {}", saved.getCode(), previous, status);
+        return orderMapper.toSummaryDTO(saved);
+    }
+
+    private static OrderItemDTO toItemDTO(SalesLinePricer.PricedLine line) {
+        OrderItemDTO item = new OrderItemDTO();
+        item.setProductId(line.productId());
+        item.setSku(line.sku());
+        item.setName(line.name());
+        item.setQuantity(line.quantity());
+        item.setUnitPrice(Amounts.fromCents(line.unitCents()));
+        item.setTaxRate(Amounts.fromCents(line.rateBasisPoints()));
+        item.setLineTotalHt(Amounts.fromCents(line.htCents()));
+        item.setLineTaxAmount(Amounts.fromCents(line.taxCents()));
+        item.setLineTotalTtc(Amounts.fromCents(line.ttcCents()));
+        return item;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/sales/QuoteService.java
+ * @description Service des devis : création avec lignes par lot JDBC, cycle de vie et conversion ensembliste en commande
+ */
+package com.example.gestioncommerciale.service.sales;
+
+import com.example.gestioncommerciale.dto.sales.OrderDTO;
+import com.example.gestioncommerciale.dto.sales.QuoteConversionDTO;
+import com.example.gestioncommerciale.dto.sales.QuoteDTO;
+import com.example.gestioncommerciale.dto.sales.QuoteItemDTO;
+import com.example.gestioncommerciale.dto.sales.QuoteRequest;
+import com.example.gestioncommerciale.mapper.sales.QuoteMapper;
+import com.example.gestioncommerciale.model.Customer;
+import com.example.gestioncommerciale.model.sales.Order;
+import com.example.gestioncommerciale.model.sales.Quote;
+import com.example.gestioncommerciale.repository.CustomerRepository;
+import com.example.gestioncommerciale.repository.sales.QuoteRepository;
+import com.example.gestioncommerciale.service.SequenceService;
+import com.example.gestioncommerciale.service.stock.InsufficientStockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class QuoteService {
+
+    private static final Set<Quote.QuoteStatus> OPEN = EnumSet.of(Quote.QuoteStatus.DRAFT, Quote.QuoteStatus.SENT);
+
+    private final QuoteRepository quoteRepository;
+    private final CustomerRepository customerRepository;
+    private final QuoteMapper quoteMapper;
+    private final SalesLinePricer salesLinePricer;
+    private final SalesLineWriter salesLineWriter;
+    private final SequenceService sequenceService;
+    private final OrderService orderService;
+
+    @Transactional(readOnly = true)
+    public Page<QuoteDTO> findAll(Quote.QuoteStatus status, Long customerId, Pageable pageable) {
+        return quoteRepository.findWithFilters(status, customerId, pageable).map(quoteMapper::toSummaryDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public QuoteDTO getById(Long id) {
+        return quoteRepository.findWithItemsById(id)
+            .map(quoteMapper::toDTO)
+            .orElseThrow(() -> new RuntimeException("Devis non trouvé avec ID: " + id));
+    }
+
+    /**
+     * Crée un devis brouillon : même valorisation que les commandes, lignes en un seul lot JDBC
+     */
+    public QuoteDTO create(QuoteRequest request) {
+        Customer customer = null;
+        if (request.getCustomerId() != null) {
+            customer = customerRepository.findById(request.getCustomerId())
+                .orElseThrow(() -> new RuntimeException("Client non trouvé avec ID: " + request.getCustomerId()));
+        }
+        SalesLinePricer.PricedDocument priced = salesLinePricer.price(
+            request.getLines(), customer != null ? customer.getPriceListId() : null);
+
+        LocalDateTime now = LocalDateTime.now();
+        Quote quote = new Quote();
+        quote.setCode(sequenceService.generateQuoteCode());
+        quote.setCustomer(customer);
+        if (request.getCurrencyCode() != null) {
+            quote.setCurrencyCode(request.getCurrencyCode());
+        }
+        quote.setValidUntil(request.getValidUntil());
+        quote.setNotes(request.getNotes());
+        quote.setSubtotalHt(Amounts.fromCents(priced.totals().ht()));
+        quote.setTaxAmount(Amounts.fromCents(priced.totals().tax()));
+        quote.setTotalTtc(Amounts.fromCents(priced.totals().ttc()));
+        quote.setCreatedAt(now);
+        quote.setUpdatedAt(now);
+        Quote saved = quoteRepository.save(quote);
+
+        salesLineWriter.insert(SalesLineWriter.Target.QUOTE, saved.getId(), priced.lines(), now);
+        log.info("Devis créé : {} ({} lignes, {} TTC)", saved.getCode(), priced.lines().size(), saved.getTotalTtc());
+
+        QuoteDTO dto = quoteMapper.toSummaryDTO(saved);
+        dto.setItems(priced.lines().stream().map(QuoteService::toItemDTO).toList());
+        return dto;
+    }
+
+    public QuoteDTO send(Long id) {
+        return transition(lock(id, EnumSet.of(Quote.QuoteStatus.DRAFT)), Quote.QuoteStatus.SENT);
+    }
+
+    public QuoteDTO accept(Long id) {
+        Quote quote = lock(id, OPEN);
+        if (quote.isExpired()) {
+            throw new IllegalArgumentException("Devis " + quote.getCode() + " expiré le " + quote.getValidUntil());
+        }
+        return transition(quote, Quote.QuoteStatus.ACCEPTED);
+    }
+
+    public QuoteDTO reject(Long id) {
+        return transition(lock(id, OPEN), Quote.QuoteStatus.REJECTED);
+    }
+
+    /**
+     * Convertit un devis accepté en commande confirmée, dans une seule transaction :
+     * revalidation de toutes les lignes (produits, prix, stock) en une requête groupée,
+     * copie des lignes par INSERT ... SELECT puis réservation du stock en lot.
+     * Les prix devisés sont conservés ; les écarts avec le catalogue sont retournés.
+     */
+    public QuoteConversionDTO convertToOrder(Long id) {
+        Quote quote = lock(id, EnumSet.of(Quote.QuoteStatus.ACCEPTED));
+        if (quote.isExpired()) {
+            throw new IllegalArgumentException("Devis " + quote.getCode() + " expiré le " + quote.getValidUntil());
+        }
+
+        List<QuoteConversionDTO.PriceChange> priceChanges = new ArrayList<>();
+        List<String> invalid = new ArrayList<>();
+        List<String> shortages = new ArrayList<>();
+        InsufficientStockException firstShortage = null;
+        for (Object[] row : quoteRepository.revalidateLines(
+                quote.getId(), quote.getCustomer() != null ? quote.getCustomer().getPriceListId() : null)) {
+            Long productId = (Long) row[0];
+            String sku = (String) row[1];
+            int quantity = ((Number) row[2]).intValue();
+            if (row[4] == null) {
+                invalid.add(sku + " : produit supprimé");
+                continue;
+            }
+            if (!Boolean.TRUE.equals(row[5])) {
+                invalid.add(sku + " : produit inactif");
+                continue;
+            }
+            if (((Number) row[3]).intValue() > 0) {
+                priceChanges.add(new QuoteConversionDTO.PriceChange(productId, sku, (BigDecimal) row[8], (BigDecimal) row[9]));
+            }
+            int available = ((Number) row[7]).intValue();
+            if (Boolean.TRUE.equals(row[6]) && available < quantity) {
+                shortages.add(sku + " (" + quantity + " demandé(s), " + available + " disponible(s))");
+                if (firstShortage == null) {
+                    firstShortage = new InsufficientStockException(productId, quantity, available);
+                }
+            }
+        }
+        if (!invalid.isEmpty()) {
+            throw new IllegalArgumentException("Devis " + quote.getCode() + " non convertible : " + String.join(", ", invalid));
+        }
+        if (firstShortage != null) {
+            throw new InsufficientStockException("Stock insuffisant pour le devis " + quote.getCode() + " : "
+                + String.join(", ", shortages),
+                firstShortage.getProductId(), firstShortage.getRequested(), firstShortage.getAvailable());
+        }
+
+        // La réservation reste l'arbitre final : un concurrent peut consommer le stock entre lecture et réservation
+        Order order = orderService.createFromQuote(quote);
+        OrderDTO confirmed = orderService.confirm(order.getId());
+        transition(quote, Quote.QuoteStatus.CONVERTED);
+        if (!priceChanges.isEmpty()) {
+            log.warn("Devis {} converti avec {} prix différents du catalogue (prix devisés conservés)",
+                quote.getCode(), priceChanges.size());
+        }
+        return new QuoteConversionDTO(confirmed, priceChanges);
+    }
+
+    private Quote lock(Long id, Set<Quote.QuoteStatus> allowed) {
+        Quote quote = quoteRepository.findByIdForUpdate(id)
+            .orElseThrow(() -> new RuntimeException("Devis non trouvé avec ID: " + id));
+        if (!allowed.contains(quote.getStatus())) {
+            throw new IllegalArgumentException("Devis " + quote.getCode() + " au statut " + quote.getStatus()
+                + " : statut attendu " + allowed);
+        }
+        return quote;
+    }
+
+    private QuoteDTO transition(Quote quote, Quote.QuoteStatus status) {
+        Quote.QuoteStatus previous = quote.getStatus();
+        quote.setStatus(status);
+        quote.setUpdatedAt(LocalDateTime.now());
+        Quote saved = quoteRepository.save(quote);
+        log.info("Devis {} : {} -> {}", saved.getCode(), previous, status);
+        return quoteMapper.toSummaryDTO(saved);
+    }
+
+    private static QuoteItemDTO toItemDTO(SalesLinePricer.PricedLine line) {
+        QuoteItemDTO item = new QuoteItemDTO();
+        item.setProductId(line.productId());
+        item.setSku(line.sku());
+        item.setName(line.name());
+        item.setQuantity(line.quantity());
+        item.setUnitPrice(Amounts.fromCents(line.unitCents()));
+        item.setTaxRate(Amounts.fromCents(line.rateBasisPoints()));
+        item.setLineTotalHt(Amounts.fromCents(line.htCents()));
+        item.setLineTaxAmount(Amounts.fromCents(line.taxCents()));
+        item.setLineTotalTtc(Amounts.fromCents(line.ttcCents()));
+        return item;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/sales/SalesLinePricer.java
+ * @description Valorisation des lignes d'un document de vente : instantané produits en une requête, prix du barème compilé, totaux en une passe
+ */
+package com.example.gestioncommerciale.service.sales;
+
+import com.example.gestioncommerciale.dto.sales.SalesLineRequest;
+import com.example.gestioncommerciale.repository.catalog.ProductRepository;
+import com.example.gestioncommerciale.service.pricing.PriceBook;
+import com.example.gestioncommerciale.service.pricing.PricingEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SalesLinePricer {
+
+    private final ProductRepository productRepository;
+    private final PricingEngine pricingEngine;
+
+    public PricedDocument price(List<SalesLineRequest> lines) {
+        return price(lines, null);
+    }
+
+    /**
+     * Lit identité, état et prix catalogue de tous les produits demandés en une requête ; prix de liste et TVA
+     * effective viennent du barème compilé, puis lignes et totaux sont calculés en centimes
+     *
+     * @param priceListId liste de prix du client, null pour le prix catalogue
+     */
+    public PricedDocument price(List<SalesLineRequest> lines, Long priceListId) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Le document doit contenir au moins une ligne");
+        }
+
+        Set<Long> productIds = new HashSet<>();
+        for (SalesLineRequest line : lines) {
+            if (line.getProductId() == null) {
+                throw new IllegalArgumentException("Le produit est requis sur chaque ligne");
+            }
+            if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new IllegalArgumentException("La quantité doit être positive (produit " + line.getProductId() + ")");
+            }
+            productIds.add(line.getProductId());
+        }
+
+        Map<Long, ProductSnapshot> snapshots = new HashMap<>(productIds.size() * 2);
+        for (Object[] row : productRepository.findPricingSnapshots(productIds)) {
+            ProductSnapshot snapshot = new ProductSnapshot(
+                (Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                Amounts.toCents((BigDecimal) row[4]), Amounts.toBasisPoints((BigDecimal) row[5]),
+                Boolean.TRUE.equals(row[6])
+            );
+            snapshots.put(snapshot.id(), snapshot);
+        }
+
+        // Un prix catalogue modifié hors services (SQL direct) n'est pas encore dans le barème : les lignes concernées
+        // sont valorisées depuis l'instantané lu ci-dessus, le barème suit l'invalidation des écritures
+        PriceBook book = pricingEngine.current();
+        long listId = priceListId != null ? priceListId : PriceBook.BASE_LIST;
+
+        List<PricedLine> priced = new ArrayList<>(lines.size());
+        Amounts.Totals totals = new Amounts.Totals();
+        for (SalesLineRequest line : lines) {
+            ProductSnapshot product = snapshots.get(line.getProductId());
+            if (product == null) {
+                throw new RuntimeException("Produit non trouvé avec ID: " + line.getProductId());
+            }
+            if (!product.active()) {
+                throw new IllegalArgumentException("Le produit " + product.code() + " est inactif");
+            }
+            long unitCents = product.unitCents();
+            long rateBasisPoints = product.rateBasisPoints();
+            if (book.unitCents(product.id(), PriceBook.BASE_LIST) == unitCents) {
+                unitCents = book.unitCents(product.id(), listId);
+                rateBasisPoints = book.rateBasisPoints(product.id());
+            } else {
+                log.debug("Prix du produit {} absent du barème : valorisé depuis l'instantané", product.code());
+            }
+            long ht = Amounts.lineTotal(unitCents, line.getQuantity());
+            long tax = Amounts.tax(ht, rateBasisPoints);
+            totals.add(ht, tax);
+            priced.add(new PricedLine(product.id(), product.sku() != null ? product.sku() : product.code(),
+                product.name(), line.getQuantity(), unitCents, rateBasisPoints, ht, tax));
+        }
+        return new PricedDocument(priced, totals);
+    }
+
+    private record ProductSnapshot(Long id, String code, String sku, String name,
+                                   long unitCents, long rateBasisPoints, boolean active) {
+    }
+
+    /**
+     * Ligne valorisée : montants en centimes, taux en points de base
+     */
+    public record PricedLine(Long productId, String sku, String name, int quantity,
+                             long unitCents, long rateBasisPoints, long htCents, long taxCents) {
+
+        public long ttcCents() {
+            return htCents + taxCents;
+        }
+    }
+
+    public record PricedDocument(List<PricedLine> lines, Amounts.Totals totals) {
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/sales/SalesLineWriter.java
+ * @description Écriture des lignes valorisées d'un document de vente en un seul lot JDBC
+ */
+package com.example.gestioncommerciale.service.sales;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Les clés IDENTITY empêchent Hibernate de grouper les insertions : les lignes passent par JdbcTemplate,
+ * un lot par document (une seule instruction multi-lignes avec rewriteBatchedStatements sous MySQL)
+ */
+@Component
+@RequiredArgsConstructor
+public class SalesLineWriter {
+
+    public enum Target {
+        ORDER("order_items", "order_id"),
+        QUOTE("quote_items", "quote_id");
+
+        private final String sql;
+
+        Target(String table, String parentColumn) {
+            this.sql = "INSERT INTO " + table + " (" + parentColumn + ", product_id, sku, name, quantity, unit_price, " +
+                "tax_rate, line_total_ht, line_tax_amount, line_total_ttc, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(Target target, Long parentId, List<SalesLinePricer.PricedLine> lines, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object[]> args = new ArrayList<>(lines.size());
+        for (SalesLinePricer.PricedLine line : lines) {
+            args.add(new Object[] {
+                parentId, line.productId(), line.sku(), line.name(), line.quantity(),
+                Amounts.fromCents(line.unitCents()), Amounts.fromCents(line.rateBasisPoints()),
+                Amounts.fromCents(line.htCents()), Amounts.fromCents(line.taxCents()), Amounts.fromCents(line.ttcCents()),
+                timestamp, timestamp
+            });
+        }
+        jdbcTemplate.batchUpdate(target.sql, args);
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/search/InvertedIndex.java
+ * @description Index inversé en mémoire (préfixes + trigrammes) pour l'autocomplétion
+ */
+package com.example.gestioncommerciale.service.search;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé thread-safe : lectures sans verrou, écritures sérialisées.
+ *
+ * @param <D> attributs du document utilisés pour filtrer les résultats
+ */
+public class InvertedIndex<D> {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final int SCORE_EXACT = 3;
+    private static final int SCORE_PREFIX = 2;
+    private static final int SCORE_INFIX = 1;
+
+    private final String name;
+    private final Map<Long, Document<D>> documents = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> tokens = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<Long>> trigrams = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile boolean ready;
+    private volatile long lastBuildMillis;
+
+    public InvertedIndex(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Indexe (ou réindexe) un document à partir des valeurs de ses champs
+     */
+    public void put(long id, D attributes, String sortKey, String... fieldValues) {
+        Set<String> docTokens = new LinkedHashSet<>();
+        for (String value : fieldValues) {
+            if (value == null || value.isBlank()) {
+                continue;
+            }
+            String normalized = normalize(value);
+            for (String token : SEPARATORS.split(normalized)) {
+                if (!token.isEmpty()) {
+                    docTokens.add(token);
+                }
+            }
+            // Valeur complète sans espaces : "jean.dupont@acme.fr", "0123456789"
+            String compact = WHITESPACE.matcher(normalized).replaceAll("");
+            if (!compact.isEmpty()) {
+                docTokens.add(compact);
+            }
+        }
+
+        Document<D> document = new Document<>(attributes, sortKey != null ? sortKey : "", docTokens.toArray(String[]::new));
+
+        writeLock.lock();
+        try {
+            unlink(id);
+            documents.put(id, document);
+            for (String token : document.tokens) {
+                tokens.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(id);
+                for (String trigram : trigramsOf(token)) {
+                    trigrams.computeIfAbsent(trigram, t -> ConcurrentHashMap.newKeySet()).add(id);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(long id) {
+        writeLock.lock();
+        try {
+            unlink(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void markReady(long buildMillis) {
+        this.lastBuildMillis = buildMillis;
+        this.ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Recherche ET sur les mots saisis : mot exact, puis préfixe, puis sous-chaîne (trigrammes).
+     * Retourne la tranche [offset, offset + limit) des identifiants classés et le total.
+     */
+    public SearchHits search(String query, Predicate<D> filter, int offset, int limit) {
+        List<String> terms = new ArrayList<>();
+        for (String term : WHITESPACE.split(normalize(query == null ? "" : query).trim())) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        if (terms.isEmpty()) {
+            return new SearchHits(List.of(), 0);
+        }
+
+        Map<Long, Integer> scores = null;
+        for (String term : terms) {
+            Map<Long, Integer> termScores = match(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Long, Integer> intersection = new HashMap<>();
+                for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                    Integer score = termScores.get(entry.getKey());
+                    if (score != null) {
+                        intersection.put(entry.getKey(), entry.getValue() + score);
+                    }
+                }
+                scores = intersection;
+            }
+            if (scores.isEmpty()) {
+                return new SearchHits(List.of(), 0);
+            }
+        }
+
+        // Tas borné aux (offset + limit) meilleurs : le pire en tête
+        Comparator<Hit> ranking = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparing(Hit::sortKey)
+            .thenComparingLong(Hit::id);
+        int capacity = Math.max(offset + limit, 1);
+        PriorityQueue<Hit> best = new PriorityQueue<>(capacity, ranking.reversed());
+        int total = 0;
+
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            Document<D> document = documents.get(entry.getKey());
+            if (document == null || (filter != null && !filter.test(document.attributes))) {
+                continue;
+            }
+            total++;
+            best.offer(new Hit(entry.getKey(), entry.getValue(), document.sortKey));
+            if (best.size() > capacity) {
+                best.poll();
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(ranking);
+        List<Long> ids = new ArrayList<>(Math.min(limit, Math.max(ranked.size() - offset, 0)));
+        for (int i = offset; i < ranked.size() && ids.size() < limit; i++) {
+            ids.add(ranked.get(i).id());
+        }
+        return new SearchHits(ids, total);
+    }
+
+    /**
+     * Estimation de l'empreinte mémoire (modèle JVM 64 bits, oops compressés)
+     */
+    public IndexStats stats() {
+        long postings = 0;
+        long bytes = 0;
+        for (Map.Entry<String, Set<Long>> entry : tokens.entrySet()) {
+            postings += entry.getValue().size();
+            bytes += 48 + stringBytes(entry.getKey()) + 64;
+        }
+        long trigramPostings = 0;
+        for (Map.Entry<String, Set<Long>> entry : trigrams.entrySet()) {
+            trigramPostings += entry.getValue().size();
+            bytes += 32 + stringBytes(entry.getKey()) + 64;
+        }
+        // Entrée de jeu concurrent : nœud (32) + Long (16)
+        bytes += (postings + trigramPostings) * 48;
+        for (Document<D> document : documents.values()) {
+            bytes += 32 + 16 + 24 + stringBytes(document.sortKey) + 16L + 4L * document.tokens.length;
+        }
+
+        int count = documents.size();
+        long per100k = count == 0 ? 0 : bytes * 100_000L / count;
+        return new IndexStats(name, count, tokens.size(), trigrams.size(),
+            postings + trigramPostings, bytes, per100k, lastBuildMillis, ready);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Exécute l'action après le commit de la transaction courante (immédiatement sinon)
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase();
+    }
+
+    private Map<Long, Integer> match(String term) {
+        Map<Long, Integer> scores = new HashMap<>();
+
+        NavigableMap<String, Set<Long>> prefixed = tokens.subMap(term, true, term + Character.MAX_VALUE, true);
+        for (Map.Entry<String, Set<Long>> entry : prefixed.entrySet()) {
+            int score = entry.getKey().equals(term) ? SCORE_EXACT : SCORE_PREFIX;
+            for (Long id : entry.getValue()) {
+                scores.merge(id, score, Math::max);
+            }
+        }
+
+        if (term.length() >= 3) {
+            Set<Long> candidates = null;
+            for (String trigram : trigramsOf(term)) {
+                Set<Long> posting = trigrams.get(trigram);
+                if (posting == null) {
+                    candidates = Set.of();
+                    break;
+                }
+                if (candidates == null) {
+                    candidates = new HashSet<>(posting);
+                } else {
+                    candidates.retainAll(posting);
+                }
+                if (candidates.isEmpty()) {
+                    break;
+                }
+            }
+            if (candidates != null) {
+                for (Long id : candidates) {
+                    if (scores.containsKey(id)) {
+                        continue;
+                    }
+                    Document<D> document = documents.get(id);
+                    if (document != null && document.containsInfix(term)) {
+                        scores.put(id, SCORE_INFIX);
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void unlink(long id) {
+        Document<D> previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens) {
+            removePosting(tokens, token, id);
+            for (String trigram : trigramsOf(token)) {
+                removePosting(trigrams, trigram, id);
+            }
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, long id) {
+        Set<Long> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(key, ids);
+            }
+        }
+    }
+
+    private static List<String> trigramsOf(String token) {
+        if (token.length() < 3) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(token.length() - 2);
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            result.add(token.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static long stringBytes(String value) {
+        // En-tête String (24) + tableau byte[] (16 + longueur, chaînes compactes)
+        return 40L + value.length();
+    }
+
+    private static final class Document<D> {
+        private final D attributes;
+        private final String sortKey;
+        private final String[] tokens;
+
+        private Document(D attributes, String sortKey, String[] tokens) {
+            this.attributes = attributes;
+            this.sortKey = sortKey;
+            this.tokens = tokens;
+        }
+
+        private boolean containsInfix(String term) {
+            for (String token : tokens) {
+                if (token.contains(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Hit(long id, int score, String sortKey) {
+    }
+
+    public record SearchHits(List<Long> ids, long total) {
+    }
+
+    public record IndexStats(
+        String name,
+        int documents,
+        int tokens,
+        int trigrams,
+        long postings,
+        long estimatedBytes,
+        long estimatedBytesPer100k,
+        long lastBuildMillis,
+        boolean ready
+    ) {
+    }
+}
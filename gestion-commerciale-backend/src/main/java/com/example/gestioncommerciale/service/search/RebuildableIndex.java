@@ -0,0 +1,86 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/search/RebuildableIndex.java
+ * @description Index inversé reconstruit à part puis substitué d'un bloc, sans perdre les modifications reçues entre-temps
+ */
+package com.example.gestioncommerciale.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Les recherches lisent toujours un index complet : la reconstruction remplit un nouvel index pendant que
+ * l'ancien reste servi et continue de recevoir les modifications validées. Ces modifications sont aussi
+ * mémorisées puis rejouées sur le nouvel index avant la substitution ; deux reconstructions ne se chevauchent pas.
+ *
+ * @param <D> attributs du document utilisés pour filtrer les résultats
+ */
+public class RebuildableIndex<D> {
+
+    private final String name;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Object changesLock = new Object();
+
+    private volatile InvertedIndex<D> current;
+    // Modifications reçues pendant une reconstruction, null hors reconstruction (gardé par changesLock)
+    private List<Consumer<InvertedIndex<D>>> pending;
+
+    public RebuildableIndex(String name) {
+        this.name = name;
+        this.current = new InvertedIndex<>(name);
+    }
+
+    /**
+     * Index servi aux recherches
+     */
+    public InvertedIndex<D> current() {
+        return current;
+    }
+
+    /**
+     * Applique une modification à l'index servi, et à l'index en construction s'il y en a un
+     */
+    public void apply(Consumer<InvertedIndex<D>> change) {
+        synchronized (changesLock) {
+            change.accept(current);
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+    }
+
+    /**
+     * Construit un nouvel index avec le chargeur, rejoue les modifications reçues pendant le chargement
+     * puis le substitue à l'index servi
+     *
+     * @return durée de la reconstruction en millisecondes
+     */
+    public long rebuild(Consumer<InvertedIndex<D>> loader) {
+        rebuildLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            InvertedIndex<D> fresh = new InvertedIndex<>(name);
+            synchronized (changesLock) {
+                pending = new ArrayList<>();
+            }
+            try {
+                loader.accept(fresh);
+                synchronized (changesLock) {
+                    // Modification validée après la lecture de sa ligne : la plus récente, rejouée en dernier
+                    pending.forEach(change -> change.accept(fresh));
+                    long elapsed = System.currentTimeMillis() - start;
+                    fresh.markReady(elapsed);
+                    current = fresh;
+                    return elapsed;
+                }
+            } finally {
+                synchronized (changesLock) {
+                    pending = null;
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+}
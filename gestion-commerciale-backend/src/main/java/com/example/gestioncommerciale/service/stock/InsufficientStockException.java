@@ -0,0 +1,39 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/stock/InsufficientStockException.java
+ * @description Réservation refusée : le stock disponible ne couvre pas la quantité demandée
+ */
+package com.example.gestioncommerciale.service.stock;
+
+public class InsufficientStockException extends IllegalStateException {
+
+    private final Long productId;
+    private final int requested;
+    private final int available;
+
+    public InsufficientStockException(Long productId, int requested, int available) {
+        this("Stock insuffisant pour le produit " + productId + " : " + requested + " demandé(s), " + available + " disponible(s)",
+             productId, requested, available);
+    }
+
+    /**
+     * Message couvrant plusieurs produits ; les champs portent le premier manque
+     */
+    public InsufficientStockException(String message, Long productId, int requested, int available) {
+        super(message);
+        this.productId = productId;
+        this.requested = requested;
+        this.available = available;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+}
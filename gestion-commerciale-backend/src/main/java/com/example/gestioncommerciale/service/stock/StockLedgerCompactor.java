@@ -0,0 +1,149 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/stock/StockLedgerCompactor.java
+ * @description Compactage périodique du journal de stock : mouvements anciens fusionnés en un instantané par produit
+ */
+package com.example.gestioncommerciale.service.stock;
+
+import com.example.gestioncommerciale.config.StockProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * La somme des mouvements d'un produit est invariante : l'instantané porte la somme des lignes supprimées.
+ * Seuls des mouvements antérieurs à la rétention sont touchés, bien plus anciens que toute transaction en cours,
+ * et chaque lot de produits est compacté dans sa propre transaction.
+ */
+@Component
+@Slf4j
+public class StockLedgerCompactor implements SmartLifecycle {
+
+    private static final String SNAPSHOT_SQL =
+        "INSERT INTO stock_movements (product_id, type, quantity, reference, created_at, created_by) " +
+        "SELECT product_id, 'SNAPSHOT', SUM(quantity), 'Compactage', MAX(created_at), 'system' " +
+        "FROM stock_movements WHERE product_id IN (%s) AND created_at < ? AND id <= ? " +
+        "GROUP BY product_id";
+
+    private static final String DELETE_SQL =
+        "DELETE FROM stock_movements WHERE product_id IN (%s) AND created_at < ? AND id <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StockProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock compactionLock = new ReentrantLock();
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public StockLedgerCompactor(JdbcTemplate jdbcTemplate,
+                                StockProperties properties,
+                                PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public CompactionResult compact() {
+        return compact(LocalDateTime.now().minus(properties.getCompactionRetention()));
+    }
+
+    /**
+     * Fusionne, pour chaque produit ayant au moins deux mouvements antérieurs à la date, ces mouvements en un seul
+     */
+    public CompactionResult compact(LocalDateTime before) {
+        compactionLock.lock();
+        try {
+            Timestamp cutoff = Timestamp.valueOf(before);
+            int products = 0;
+            int removed = 0;
+            long lastProductId = 0;
+            while (true) {
+                List<Long> batch = jdbcTemplate.queryForList(
+                    "SELECT product_id FROM stock_movements WHERE created_at < ? AND product_id > ? " +
+                    "GROUP BY product_id HAVING COUNT(*) > 1 ORDER BY product_id LIMIT ?",
+                    Long.class, cutoff, lastProductId, properties.getCompactionBatchSize());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                lastProductId = batch.get(batch.size() - 1);
+                Integer deleted = transactionTemplate.execute(status -> compactBatch(batch, cutoff));
+                products += batch.size();
+                removed += deleted == null ? 0 : deleted;
+            }
+            if (products > 0) {
+                log.info("Journal de stock compacté : {} produit(s), {} mouvement(s) fusionné(s) avant {}", products, removed, before);
+            }
+            return new CompactionResult(products, removed);
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    private int compactBatch(List<Long> productIds, Timestamp cutoff) {
+        // Borne fixée avant l'insertion : les instantanés créés ici ne sont pas supprimés dans la foulée
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM stock_movements", Long.class);
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        Object[] args = new Object[productIds.size() + 2];
+        System.arraycopy(productIds.toArray(), 0, args, 0, productIds.size());
+        args[productIds.size()] = cutoff;
+        args[productIds.size() + 1] = maxId;
+
+        jdbcTemplate.update(SNAPSHOT_SQL.formatted(placeholders), args);
+        return jdbcTemplate.update(DELETE_SQL.formatted(placeholders), args) - productIds.size();
+    }
+
+    @Override
+    public void start() {
+        long intervalMillis = properties.getCompactionInterval().toMillis();
+        if (intervalMillis <= 0 || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                compact();
+            } catch (RuntimeException e) {
+                log.error("Échec du compactage du journal de stock", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Compactage du journal de stock planifié toutes les {} (rétention {})",
+                 properties.getCompactionInterval(), properties.getCompactionRetention());
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService current = scheduler;
+        if (current != null) {
+            current.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * @param removed mouvements supprimés, déduction faite des instantanés créés
+     */
+    public record CompactionResult(int products, int removed) {
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * @path src/main/java/com/example/gestioncommerciale/service/stock/StockService.java
+ * @description Réservations, libérations, consommations et ajustements de stock par décréments conditionnels atomiques
+ */
+package com.example.gestioncommerciale.service.stock;
+
+import com.example.gestioncommerciale.model.stock.StockMovement;
+import com.example.gestioncommerciale.model.stock.StockReservation;
+import com.example.gestioncommerciale.repository.stock.StockMovementRepository;
+import com.example.gestioncommerciale.service.StatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * products.stock_quantity est le stock disponible, projection de la somme des mouvements du produit.
+ * Chaque écriture modifie la ligne produit (verrou de ligne) puis ajoute son mouvement dans la même transaction :
+ * le journal et la projection restent égaux à chaque commit, sans lecture préalable ni perte de mise à jour.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class StockService {
+
+    private static final String SYSTEM_USER = "system";
+
+    private static final String RESERVE_SQL =
+        "UPDATE products SET stock_quantity = stock_quantity - ? " +
+        "WHERE id = ? AND stock_managed = TRUE AND stock_quantity >= ?";
+
+    private static final String RESTORE_SQL =
+        "UPDATE products SET stock_quantity = stock_quantity + ? WHERE id = ?";
+
+    private static final String CLOSE_RESERVATION_SQL =
+        "UPDATE stock_reservations SET status = ?, closed_at = ? WHERE id = ? AND status = 'ACTIVE'";
+
+    private static final String INSERT_RESERVATION_SQL =
+        "INSERT INTO stock_reservations (product_id, quantity, reference, status, created_at, created_by) " +
+        "VALUES (?, ?, ?, 'ACTIVE', ?, ?)";
+
+    private static final String INSERT_MOVEMENT_SQL =
+        "INSERT INTO stock_movements (product_id, type, quantity, reservation_id, reference, created_at, created_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StockMovementRepository stockMovementRepository;
+    private final StatisticsService statisticsService;
+
+    /**
+     * Retire la quantité du disponible si, et seulement si, elle est couverte ;
+     * la vérification et le décrément forment une seule instruction
+     */
+    public StockReservation reserve(Long productId, int quantity, String reference) {
+        requirePositive(quantity);
+        LocalDateTime now = LocalDateTime.now();
+        String username = currentUsername();
+
+        if (jdbcTemplate.update(RESERVE_SQL, quantity, productId, quantity) == 0) {
+            throw rejection(productId, quantity);
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_RESERVATION_SQL, Statement.RETURN_GENERATED_KEYS);
+            statement.setLong(1, productId);
+            statement.setInt(2, quantity);
+            statement.setString(3, reference);
+            statement.setTimestamp(4, Timestamp.valueOf(now));
+            statement.setString(5, username);
+            return statement;
+        }, keyHolder);
+        Long reservationId = keyHolder.getKeyAs(Number.class).longValue();
+
+        insertMovement(productId, StockMovement.MovementType.RESERVATION, -quantity, reservationId, reference, now, username);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.PRODUCTS);
+        log.debug("Réservation {} : {} unité(s) du produit {} ({})", reservationId, quantity, productId, reference);
+
+        StockReservation reservation = new StockReservation();
+        reservation.setId(reservationId);
+        reservation.setProductId(productId);
+        reservation.setQuantity(quantity);
+        reservation.setReference(reference);
+        reservation.setCreatedAt(now);
+        reservation.setCreatedBy(username);
+        return reservation;
+    }
+
+    /**
+     * Réserve en une fois les produits d'un document (quantités par identifiant croissant) :
+     * décréments conditionnels en un lot, réservations en un lot, mouvements par INSERT ... SELECT.
+     * Le nombre d'allers-retours ne dépend pas du nombre de produits ; un refus annule la transaction.
+     */
+    public void reserveAll(SortedMap<Long, Integer> quantities, String reference) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String username = currentUsername();
+
+        List<Object[]> decrements = new ArrayList<>(quantities.size());
+        List<Object[]> reservations = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> {
+            requirePositive(quantity);
+            decrements.add(new Object[] {quantity, productId, quantity});
+            reservations.add(new Object[] {productId, quantity, reference, now, username});
+        });
+
+        int[] counts = jdbcTemplate.batchUpdate(RESERVE_SQL, decrements);
+        int index = 0;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            // SUCCESS_NO_INFO (-2) : pilote sans compte par instruction, la condition a été évaluée en base
+            if (counts[index++] == 0) {
+                throw rejection(entry.getKey(), entry.getValue());
+            }
+        }
+
+        // Référence verrouillée par l'appelant (ligne du document) : les réservations après cette borne sont les nôtres
+        Long lastId = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(MAX(id), 0) FROM stock_reservations WHERE reference = ?", Long.class, reference);
+        jdbcTemplate.batchUpdate(INSERT_RESERVATION_SQL, reservations);
+        jdbcTemplate.update(
+            "INSERT INTO stock_movements (product_id, type, quantity, reservation_id, reference, created_at, created_by) " +
+            "SELECT product_id, 'RESERVATION', -quantity, id, reference, created_at, created_by " +
+            "FROM stock_reservations WHERE reference = ? AND id > ? ORDER BY id",
+            reference, lastId);
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.PRODUCTS);
+        log.debug("{} produit(s) réservé(s) pour {}", quantities.size(), reference);
+    }
+
+    /**
+     * Rend au disponible la quantité d'une réservation active (annulation)
+     */
+    public void release(Long reservationId) {
+        LocalDateTime now = LocalDateTime.now();
+        ClosedReservation closed = close(reservationId, StockReservation.ReservationStatus.RELEASED, now);
+
+        jdbcTemplate.update(RESTORE_SQL, closed.quantity(), closed.productId());
+        insertMovement(closed.productId(), StockMovement.MovementType.RELEASE, closed.quantity(), reservationId,
+                       closed.reference(), now, currentUsername());
+        statisticsService.invalidateAfterCommit(StatisticsService.Module.PRODUCTS);
+        log.debug("Réservation {} libérée : {} unité(s) rendues au produit {}", reservationId, closed.quantity(), closed.productId());
+    }
+
+    /**
+     * Consomme une réservation active (livraison) : le disponible a déjà été décrémenté à la réservation
+     */
+    public void commit(Long reservationId) {
+        LocalDateTime now = LocalDateTime.now();
+        ClosedReservation closed = close(reservationId, StockReservation.ReservationStatus.COMMITTED, now);
+
+        insertMovement(closed.productId(), StockMovement.MovementType.COMMIT, 0, reservationId,
+                       closed.reference(), now, currentUsername());
+        log.debug("Réservation {} consommée : {} unité(s) du produit {}", reservationId, closed.quantity(), closed.productId());
+    }
+
+    /**
+     * Fixe le disponible après un inventaire ; l'écart est journalisé comme ajustement
+     *
+     * @return écart appliqué (0 si le stock était déjà à cette valeur)
+     */
+    public int adjust(Long productId, int newQuantity, String reference) {
+        if (newQuantity < 0) {
+            throw new IllegalArgumentException("La quantité en stock ne peut pas être négative");
+        }
+
+        StockLevel level = lockLevel(productId);
+        if (!level.managed()) {
+            throw new IllegalArgumentException("Ce produit n'a pas de gestion de stock activée");
+        }
+
+        int delta = newQuantity - level.quantity();
+        if (delta != 0) {
+            jdbcTemplate.update(RESTORE_SQL, delta, productId);
+            insertMovement(productId, StockMovement.MovementType.ADJUSTMENT, delta, null, reference,
+                           LocalDateTime.now(), currentUsername());
+            statisticsService.invalidateAfterCommit(StatisticsService.Module.PRODUCTS);
+        }
+        log.debug("Stock du produit {} ajusté à {} unités (écart {})", productId, newQuantity, delta);
+        return delta;
+    }
+
+    /**
+     * Mouvement d'ouverture d'un produit créé avec un stock initial
+     */
+    public void recordOpening(Long productId, Integer quantity) {
+        if (quantity != null && quantity != 0) {
+            insertMovement(productId, StockMovement.MovementType.ADJUSTMENT, quantity, null, "Stock initial",
+                           LocalDateTime.now(), currentUsername());
+        }
+    }
+
+    /**
+     * Aligne le journal sur des stocks écrits directement en base (import CSV) :
+     * un ajustement par produit dont la projection diffère de la somme de ses mouvements
+     *
+     * @return nombre d'ajustements écrits
+     */
+    public int reconcile(Collection<String> productCodes, String reference, String username) {
+        if (productCodes.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(productCodes.size(), "?"));
+        Object[] args = new Object[productCodes.size() + 3];
+        args[0] = reference;
+        args[1] = Timestamp.valueOf(LocalDateTime.now());
+        args[2] = username;
+        System.arraycopy(productCodes.toArray(), 0, args, 3, productCodes.size());
+
+        return jdbcTemplate.update(
+            "INSERT INTO stock_movements (product_id, type, quantity, reference, created_at, created_by) " +
+            "SELECT p.id, 'ADJUSTMENT', p.stock_quantity - COALESCE(SUM(m.quantity), 0), ?, ?, ? " +
+            "FROM products p LEFT JOIN stock_movements m ON m.product_id = p.id " +
+            "WHERE p.code IN (" + placeholders + ") " +
+            "GROUP BY p.id, p.stock_quantity " +
+            "HAVING p.stock_quantity <> COALESCE(SUM(m.quantity), 0)",
+            args);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<StockMovement> movements(Long productId, Pageable pageable) {
+        return stockMovementRepository.findByProductIdOrderByIdDesc(productId, pageable);
+    }
+
+    /**
+     * Produits dont la projection diffère du journal (diagnostic ; vide en fonctionnement normal)
+     */
+    @Transactional(readOnly = true)
+    public List<ProjectionDrift> projectionDrift() {
+        return stockMovementRepository.findProjectionDrift().stream()
+            .map(row -> new ProjectionDrift((Long) row[0], ((Number) row[1]).intValue(), ((Number) row[2]).longValue()))
+            .toList();
+    }
+
+    private ClosedReservation close(Long reservationId, StockReservation.ReservationStatus status, LocalDateTime now) {
+        if (jdbcTemplate.update(CLOSE_RESERVATION_SQL, status.name(), Timestamp.valueOf(now), reservationId) == 0) {
+            String current = jdbcTemplate.query("SELECT status FROM stock_reservations WHERE id = ?",
+                rs -> rs.next() ? rs.getString(1) : null, reservationId);
+            if (current == null) {
+                throw new RuntimeException("Réservation non trouvée avec ID: " + reservationId);
+            }
+            throw new IllegalArgumentException("La réservation " + reservationId + " n'est plus active (" + current + ")");
+        }
+        return jdbcTemplate.queryForObject(
+            "SELECT product_id, quantity, reference FROM stock_reservations WHERE id = ?",
+            (rs, rowNum) -> new ClosedReservation(rs.getLong(1), rs.getInt(2), rs.getString(3)),
+            reservationId);
+    }
+
+    private StockLevel lockLevel(Long productId) {
+        try {
+            return jdbcTemplate.queryForObject(
+                "SELECT stock_managed, stock_quantity FROM products WHERE id = ? FOR UPDATE",
+                (rs, rowNum) -> new StockLevel(rs.getBoolean(1), rs.getInt(2)),
+                productId);
+        } catch (EmptyResultDataAccessException e) {
+            throw new RuntimeException("Produit non trouvé avec ID: " + productId);
+        }
+    }
+
+    /**
+     * Motif d'un décrément refusé, lu après coup : le chemin nominal ne fait aucune lecture
+     */
+    private RuntimeException rejection(Long productId, int quantity) {
+        StockLevel level = jdbcTemplate.query("SELECT stock_managed, stock_quantity FROM products WHERE id = ?",
+            rs -> rs.next() ? new StockLevel(rs.getBoolean(1), rs.getInt(2)) : null, productId);
+        if (level == null) {
+            return new RuntimeException("Produit non trouvé avec ID: " + productId);
+        }
+        if (!level.managed()) {
+            return new IllegalArgumentException("Ce produit n'a pas de gestion de stock activée");
+        }
+        return new InsufficientStockException(productId, quantity, level.quantity());
+    }
+
+    private void insertMovement(Long productId, StockMovement.MovementType type, int quantity, Long reservationId,
+                                String reference, LocalDateTime at, String username) {
+        jdbcTemplate.update(INSERT_MOVEMENT_SQL, productId, type.name(), quantity, reservationId, reference,
+                            Timestamp.valueOf(at), username);
+    }
+
+    private static void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("La quantité réservée doit être positive");
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : SYSTEM_USER;
+    }
+
+    private record StockLevel(boolean managed, int quantity) {
+    }
+
+    private record ClosedReservation(long productId, int quantity, String reference) {
+    }
+
+    public record ProjectionDrift(Long productId, int stockQuantity, long ledgerSum) {
+    }
+}
@@ -0,0 +1,4 @@
+-- =========================================================
+-- V10 : liste des relances échues (next_contact_date <= maintenant, triée par date)
+-- =========================================================
+CREATE INDEX ix_contacts_next_contact_date ON contacts (next_contact_date);
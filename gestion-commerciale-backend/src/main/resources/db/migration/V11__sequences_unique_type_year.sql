@@ -0,0 +1,17 @@
+-- =========================================================
+-- V11 : numérotation par type et par année (entité Sequence), une seule ligne par (type, year)
+-- =========================================================
+-- La table générique de V1 (name, next_value) n'est utilisée par aucun code : conservée sous un autre nom
+RENAME TABLE sequences TO sequences_legacy;
+
+CREATE TABLE IF NOT EXISTS sequences (
+  id             BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  type           VARCHAR(50)     NOT NULL,
+  year           INT             NOT NULL,
+  current_value  BIGINT          NOT NULL DEFAULT 0,
+  prefix         VARCHAR(10)     NULL,
+  padding_length INT             NOT NULL DEFAULT 4,
+  PRIMARY KEY (id),
+  -- Deux instances qui créent la séquence d'une nouvelle année en même temps : la seconde échoue au lieu de dupliquer
+  UNIQUE KEY ux_sequences_type_year (type, year)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,6 @@
+-- V2__products_fulltext.sql
+-- Index FULLTEXT pour la recherche catalogue (pertinence MATCH ... AGAINST)
+-- Compat: MySQL 8.0+ (InnoDB FULLTEXT)
+
+ALTER TABLE products
+  ADD FULLTEXT INDEX ft_products_name_description (name, description);
@@ -0,0 +1,24 @@
+-- =========================================================
+-- Table de fermeture de l'arbre des catégories
+-- (ancêtre, descendant, profondeur) : une ligne par chemin, y compris la ligne réflexive
+-- =========================================================
+CREATE TABLE IF NOT EXISTS category_closure (
+  ancestor_id   BIGINT UNSIGNED NOT NULL,
+  descendant_id BIGINT UNSIGNED NOT NULL,
+  depth         INT             NOT NULL,
+  PRIMARY KEY (ancestor_id, descendant_id),
+  KEY ix_category_closure_descendant (descendant_id),
+  CONSTRAINT fk_cc_ancestor   FOREIGN KEY (ancestor_id)   REFERENCES categories(id) ON DELETE CASCADE,
+  CONSTRAINT fk_cc_descendant FOREIGN KEY (descendant_id) REFERENCES categories(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Reprise de l'existant à partir de parent_id
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE paths (ancestor_id, descendant_id, depth) AS (
+  SELECT id, id, 0 FROM categories
+  UNION ALL
+  SELECT p.ancestor_id, c.id, p.depth + 1
+  FROM paths p
+  JOIN categories c ON c.parent_id = p.descendant_id
+)
+SELECT ancestor_id, descendant_id, depth FROM paths;
@@ -0,0 +1,24 @@
+-- =========================================================
+-- Journal d'audit applicatif (entité AuditLog), alimenté par lots JDBC
+-- =========================================================
+CREATE TABLE IF NOT EXISTS audit_logs (
+  id            BIGINT          NOT NULL AUTO_INCREMENT,
+  user_id       BIGINT          NULL,
+  username      VARCHAR(255)    NOT NULL,
+  action        VARCHAR(255)    NOT NULL,
+  module        VARCHAR(255)    NOT NULL,
+  target_type   VARCHAR(255)    NULL,
+  target_id     VARCHAR(255)    NULL,
+  target_name   VARCHAR(255)    NULL,
+  timestamp     DATETIME(6)     NOT NULL,
+  ip_address    VARCHAR(255)    NULL,
+  user_agent    VARCHAR(1000)   NULL,
+  session_id    VARCHAR(255)    NULL,
+  status        VARCHAR(20)     NULL,
+  error_message VARCHAR(1000)   NULL,
+  old_values    VARCHAR(2000)   NULL,
+  new_values    VARCHAR(2000)   NULL,
+  PRIMARY KEY (id),
+  KEY ix_audit_logs_username_timestamp (username, timestamp),
+  KEY ix_audit_logs_timestamp (timestamp)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,39 @@
+-- =========================================================
+-- Mouvements de stock (journal en ajout seul) et réservations
+-- products.stock_quantity devient une projection : somme des mouvements du produit
+-- =========================================================
+CREATE TABLE IF NOT EXISTS stock_reservations (
+  id          BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  product_id  BIGINT UNSIGNED NOT NULL,
+  quantity    INT             NOT NULL,
+  reference   VARCHAR(100)    NULL,
+  status      VARCHAR(20)     NOT NULL,
+  created_at  DATETIME(6)     NOT NULL,
+  created_by  VARCHAR(100)    NULL,
+  closed_at   DATETIME(6)     NULL,
+  PRIMARY KEY (id),
+  KEY ix_stock_reservations_product_status (product_id, status),
+  KEY ix_stock_reservations_reference (reference),
+  CONSTRAINT fk_sr_product FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS stock_movements (
+  id             BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  product_id     BIGINT UNSIGNED NOT NULL,
+  type           VARCHAR(20)     NOT NULL,
+  quantity       INT             NOT NULL,
+  reservation_id BIGINT UNSIGNED NULL,
+  reference      VARCHAR(100)    NULL,
+  created_at     DATETIME(6)     NOT NULL,
+  created_by     VARCHAR(100)    NULL,
+  PRIMARY KEY (id),
+  KEY ix_stock_movements_product (product_id, id),
+  KEY ix_stock_movements_created_at (created_at),
+  CONSTRAINT fk_sm_product FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Reprise de l'existant : un instantané par produit porte le stock courant
+INSERT INTO stock_movements (product_id, type, quantity, reference, created_at, created_by)
+SELECT id, 'SNAPSHOT', stock_quantity, 'Reprise V5', NOW(6), 'system'
+FROM products
+WHERE stock_quantity <> 0;
@@ -0,0 +1,7 @@
+-- =========================================================
+-- Commande issue d'un devis : lien unique (un devis n'est converti qu'une fois)
+-- =========================================================
+ALTER TABLE orders
+  ADD COLUMN quote_id BIGINT UNSIGNED NULL AFTER customer_id,
+  ADD UNIQUE KEY ux_orders_quote_id (quote_id),
+  ADD CONSTRAINT fk_orders_quote FOREIGN KEY (quote_id) REFERENCES quotes(id) ON DELETE SET NULL ON UPDATE CASCADE;
@@ -0,0 +1,45 @@
+-- =========================================================
+-- V7 : statuts de facture et points de reprise de la facturation par lot
+-- =========================================================
+INSERT INTO invoice_status (code, label, is_final) VALUES
+  ('DRAFT',     'Brouillon', 0),
+  ('ISSUED',    'Émise',     0),
+  ('PAID',      'Payée',     1),
+  ('CANCELLED', 'Annulée',   1)
+ON DUPLICATE KEY UPDATE label = VALUES(label), is_final = VALUES(is_final);
+
+-- Une exécution de facturation : commandes livrées jusqu'à cutoff, factures datées de issue_date
+CREATE TABLE IF NOT EXISTS invoicing_runs (
+  id                 BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  status             VARCHAR(16)     NOT NULL,
+  cutoff             DATETIME        NOT NULL,
+  issue_date         DATE            NOT NULL,
+  partitions_total   INT             NOT NULL DEFAULT 0,
+  partitions_done    INT             NOT NULL DEFAULT 0,
+  partitions_failed  INT             NOT NULL DEFAULT 0,
+  invoices_created   INT             NOT NULL DEFAULT 0,
+  started_at         DATETIME        NOT NULL,
+  finished_at        DATETIME        NULL,
+  duration_ms        BIGINT          NULL,
+  created_by         VARCHAR(100)    NULL,
+  PRIMARY KEY (id),
+  KEY ix_invoicing_runs_status (status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Point de reprise par client : dernière commande facturée, mis à jour dans la transaction de chaque lot
+CREATE TABLE IF NOT EXISTS invoicing_run_partitions (
+  id                BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  run_id            BIGINT UNSIGNED NOT NULL,
+  customer_id       BIGINT UNSIGNED NOT NULL,
+  status            VARCHAR(16)     NOT NULL,
+  last_order_id     BIGINT UNSIGNED NOT NULL DEFAULT 0,
+  invoices_created  INT             NOT NULL DEFAULT 0,
+  error             VARCHAR(500)    NULL,
+  updated_at        DATETIME        NOT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY ux_invoicing_run_partitions (run_id, customer_id),
+  CONSTRAINT fk_invoicing_partitions_run FOREIGN KEY (run_id) REFERENCES invoicing_runs(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Sélection des commandes livrées d'un client par identifiant croissant
+CREATE INDEX ix_orders_customer_status_id ON orders (customer_id, status, id);
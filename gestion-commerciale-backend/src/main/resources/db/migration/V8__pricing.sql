@@ -0,0 +1,23 @@
+-- =========================================================
+-- V8 : prix par liste, règles de TVA des produits, liste de prix des clients
+-- =========================================================
+CREATE TABLE IF NOT EXISTS price_list_items (
+  price_list_id BIGINT UNSIGNED NOT NULL,
+  product_id    BIGINT UNSIGNED NOT NULL,
+  unit_price    DECIMAL(14,2)   NOT NULL,
+  created_at    TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_at    TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (price_list_id, product_id),
+  KEY ix_price_list_items_product (product_id),
+  CONSTRAINT fk_price_list_items_list    FOREIGN KEY (price_list_id) REFERENCES price_lists(id) ON DELETE CASCADE,
+  CONSTRAINT fk_price_list_items_product FOREIGN KEY (product_id)    REFERENCES products(id)    ON DELETE CASCADE,
+  CHECK (unit_price >= 0)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+ALTER TABLE products
+  ADD COLUMN tax_id BIGINT UNSIGNED NULL,
+  ADD CONSTRAINT fk_products_tax FOREIGN KEY (tax_id) REFERENCES taxes(id) ON DELETE SET NULL;
+
+ALTER TABLE customers
+  ADD COLUMN price_list_id BIGINT UNSIGNED NULL,
+  ADD CONSTRAINT fk_customers_price_list FOREIGN KEY (price_list_id) REFERENCES price_lists(id) ON DELETE SET NULL;
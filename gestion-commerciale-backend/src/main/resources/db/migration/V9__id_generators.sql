@@ -0,0 +1,14 @@
+-- =========================================================
+-- V9 : identifiants réservés par blocs (optimiseur pooled) pour les tables sans écriture SQL directe
+-- =========================================================
+CREATE TABLE IF NOT EXISTS id_generators (
+  entity_name VARCHAR(64)     NOT NULL,
+  next_val    BIGINT UNSIGNED NOT NULL,
+  PRIMARY KEY (entity_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Optimiseur pooled : la valeur lue est la borne haute du premier bloc (allocationSize = 50),
+-- d'où MAX(id) + 50 pour que ce bloc commence juste après les adresses existantes
+INSERT INTO id_generators (entity_name, next_val)
+SELECT 'addresses', COALESCE(MAX(id), 0) + 50 FROM addresses
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
@@ -0,0 +1,76 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/benchmark/BenchmarkFixtures.java
+ * @description Entités détachées des bancs JMH, générées de façon déterministe
+ */
+package com.example.gestioncommerciale.benchmark;
+
+import com.example.gestioncommerciale.model.Customer;
+import com.example.gestioncommerciale.model.catalog.Category;
+import com.example.gestioncommerciale.model.catalog.Product;
+import com.example.gestioncommerciale.model.crm.Contact;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+final class BenchmarkFixtures {
+
+    private static final String[] VAT_RATES = {"20.00", "10.00", "5.50", "2.10", "0.00"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static Category category(long id) {
+        Category category = new Category();
+        category.setId(id + 1);
+        category.setCode("CAT-2025-" + String.format("%04d", id + 1));
+        category.setName("Catégorie " + (id + 1));
+        return category;
+    }
+
+    static Customer customer(long id) {
+        Customer customer = new Customer();
+        customer.setId(id + 1);
+        customer.setCode("CLI-2025-" + String.format("%04d", id + 1));
+        customer.setCompanyName("Société " + (id + 1));
+        return customer;
+    }
+
+    static Product product(SplittableRandom random, int index, Category category) {
+        Product product = new Product();
+        product.setId((long) index + 1);
+        product.setCode("PRD-2025-" + String.format("%04d", index + 1));
+        product.setName("Produit " + (index + 1));
+        product.setUnitPrice(BigDecimal.valueOf(100 + random.nextInt(100_000), 2));
+        product.setCostPrice(BigDecimal.valueOf(50 + random.nextInt(50_000), 2));
+        product.setVatRate(new BigDecimal(VAT_RATES[random.nextInt(VAT_RATES.length)]));
+        product.setStockManaged(index % 2 == 0);
+        product.setStockQuantity(random.nextInt(100));
+        product.setMinStockLevel(10);
+        product.setCategory(category);
+        return product;
+    }
+
+    static Contact contact(SplittableRandom random, int index, Customer customer) {
+        Contact contact = new Contact();
+        contact.setId((long) index + 1);
+        contact.setCode("CNT-2025-" + String.format("%04d", index + 1));
+        contact.setCivility(Contact.Civility.values()[index % Contact.Civility.values().length]);
+        contact.setFirstName("Prénom" + index);
+        contact.setLastName("Nom" + index);
+        contact.setJobTitle(index % 3 == 0 ? null : "Responsable achats");
+        contact.setEmail("contact" + index + "@example.com");
+        if (index % 4 != 0) {
+            contact.setAddressLine1(index + " rue de la République");
+            contact.setAddressLine2(index % 2 == 0 ? "Bâtiment B" : null);
+            contact.setPostalCode(String.valueOf(69_000 + random.nextInt(1_000)));
+            contact.setCity("Lyon");
+            contact.setCountry("France");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        contact.setLastContactDate(now.minusDays(random.nextInt(365)));
+        contact.setNextContactDate(now.plusDays(random.nextInt(60) - 30));
+        contact.setCustomer(customer);
+        return contact;
+    }
+}
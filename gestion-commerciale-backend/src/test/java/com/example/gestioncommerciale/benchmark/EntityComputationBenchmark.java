@@ -0,0 +1,83 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/benchmark/EntityComputationBenchmark.java
+ * @description Banc JMH des calculs des entités : TVA en BigDecimal, nom d'affichage et adresse formatée des contacts
+ */
+package com.example.gestioncommerciale.benchmark;
+
+import com.example.gestioncommerciale.model.catalog.Product;
+import com.example.gestioncommerciale.model.crm.Contact;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appels répétés par les templates et les exports : un quart des contacts sans adresse,
+ * un tiers sans fonction, cinq taux de TVA.
+ * Lancement : {@code mvn -Pbenchmark verify -Djmh.include=EntityComputationBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class EntityComputationBenchmark {
+
+    private static final int ENTITIES = 1_024;
+
+    private Product[] products;
+    private Contact[] contacts;
+
+    @Setup
+    public void createEntities() {
+        SplittableRandom random = new SplittableRandom(42);
+        products = new Product[ENTITIES];
+        contacts = new Contact[ENTITIES];
+        for (int i = 0; i < ENTITIES; i++) {
+            products[i] = BenchmarkFixtures.product(random, i, null);
+            contacts[i] = BenchmarkFixtures.contact(random, i, null);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITIES)
+    public void priceWithVat(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(product.getPriceWithVat());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITIES)
+    public void vatAmount(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(product.getVatAmount());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITIES)
+    public void displayName(Blackhole blackhole) {
+        for (Contact contact : contacts) {
+            blackhole.consume(contact.getDisplayName());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITIES)
+    public void formattedAddress(Blackhole blackhole) {
+        for (Contact contact : contacts) {
+            blackhole.consume(contact.getFormattedAddress());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EntityComputationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/benchmark/MapperBenchmark.java
+ * @description Banc JMH des mappers MapStruct des écrans de liste : produits et contacts convertis en DTO par seconde
+ */
+package com.example.gestioncommerciale.benchmark;
+
+import com.example.gestioncommerciale.mapper.catalog.ProductCatalogMapperImpl;
+import com.example.gestioncommerciale.mapper.catalog.ProductMapper;
+import com.example.gestioncommerciale.mapper.crm.ContactMapper;
+import com.example.gestioncommerciale.mapper.crm.ContactMapperImpl;
+import com.example.gestioncommerciale.model.catalog.Product;
+import com.example.gestioncommerciale.model.crm.Contact;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Une page de 1 024 entités détachées, catégorie et client chargés ; {@code ContactMapper.toDTO}
+ * inclut le {@code @AfterMapping calculateFields} qui recalcule noms et adresse côté DTO.
+ * Lancement : {@code mvn -Pbenchmark verify -Djmh.include=MapperBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class MapperBenchmark {
+
+    private static final int ENTITIES = 1_024;
+
+    private final ProductMapper productMapper = new ProductCatalogMapperImpl();
+    private final ContactMapper contactMapper = new ContactMapperImpl();
+
+    private Product[] products;
+    private Contact[] contacts;
+
+    @Setup
+    public void createEntities() {
+        SplittableRandom random = new SplittableRandom(42);
+        products = new Product[ENTITIES];
+        contacts = new Contact[ENTITIES];
+        for (int i = 0; i < ENTITIES; i++) {
+            products[i] = BenchmarkFixtures.product(random, i, BenchmarkFixtures.category(i % 20));
+            contacts[i] = BenchmarkFixtures.contact(random, i, BenchmarkFixtures.customer(i % 50));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITIES)
+    public void productToDTO(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(productMapper.toDTO(product));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITIES)
+    public void contactToDTO(Blackhole blackhole) {
+        for (Contact contact : contacts) {
+            blackhole.consume(contactMapper.toDTO(contact));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/benchmark/PriceBookBenchmark.java
+ * @description Banc JMH du barème compilé : résolutions de prix par seconde sur un cœur, comparées au calcul BigDecimal de l'entité
+ */
+package com.example.gestioncommerciale.benchmark;
+
+import com.example.gestioncommerciale.model.catalog.Product;
+import com.example.gestioncommerciale.service.pricing.PriceBook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalogue de 100 000 produits, 20 listes de prix fixant chacune 10 % des prix, 5 règles de TVA.
+ * Lancement : {@code mvn -Pbenchmark verify -Djmh.include=PriceBookBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class PriceBookBenchmark {
+
+    private static final int PRODUCTS = 100_000;
+    private static final int PRICE_LISTS = 20;
+    private static final int LOOKUPS = 4_096;
+
+    private PriceBook book;
+    private long[] productIds;
+    private long[] priceListIds;
+    private Product[] entities;
+
+    @Setup
+    public void compile() {
+        SplittableRandom random = new SplittableRandom(42);
+        PriceBook.Builder builder = PriceBook.builder();
+        for (int tax = 1; tax <= 5; tax++) {
+            builder.tax(tax, tax * 400L);
+        }
+        for (long id = 1; id <= PRODUCTS; id++) {
+            builder.product(id, 100 + random.nextInt(100_000), 2_000, id % 3 == 0 ? id % 5 + 1 : 0);
+        }
+        for (long list = 1; list <= PRICE_LISTS; list++) {
+            for (long id = list; id <= PRODUCTS; id += 10) {
+                builder.listPrice(list, id, 90 + random.nextInt(90_000));
+            }
+        }
+        book = builder.build();
+
+        productIds = new long[LOOKUPS];
+        priceListIds = new long[LOOKUPS];
+        entities = new Product[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            productIds[i] = 1 + random.nextInt(PRODUCTS);
+            priceListIds[i] = random.nextInt(PRICE_LISTS + 1);
+            Product product = new Product();
+            product.setUnitPrice(BigDecimal.valueOf(100 + random.nextInt(100_000), 2));
+            product.setVatRate(new BigDecimal("20.00"));
+            entities[i] = product;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public long unitPrice() {
+        long sum = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            sum += book.unitCents(productIds[i], priceListIds[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public long priceWithVat() {
+        long sum = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            sum += book.ttcCents(productIds[i], priceListIds[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * Référence : prix TTC calculé en BigDecimal par l'entité, comme avant le barème
+     */
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void entityPriceWithVat(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            blackhole.consume(entities[i].getPriceWithVat());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PriceBookBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/benchmark/SequenceCodeBenchmark.java
+ * @description Banc JMH de la mise en forme des codes séquentiels (préfixe, année, numéro complété à 4 chiffres)
+ */
+package com.example.gestioncommerciale.benchmark;
+
+import com.example.gestioncommerciale.service.SequenceService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seule la partie en mémoire de {@code generateSequentialCode} est mesurée, l'accès à la séquence
+ * relevant des tests d'intégration. Numéros de 1 à 99 999 : avec et sans complément de zéros.
+ * Lancement : {@code mvn -Pbenchmark verify -Djmh.include=SequenceCodeBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class SequenceCodeBenchmark {
+
+    private static final int CODES = 1_024;
+    private static final String[] PREFIXES = {
+        SequenceService.CUSTOMER_PREFIX, SequenceService.CONTACT_PREFIX,
+        SequenceService.ORDER_PREFIX, SequenceService.QUOTE_PREFIX
+    };
+
+    private long[] values;
+
+    @Setup
+    public void createValues() {
+        values = new long[CODES];
+        for (int i = 0; i < CODES; i++) {
+            values[i] = 1 + (i * 97L) % 99_999;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODES)
+    public int formatCode() {
+        int length = 0;
+        for (int i = 0; i < CODES; i++) {
+            length += SequenceService.formatCode(PREFIXES[i & 3], 2025, values[i]).length();
+        }
+        return length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SequenceCodeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/AddressBatchInsertIntegrationTest.java
+ * @description Adresses : identifiants réservés par blocs et insertions en lots JDBC, débit comparé à l'insertion ligne à ligne
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.AddressDTO;
+import com.example.gestioncommerciale.dto.CustomerDTO;
+import com.example.gestioncommerciale.model.Address;
+import com.example.gestioncommerciale.model.Customer;
+import com.example.gestioncommerciale.repository.CustomerRepository;
+import com.example.gestioncommerciale.service.CustomerService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_address_batch;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class AddressBatchInsertIntegrationTest {
+
+    private static final int ADDRESSES = 1_000;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    void warmUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Préchauffage : plans de requêtes, premier bloc d'identifiants
+        customerService.create(customer("Préchauffage", 60));
+    }
+
+    @Test
+    @DisplayName("Doit insérer 1 000 adresses en lots de 50 et dépasser le débit de l'insertion ligne à ligne")
+    void shouldInsertAddressesInBatches() {
+        // Given
+        Long referenceId = customerService.create(customer("Référence ligne à ligne", 0)).getId();
+        CustomerDTO batched = customer("Adresses par lots", ADDRESSES);
+
+        // When : référence « avant », une instruction par adresse envoyée aussitôt (comportement IDENTITY)
+        statistics.clear();
+        long startedAt = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+            Customer reference = customerRepository.getReferenceById(referenceId);
+            for (int i = 1; i <= ADDRESSES; i++) {
+                Address address = address(i, reference);
+                entityManager.persist(address);
+                entityManager.flush();
+                entityManager.detach(address);
+            }
+        });
+        long rowByRowNanos = System.nanoTime() - startedAt;
+        long rowByRowStatements = statistics.getPrepareStatementCount();
+
+        // When : « après », création du client et de ses adresses par le service
+        statistics.clear();
+        startedAt = System.nanoTime();
+        Long customerId = customerService.create(batched).getId();
+        long batchedNanos = System.nanoTime() - startedAt;
+        long batchedStatements = statistics.getPrepareStatementCount();
+
+        // Then
+        double rowByRowRate = ADDRESSES * 1e9 / rowByRowNanos;
+        double batchedRate = ADDRESSES * 1e9 / batchedNanos;
+        log.info("Insertion de {} adresses : ligne à ligne {}/s ({} instructions), par lots {}/s ({} instructions), x{}",
+            ADDRESSES, Math.round(rowByRowRate), rowByRowStatements, Math.round(batchedRate), batchedStatements,
+            String.format("%.1f", batchedRate / rowByRowRate));
+        assertThat(rowByRowStatements).isGreaterThanOrEqualTo(ADDRESSES);
+        // Client, séquence, 20 lots d'adresses et réservations de blocs : rien par adresse
+        assertThat(batchedStatements).isLessThan(ADDRESSES / 10);
+        assertThat(customerService.getCustomerAddresses(customerId)).hasSize(ADDRESSES);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(DISTINCT id) FROM addresses WHERE customer_id IN (?, ?)", Integer.class, referenceId, customerId))
+            .isEqualTo(2 * ADDRESSES);
+    }
+
+    @Test
+    @DisplayName("Doit attribuer des identifiants distincts aux adresses créées une à une entre deux lots")
+    void shouldKeepIdentifiersUniqueAcrossSingleAndBulkCreations() {
+        // Given
+        Long customerId = customerService.create(customer("Adresses mixtes", 3)).getId();
+
+        // When
+        AddressDTO single = customerService.addAddress(customerId, addressDTO(99));
+        Long otherId = customerService.create(customer("Adresses mixtes bis", 70)).getId();
+
+        // Then
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM addresses WHERE customer_id IN (?, ?)", Long.class, customerId, otherId);
+        assertThat(single.getId()).isNotNull();
+        assertThat(ids).hasSize(74).doesNotHaveDuplicates().contains(single.getId());
+    }
+
+    private static CustomerDTO customer(String companyName, int addresses) {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setCompanyName(companyName);
+        customer.setStatus(Customer.CustomerStatus.ACTIVE);
+        customer.setType(Customer.CustomerType.COMPANY);
+        customer.setPaymentTermDays(30);
+        List<AddressDTO> list = new ArrayList<>(addresses);
+        for (int i = 1; i <= addresses; i++) {
+            list.add(addressDTO(i));
+        }
+        customer.setAddresses(list);
+        return customer;
+    }
+
+    private static AddressDTO addressDTO(int index) {
+        AddressDTO address = new AddressDTO();
+        address.setType(Address.AddressType.SHIPPING);
+        address.setLabel("Dépôt " + index);
+        address.setStreet1(index + " rue des Entrepôts");
+        address.setZipCode("69007");
+        address.setCity("Lyon");
+        return address;
+    }
+
+    private static Address address(int index, Customer customer) {
+        Address address = new Address();
+        address.setType(Address.AddressType.SHIPPING);
+        address.setLabel("Dépôt " + index);
+        address.setStreet1(index + " rue des Entrepôts");
+        address.setZipCode("69007");
+        address.setCity("Lyon");
+        address.setCountryCode("FR");
+        address.setCustomer(customer);
+        return address;
+    }
+}
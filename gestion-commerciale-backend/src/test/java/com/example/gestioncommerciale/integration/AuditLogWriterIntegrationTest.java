@@ -0,0 +1,131 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/AuditLogWriterIntegrationTest.java
+ * @description Tests d'intégration de l'écriture asynchrone par lots du journal d'audit
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.config.AuditProperties;
+import com.example.gestioncommerciale.model.AuditLog;
+import com.example.gestioncommerciale.repository.AuditLogRepository;
+import com.example.gestioncommerciale.service.AuditLogWriter;
+import com.example.gestioncommerciale.service.AuditService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_audit;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "app.audit.batch-size=50",
+    "app.audit.flush-interval=50ms"
+})
+@ActiveProfiles("test")
+class AuditLogWriterIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 125;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Doit écrire par lots tous les événements produits en parallèle")
+    void shouldWriteAllConcurrentEventsInBatches() throws Exception {
+        // Given
+        long before = auditLogRepository.count();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                    auditService.logAction("CREATE", "CATALOGUE", "Product", thread + "-" + i, "Produit " + i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(auditLogWriter.isRunning()).isTrue();
+        assertThat(auditLogWriter.awaitDrained(10_000)).isTrue();
+        AuditLogWriter.Metrics metrics = auditLogWriter.metrics();
+        assertThat(metrics.dropped()).isZero();
+        assertThat(metrics.failed()).isZero();
+        assertThat(metrics.written()).isGreaterThanOrEqualTo(THREADS * EVENTS_PER_THREAD);
+        assertThat(metrics.flushes()).isLessThan(THREADS * EVENTS_PER_THREAD);
+        assertThat(auditLogRepository.count() - before).isEqualTo(THREADS * EVENTS_PER_THREAD);
+    }
+
+    @Test
+    @DisplayName("Doit rejouer le débordement sans perdre les lignes non écrites ni s'arrêter sur une ligne illisible")
+    void shouldKeepUnwrittenLinesWhenReplayingSpillFile(@TempDir Path dir) throws Exception {
+        // Given : une relecture interrompue et un nouveau débordement, dont une ligne illisible et une ligne refusée
+        Path spillFile = dir.resolve("audit-spill.jsonl");
+        Path replayFile = dir.resolve("audit-spill.jsonl.replay");
+        AuditLog rejected = new AuditLog("replay", "CREATE", "REPLAY");
+        rejected.setTimestamp(null);
+        Files.write(replayFile, List.of(objectMapper.writeValueAsString(new AuditLog("replay", "INTERRUPTED", "REPLAY"))),
+                    StandardCharsets.UTF_8);
+        Files.write(spillFile, List.of(
+            objectMapper.writeValueAsString(new AuditLog("replay", "SPILLED", "REPLAY")),
+            "{ tronqué",
+            objectMapper.writeValueAsString(rejected)
+        ), StandardCharsets.UTF_8);
+
+        AuditProperties properties = new AuditProperties();
+        properties.setSpillFile(spillFile.toString());
+        properties.setBatchSize(1);
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, properties, objectMapper, transactionManager);
+
+        // When
+        writer.start();
+        writer.stop();
+
+        // Then
+        AuditLogWriter.Metrics metrics = writer.metrics();
+        assertThat(metrics.written()).isEqualTo(2);
+        assertThat(metrics.failed()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM audit_logs WHERE module = 'REPLAY'", Integer.class)).isEqualTo(2);
+        assertThat(spillFile).doesNotExist();
+        assertThat(Files.readAllLines(replayFile, StandardCharsets.UTF_8))
+            .containsExactly(objectMapper.writeValueAsString(rejected));
+    }
+}
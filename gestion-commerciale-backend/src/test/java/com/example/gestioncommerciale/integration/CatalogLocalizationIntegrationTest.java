@@ -0,0 +1,162 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/CatalogLocalizationIntegrationTest.java
+ * @description Catalogue localisé : traductions d'une page en une requête, repli sur la langue de référence, chemins par langue
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.dto.catalog.TranslationDTO;
+import com.example.gestioncommerciale.service.catalog.CatalogTranslations;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_i18n;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CatalogLocalizationIntegrationTest {
+
+    private static final int PAGE = 50;
+
+    @Autowired
+    private CatalogTranslations catalogTranslations;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long rootId;
+    private Long drillsId;
+
+    @BeforeAll
+    void createTranslatedCatalog() {
+        CategoryDTO root = new CategoryDTO();
+        root.setName("Outillage");
+        rootId = categoryService.create(root).getId();
+        CategoryDTO drills = new CategoryDTO();
+        drills.setName("Perceuses");
+        drills.setParentId(rootId);
+        drillsId = categoryService.create(drills).getId();
+
+        // Produits pairs traduits en anglais, impairs sans traduction
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("""
+                INSERT INTO products (code, name, description, active, type, status, unit_price, cost_price, vat_rate,
+                                      stock_managed, stock_quantity, min_stock_level, max_stock_level, unit,
+                                      category_id, created_at, updated_at)
+                SELECT 'I18N-' || LPAD(X, 3, '0'), 'Perceuse ' || X, 'Description ' || X, TRUE, 'PRODUCT', 'AVAILABLE',
+                       10, 0, 20, FALSE, 0, 0, 0, 'pce', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, ?)
+                """, drillsId, PAGE);
+            jdbcTemplate.update("""
+                INSERT INTO product_i18n (product_id, locale, name, description)
+                SELECT id, 'en', 'Drill ' || SUBSTRING(code, 6), NULL FROM products
+                WHERE code LIKE 'I18N-%' AND MOD(CAST(SUBSTRING(code, 6) AS INT), 2) = 0
+                """);
+            jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        });
+        catalogTranslations.putCategoryTranslation(rootId, Locale.ENGLISH, translation("Tools"));
+        catalogTranslations.putCategoryTranslation(drillsId, Locale.ENGLISH, translation("Drills"));
+        catalogTranslations.putCategoryTranslation(drillsId, Locale.UK, translation("Power drills"));
+    }
+
+    @Test
+    @DisplayName("Doit traduire une page de 50 produits en une requête et garder le libellé de référence à défaut")
+    void shouldLocalizeWholePageInOneQuery() {
+        // Given
+        List<ProductDTO> english = page();
+        List<ProductDTO> french = page();
+        catalogTranslations.localizeProducts(page(), Locale.ENGLISH); // préchauffage (chemins anglais compilés)
+
+        // When
+        long before = executions("product_i18n");
+        catalogTranslations.localizeProducts(english, Locale.ENGLISH);
+        long englishQueries = executions("product_i18n") - before;
+        catalogTranslations.localizeProducts(french, Locale.FRENCH);
+        long frenchQueries = executions("product_i18n") - before - englishQueries;
+
+        // Then
+        assertThat(english).hasSize(PAGE);
+        assertThat(englishQueries).isEqualTo(1);
+        assertThat(frenchQueries).isZero();
+        assertThat(english.get(1).getName()).isEqualTo("Drill 002");
+        assertThat(english.get(0).getName()).isEqualTo("Perceuse 1");
+        assertThat(english.get(0).getDescription()).isEqualTo("Description 1");
+        assertThat(english.get(0).getCategoryPath()).isEqualTo("Tools > Drills");
+        assertThat(french.get(1).getName()).isEqualTo("Perceuse 2");
+        assertThat(french.get(0).getCategoryPath()).isEqualTo("Outillage > Perceuses");
+    }
+
+    @Test
+    @DisplayName("Doit compiler les chemins traduits une fois par langue et les recompiler après une traduction")
+    void shouldCacheTranslatedCategoryPathsPerLocale() {
+        // Given
+        catalogTranslations.localizeCategories(categoryService.findCategoryTree(), Locale.UK);
+
+        // When
+        long before = executions("category_i18n");
+        List<CategoryDTO> uk = categoryService.findCategoryTree();
+        catalogTranslations.localizeCategories(uk, Locale.UK);
+        List<CategoryDTO> french = categoryService.findCategoryTree();
+        catalogTranslations.localizeCategories(french, Locale.FRENCH);
+        long cachedQueries = executions("category_i18n") - before;
+        catalogTranslations.putCategoryTranslation(rootId, Locale.UK, translation("Workshop"));
+        String recompiled = catalogTranslations.categoryPath(drillsId, Locale.UK);
+
+        // Then
+        assertThat(cachedQueries).isZero();
+        CategoryDTO ukRoot = uk.stream().filter(c -> c.getId().equals(rootId)).findFirst().orElseThrow();
+        assertThat(ukRoot.getName()).isEqualTo("Tools");
+        assertThat(ukRoot.getChildren()).extracting(CategoryDTO::getName).containsExactly("Power drills");
+        assertThat(french.stream().filter(c -> c.getId().equals(rootId)).findFirst().orElseThrow().getName())
+            .isEqualTo("Outillage");
+        assertThat(recompiled).isEqualTo("Workshop > Power drills");
+        assertThat(catalogTranslations.categoryPath(drillsId, Locale.FRENCH)).isEqualTo("Outillage > Perceuses");
+    }
+
+    private List<ProductDTO> page() {
+        return productService.findWithFilters(null, drillsId, false, null, null, null, null, "Perceuse",
+            PageRequest.of(0, PAGE, Sort.by("code")), null).getContent();
+    }
+
+    private long executions(String table) {
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(EXECUTION_COUNT), 0) FROM INFORMATION_SCHEMA.QUERY_STATISTICS " +
+            "WHERE LOWER(SQL_STATEMENT) LIKE ? AND LOWER(SQL_STATEMENT) NOT LIKE '%query_statistics%'",
+            Long.class, "%from " + table + "%");
+        return count != null ? count : 0;
+    }
+
+    private static TranslationDTO translation(String name) {
+        TranslationDTO translation = new TranslationDTO();
+        translation.setName(name);
+        return translation;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/CategoryTreeQueryCountIntegrationTest.java
+ * @description Arbre des catégories : nombre constant de requêtes, maintenance de la table de fermeture et instantané lu hors transaction appelante
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.CategoryTreeCache;
+import com.example.gestioncommerciale.service.catalog.CategoryTreeSnapshot;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_category_tree;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class CategoryTreeQueryCountIntegrationTest {
+
+    private static final int ROOTS = 10;
+    private static final int CHILDREN_PER_ROOT = 7;
+    private static final int LEAVES_PER_CHILD = 6;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryTreeCache categoryTreeCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Doit charger un arbre de 500 catégories avec compteurs en un nombre constant de requêtes SQL")
+    void shouldLoadLargeTreeWithConstantStatementCount() {
+        // Given : 10 racines x 7 enfants x 6 feuilles = 500 catégories
+        List<Long> leaves = new ArrayList<>();
+        int sequence = 0;
+        for (int r = 0; r < ROOTS; r++) {
+            Long root = categoryService.create(newCategory("R" + (sequence++), null)).getId();
+            for (int c = 0; c < CHILDREN_PER_ROOT; c++) {
+                Long child = categoryService.create(newCategory("C" + (sequence++), root)).getId();
+                for (int l = 0; l < LEAVES_PER_CHILD; l++) {
+                    leaves.add(categoryService.create(newCategory("L" + (sequence++), child)).getId());
+                }
+            }
+        }
+
+        Long leafId = leaves.get(0);
+        productService.create(newProduct("Produit feuille A", leafId));
+        productService.create(newProduct("Produit feuille B", leafId));
+        // Instantané déjà construit par la création des produits : reconstruction forcée pour la mesure à froid
+        categoryTreeCache.invalidate();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When : reconstruction de l'instantané (catégories + fermeture) puis COUNT groupé
+        List<CategoryDTO> tree = categoryService.findCategoryTree(true);
+        long coldStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        categoryService.findCategoryTree(true);
+        long warmStatements = statistics.getPrepareStatementCount();
+
+        // Then
+        assertThat(coldStatements).isEqualTo(3);
+        assertThat(warmStatements).isEqualTo(1);
+        tree = tree.stream().filter(root -> root.getCode().startsWith("R")).toList();
+        assertThat(tree).hasSize(ROOTS);
+
+        CategoryDTO firstRoot = tree.get(0);
+        CategoryDTO firstChild = firstRoot.getChildren().get(0);
+        CategoryDTO firstLeaf = firstChild.getChildren().get(0);
+        assertThat(firstRoot.getChildren()).hasSize(CHILDREN_PER_ROOT);
+        assertThat(firstChild.getChildren()).hasSize(LEAVES_PER_CHILD);
+        assertThat(firstLeaf.getId()).isEqualTo(leafId);
+        assertThat(firstLeaf.getProductCount()).isEqualTo(2);
+        assertThat(firstChild.getProductCount()).isEqualTo(2);
+        assertThat(firstRoot.getProductCount()).isEqualTo(2);
+        assertThat(firstLeaf.getLevel()).isEqualTo(2);
+        assertThat(firstLeaf.getFullPath()).isEqualTo("Catégorie R0 > Catégorie C1 > Catégorie L2");
+    }
+
+    @Test
+    @DisplayName("Doit maintenir la table de fermeture lors du déplacement d'un sous-arbre")
+    void shouldMaintainClosureWhenMovingSubtree() {
+        // Given : A > B > C et D
+        Long a = categoryService.create(newCategory("MA", null)).getId();
+        Long b = categoryService.create(newCategory("MB", a)).getId();
+        Long c = categoryService.create(newCategory("MC", b)).getId();
+        Long d = categoryService.create(newCategory("MD", null)).getId();
+        assertThat(categoryService.findSubtreeIds(a)).containsExactlyInAnyOrder(a, b, c);
+
+        // When : B (et C) déplacés sous D
+        CategoryDTO moved = categoryService.getById(b);
+        moved.setParentId(d);
+        categoryService.update(b, moved);
+
+        // Then
+        assertThat(categoryService.findSubtreeIds(a)).containsExactly(a);
+        assertThat(categoryService.findSubtreeIds(d)).containsExactlyInAnyOrder(d, b, c);
+        assertThat(categoryService.findBreadcrumb(c))
+            .extracting(node -> node.id()).containsExactly(d, b, c);
+        assertThat(categoryService.getById(c).getFullPath()).isEqualTo("Catégorie MD > Catégorie MB > Catégorie MC");
+
+        CategoryDTO cycle = categoryService.getById(d);
+        cycle.setParentId(c);
+        assertThatThrownBy(() -> categoryService.update(d, cycle))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("sous-catégories");
+    }
+
+    @Test
+    @DisplayName("Doit construire l'instantané hors de la transaction d'écriture appelante et le conserver")
+    void shouldBuildSnapshotOutsideCallerTransaction() {
+        // Given
+        Long committed = categoryService.create(newCategory("TA", null)).getId();
+        categoryTreeCache.invalidate();
+
+        // When : catégorie créée sans commit, instantané demandé dans la même transaction
+        CategoryTreeSnapshot[] built = new CategoryTreeSnapshot[1];
+        Long[] uncommitted = new Long[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            uncommitted[0] = categoryService.create(newCategory("TB", null)).getId();
+            built[0] = categoryTreeCache.get();
+            status.setRollbackOnly();
+        });
+
+        // Then : état validé uniquement, instantané mis en cache
+        assertThat(built[0].get(committed)).isNotNull();
+        assertThat(built[0].get(uncommitted[0])).isNull();
+        assertThat(categoryTreeCache.get()).isSameAs(built[0]);
+    }
+
+    private CategoryDTO newCategory(String code, Long parentId) {
+        CategoryDTO category = new CategoryDTO();
+        category.setCode(code);
+        category.setName("Catégorie " + code);
+        category.setParentId(parentId);
+        category.setSortOrder(code.startsWith("M") || code.startsWith("T") ? 0 : Integer.parseInt(code.substring(1)));
+        return category;
+    }
+
+    private ProductDTO newProduct(String name, Long categoryId) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setCategoryId(categoryId);
+        product.setUnitPrice(BigDecimal.TEN);
+        return product;
+    }
+}
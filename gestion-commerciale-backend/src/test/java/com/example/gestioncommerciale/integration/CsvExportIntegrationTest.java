@@ -0,0 +1,88 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/CsvExportIntegrationTest.java
+ * @description Export CSV en flux : filtres de la liste et format (volume : CsvExportVolumeIntegrationTest)
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_export;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CsvExportIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Long sampleCategoryId;
+
+    @BeforeAll
+    void createProducts() {
+        sampleCategoryId = createCategory("Échantillon");
+
+        productService.create(newProduct("Vis; tête \"fraisée\"", true));
+        productService.create(newProduct("Boulon\nhexagonal", true));
+        productService.create(newProduct("Rondelle retirée", false));
+    }
+
+    @Test
+    @DisplayName("Doit appliquer les filtres de la liste et échapper séparateurs, guillemets et retours à la ligne")
+    void shouldHonourListFiltersAndQuoteValues() throws IOException {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long rows = productService.exportCsv(
+            true, sampleCategoryId, false, null, null, null, null, "", Sort.by("name"), output
+        );
+
+        // Then
+        String csv = output.toString(StandardCharsets.UTF_8);
+        assertThat(rows).isEqualTo(2);
+        assertThat(csv).startsWith("\uFEFFcode;name;categoryCode;categoryName;type;status;active;");
+        assertThat(csv).contains(";\"Vis; tête \"\"fraisée\"\"\";");
+        assertThat(csv).contains(";\"Boulon\nhexagonal\";");
+        assertThat(csv).doesNotContain("Rondelle retirée");
+        assertThat(csv.indexOf("Boulon")).isLessThan(csv.indexOf("Vis"));
+        assertThat(csv).contains(";Échantillon;PRODUCT;AVAILABLE;true;");
+    }
+
+    private Long createCategory(String name) {
+        CategoryDTO category = new CategoryDTO();
+        category.setName(name);
+        return categoryService.create(category).getId();
+    }
+
+    private ProductDTO newProduct(String name, boolean active) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setCategoryId(sampleCategoryId);
+        product.setUnitPrice(BigDecimal.TEN);
+        product.setActive(active);
+        return product;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/CsvExportVolumeIntegrationTest.java
+ * @description Export CSV en flux d'un million de lignes à mémoire constante (lancement à la demande)
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Base H2 sur fichier et exécution paresseuse : les lignes ne sont pas matérialisées dans le tas
+ * par la base elle-même, seule la mémoire consommée par l'export est mesurée.
+ * <p>
+ * Environ deux minutes : hors suite par défaut, lancement par
+ * {@code mvn test -Dtest=CsvExportVolumeIntegrationTest -Dloadtest=true} (option -Dloadtest.exportRows)
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:file:./target/h2/gc_export;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;LAZY_QUERY_EXECUTION=TRUE;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.example.gestioncommerciale=INFO"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@Slf4j
+class CsvExportVolumeIntegrationTest {
+
+    private static final int BULK_ROWS = Integer.getInteger("loadtest.exportRows", 1_000_000);
+    private static final int INSERT_CHUNK = 100_000;
+    private static final long SAMPLE_EVERY_BYTES = 8L * 1024 * 1024;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long bulkCategoryId;
+
+    @BeforeAll
+    void createProducts() {
+        bulkCategoryId = createCategory("Volume");
+
+        // Insertion ensembliste par tranches : un million de lignes sans passer par JPA
+        for (int chunk = 1; chunk <= BULK_ROWS; chunk += INSERT_CHUNK) {
+            int from = chunk;
+            int to = Math.min(chunk + INSERT_CHUNK - 1, BULK_ROWS);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("""
+                INSERT INTO products (code, name, description, active, type, status, reference, unit_price, cost_price,
+                                      vat_rate, stock_managed, stock_quantity, min_stock_level, max_stock_level, unit,
+                                      category_id, created_at, updated_at)
+                SELECT 'VOL-' || X, 'Produit en volume ' || X, 'Description du produit ' || X, TRUE,
+                       'PRODUCT', 'AVAILABLE', 'REF-' || X, 19.90, 12.50, 20.00, TRUE, MOD(X, 500), 10, 1000, 'pce',
+                       ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(?, ?)
+                """, bulkCategoryId, from, to));
+        }
+    }
+
+    @Test
+    @DisplayName("Doit exporter un million de lignes compressées sans faire croître le tas")
+    void shouldStreamMillionRowsInConstantMemory() throws IOException {
+        // Given
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        CountingOutputStream compressed = new CountingOutputStream();
+        HeapSamplingOutputStream raw = new HeapSamplingOutputStream(new GZIPOutputStream(compressed, 64 * 1024));
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+
+        // When
+        long rows;
+        try (raw) {
+            rows = productService.exportCsv(
+                null, bulkCategoryId, false, null, null, null, null, "", Sort.by("code"), raw
+            );
+        }
+        long allocatedPerRow = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / BULK_ROWS;
+
+        // Then
+        LongSummaryStatistics heap = raw.samples.stream().mapToLong(Long::longValue).summaryStatistics();
+        log.info("Export de {} lignes : {} Mo bruts, {} Mo compressés, {} octets alloués par ligne, "
+                + "tas après GC entre {} et {} Mo ({} mesures)",
+            rows, raw.count >> 20, compressed.count >> 20, allocatedPerRow,
+            heap.getMin() >> 20, heap.getMax() >> 20, heap.getCount());
+
+        assertThat(rows).isEqualTo(BULK_ROWS);
+        assertThat(raw.count).isGreaterThan(BULK_ROWS * 50L);
+        assertThat(compressed.count).isLessThan(raw.count / 3);
+        assertThat(heap.getCount()).isGreaterThanOrEqualTo(5);
+        // Un export qui retiendrait ses lignes (entités, liste, tampon complet) croîtrait de plusieurs centaines de Mo
+        assertThat(heap.getMax() - heap.getMin()).isLessThan(48L * 1024 * 1024);
+        // Allocation par ligne bornée à un ordre de grandeur : environ 12 Ko mesurés, dominés par le curseur H2
+        // (valeurs et tampons de ligne, variables selon la version) ; une entité gérée par ligne dépasserait la borne
+        assertThat(allocatedPerRow).isLessThan(64 * 1024);
+    }
+
+    private Long createCategory(String name) {
+        CategoryDTO category = new CategoryDTO();
+        category.setName(name);
+        return categoryService.create(category).getId();
+    }
+
+    /**
+     * Puits qui ne fait que compter les octets reçus
+     */
+    private static class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    /**
+     * Relève le tas occupé après un GC complet à intervalles réguliers de données écrites
+     */
+    private static class HeapSamplingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+        private final List<Long> samples = new ArrayList<>();
+        private long count;
+        private long nextSample = SAMPLE_EVERY_BYTES;
+
+        HeapSamplingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            advance(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            advance(len);
+        }
+
+        private void advance(int len) {
+            count += len;
+            if (count >= nextSample) {
+                nextSample += SAMPLE_EVERY_BYTES;
+                System.gc();
+                samples.add(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/EntityCacheIntegrationTest.java
+ * @description Cache de second niveau : lectures de référence sans requête, invalidation par les écritures des services
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.model.Permission;
+import com.example.gestioncommerciale.model.Role;
+import com.example.gestioncommerciale.model.catalog.Category;
+import com.example.gestioncommerciale.repository.PermissionRepository;
+import com.example.gestioncommerciale.repository.RoleRepository;
+import com.example.gestioncommerciale.repository.catalog.CategoryRepository;
+import com.example.gestioncommerciale.service.EntityCacheService;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_l2cache;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class EntityCacheIntegrationTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long rootId;
+
+    @BeforeAll
+    void createReferenceData() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CategoryDTO root = new CategoryDTO();
+        root.setName("Référence");
+        rootId = categoryService.create(root).getId();
+        for (int i = 1; i <= 5; i++) {
+            CategoryDTO child = new CategoryDTO();
+            child.setName("Sous-catégorie " + i);
+            child.setParentId(rootId);
+            categoryService.create(child);
+        }
+    }
+
+    @Test
+    @DisplayName("Doit servir catégories actives et rôles depuis le cache, sans requête SQL à la seconde lecture")
+    void shouldServeReferenceDataWithoutSql() {
+        // Given
+        Long roleId = transactionTemplate.execute(status -> {
+            Permission read = newPermission("catalog:read");
+            Permission write = newPermission("catalog:write");
+            Role role = new Role();
+            role.setName("CATALOGUE");
+            role.setPermissions(new HashSet<>(List.of(read, write)));
+            return roleRepository.save(role).getId();
+        });
+        activeCategoryNames();
+        permissionNames(roleId);
+
+        // When
+        statistics.clear();
+        List<String> categories = activeCategoryNames();
+        Set<String> permissions = permissionNames(roleId);
+        long statements = statistics.getPrepareStatementCount();
+
+        // Then
+        log.info("Lecture de référence en cache : {} requête(s), {} succès L2, {} succès cache de requêtes",
+            statements, statistics.getSecondLevelCacheHitCount(), statistics.getQueryCacheHitCount());
+        assertThat(categories).contains("Référence", "Sous-catégorie 3");
+        assertThat(permissions).containsExactlyInAnyOrder("catalog:read", "catalog:write");
+        assertThat(statements).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(entityCacheService.stats())
+            .filteredOn(region -> region.region().equals("categories"))
+            .singleElement()
+            .satisfies(region -> {
+                assertThat(region.hits()).isPositive();
+                assertThat(region.maxSize()).isEqualTo(5000);
+            });
+    }
+
+    @Test
+    @DisplayName("Doit refléter créations, renommages, déplacements et ajouts de permission dès la transaction suivante")
+    void shouldInvalidateOnServiceWrites() {
+        // Given
+        Long roleId = transactionTemplate.execute(status -> {
+            Role role = new Role();
+            role.setName("VENTES");
+            role.setPermissions(new HashSet<>(List.of(newPermission("orders:read"))));
+            return roleRepository.save(role).getId();
+        });
+        CategoryDTO other = new CategoryDTO();
+        other.setName("Autre racine");
+        Long otherId = categoryService.create(other).getId();
+        CategoryDTO moved = new CategoryDTO();
+        moved.setName("Déplacée");
+        moved.setParentId(rootId);
+        Long movedId = categoryService.create(moved).getId();
+        activeCategoryNames();
+        permissionNames(roleId);
+        childNames(rootId);
+        childNames(otherId);
+
+        // When
+        CategoryDTO renamed = categoryService.getById(movedId);
+        renamed.setName("Déplacée et renommée");
+        renamed.setParentId(otherId);
+        categoryService.update(movedId, renamed);
+        CategoryDTO created = new CategoryDTO();
+        created.setName("Créée après mise en cache");
+        categoryService.create(created);
+        transactionTemplate.executeWithoutResult(status -> {
+            Role role = roleRepository.findById(roleId).orElseThrow();
+            role.getPermissions().add(newPermission("orders:write"));
+        });
+
+        // Then
+        assertThat(activeCategoryNames())
+            .contains("Déplacée et renommée", "Créée après mise en cache")
+            .doesNotContain("Déplacée");
+        assertThat(childNames(rootId)).doesNotContain("Déplacée", "Déplacée et renommée");
+        assertThat(childNames(otherId)).containsExactly("Déplacée et renommée");
+        assertThat(permissionNames(roleId)).containsExactlyInAnyOrder("orders:read", "orders:write");
+    }
+
+    @Test
+    @DisplayName("Doit relire la base après une modification par SQL direct suivie d'une purge")
+    void shouldReloadAfterEvictionFollowingRawSql() {
+        // Given
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Modifiée hors application");
+        Long id = categoryService.create(category).getId();
+        activeCategoryNames();
+
+        // When
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update("UPDATE categories SET name = 'Corrigée en SQL' WHERE id = ?", id));
+        String beforeEviction = categoryName(id);
+        entityCacheService.evictAll();
+
+        // Then
+        assertThat(beforeEviction).isEqualTo("Modifiée hors application");
+        assertThat(categoryName(id)).isEqualTo("Corrigée en SQL");
+        assertThat(activeCategoryNames()).contains("Corrigée en SQL");
+    }
+
+    private List<String> activeCategoryNames() {
+        return transactionTemplate.execute(status ->
+            categoryRepository.findByActiveTrue().stream().map(Category::getName).toList());
+    }
+
+    private List<String> childNames(Long parentId) {
+        return transactionTemplate.execute(status ->
+            categoryRepository.findById(parentId).orElseThrow().getChildren().stream().map(Category::getName).toList());
+    }
+
+    private String categoryName(Long id) {
+        return transactionTemplate.execute(status -> categoryRepository.findById(id).orElseThrow().getName());
+    }
+
+    private Set<String> permissionNames(Long roleId) {
+        return transactionTemplate.execute(status -> {
+            Set<String> names = new HashSet<>();
+            roleRepository.findById(roleId).orElseThrow().getPermissions().forEach(p -> names.add(p.getName()));
+            return names;
+        });
+    }
+
+    private Permission newPermission(String name) {
+        Permission permission = new Permission();
+        permission.setName(name);
+        permission.setModule(name.substring(0, name.indexOf(':')));
+        permission.setAction(name.substring(name.indexOf(':') + 1));
+        return permissionRepository.save(permission);
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/HotPathMetricsIntegrationTest.java
+ * @description Métriques des chemins critiques : séquences, recherche produits, audit, rendu des vues, pool JDBC, collecte Prometheus
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.service.AuditLogWriter;
+import com.example.gestioncommerciale.service.AuditService;
+import com.example.gestioncommerciale.service.SequenceService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_hot_path_metrics;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HotPathMetricsIntegrationTest {
+
+    private static final Path DASHBOARD = Path.of("monitoring/grafana/dashboards/gestion-commerciale.json");
+    private static final Pattern DASHBOARD_METRIC = Pattern.compile("\\b((?:app|hikaricp|http_server)_[a-z_]+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SequenceService sequenceService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long productId;
+
+    @BeforeAll
+    void createProduct() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("""
+                INSERT INTO categories (code, name, active, sort_order, created_at, updated_at)
+                VALUES ('MET-CAT-1', 'Outillage', TRUE, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                """);
+            jdbcTemplate.update("""
+                INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+                SELECT id, id, 0 FROM categories WHERE code = 'MET-CAT-1'
+                """);
+            jdbcTemplate.update("""
+                INSERT INTO products (code, name, active, type, status, unit_price, cost_price, vat_rate,
+                                      stock_managed, stock_quantity, min_stock_level, max_stock_level, unit,
+                                      category_id, created_at, updated_at)
+                SELECT 'MET-PRD-1', 'Perceuse à percussion', TRUE, 'PRODUCT', 'AVAILABLE', 89.90, 45.00, 20.00,
+                       FALSE, 0, 0, 0, 'pce', id, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM categories WHERE code = 'MET-CAT-1'
+                """);
+        });
+        productId = jdbcTemplate.queryForObject("SELECT id FROM products WHERE code = 'MET-PRD-1'", Long.class);
+    }
+
+    @Test
+    @DisplayName("Doit mesurer l'attente d'un numéro de séquence par type et politique")
+    void shouldTimeSequenceWait() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            sequenceService.generateSequentialCode("METRICS", "MET");
+        }
+
+        // Then
+        Timer wait = meterRegistry.get("app.sequence.wait").tags("type", "METRICS", "policy", "STRICT").timer();
+        assertThat(wait.count()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Doit mesurer la recherche de produits par combinaison de filtres, sans leurs valeurs")
+    void shouldTimeProductSearchByFilterCombination() {
+        // When
+        productService.findWithFilters(true, null, false, null, null, null, null, "perceuse", PageRequest.of(0, 20), null);
+        productService.findWithFilters(null, null, false, null, null, null, null, null, PageRequest.of(0, 20), null);
+
+        // Then
+        assertThat(meterRegistry.get("app.catalog.product.search")
+            .tags("variant", "page", "filters", "active+search").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.catalog.product.search")
+            .tags("variant", "page", "filters", "none").timer().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.find("app.catalog.product.search").tag("filters", "perceuse").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Doit mesurer le dépôt et l'écriture par lots des événements d'audit")
+    void shouldTimeAuditWrites() {
+        // When
+        auditService.logAction("METRICS_TEST", "MONITORING");
+        assertThat(auditLogWriter.awaitDrained(5_000)).isTrue();
+
+        // Then
+        assertThat(meterRegistry.get("app.audit.submit").timer().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("app.audit.flush").timer().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("app.audit.events").tag("outcome", "written").functionCounter().count())
+            .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("app.audit.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Doit mesurer le rendu d'un fragment HTMX séparément du gabarit complet")
+    void shouldTimeFragmentRendering() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/catalog/products/_row/{id}", productId).header("HX-Request", "true"))
+            .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        Timer render = meterRegistry.get("app.view.render")
+            .tags("template", "catalog/products/_productRow", "fragment", "product-row", "htmx", "true")
+            .timer();
+        assertThat(render.count()).isGreaterThanOrEqualTo(1);
+        assertThat(render.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Doit refuser la collecte Prometheus anonyme hors profil dev, la santé restant publique")
+    void shouldRequireAuthenticationForScrape() throws Exception {
+        // When
+        MvcResult scrape = mockMvc.perform(get("/actuator/prometheus")).andReturn();
+        MvcResult health = mockMvc.perform(get("/actuator/health")).andReturn();
+
+        // Then
+        assertThat(scrape.getResponse().getStatus()).isIn(302, 401);
+        assertThat(health.getResponse().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Doit exposer au rôle ADMIN les métriques Prometheus, pool Hikari compris")
+    void shouldServePrometheusScrape() throws Exception {
+        // Given
+        sequenceService.generateSequentialCode("METRICS", "MET");
+
+        // When
+        MvcResult result = mockMvc.perform(get("/actuator/prometheus")).andReturn();
+
+        // Then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        String scrape = result.getResponse().getContentAsString();
+        assertThat(scrape)
+            .contains("app_sequence_wait_seconds_bucket{")
+            .contains("application=\"gestion-commerciale\"")
+            .contains("hikaricp_connections_pending{")
+            .contains("hikaricp_connections_max{")
+            .contains("hikaricp_connections_acquire_seconds_bucket{");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Doit ne référencer dans le tableau de bord fourni que des métriques réellement exposées")
+    void shouldReferenceExposedMetricsOnly() throws Exception {
+        // Given : chaque chemin critique exercé au moins une fois
+        sequenceService.generateSequentialCode("METRICS", "MET");
+        productService.findWithFilters(true, null, false, null, null, null, null, null, PageRequest.of(0, 20), null);
+        auditService.logAction("METRICS_TEST", "MONITORING");
+        auditLogWriter.awaitDrained(5_000);
+        mockMvc.perform(get("/catalog/products/_row/{id}", productId).header("HX-Request", "true"));
+        mockMvc.perform(get("/api/categories"));
+        String scrape = mockMvc.perform(get("/actuator/prometheus")).andReturn().getResponse().getContentAsString();
+
+        // When
+        JsonNode dashboard = objectMapper.readTree(Files.readString(DASHBOARD));
+        Set<String> referenced = new TreeSet<>();
+        for (JsonNode expr : dashboard.findValues("expr")) {
+            Matcher matcher = DASHBOARD_METRIC.matcher(expr.asText());
+            while (matcher.find()) {
+                referenced.add(matcher.group(1));
+            }
+        }
+
+        // Then
+        assertThat(dashboard.path("uid").asText()).isNotBlank();
+        assertThat(referenced).isNotEmpty();
+        assertThat(referenced).allSatisfy(metric -> assertThat(scrape).as(metric).contains("\n" + metric + "{"));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/InvoicingRunIntegrationTest.java
+ * @description Facturation par lot : partitions client en parallèle, numérotation sans trou, reprise sans double facturation
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.model.sales.InvoicingRun;
+import com.example.gestioncommerciale.service.sales.InvoicingRunService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_invoicing;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "app.stock.compaction-interval=0",
+    "app.invoicing.parallelism=4",
+    "app.invoicing.chunk-size=100"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class InvoicingRunIntegrationTest {
+
+    private static final int CUSTOMERS = 40;
+    private static final int ORDERS_PER_CUSTOMER = 50;
+    private static final int LINES_PER_ORDER = 3;
+
+    @Autowired
+    private InvoicingRunService invoicingRunService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Doit facturer 2 000 commandes livrées en parallèle avec des numéros consécutifs, une seule fois")
+    void shouldInvoiceDeliveredOrdersInParallelPartitions() {
+        // Given
+        createDeliveredOrders("MOIS", CUSTOMERS, ORDERS_PER_CUSTOMER, LINES_PER_ORDER);
+        Long firstCustomer = jdbcTemplate.queryForObject("SELECT id FROM customers WHERE code = 'MOIS-1'", Long.class);
+        transactionTemplate.executeWithoutResult(status -> {
+            insertOrder("MOIS-BROUILLON", firstCustomer, "DRAFT", LocalDateTime.now());
+            insertOrder("MOIS-TARDIVE", firstCustomer, "DELIVERED", LocalDateTime.now().plusDays(1));
+        });
+        int orders = CUSTOMERS * ORDERS_PER_CUSTOMER;
+        LocalDate issueDate = LocalDate.now();
+
+        // When
+        InvoicingRunService.InvoicingReport report = invoicingRunService.start(LocalDateTime.now(), issueDate);
+        InvoicingRunService.InvoicingReport again = invoicingRunService.start(LocalDateTime.now(), issueDate);
+
+        // Then
+        log.info("Facturation : {} factures, {} partitions en {} ms ({} factures/s)",
+            report.invoices(), report.partitions(), report.elapsedMillis(), Math.round(report.invoicesPerSecond()));
+        assertThat(report.status()).isEqualTo(InvoicingRun.RunStatus.COMPLETED);
+        assertThat(report.partitions()).isEqualTo(CUSTOMERS);
+        assertThat(report.invoices()).isEqualTo(orders);
+        assertThat(report.invoicesPerSecond()).isPositive();
+        assertThat(again.invoices()).isZero();
+        assertThat(again.partitions()).isZero();
+
+        assertThat(count("SELECT COUNT(DISTINCT i.order_id) FROM invoices i JOIN orders o ON o.id = i.order_id " +
+                         "WHERE o.code LIKE 'MOIS-%'")).isEqualTo(orders);
+        assertThat(count("SELECT COUNT(*) FROM invoice_items ii JOIN invoices i ON i.id = ii.invoice_id " +
+                         "JOIN orders o ON o.id = i.order_id WHERE o.code LIKE 'MOIS-%'")).isEqualTo(orders * LINES_PER_ORDER);
+        assertThat(count("SELECT COUNT(*) FROM orders WHERE code LIKE 'MOIS-%' AND status = 'INVOICED'")).isEqualTo(orders);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM orders WHERE code IN ('MOIS-BROUILLON', 'MOIS-TARDIVE') ORDER BY code",
+            String.class)).containsExactly("DRAFT", "DELIVERED");
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(i.total_ttc) FROM invoices i JOIN orders o ON o.id = i.order_id " +
+            "WHERE o.code LIKE 'MOIS-%'", BigDecimal.class)).isEqualByComparingTo(BigDecimal.valueOf(72L * orders));
+        assertThat(count("SELECT COUNT(*) FROM invoices i JOIN orders o ON o.id = i.order_id " +
+                         "JOIN customers c ON c.id = o.customer_id WHERE o.code LIKE 'MOIS-%' " +
+                         "AND i.due_date <> DATEADD('DAY', c.payment_term_days, i.issue_date)")).isZero();
+
+        // Numérotation sans trou malgré les partitions parallèles
+        List<Long> numbers = jdbcTemplate.queryForList("SELECT i.code FROM invoices i JOIN orders o ON o.id = i.order_id " +
+            "WHERE o.code LIKE 'MOIS-%'", String.class).stream()
+            .map(code -> Long.parseLong(code.substring(code.lastIndexOf('-') + 1))).sorted().toList();
+        assertThat(numbers).doesNotHaveDuplicates();
+        assertThat(numbers.get(numbers.size() - 1) - numbers.get(0) + 1).isEqualTo(orders);
+        assertThat(invoicingRunService.getById(report.runId()).getInvoicesCreated()).isEqualTo(orders);
+    }
+
+    @Test
+    @DisplayName("Doit reprendre une facturation interrompue à partir des points de reprise sans refacturer")
+    void shouldResumeInterruptedRunWithoutDoubleBilling() {
+        // Given : un numéro déjà pris fait échouer les lots suivant le premier
+        createDeliveredOrders("REPRISE", 6, 30, 1);
+        long sequence = count("SELECT COALESCE(MAX(current_value), 0) FROM sequences WHERE type = 'INVOICE'");
+        String blocker = String.format("FAC-%d-%04d", LocalDate.now().getYear(), sequence + 40);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+            "INSERT INTO invoices (code, status_code, issue_date, currency_code, subtotal_ht, tax_amount, total_ttc, " +
+            "created_at, updated_at) VALUES (?, 'ISSUED', CURRENT_DATE, 'EUR', 0, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+            blocker));
+
+        // When
+        InvoicingRunService.InvoicingReport failed = invoicingRunService.start(LocalDateTime.now(), LocalDate.now());
+        // Arrêt brutal simulé : exécution restée RUNNING, point de reprise d'une partition terminée perdu
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE invoicing_runs SET status = 'RUNNING' WHERE id = ?", failed.runId());
+            jdbcTemplate.update("UPDATE invoicing_run_partitions SET status = 'PENDING', last_order_id = 0 " +
+                                "WHERE run_id = ? AND status = 'DONE'", failed.runId());
+            jdbcTemplate.update("DELETE FROM invoices WHERE code = ?", blocker);
+        });
+        Throwable refused = catchThrowable(() -> invoicingRunService.start(LocalDateTime.now(), LocalDate.now()));
+        InvoicingRunService.InvoicingReport resumed = invoicingRunService.resume(failed.runId());
+
+        // Then
+        assertThat(failed.status()).isEqualTo(InvoicingRun.RunStatus.FAILED);
+        assertThat(failed.invoices()).isEqualTo(30);
+        assertThat(failed.failedPartitions()).isEqualTo(5);
+        assertThat(refused).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("interrompue");
+
+        assertThat(resumed.status()).isEqualTo(InvoicingRun.RunStatus.COMPLETED);
+        assertThat(resumed.partitions()).isEqualTo(6);
+        assertThat(resumed.invoices()).isEqualTo(150);
+        assertThat(count("SELECT COUNT(*) FROM invoices i JOIN orders o ON o.id = i.order_id WHERE o.code LIKE 'REPRISE-%'"))
+            .isEqualTo(180);
+        assertThat(count("SELECT COUNT(DISTINCT i.order_id) FROM invoices i JOIN orders o ON o.id = i.order_id " +
+                         "WHERE o.code LIKE 'REPRISE-%'")).isEqualTo(180);
+        InvoicingRun run = invoicingRunService.getById(failed.runId());
+        assertThat(run.getInvoicesCreated()).isEqualTo(180);
+        assertThat(run.getPartitionsDone()).isEqualTo(6);
+        assertThat(run.getPartitionsFailed()).isZero();
+        assertThatThrownBy(() -> invoicingRunService.resume(failed.runId()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Clients PREFIXE-n, commandes livrées PREFIXE-... de lignes à 10,00 HT (TVA 20 %) × rang de ligne
+     */
+    private void createDeliveredOrders(String prefix, int customers, int ordersPerCustomer, int linesPerOrder) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("""
+                INSERT INTO customers (code, company_name, payment_term_days, status, type, created_at, updated_at)
+                SELECT ? || '-' || X, 'Client ' || X, CASE MOD(X, 2) WHEN 0 THEN 30 ELSE 45 END,
+                       'ACTIVE', 'COMPANY', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, ?)
+                """, prefix, customers);
+            jdbcTemplate.update("""
+                INSERT INTO orders (code, customer_id, status, currency_code, subtotal_ht, tax_amount, total_ttc, created_at, updated_at)
+                SELECT ? || '-' || r.X, c.id, 'DELIVERED', 'EUR', ?, ?, ?, CURRENT_TIMESTAMP, DATEADD('MINUTE', -1, CURRENT_TIMESTAMP)
+                FROM SYSTEM_RANGE(1, ?) r JOIN customers c ON c.code = ? || '-' || (MOD(r.X, ?) + 1)
+                """, prefix, 10L * triangle(linesPerOrder), 2L * triangle(linesPerOrder), 12L * triangle(linesPerOrder),
+                customers * ordersPerCustomer, prefix, customers);
+            jdbcTemplate.update("""
+                INSERT INTO order_items (order_id, sku, name, quantity, unit_price, tax_rate, line_total_ht, line_tax_amount,
+                                         line_total_ttc, created_at, updated_at)
+                SELECT o.id, 'SKU-' || l.X, 'Article ' || l.X, l.X, 10.00, 20.00, 10 * l.X, 2 * l.X, 12 * l.X,
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM orders o CROSS JOIN SYSTEM_RANGE(1, ?) l WHERE o.code LIKE ? || '-%' AND o.status = 'DELIVERED'
+                """, linesPerOrder, prefix);
+        });
+    }
+
+    private void insertOrder(String code, Long customerId, String status, LocalDateTime updatedAt) {
+        jdbcTemplate.update("INSERT INTO orders (code, customer_id, status, currency_code, subtotal_ht, tax_amount, total_ttc, " +
+            "created_at, updated_at) VALUES (?, ?, ?, 'EUR', 0, 0, 0, CURRENT_TIMESTAMP, ?)", code, customerId, status, updatedAt);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static long triangle(int n) {
+        return (long) n * (n + 1) / 2;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/KeysetPaginationIntegrationTest.java
+ * @description Tests de la pagination par curseur : parcours complet, retour arrière, clés nulles, total transporté, tri et curseur invalides
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductRowDTO;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import com.example.gestioncommerciale.service.pagination.InvalidCursorException;
+import com.example.gestioncommerciale.service.pagination.InvalidSortException;
+import com.example.gestioncommerciale.service.pagination.KeysetPage;
+import com.example.gestioncommerciale.service.pagination.KeysetWindow;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_keyset;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class KeysetPaginationIntegrationTest {
+
+    private static final int PRODUCTS = 45;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Long categoryId;
+
+    private Long nullableCategoryId;
+
+    @BeforeAll
+    void createProducts() {
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Pagination");
+        categoryId = categoryService.create(category).getId();
+
+        // Noms en triple : l'identifiant départage les ex æquo
+        for (int i = 0; i < PRODUCTS; i++) {
+            ProductDTO product = new ProductDTO();
+            product.setName(String.format("Produit %02d", i / 3));
+            product.setCategoryId(categoryId);
+            product.setUnitPrice(BigDecimal.valueOf(i));
+            productService.create(product);
+        }
+
+        // EAN renseigné pour un produit sur trois seulement : clés de tri nulles sur plusieurs pages
+        CategoryDTO nullable = new CategoryDTO();
+        nullable.setName("Pagination EAN");
+        nullableCategoryId = categoryService.create(nullable).getId();
+        for (int i = 0; i < 9; i++) {
+            ProductDTO product = new ProductDTO();
+            product.setName("Sans EAN " + i);
+            product.setCategoryId(nullableCategoryId);
+            product.setUnitPrice(BigDecimal.ONE);
+            product.setEan(i % 3 == 0 ? String.format("40000000000%02d", i) : null);
+            productService.create(product);
+        }
+    }
+
+    @Test
+    @DisplayName("Doit parcourir toutes les pages par curseur dans l'ordre de la pagination par décalage")
+    void shouldWalkAllPagesWithCursor() {
+        // Given
+        Sort sort = Sort.by(Sort.Direction.DESC, "name");
+        List<Long> expected = productService.findWithFilters(
+            null, categoryId, false, null, null, null, null, "",
+            PageRequest.of(0, PRODUCTS, sort.and(Sort.by(Sort.Direction.DESC, "id"))), null
+        ).getContent().stream().map(ProductDTO::getId).toList();
+
+        // When
+        List<Long> walked = new ArrayList<>();
+        List<KeysetPage<ProductDTO>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<ProductDTO> page = list(PageRequest.of(0, PAGE_SIZE, sort), cursor);
+            pages.add(page);
+            page.getContent().forEach(p -> walked.add(p.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertThat(walked).hasSize(PRODUCTS).doesNotHaveDuplicates().isEqualTo(expected);
+        assertThat(pages).hasSize(5);
+        assertThat(pages.get(4).getNumber()).isEqualTo(4);
+        assertThat(pages.get(4).getTotalElements()).isEqualTo(PRODUCTS);
+
+        // Retour arrière depuis la dernière page
+        KeysetPage<ProductDTO> previous = list(PageRequest.of(0, PAGE_SIZE, sort), pages.get(4).getPreviousCursor());
+        assertThat(previous.getContent()).extracting(ProductDTO::getId)
+            .isEqualTo(pages.get(3).getContent().stream().map(ProductDTO::getId).toList());
+        assertThat(previous.getNumber()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Doit reprendre par curseur après un saut de page explicite et sans comptage côté REST")
+    void shouldContinueAfterOffsetJumpAndScroll() {
+        // Given
+        Sort sort = Sort.by("unitPrice");
+        KeysetPage<ProductDTO> jumped = list(PageRequest.of(2, PAGE_SIZE, sort), null);
+
+        // When
+        KeysetPage<ProductDTO> next = list(PageRequest.of(0, PAGE_SIZE, sort), jumped.getNextCursor());
+        KeysetWindow<ProductDTO> first = productService.scroll(null, categoryId, false, null, null, null, sort, PAGE_SIZE, null);
+        KeysetWindow<ProductDTO> second = productService.scroll(null, categoryId, false, null, null, null, sort, PAGE_SIZE, first.nextCursor());
+
+        // Then
+        assertThat(jumped.getContent().get(0).getUnitPrice()).isEqualByComparingTo("20");
+        assertThat(next.getNumber()).isEqualTo(3);
+        assertThat(next.getContent().get(0).getUnitPrice()).isEqualByComparingTo("30");
+        assertThat(first.previousCursor()).isNull();
+        assertThat(second.content().get(0).getUnitPrice()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    @DisplayName("Doit reprendre le total du curseur sans le recompter, et le recompter au saut de page")
+    void shouldCarryTotalInCursor() {
+        // Given
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Pagination total");
+        Long totalCategoryId = categoryService.create(category).getId();
+        for (int i = 0; i < 5; i++) {
+            productService.create(newProduct("Total " + i, totalCategoryId));
+        }
+        Pageable firstPage = PageRequest.of(0, 2, Sort.by("name"));
+        KeysetPage<ProductDTO> first = productService.findWithFilters(
+            null, totalCategoryId, false, null, null, null, null, "", firstPage, null);
+        KeysetPage<ProductRowDTO> firstRows = productService.findRows(
+            null, totalCategoryId, false, null, null, null, null, "", firstPage, null);
+
+        // When : produit ajouté après le premier affichage
+        productService.create(newProduct("Total 5", totalCategoryId));
+        KeysetPage<ProductDTO> next = productService.findWithFilters(
+            null, totalCategoryId, false, null, null, null, null, "", firstPage, first.getNextCursor());
+        KeysetPage<ProductRowDTO> nextRows = productService.findRows(
+            null, totalCategoryId, false, null, null, null, null, "", firstPage, firstRows.getNextCursor());
+        KeysetPage<ProductDTO> jumped = productService.findWithFilters(
+            null, totalCategoryId, false, null, null, null, null, "", PageRequest.of(1, 2, Sort.by("name")), null);
+
+        // Then : total figé pendant la navigation par curseur, compté à nouveau au saut
+        assertThat(first.getTotalElements()).isEqualTo(5);
+        assertThat(next.getTotalElements()).isEqualTo(5);
+        assertThat(nextRows.getTotalElements()).isEqualTo(5);
+        assertThat(jumped.getTotalElements()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Doit rejeter un curseur produit pour un autre tri ou altéré")
+    void shouldRejectInvalidCursor() {
+        // Given
+        String cursor = list(PageRequest.of(0, PAGE_SIZE, Sort.by("name")), null).getNextCursor();
+
+        // When / Then
+        assertThatThrownBy(() -> list(PageRequest.of(0, PAGE_SIZE, Sort.by("code")), cursor))
+            .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> list(PageRequest.of(0, PAGE_SIZE, Sort.by("name")), "pas-un-curseur"))
+            .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private KeysetPage<ProductDTO> list(Pageable pageable, String cursor) {
+        return productService.findWithFilters(null, categoryId, false, null, null, null, null, "", pageable, cursor);
+    }
+
+    @Test
+    @DisplayName("Doit parcourir dans les deux sens un tri sur une colonne en partie nulle")
+    void shouldWalkPagesWhenSortKeyIsNull() {
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            // Given
+            Sort sort = Sort.by(direction, "ean");
+            List<Long> expected = listNullable(PageRequest.of(0, 20, sort.and(Sort.by(direction, "id"))), null)
+                .getContent().stream().map(ProductDTO::getId).toList();
+
+            // When
+            List<Long> walked = new ArrayList<>();
+            List<KeysetPage<ProductDTO>> pages = new ArrayList<>();
+            String cursor = null;
+            do {
+                KeysetPage<ProductDTO> page = listNullable(PageRequest.of(0, 2, sort), cursor);
+                pages.add(page);
+                page.getContent().forEach(p -> walked.add(p.getId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            KeysetPage<ProductDTO> previous = listNullable(PageRequest.of(0, 2, sort), pages.get(3).getPreviousCursor());
+
+            // Then
+            assertThat(walked).as(direction.name()).hasSize(9).doesNotHaveDuplicates().isEqualTo(expected);
+            assertThat(previous.getContent()).extracting(ProductDTO::getId)
+                .isEqualTo(pages.get(2).getContent().stream().map(ProductDTO::getId).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Doit refuser un tri sur une propriété inconnue ou une association")
+    void shouldRejectNonWhitelistedSort() {
+        assertThatThrownBy(() -> list(PageRequest.of(0, PAGE_SIZE, Sort.by("category")), null))
+            .isInstanceOf(InvalidSortException.class);
+        assertThatThrownBy(() -> list(PageRequest.of(0, PAGE_SIZE, Sort.by("category.name")), null))
+            .isInstanceOf(InvalidSortException.class);
+        assertThatThrownBy(() -> productService.scroll(null, categoryId, false, null, null, null,
+                Sort.by("inexistante"), PAGE_SIZE, null))
+            .isInstanceOf(InvalidSortException.class);
+    }
+
+    private ProductDTO newProduct(String name, Long productCategoryId) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setCategoryId(productCategoryId);
+        product.setUnitPrice(BigDecimal.ONE);
+        return product;
+    }
+
+    private KeysetPage<ProductDTO> listNullable(Pageable pageable, String cursor) {
+        return productService.findWithFilters(null, nullableCategoryId, false, null, null, null, null, "", pageable, cursor);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/LoadDriver.java
+ * @description Générateur de charge HTTP en boucle fermée : N utilisateurs simultanés, mélange pondéré de scénarios, percentiles par scénario
+ */
+package com.example.gestioncommerciale.integration;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Chaque utilisateur enchaîne ses requêtes (la suivante part à la réception de la précédente) ;
+ * requêtes non bloquantes côté client, quelques threads suffisent pour des milliers d'utilisateurs
+ */
+final class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private LoadDriver() {
+    }
+
+    static String basicAuth(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Result run(URI uri, String authorization, int users, int requestsPerUser) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .header("Authorization", authorization)
+            .timeout(REQUEST_TIMEOUT)
+            .GET()
+            .build();
+        return run(List.of(new Scenario(uri.getPath(), 1, random -> request)), users, requestsPerUser, 0L).total();
+    }
+
+    /**
+     * Chaque requête tire son scénario selon les poids ; tirages reproductibles à graine égale
+     */
+    static Report run(List<Scenario> scenarios, int users, int requestsPerUser, long seed) {
+        ExecutorService callbacks = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .executor(callbacks)
+            .build();
+
+        Recorder[] recorders = new Recorder[scenarios.size()];
+        int[] cumulativeWeights = new int[scenarios.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < recorders.length; i++) {
+            recorders[i] = new Recorder(scenarios.get(i), users * requestsPerUser);
+            totalWeight += scenarios.get(i).weight();
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        SplittableRandom root = new SplittableRandom(seed);
+        long startedAt = System.nanoTime();
+        CompletableFuture<?>[] sessions = new CompletableFuture<?>[users];
+        for (int user = 0; user < users; user++) {
+            sessions[user] = session(client, root.split(), recorders, cumulativeWeights, requestsPerUser);
+        }
+        try {
+            CompletableFuture.allOf(sessions).get(REQUEST_TIMEOUT.toSeconds() * requestsPerUser, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Charge interrompue : " + e.getMessage(), e);
+        } finally {
+            callbacks.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        long[] all = new long[0];
+        int errors = 0;
+        for (Recorder recorder : recorders) {
+            long[] sorted = recorder.sorted();
+            results.put(recorder.scenario.name(), result(sorted, recorder.errors.get(), elapsedNanos));
+            all = concat(all, sorted);
+            errors += recorder.errors.get();
+        }
+        Arrays.sort(all);
+        return new Report(results, result(all, errors, elapsedNanos));
+    }
+
+    private static CompletableFuture<Void> session(HttpClient client, SplittableRandom random, Recorder[] recorders,
+                                                   int[] cumulativeWeights, int remaining) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (cumulativeWeights[index] <= draw) {
+            index++;
+        }
+        Recorder recorder = recorders[index];
+        HttpRequest request = recorder.scenario.request().apply(random);
+        long sentAt = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .handle((response, failure) -> {
+                recorder.record(System.nanoTime() - sentAt, failure, response);
+                return null;
+            })
+            .thenCompose(ignored -> session(client, random, recorders, cumulativeWeights, remaining - 1));
+    }
+
+    private static Result result(long[] sorted, int errors, long elapsedNanos) {
+        return new Result(sorted.length, errors, percentile(sorted, 50), percentile(sorted, 95),
+            percentile(sorted, 99), sorted.length > 0 ? sorted[sorted.length - 1] / 1_000 : 0,
+            sorted.length * 1e9 / elapsedNanos);
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        long[] merged = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, merged, first.length, second.length);
+        return merged;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000;
+    }
+
+    /**
+     * Requête construite à chaque tirage (identifiants, filtres, corps) à partir du générateur de l'utilisateur
+     */
+    record Scenario(String name, int weight, Function<SplittableRandom, HttpRequest> request) {
+    }
+
+    record Report(Map<String, Result> scenarios, Result total) {
+
+        @Override
+        public String toString() {
+            StringBuilder table = new StringBuilder();
+            scenarios.forEach((name, result) -> table.append(String.format("%-22s %s%n", name, result)));
+            return table.append(String.format("%-22s %s", "total", total)).toString();
+        }
+    }
+
+    /**
+     * Latences en microsecondes, débit en requêtes par seconde
+     */
+    record Result(int requests, int errors, long p50Micros, long p95Micros, long p99Micros, long maxMicros,
+                  double throughput) {
+
+        @Override
+        public String toString() {
+            return String.format("%d requêtes, %d erreurs, %.0f req/s, p50 %d ms, p95 %d ms, p99 %d ms, max %d ms",
+                requests, errors, throughput, p50Micros / 1_000, p95Micros / 1_000, p99Micros / 1_000, maxMicros / 1_000);
+        }
+    }
+
+    private static final class Recorder {
+
+        private final Scenario scenario;
+        private final long[] latencies;
+        private final AtomicInteger recorded = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+        private final AtomicBoolean errorReported = new AtomicBoolean();
+
+        private Recorder(Scenario scenario, int capacity) {
+            this.scenario = scenario;
+            this.latencies = new long[capacity];
+        }
+
+        private void record(long latencyNanos, Throwable failure, HttpResponse<?> response) {
+            latencies[recorded.getAndIncrement()] = latencyNanos;
+            if (failure == null && response.statusCode() >= 200 && response.statusCode() < 300) {
+                return;
+            }
+            errors.incrementAndGet();
+            // Première erreur du scénario seulement : diagnostic sans noyer la sortie
+            if (errorReported.compareAndSet(false, true)) {
+                System.err.printf("Scénario %s en erreur : %s%n", scenario.name(),
+                    failure != null ? failure : "HTTP " + response.statusCode() + " " + response.uri());
+            }
+        }
+
+        private long[] sorted() {
+            long[] sorted = Arrays.copyOf(latencies, recorded.get());
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
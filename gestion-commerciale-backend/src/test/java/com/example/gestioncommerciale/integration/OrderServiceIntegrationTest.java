@@ -0,0 +1,245 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/OrderServiceIntegrationTest.java
+ * @description Commandes : création en lot avec prix figés et totaux au centime, réservations du cycle de vie
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.CustomerDTO;
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.dto.sales.OrderDTO;
+import com.example.gestioncommerciale.dto.sales.OrderItemDTO;
+import com.example.gestioncommerciale.dto.sales.OrderRequest;
+import com.example.gestioncommerciale.dto.sales.SalesLineRequest;
+import com.example.gestioncommerciale.model.Customer;
+import com.example.gestioncommerciale.model.sales.Order;
+import com.example.gestioncommerciale.service.CustomerService;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import com.example.gestioncommerciale.service.sales.OrderService;
+import com.example.gestioncommerciale.service.stock.InsufficientStockException;
+import com.example.gestioncommerciale.service.stock.StockService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_orders;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class OrderServiceIntegrationTest {
+
+    private static final int LINES = 200;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long categoryId;
+    private Long customerId;
+
+    @BeforeAll
+    void createCatalogAndCustomer() {
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Ventes");
+        categoryId = categoryService.create(category).getId();
+
+        CustomerDTO customer = new CustomerDTO();
+        customer.setCompanyName("Client Commandes");
+        customer.setEmail("commandes@client.fr");
+        customer.setStatus(Customer.CustomerStatus.ACTIVE);
+        customer.setType(Customer.CustomerType.COMPANY);
+        customer.setPaymentTermDays(30);
+        customerId = customerService.create(customer).getId();
+
+        // Prix et taux variés pour exercer l'arrondi de TVA ligne à ligne
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("""
+            INSERT INTO products (code, name, active, type, status, unit_price, cost_price, vat_rate, stock_managed,
+                                  stock_quantity, min_stock_level, max_stock_level, unit, category_id, created_at, updated_at)
+            SELECT 'ORD-' || X, 'Article ' || X, TRUE, 'PRODUCT', 'AVAILABLE', X * 1.37 + 0.05, 0,
+                   CASE MOD(X, 3) WHEN 0 THEN 20.00 WHEN 1 THEN 5.50 ELSE 10.00 END,
+                   FALSE, 0, 0, 0, 'pce', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM SYSTEM_RANGE(1, ?)
+            """, categoryId, LINES));
+    }
+
+    @Test
+    @DisplayName("Doit créer une commande de 200 lignes en un lot, prix figés et totaux exacts au centime")
+    void shouldCreateLargeOrderInOneBatchWithExactTotals() {
+        // Given
+        List<Map<String, Object>> products = jdbcTemplate.queryForList(
+            "SELECT id, unit_price, vat_rate FROM products WHERE code LIKE 'ORD-%' ORDER BY id");
+        OrderRequest request = new OrderRequest();
+        request.setCustomerId(customerId);
+        BigDecimal expectedHt = BigDecimal.ZERO;
+        BigDecimal expectedTax = BigDecimal.ZERO;
+        for (int i = 0; i < products.size(); i++) {
+            Map<String, Object> product = products.get(i);
+            int quantity = i % 7 + 1;
+            request.getLines().add(new SalesLineRequest(((Number) product.get("id")).longValue(), quantity));
+            BigDecimal ht = ((BigDecimal) product.get("unit_price")).multiply(BigDecimal.valueOf(quantity));
+            expectedHt = expectedHt.add(ht);
+            expectedTax = expectedTax.add(ht.multiply((BigDecimal) product.get("vat_rate"))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        orderService.create(request); // préchauffage (séquence, plans de requêtes)
+        statistics.clear();
+
+        // When
+        long startedAt = System.nanoTime();
+        OrderDTO created = orderService.create(request);
+        long elapsedMicros = (System.nanoTime() - startedAt) / 1_000;
+        long jpaStatements = statistics.getPrepareStatementCount();
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update("UPDATE products SET unit_price = unit_price * 2 WHERE code LIKE 'ORD-%'"));
+        OrderDTO reloaded = orderService.getById(created.getId());
+
+        // Then
+        log.info("Commande de {} lignes créée en {} µs ({} requêtes JPA hors lot de lignes)",
+            LINES, elapsedMicros, jpaStatements);
+        assertThat(created.getCode()).matches("CMD-\\d{4}-\\d{4}");
+        assertThat(created.getStatus()).isEqualTo(Order.OrderStatus.DRAFT);
+        // Client, séquence (lecture verrouillée et mise à jour), instantané tarifaire, en-tête : rien par ligne
+        assertThat(jpaStatements).isLessThanOrEqualTo(5);
+        assertThat(created.getSubtotalHt()).isEqualByComparingTo(expectedHt);
+        assertThat(created.getTaxAmount()).isEqualByComparingTo(expectedTax);
+        assertThat(created.getTotalTtc()).isEqualByComparingTo(expectedHt.add(expectedTax));
+
+        assertThat(reloaded.getItems()).hasSize(LINES);
+        assertThat(reloaded.getCustomerName()).isEqualTo("Client Commandes");
+        assertThat(reloaded.getTotalTtc()).isEqualByComparingTo(created.getTotalTtc());
+        assertThat(reloaded.getItems()).extracting(OrderItemDTO::getUnitPrice)
+            .containsExactlyElementsOf(created.getItems().stream().map(OrderItemDTO::getUnitPrice).toList());
+        assertThat(reloaded.getItems().stream().map(OrderItemDTO::getLineTotalTtc).reduce(BigDecimal.ZERO, BigDecimal::add))
+            .isEqualByComparingTo(reloaded.getTotalTtc());
+    }
+
+    @Test
+    @DisplayName("Doit réserver à la confirmation, consommer à la livraison, libérer à l'annulation et tout annuler si le stock manque")
+    void shouldReserveCommitAndReleaseStockThroughLifecycle() {
+        // Given
+        Long vis = createStockedProduct("Vis inox", 100);
+        Long ecrou = createStockedProduct("Écrou inox", 10);
+        OrderDTO delivered = orderService.create(order(line(vis, 30), line(ecrou, 4), line(vis, 10)));
+        OrderDTO cancelled = orderService.create(order(line(vis, 20)));
+        OrderDTO tooLarge = orderService.create(order(line(vis, 5), line(ecrou, 7)));
+
+        // When
+        orderService.confirm(delivered.getId());
+        orderService.confirm(cancelled.getId());
+        int afterConfirmations = productService.getById(vis).getStockQuantity();
+        Throwable refused = catchThrowable(() -> orderService.confirm(tooLarge.getId()));
+        orderService.deliver(delivered.getId());
+        orderService.cancel(cancelled.getId());
+
+        // Then
+        assertThat(afterConfirmations).isEqualTo(40);
+        assertThat(refused).isInstanceOf(InsufficientStockException.class);
+        assertThat(orderService.getById(tooLarge.getId()).getStatus()).isEqualTo(Order.OrderStatus.DRAFT);
+        assertThat(productService.getById(vis).getStockQuantity()).isEqualTo(60);
+        assertThat(productService.getById(ecrou).getStockQuantity()).isEqualTo(6);
+        assertThat(orderService.getById(delivered.getId()).getStatus()).isEqualTo(Order.OrderStatus.DELIVERED);
+        assertThat(orderService.getById(cancelled.getId()).getStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT status FROM stock_reservations WHERE reference = ? ORDER BY product_id", String.class, delivered.getCode()))
+            .containsExactly("COMMITTED", "COMMITTED");
+        assertThatThrownBy(() -> orderService.cancel(delivered.getId()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(stockService.projectionDrift()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit refuser une commande sans ligne ou portant un produit inconnu")
+    void shouldRejectInvalidLines() {
+        assertThatThrownBy(() -> orderService.create(order()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderService.create(order(line(-1L, 1))))
+            .hasMessageContaining("Produit non trouvé");
+        assertThatThrownBy(() -> orderService.create(order(line(createStockedProduct("Quantité nulle", 1), 0))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Doit refuser la suppression d'un produit repris sur une commande")
+    void shouldRefuseDeletingOrderedProduct() {
+        // Given
+        Long ordered = createStockedProduct("Produit commandé", 5);
+        Long unused = createStockedProduct("Produit jamais commandé", 5);
+        orderService.create(order(line(ordered, 1)));
+
+        // When
+        productService.delete(unused);
+
+        // Then
+        assertThatThrownBy(() -> productService.delete(ordered))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("commandes, devis ou factures");
+        assertThat(productService.getById(ordered).getId()).isEqualTo(ordered);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE id = ?", Integer.class, unused))
+            .isZero();
+    }
+
+    private Long createStockedProduct(String name, int stock) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setCategoryId(categoryId);
+        product.setUnitPrice(new BigDecimal("2.49"));
+        product.setStockManaged(true);
+        product.setStockQuantity(stock);
+        return productService.create(product).getId();
+    }
+
+    private OrderRequest order(SalesLineRequest... lines) {
+        OrderRequest request = new OrderRequest();
+        request.setCustomerId(customerId);
+        request.setLines(new ArrayList<>(List.of(lines)));
+        return request;
+    }
+
+    private static SalesLineRequest line(Long productId, int quantity) {
+        return new SalesLineRequest(productId, quantity);
+    }
+}
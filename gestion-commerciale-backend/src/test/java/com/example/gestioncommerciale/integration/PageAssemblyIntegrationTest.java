@@ -0,0 +1,200 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/PageAssemblyIntegrationTest.java
+ * @description Assemblage parallèle des pages : latence de la section la plus lente, transactions séparées, délai et échecs partiels
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.config.PageAssemblyProperties;
+import com.example.gestioncommerciale.controller.web.crm.ContactWebController;
+import com.example.gestioncommerciale.dto.crm.ContactRowDTO;
+import com.example.gestioncommerciale.service.assembly.PageAssembler;
+import com.example.gestioncommerciale.service.assembly.PageAssemblyException;
+import com.example.gestioncommerciale.service.pagination.KeysetPage;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_page_assembly;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class PageAssemblyIntegrationTest {
+
+    @Autowired
+    private PageAssembler pageAssembler;
+
+    @Autowired
+    private PageAssemblyProperties properties;
+
+    @Autowired
+    private ContactWebController contactWebController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void createContacts() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("""
+                INSERT INTO customers (code, company_name, payment_term_days, status, type, created_at, updated_at)
+                SELECT 'PAGE-' || X, 'Société ' || X, 30, 'ACTIVE', 'COMPANY', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, 5)
+                """);
+            jdbcTemplate.update("""
+                INSERT INTO contacts (code, type, status, civility, first_name, last_name, email_opt_in, sms_opt_in,
+                                      phone_opt_in, preferred_language, preferred_contact, customer_id, priority,
+                                      is_primary, is_decision_maker, is_influencer, created_at, updated_at)
+                SELECT 'CNT-' || c.id || '-' || r.X, 'CONTACT', 'ACTIVE', 'MR', 'Prénom' || r.X, 'Nom' || c.id,
+                       TRUE, TRUE, TRUE, 'FRENCH', 'EMAIL', c.id, 'NORMAL', r.X = 1, FALSE, FALSE,
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM customers c CROSS JOIN SYSTEM_RANGE(1, 6) r
+                WHERE c.code LIKE 'PAGE-%'
+                """);
+        });
+    }
+
+    @Test
+    @DisplayName("Doit assembler trois sections en un temps proche de la plus lente, chacune dans sa transaction en lecture seule")
+    void shouldApproachSlowestSectionLatency() {
+        // Given
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        assemble(threads); // préchauffage des threads
+
+        // When
+        long startedAt = System.nanoTime();
+        List<Long> parallel = assemble(threads);
+        long parallelMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        properties.setParallel(false);
+        long sequentialMillis;
+        try {
+            startedAt = System.nanoTime();
+            assemble(ConcurrentHashMap.newKeySet());
+            sequentialMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        } finally {
+            properties.setParallel(true);
+        }
+
+        // Then
+        log.info("Page de 3 sections (300, 200, 100 ms) : {} ms en parallèle, {} ms l'une après l'autre",
+            parallelMillis, sequentialMillis);
+        assertThat(parallel).containsExactly(30L, 30L, 30L);
+        assertThat(parallelMillis).isLessThan(500);
+        assertThat(sequentialMillis).isGreaterThanOrEqualTo(600);
+        assertThat(threads).allMatch(name -> name.startsWith("page-assembly-")).hasSizeGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Doit remplacer une section facultative en échec ou hors délai et relancer l'échec d'une section obligatoire")
+    void shouldHandlePartialFailuresAndDeadline() {
+        // Given
+        IllegalArgumentException invalid = new IllegalArgumentException("Curseur invalide");
+
+        // When
+        List<String> unavailable;
+        List<String> customers;
+        Long slowCount;
+        long startedAt = System.nanoTime();
+        try (PageAssembler.Scope scope = pageAssembler.open(Duration.ofMillis(300))) {
+            PageAssembler.Part<List<String>> failing = scope.optional("customers", () -> {
+                throw new IllegalStateException("Base indisponible");
+            }, List.of());
+            PageAssembler.Part<Long> slow = scope.optional("stats", () -> sleepThenCount(2_000), -1L);
+            PageAssembler.Part<Long> table = scope.required("contacts", () -> sleepThenCount(0));
+            unavailable = scope.join();
+            customers = failing.get();
+            slowCount = slow.get();
+            assertThat(table.get()).isEqualTo(30L);
+        }
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // Then
+        assertThat(unavailable).containsExactly("customers", "stats");
+        assertThat(customers).isEmpty();
+        assertThat(slowCount).isEqualTo(-1L);
+        assertThat(elapsedMillis).isLessThan(1_500);
+        assertThatThrownBy(() -> {
+            try (PageAssembler.Scope scope = pageAssembler.open()) {
+                scope.required("contacts", () -> {
+                    throw invalid;
+                });
+                scope.join();
+            }
+        }).isSameAs(invalid);
+        assertThatThrownBy(() -> {
+            try (PageAssembler.Scope scope = pageAssembler.open(Duration.ofMillis(100))) {
+                scope.required("contacts", () -> sleepThenCount(1_000));
+                scope.join();
+            }
+        }).isInstanceOf(PageAssemblyException.class).hasMessageContaining("hors délai");
+    }
+
+    @Test
+    @DisplayName("Doit remplir le modèle de la liste des contacts à partir des sections assemblées")
+    void shouldFillContactListModel() {
+        // Given
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        // When
+        String view = contactWebController.listContacts("", null, null, null, null, null, 0, 20, "lastName", "asc",
+            null, model, new MockHttpServletRequest());
+
+        // Then
+        assertThat(view).isEqualTo("crm/contacts/list");
+        assertThat(model.get("unavailableSections")).isEqualTo(List.of());
+        assertThat(((KeysetPage<?>) model.get("contacts")).getContent())
+            .hasSize(20).allMatch(row -> row instanceof ContactRowDTO);
+        assertThat((List<?>) model.get("customers")).hasSize(5);
+        assertThat(model.get("totalContacts")).isEqualTo(30L);
+    }
+
+    private List<Long> assemble(Set<String> threads) {
+        try (PageAssembler.Scope scope = pageAssembler.open()) {
+            List<PageAssembler.Part<Long>> parts = List.of(
+                scope.required("contacts", () -> recordThenCount(threads, 300)),
+                scope.optional("customers", () -> recordThenCount(threads, 200), 0L),
+                scope.optional("stats", () -> recordThenCount(threads, 100), 0L));
+            assertThat(scope.join()).isEmpty();
+            return parts.stream().map(PageAssembler.Part::get).toList();
+        }
+    }
+
+    private Long recordThenCount(Set<String> threads, long sleepMillis) {
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+        assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+        threads.add(Thread.currentThread().getName());
+        return sleepThenCount(sleepMillis);
+    }
+
+    private Long sleepThenCount(long sleepMillis) {
+        try {
+            Thread.sleep(sleepMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM contacts", Long.class);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/PricingEngineIntegrationTest.java
+ * @description Barème compilé : prix de liste des clients, règles de TVA, recompilation après modification et lecture hors transaction appelante
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.CustomerDTO;
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.dto.pricing.PriceListDTO;
+import com.example.gestioncommerciale.dto.pricing.TaxDTO;
+import com.example.gestioncommerciale.dto.sales.OrderDTO;
+import com.example.gestioncommerciale.dto.sales.OrderRequest;
+import com.example.gestioncommerciale.dto.sales.SalesLineRequest;
+import com.example.gestioncommerciale.model.Customer;
+import com.example.gestioncommerciale.service.CustomerService;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import com.example.gestioncommerciale.service.pricing.PriceBook;
+import com.example.gestioncommerciale.service.pricing.PricingEngine;
+import com.example.gestioncommerciale.service.pricing.PricingService;
+import com.example.gestioncommerciale.service.sales.OrderService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_pricing;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PricingEngineIntegrationTest {
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long categoryId;
+
+    @BeforeAll
+    void createCategory() {
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Tarifs");
+        categoryId = categoryService.create(category).getId();
+    }
+
+    @Test
+    @DisplayName("Doit valoriser les commandes au prix de la liste du client, au prix catalogue sinon")
+    void shouldPriceOrdersWithCustomerPriceList() {
+        // Given
+        Long listed = createProduct("Perceuse", "100.00", null);
+        Long unlisted = createProduct("Foret", "4.00", null);
+        PriceListDTO request = new PriceListDTO();
+        request.setName("Revendeurs");
+        Long priceListId = pricingService.createPriceList(request).getId();
+        pricingService.putPrices(priceListId, Map.of(listed, new BigDecimal("85.50")));
+        Long reseller = createCustomer("Revendeur", priceListId);
+        Long retail = createCustomer("Particulier", null);
+
+        // When
+        OrderDTO resellerOrder = orderService.create(order(reseller, listed, unlisted));
+        OrderDTO retailOrder = orderService.create(order(retail, listed, unlisted));
+        pricingService.putPrices(priceListId, Map.of(listed, new BigDecimal("80.00")));
+        OrderDTO repriced = orderService.create(order(reseller, listed, unlisted));
+
+        // Then
+        assertThat(resellerOrder.getItems().get(0).getUnitPrice()).isEqualByComparingTo("85.50");
+        assertThat(resellerOrder.getItems().get(1).getUnitPrice()).isEqualByComparingTo("4.00");
+        assertThat(resellerOrder.getSubtotalHt()).isEqualByComparingTo("89.50");
+        assertThat(retailOrder.getSubtotalHt()).isEqualByComparingTo("104.00");
+        assertThat(repriced.getItems().get(0).getUnitPrice()).isEqualByComparingTo("80.00");
+        assertThat(pricingService.resolve(listed, priceListId).priceWithVat()).isEqualByComparingTo("96.00");
+        assertThat(pricingService.resolve(listed, null).priceWithVat()).isEqualByComparingTo("120.00");
+        assertThatThrownBy(() -> pricingService.putPrices(priceListId, Map.of(-1L, BigDecimal.ONE)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Doit appliquer le taux d'une règle de TVA modifiée aux listes produits et aux nouvelles commandes")
+    void shouldApplyTaxRuleChangesAfterCommit() {
+        // Given
+        TaxDTO request = new TaxDTO();
+        request.setCode("TVA-STD");
+        request.setRate(new BigDecimal("20.00"));
+        TaxDTO tax = pricingService.createTax(request);
+        Long productId = createProduct("Livre", "10.00", tax.getId());
+        Long customerId = createCustomer("Librairie", null);
+        BigDecimal before = productService.getById(productId).getPriceWithVat();
+
+        // When
+        pricingService.updateTaxRate(tax.getId(), new BigDecimal("5.50"));
+        ProductDTO after = productService.getById(productId);
+        OrderDTO order = orderService.create(order(customerId, productId));
+
+        // Then
+        assertThat(before).isEqualByComparingTo("12.00");
+        assertThat(after.getVatAmount()).isEqualByComparingTo("0.55");
+        assertThat(after.getPriceWithVat()).isEqualByComparingTo("10.55");
+        assertThat(order.getItems().get(0).getTaxRate()).isEqualByComparingTo("5.50");
+        assertThat(order.getTaxAmount()).isEqualByComparingTo("0.55");
+    }
+
+    @Test
+    @DisplayName("Doit valoriser depuis l'instantané produit une ligne absente du barème, sans le recompiler")
+    void shouldPriceDriftedLinesFromSnapshotWithoutRecompiling() {
+        // Given
+        Long productId = createProduct("Tournevis", "7.00", null);
+        Long customerId = createCustomer("Atelier", null);
+        PriceBook compiled = pricingEngine.current();
+
+        // When
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update("UPDATE products SET unit_price = 7.40 WHERE id = ?", productId));
+        OrderDTO order = orderService.create(order(customerId, productId));
+
+        // Then : la commande reprend le prix lu, le barème n'est pas invalidé par le chemin des commandes
+        assertThat(compiled.unitCents(productId, PriceBook.BASE_LIST)).isEqualTo(700);
+        assertThat(order.getItems().get(0).getUnitPrice()).isEqualByComparingTo("7.40");
+        assertThat(pricingEngine.current()).isSameAs(compiled);
+    }
+
+    @Test
+    @DisplayName("Doit compiler le barème hors de la transaction appelante et le conserver")
+    void shouldCompileOutsideCallerTransaction() {
+        // Given
+        Long productId = createProduct("Clé à molette", "12.00", null);
+        pricingEngine.invalidate();
+
+        // When : prix modifié sans commit, barème demandé dans la même transaction
+        PriceBook[] built = new PriceBook[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE products SET unit_price = 99.00 WHERE id = ?", productId);
+            built[0] = pricingEngine.current();
+            status.setRollbackOnly();
+        });
+
+        // Then : état validé uniquement, barème mis en cache
+        assertThat(built[0].unitCents(productId, PriceBook.BASE_LIST)).isEqualTo(1200);
+        assertThat(pricingEngine.current()).isSameAs(built[0]);
+    }
+
+    private Long createProduct(String name, String price, Long taxId) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setCategoryId(categoryId);
+        product.setUnitPrice(new BigDecimal(price));
+        product.setVatRate(new BigDecimal("20.00"));
+        product.setTaxId(taxId);
+        return productService.create(product).getId();
+    }
+
+    private Long createCustomer(String name, Long priceListId) {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setCompanyName(name);
+        customer.setEmail(name.toLowerCase() + "@tarifs.fr");
+        customer.setStatus(Customer.CustomerStatus.ACTIVE);
+        customer.setType(Customer.CustomerType.COMPANY);
+        customer.setPriceListId(priceListId);
+        return customerService.create(customer).getId();
+    }
+
+    private static OrderRequest order(Long customerId, Long... productIds) {
+        OrderRequest request = new OrderRequest();
+        request.setCustomerId(customerId);
+        request.setLines(new ArrayList<>(Arrays.stream(productIds).map(productId -> new SalesLineRequest(productId, 1)).toList()));
+        return request;
+    }
+}
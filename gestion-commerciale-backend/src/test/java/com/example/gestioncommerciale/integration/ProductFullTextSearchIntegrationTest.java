@@ -0,0 +1,120 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/ProductFullTextSearchIntegrationTest.java
+ * @description Moteur FULLTEXT : identifiant exact (code, SKU, EAN, référence) servi sans requête MATCH, repli LIKE des saisies courtes, export aligné sur la liste
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * H2 n'a pas MATCH ... AGAINST : toute recherche qui atteindrait la requête native échouerait,
+ * ce qui prouve ici que l'identifiant exact et les saisies courtes ne l'atteignent pas
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_fulltext_search;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "app.catalog.search.engine=FULLTEXT"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductFullTextSearchIntegrationTest {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 10);
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private ProductDTO drill;
+    private ProductDTO cable;
+    private ProductDTO adapter;
+
+    @BeforeAll
+    void createProducts() {
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Outillage plein texte");
+        Long categoryId = categoryService.create(category).getId();
+        drill = productService.create(newProduct("Perceuse à percussion", "SKU-FT-PERC", "REF-FT-778", "3760000000017", categoryId));
+        cable = productService.create(newProduct("Câble USB 2 m", "SKU-FT-CBL", "REF-FT-912", "3760000000024", categoryId));
+        // Référence du câble citée en description : retenue par LIKE, pas par la recherche FULLTEXT
+        ProductDTO adapterRequest = newProduct("Adaptateur secteur", "SKU-FT-ADP", "REF-FT-450", "3760000000031", categoryId);
+        adapterRequest.setDescription("Remplace REF-FT-912");
+        adapter = productService.create(adapterRequest);
+    }
+
+    @Test
+    @DisplayName("Doit servir un code, un SKU, un EAN ou une référence exacts sans requête MATCH")
+    void shouldShortCircuitExactIdentifiers() {
+        // When / Then
+        assertThat(search(drill.getCode(), null)).extracting(ProductDTO::getId).containsExactly(drill.getId());
+        assertThat(search("SKU-FT-CBL", null)).extracting(ProductDTO::getId).containsExactly(cable.getId());
+        assertThat(search("3760000000017", null)).extracting(ProductDTO::getId).containsExactly(drill.getId());
+        assertThat(search("REF-FT-912", null)).extracting(ProductDTO::getId).containsExactly(cable.getId());
+        assertThat(search("  REF-FT-778 ", true)).extracting(ProductDTO::getId).containsExactly(drill.getId());
+    }
+
+    @Test
+    @DisplayName("Doit se replier sur LIKE quand aucun mot n'atteint la longueur indexée")
+    void shouldFallBackToLikeForShortTerms() {
+        // When
+        Page<ProductDTO> page = productService.findWithFilters(null, null, null, null, null, null, "2 m", FIRST_PAGE);
+
+        // Then : sous-chaîne du nom, comme le moteur LIKE
+        assertThat(page.getContent()).extracting(ProductDTO::getId).containsExactly(cable.getId());
+    }
+
+    @Test
+    @DisplayName("Doit exporter les mêmes produits que la liste avec le moteur FULLTEXT")
+    void shouldExportSameRowsAsList() throws IOException {
+        // When
+        ByteArrayOutputStream exact = new ByteArrayOutputStream();
+        long exactRows = productService.exportCsv(null, null, false, null, null, null, null, "REF-FT-912", Sort.by("name"), exact);
+        ByteArrayOutputStream shortTerm = new ByteArrayOutputStream();
+        long shortRows = productService.exportCsv(null, null, false, null, null, null, null, "2 m", Sort.by("name"), shortTerm);
+
+        // Then : identifiant exact comme sur la liste, sans l'adaptateur qui ne le cite qu'en description
+        assertThat(search("REF-FT-912", null)).extracting(ProductDTO::getId).containsExactly(cable.getId());
+        assertThat(exactRows).isEqualTo(1);
+        assertThat(exact.toString(StandardCharsets.UTF_8)).contains(cable.getCode()).doesNotContain(adapter.getCode());
+        assertThat(shortRows).isEqualTo(1);
+        assertThat(shortTerm.toString(StandardCharsets.UTF_8)).contains(cable.getCode());
+    }
+
+    private List<ProductDTO> search(String term, Boolean active) {
+        return productService.findWithFilters(active, null, null, null, null, null, term, FIRST_PAGE).getContent();
+    }
+
+    private ProductDTO newProduct(String name, String sku, String reference, String ean, Long categoryId) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setSku(sku);
+        product.setReference(reference);
+        product.setEan(ean);
+        product.setCategoryId(categoryId);
+        product.setUnitPrice(BigDecimal.TEN);
+        return product;
+    }
+}
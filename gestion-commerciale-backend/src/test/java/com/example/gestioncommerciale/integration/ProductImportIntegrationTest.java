@@ -0,0 +1,170 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/ProductImportIntegrationTest.java
+ * @description Import CSV des produits : lots JDBC, mises à jour par code, rejets par ligne et reprise
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.repository.catalog.ProductRepository;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductImportService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import com.example.gestioncommerciale.service.importing.ImportJob;
+import com.example.gestioncommerciale.service.importing.ImportRowError;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_import;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "app.import.chunk-size=500",
+    "app.import.work-dir=target/imports-test"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class ProductImportIntegrationTest {
+
+    private static final String HEADER = "code;name;categoryCode;unitPrice;sku;ean;stockQuantity\n";
+    private static final int VALID_ROWS = 20_000;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String categoryCode;
+    private ProductDTO existing;
+
+    @BeforeAll
+    void createCatalog() {
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Import");
+        categoryCode = categoryService.create(category).getCode();
+
+        ProductDTO product = new ProductDTO();
+        product.setName("Produit existant");
+        product.setCategoryId(categoryService.findByCode(categoryCode).orElseThrow().getId());
+        product.setUnitPrice(BigDecimal.ONE);
+        product.setSku("SKU-EXISTANT");
+        existing = productService.create(product);
+    }
+
+    @Test
+    @DisplayName("Doit créer et mettre à jour par lots en rejetant les lignes invalides avec leur motif")
+    void shouldImportChunksAndReportRejectedRows() throws IOException {
+        // Given
+        StringBuilder csv = new StringBuilder("\uFEFF").append(HEADER);
+        for (int i = 1; i <= VALID_ROWS; i++) {
+            csv.append("IMP-").append(i).append(";\"Produit; importé ").append(i).append("\";")
+               .append(categoryCode).append(";12,50;SKU-IMP-").append(i).append(";;").append(i % 100).append('\n');
+        }
+        csv.append(existing.getCode()).append(";Produit renommé;").append(categoryCode).append(";99.90;SKU-EXISTANT;;5\n");
+        csv.append("IMP-X1;Catégorie absente;CAT-INCONNUE;1;;;0\n");
+        csv.append("IMP-X2;SKU volé;").append(categoryCode).append(";1;SKU-EXISTANT;;0\n");
+        csv.append("IMP-1;Code en double;").append(categoryCode).append(";1;;;0\n");
+        csv.append("IMP-X3;Prix invalide;").append(categoryCode).append(";abc;;;0\n");
+        csv.append(";Sans code;").append(categoryCode).append(";3;;;0\n");
+
+        // When
+        ImportJob job = productImportService.upload("produits.csv", content(csv), "import-test");
+        productImportService.run(job);
+
+        // Then
+        log.info("Import de {} lignes : {} lignes/s", job.getProcessed(), job.getRowsPerSecond());
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(job.getProcessed()).isEqualTo(VALID_ROWS + 6);
+        assertThat(job.getInserted()).isEqualTo(VALID_ROWS + 1);
+        assertThat(job.getUpdated()).isEqualTo(1);
+        assertThat(job.getRejected()).isEqualTo(4);
+        assertThat(job.getRowsPerSecond()).isPositive();
+        assertThat(job.getErrors()).extracting(ImportRowError::line, ImportRowError::key)
+            .containsExactly(
+                tuple((long) VALID_ROWS + 3, "IMP-X1"),
+                tuple((long) VALID_ROWS + 4, "IMP-X2"),
+                tuple((long) VALID_ROWS + 5, "IMP-1"),
+                tuple((long) VALID_ROWS + 6, "IMP-X3")
+            );
+        assertThat(job.getErrors().get(0).message()).contains("Catégorie inconnue");
+        assertThat(job.getErrors().get(1).message()).contains(existing.getCode());
+
+        assertThat(Files.readAllLines(productImportService.errorReport(job.getId()))).hasSize(5);
+        assertThat(Files.exists(job.getFile())).isFalse();
+
+        ProductDTO renamed = productService.getById(existing.getId());
+        assertThat(renamed.getName()).isEqualTo("Produit renommé");
+        assertThat(renamed.getUnitPrice()).isEqualByComparingTo("99.90");
+        assertThat(productRepository.findByCode("IMP-42")).hasValueSatisfying(product -> {
+            assertThat(product.getName()).isEqualTo("Produit; importé 42");
+            assertThat(product.getUnitPrice()).isEqualByComparingTo("12.50");
+            assertThat(product.getStockQuantity()).isEqualTo(42);
+            assertThat(product.getActive()).isTrue();
+            assertThat(product.getCreatedBy()).isEqualTo("import-test");
+        });
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT code FROM products WHERE name = 'Sans code'", String.class)).startsWith("PRD-");
+    }
+
+    @Test
+    @DisplayName("Doit reprendre un import interrompu au lot suivant le dernier point de reprise")
+    void shouldResumeAfterLastCommittedChunk() throws IOException {
+        // Given
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 1_200; i++) {
+            csv.append("REP-").append(i).append(";Reprise ").append(i).append(';')
+               .append(categoryCode).append(";5;;;0\n");
+        }
+        ImportJob interrupted = productImportService.upload("reprise.csv", content(csv), "import-test");
+        interrupted.requestStop();
+
+        // When
+        productImportService.run(interrupted);
+        ImportJob resumed = productImportService.resume(interrupted.getId());
+        productImportService.run(resumed);
+
+        // Then
+        assertThat(interrupted.getStatus()).isEqualTo(ImportJob.Status.FAILED);
+        assertThat(interrupted.getCommittedRows()).isEqualTo(500);
+        assertThat(interrupted.getInserted()).isEqualTo(500);
+
+        assertThat(resumed.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(resumed.getResumedFrom()).isEqualTo(500);
+        assertThat(resumed.getInserted()).isEqualTo(1_200);
+        assertThat(resumed.getUpdated()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM products WHERE code LIKE 'REP-%'", Long.class)).isEqualTo(1_200);
+
+        assertThatThrownBy(() -> productImportService.resume(interrupted.getId()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ByteArrayInputStream content(CharSequence csv) {
+        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/ProductSearchIndexIntegrationTest.java
+ * @description Tests d'intégration de la recherche instantanée produits via l'index en mémoire
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductSearchIndex;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_search_index;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@ActiveProfiles("test")
+class ProductSearchIndexIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Test
+    @DisplayName("Doit trouver les produits par préfixe, sous-chaîne et SKU, et suivre les modifications")
+    void shouldSearchAndFollowChanges() {
+        // Given
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Périphériques");
+        Long categoryId = categoryService.create(category).getId();
+
+        ProductDTO screen = productService.create(newProduct("Écran Dell 27 pouces", "SKU-ECR-27", categoryId));
+        productService.create(newProduct("Clavier mécanique", "SKU-CLV-01", categoryId));
+        PageRequest firstPage = PageRequest.of(0, 10);
+
+        // When / Then
+        assertThat(productSearchIndex.isReady()).isTrue();
+        assertThat(productService.quickSearch("ecran", null, null, null, firstPage).getContent())
+            .extracting(ProductDTO::getId).containsExactly(screen.getId());
+        assertThat(productService.quickSearch("ell 27", null, null, null, firstPage).getContent())
+            .extracting(ProductDTO::getId).containsExactly(screen.getId());
+        assertThat(productService.quickSearch("sku-ecr", null, null, null, firstPage).getContent())
+            .extracting(ProductDTO::getId).containsExactly(screen.getId());
+        assertThat(productService.quickSearch("sku", null, null, null, firstPage).getTotalElements()).isEqualTo(2);
+        assertThat(productService.quickSearch("ecran", false, null, null, firstPage).getContent()).isEmpty();
+
+        // Renommage puis suppression
+        screen.setName("Moniteur Dell 27 pouces");
+        productService.update(screen.getId(), screen);
+        assertThat(productService.quickSearch("ecran", null, null, null, firstPage).getContent()).isEmpty();
+        assertThat(productService.quickSearch("moni", null, null, null, firstPage).getContent()).hasSize(1);
+
+        productService.delete(screen.getId());
+        Page<ProductDTO> afterDelete = productService.quickSearch("moni", null, null, null, firstPage);
+        assertThat(afterDelete.getTotalElements()).isZero();
+        assertThat(productSearchIndex.stats().estimatedBytesPer100k()).isPositive();
+    }
+
+    private ProductDTO newProduct(String name, String sku, Long categoryId) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setSku(sku);
+        product.setCategoryId(categoryId);
+        product.setUnitPrice(BigDecimal.TEN);
+        return product;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/QuoteConversionIntegrationTest.java
+ * @description Devis : conversion ensembliste en commande, écarts de prix, stock insuffisant et conversions refusées
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.CustomerDTO;
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.dto.sales.OrderDTO;
+import com.example.gestioncommerciale.dto.sales.OrderItemDTO;
+import com.example.gestioncommerciale.dto.sales.QuoteConversionDTO;
+import com.example.gestioncommerciale.dto.sales.QuoteDTO;
+import com.example.gestioncommerciale.dto.sales.QuoteItemDTO;
+import com.example.gestioncommerciale.dto.sales.QuoteRequest;
+import com.example.gestioncommerciale.dto.sales.SalesLineRequest;
+import com.example.gestioncommerciale.model.Customer;
+import com.example.gestioncommerciale.model.sales.Order;
+import com.example.gestioncommerciale.model.sales.Quote;
+import com.example.gestioncommerciale.service.CustomerService;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import com.example.gestioncommerciale.service.sales.OrderService;
+import com.example.gestioncommerciale.service.sales.QuoteService;
+import com.example.gestioncommerciale.service.stock.InsufficientStockException;
+import com.example.gestioncommerciale.service.stock.StockService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_quotes;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.stock.compaction-interval=0"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class QuoteConversionIntegrationTest {
+
+    private static final int LINES = 1_000;
+
+    @Autowired
+    private QuoteService quoteService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long categoryId;
+    private Long customerId;
+
+    @BeforeAll
+    void createCatalogAndCustomer() {
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Devis");
+        categoryId = categoryService.create(category).getId();
+
+        CustomerDTO customer = new CustomerDTO();
+        customer.setCompanyName("Client Devis");
+        customer.setEmail("devis@client.fr");
+        customer.setStatus(Customer.CustomerStatus.ACTIVE);
+        customer.setType(Customer.CustomerType.COMPANY);
+        customer.setPaymentTermDays(30);
+        customerId = customerService.create(customer).getId();
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("""
+            INSERT INTO products (code, name, active, type, status, unit_price, cost_price, vat_rate, stock_managed,
+                                  stock_quantity, min_stock_level, max_stock_level, unit, category_id, created_at, updated_at)
+            SELECT 'DEV-' || X, 'Article ' || X, TRUE, 'PRODUCT', 'AVAILABLE', X * 0.73 + 0.19, 0,
+                   CASE MOD(X, 3) WHEN 0 THEN 20.00 WHEN 1 THEN 5.50 ELSE 10.00 END,
+                   FALSE, 0, 0, 0, 'pce', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM SYSTEM_RANGE(1, ?)
+            """, categoryId, LINES));
+    }
+
+    @Test
+    @DisplayName("Doit convertir un devis de 1 000 lignes en commande confirmée sans requête par ligne")
+    void shouldConvertLargeQuoteWithSetBasedCopy() {
+        // Given
+        List<Long> productIds = jdbcTemplate.queryForList(
+            "SELECT id FROM products WHERE code LIKE 'DEV-%' ORDER BY id", Long.class);
+        QuoteRequest request = quote();
+        for (int i = 0; i < productIds.size(); i++) {
+            request.getLines().add(line(productIds.get(i), i % 5 + 1));
+        }
+        quoteService.convertToOrder(quoteService.accept(quoteService.create(request).getId()).getId()); // préchauffage
+        QuoteDTO created = quoteService.create(request);
+        quoteService.accept(created.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        long startedAt = System.nanoTime();
+        QuoteConversionDTO conversion = quoteService.convertToOrder(created.getId());
+        long elapsedMicros = (System.nanoTime() - startedAt) / 1_000;
+        long jpaStatements = statistics.getPrepareStatementCount();
+        OrderDTO order = orderService.getById(conversion.getOrder().getId());
+
+        // Then
+        log.info("Devis de {} lignes converti en {} µs ({} requêtes JPA hors copie et lot de réservations)",
+            LINES, elapsedMicros, jpaStatements);
+        // Verrou devis, revalidation, séquence, en-tête, verrou commande, agrégat stock, transitions : rien par ligne
+        assertThat(jpaStatements).isLessThanOrEqualTo(10);
+        assertThat(order.getStatus()).isEqualTo(Order.OrderStatus.CONFIRMED);
+        assertThat(order.getQuoteId()).isEqualTo(created.getId());
+        assertThat(order.getCustomerName()).isEqualTo("Client Devis");
+        assertThat(order.getTotalTtc()).isEqualByComparingTo(created.getTotalTtc());
+        assertThat(order.getItems()).hasSize(LINES);
+        assertThat(order.getItems()).extracting(OrderItemDTO::getProductId, OrderItemDTO::getQuantity, OrderItemDTO::getLineTotalTtc)
+            .containsExactlyElementsOf(created.getItems().stream()
+                .map(item -> tuple(item.getProductId(), item.getQuantity(), item.getLineTotalTtc())).toList());
+        assertThat(conversion.getPriceChanges()).isEmpty();
+        assertThat(quoteService.getById(created.getId()).getStatus()).isEqualTo(Quote.QuoteStatus.CONVERTED);
+    }
+
+    @Test
+    @DisplayName("Doit conserver les prix devisés, signaler les écarts et réserver le stock")
+    void shouldKeepQuotedPricesAndReportChanges() {
+        // Given
+        Long stocked = createProduct("Perceuse", true, 10);
+        Long repriced = createProduct("Foret", false, 0);
+        QuoteDTO created = quoteService.create(quote(line(stocked, 4), line(repriced, 2), line(stocked, 1)));
+        quoteService.send(created.getId());
+        quoteService.accept(created.getId());
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update("UPDATE products SET unit_price = 3.10 WHERE id = ?", repriced));
+
+        // When
+        QuoteConversionDTO conversion = quoteService.convertToOrder(created.getId());
+
+        // Then
+        assertThat(conversion.getPriceChanges())
+            .singleElement()
+            .satisfies(change -> {
+                assertThat(change.productId()).isEqualTo(repriced);
+                assertThat(change.quotedPrice()).isEqualByComparingTo("2.49");
+                assertThat(change.currentPrice()).isEqualByComparingTo("3.10");
+            });
+        assertThat(conversion.getOrder().getTotalTtc()).isEqualByComparingTo(created.getTotalTtc());
+        assertThat(productService.getById(stocked).getStockQuantity()).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM stock_reservations WHERE reference = ? AND status = 'ACTIVE'",
+            Integer.class, conversion.getOrder().getCode())).isEqualTo(1);
+        assertThat(stockService.projectionDrift()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit refuser la conversion d'un devis au stock insuffisant sans rien écrire")
+    void shouldRollBackConversionWhenStockIsShort() {
+        // Given
+        Long scarce = createProduct("Rare", true, 3);
+        QuoteDTO created = quoteService.create(quote(line(scarce, 2), line(scarce, 2)));
+        quoteService.accept(created.getId());
+        long ordersBefore = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class);
+
+        // When
+        Throwable refused = catchThrowable(() -> quoteService.convertToOrder(created.getId()));
+
+        // Then
+        assertThat(refused).isInstanceOfSatisfying(InsufficientStockException.class, e -> {
+            assertThat(e.getRequested()).isEqualTo(4);
+            assertThat(e.getAvailable()).isEqualTo(3);
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class)).isEqualTo(ordersBefore);
+        assertThat(quoteService.getById(created.getId()).getStatus()).isEqualTo(Quote.QuoteStatus.ACCEPTED);
+        assertThat(productService.getById(scarce).getStockQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Doit refuser une double conversion, un devis non accepté, expiré ou portant un produit inactif")
+    void shouldRefuseInvalidConversions() {
+        // Given
+        Long product = createProduct("Standard", false, 0);
+        Long deactivated = createProduct("Retiré", false, 0);
+        QuoteDTO converted = quoteService.create(quote(line(product, 1)));
+        quoteService.accept(converted.getId());
+        quoteService.convertToOrder(converted.getId());
+        QuoteDTO draft = quoteService.create(quote(line(product, 1)));
+        QuoteDTO withInactive = quoteService.create(quote(line(product, 1), line(deactivated, 1)));
+        quoteService.accept(withInactive.getId());
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update("UPDATE products SET active = FALSE WHERE id = ?", deactivated));
+        QuoteRequest expiredRequest = quote(line(product, 1));
+        expiredRequest.setValidUntil(LocalDate.now().minusDays(1));
+        QuoteDTO expired = quoteService.create(expiredRequest);
+
+        // Then
+        assertThatThrownBy(() -> quoteService.convertToOrder(converted.getId()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("CONVERTED");
+        assertThatThrownBy(() -> quoteService.convertToOrder(draft.getId()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> quoteService.convertToOrder(withInactive.getId()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("inactif");
+        assertThatThrownBy(() -> quoteService.accept(expired.getId()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("expiré");
+        assertThat(expired.getCode()).matches("DEV-\\d{4}-\\d{4}");
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM orders WHERE quote_id = ?", Long.class, converted.getId())).isEqualTo(1);
+    }
+
+    private Long createProduct(String name, boolean stockManaged, int stock) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setCategoryId(categoryId);
+        product.setUnitPrice(new BigDecimal("2.49"));
+        product.setStockManaged(stockManaged);
+        product.setStockQuantity(stock);
+        return productService.create(product).getId();
+    }
+
+    private QuoteRequest quote(SalesLineRequest... lines) {
+        QuoteRequest request = new QuoteRequest();
+        request.setCustomerId(customerId);
+        request.setValidUntil(LocalDate.now().plusDays(30));
+        request.setLines(new ArrayList<>(List.of(lines)));
+        return request;
+    }
+
+    private static SalesLineRequest line(Long productId, int quantity) {
+        return new SalesLineRequest(productId, quantity);
+    }
+}
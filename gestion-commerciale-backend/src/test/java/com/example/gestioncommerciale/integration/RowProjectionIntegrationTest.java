@@ -0,0 +1,250 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/RowProjectionIntegrationTest.java
+ * @description Lignes projetées des listes : mêmes valeurs que les DTO complets, pagination par clé, octets et allocations par page
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.CustomerRowDTO;
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductRowDTO;
+import com.example.gestioncommerciale.dto.crm.ContactDTO;
+import com.example.gestioncommerciale.dto.crm.ContactRowDTO;
+import com.example.gestioncommerciale.service.CustomerService;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import com.example.gestioncommerciale.service.crm.ContactService;
+import com.example.gestioncommerciale.service.pagination.KeysetPage;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_rows;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class RowProjectionIntegrationTest {
+
+    private static final int ROWS = 200;
+    private static final int PAGE = 50;
+    private static final int ITERATIONS = 30;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void createLargeRows() {
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Quincaillerie");
+        Long categoryId = categoryService.create(category).getId();
+
+        // Colonnes non affichées remplies : descriptions et notes longues, URLs, dimensions, adresses
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("""
+                INSERT INTO products (code, name, description, active, type, status, reference, sku, ean,
+                                      unit_price, cost_price, vat_rate, stock_managed, stock_quantity, min_stock_level,
+                                      max_stock_level, unit, weight, length, width, height, image_url, thumbnail_url,
+                                      document_url, category_id, created_at, updated_at, created_by, updated_by)
+                SELECT 'ROW-' || LPAD(X, 3, '0'), 'Article ' || X, REPEAT('Description détaillée ', 45), TRUE,
+                       'PRODUCT', 'AVAILABLE', 'REF-' || X, 'SKU-' || X, LPAD(X, 13, '0'),
+                       X + 0.99, X * 0.5, 20, TRUE, MOD(X, 7), 2, 100, 'pce', 1.5, 10, 20, 30,
+                       'https://cdn.example.com/images/large/article-' || X || '.jpg',
+                       'https://cdn.example.com/images/thumb/article-' || X || '.jpg',
+                       'https://cdn.example.com/docs/fiche-technique-article-' || X || '.pdf',
+                       ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'import', 'import'
+                FROM SYSTEM_RANGE(1, ?)
+                """, categoryId, ROWS);
+            jdbcTemplate.update("""
+                INSERT INTO customers (code, company_name, contact_first_name, contact_last_name, email, phone, mobile,
+                                       siret, vat_number, credit_limit, payment_term_days, status, type, notes,
+                                       created_at, updated_at, created_by, updated_by)
+                SELECT 'CLI-' || LPAD(X, 4, '0'), 'Société ' || X, 'Prénom' || X, 'Nom' || X, 'client' || X || '@example.com',
+                       '0102030405', '0607080910', LPAD(X, 14, '0'), 'FR' || LPAD(X, 11, '0'), 10000, 30,
+                       'ACTIVE', 'COMPANY', REPEAT('Historique commercial ', 22),
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'import', 'import'
+                FROM SYSTEM_RANGE(1, ?)
+                """, ROWS);
+            jdbcTemplate.update("""
+                INSERT INTO contacts (code, type, status, civility, first_name, last_name, job_title, department, email,
+                                      phone, mobile, address_line1, city, postal_code, country, notes, email_opt_in,
+                                      sms_opt_in, phone_opt_in, preferred_language, preferred_contact, customer_id,
+                                      priority, is_primary, is_decision_maker, is_influencer, last_contact_note,
+                                      created_at, updated_at)
+                SELECT 'CNT-' || LPAD(c.id, 4, '0'), 'CONTACT', 'ACTIVE', 'MRS', 'Prénom' || c.id, 'Nom' || c.id,
+                       'Acheteuse', 'Achats', 'contact' || c.id || '@example.com', '0102030405', '0607080910',
+                       '12 rue des Artisans', 'Lyon', '69001', 'France', REPEAT('Compte rendu de visite ', 43),
+                       TRUE, TRUE, TRUE, 'FRENCH', 'EMAIL', c.id, 'NORMAL', TRUE, FALSE, FALSE,
+                       REPEAT('Relance ', 30), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM customers c
+                """);
+        });
+    }
+
+    @Test
+    @DisplayName("Doit rendre dans les lignes projetées les mêmes valeurs que les DTO complets, page par page")
+    void shouldProjectSameValuesAsFullDtos() {
+        // Given
+        Pageable firstPage = PageRequest.of(0, PAGE, Sort.by("name"));
+
+        // When
+        KeysetPage<ProductDTO> products = productService.findWithFilters(
+            null, null, false, null, null, null, null, "ROW-", firstPage, null);
+        KeysetPage<ProductRowDTO> rows = productService.findRows(
+            null, null, false, null, null, null, null, "ROW-", firstPage, null);
+        KeysetPage<ProductRowDTO> next = productService.findRows(
+            null, null, false, null, null, null, null, "ROW-", firstPage, rows.getNextCursor());
+        KeysetPage<ProductRowDTO> back = productService.findRows(
+            null, null, false, null, null, null, null, "ROW-", firstPage, next.getPreviousCursor());
+        KeysetPage<ProductDTO> secondPage = productService.findWithFilters(
+            null, null, false, null, null, null, null, "ROW-", PageRequest.of(1, PAGE, Sort.by("name")), null);
+        KeysetPage<ContactRowDTO> contactRows = contactService.findRows(
+            null, null, null, null, null, "Nom1", PageRequest.of(0, PAGE, Sort.by("lastName")), null);
+        KeysetPage<ContactDTO> contacts = contactService.findWithFilters(
+            null, null, null, null, null, "Nom1", PageRequest.of(0, PAGE, Sort.by("lastName")), null);
+
+        // Then
+        assertThat(rows.getTotalElements()).isEqualTo(ROWS);
+        assertThat(rows.getContent()).hasSize(PAGE);
+        for (int i = 0; i < PAGE; i++) {
+            ProductDTO full = products.getContent().get(i);
+            ProductRowDTO row = rows.getContent().get(i);
+            assertThat(row.getId()).isEqualTo(full.getId());
+            assertThat(row.getName()).isEqualTo(full.getName());
+            assertThat(row.getCategoryName()).isEqualTo(full.getCategoryName());
+            assertThat(row.getCategoryPath()).isEqualTo(full.getCategoryPath());
+            assertThat(row.getPriceWithVat()).isEqualByComparingTo(full.getPriceWithVat());
+            assertThat(row.getLowStock()).isEqualTo(full.getLowStock());
+            assertThat(row.getOutOfStock()).isEqualTo(full.getOutOfStock());
+            assertThat(full.getDescription()).startsWith(row.getDescription());
+            assertThat(row.getDescription()).hasSize(ProductRowDTO.DESCRIPTION_LENGTH);
+        }
+        assertThat(next.getContent()).extracting(ProductRowDTO::getId)
+            .containsExactlyElementsOf(secondPage.getContent().stream().map(ProductDTO::getId).toList());
+        assertThat(back.getContent()).extracting(ProductRowDTO::getId)
+            .containsExactlyElementsOf(rows.getContent().stream().map(ProductRowDTO::getId).toList());
+
+        assertThat(contactRows.getTotalElements()).isEqualTo(contacts.getTotalElements());
+        assertThat(contactRows.getContent())
+            .extracting(ContactRowDTO::getId, ContactRowDTO::getFullName, ContactRowDTO::getCustomerName)
+            .containsExactlyElementsOf(contacts.getContent().stream()
+                .map(contact -> tuple(contact.getId(), contact.getFullName(), contact.getCustomerName())).toList());
+        assertThat(customerService.findRows(null, null, "Société 1", PageRequest.of(0, PAGE, Sort.by("companyName")), null)
+            .getContent()).extracting(CustomerRowDTO::getCompanyName).first().isEqualTo("Société 1");
+    }
+
+    @Test
+    @DisplayName("Doit lire moins d'octets et allouer moins de mémoire par page qu'avec les entités complètes")
+    void shouldTransferAndAllocateLessPerPage() {
+        // Given
+        Pageable productPage = PageRequest.of(0, PAGE, Sort.by("name"));
+        Pageable contactPage = PageRequest.of(0, PAGE, Sort.by("lastName"));
+        Pageable customerPage = PageRequest.of(0, PAGE, Sort.by("companyName"));
+
+        // When
+        long productEntityBytes = pageBytes("products", allColumns("products"), "name");
+        long productRowBytes = pageBytes("products", List.of("id", "code", "name", "reference", "sku",
+            "SUBSTRING(description, 1, " + ProductRowDTO.DESCRIPTION_LENGTH + ")", "thumbnail_url", "type", "status",
+            "active", "unit_price", "cost_price", "vat_rate", "tax_id", "stock_managed", "stock_quantity",
+            "min_stock_level", "max_stock_level", "unit", "category_id",
+            "(SELECT name FROM categories WHERE categories.id = products.category_id)"), "name");
+        long contactEntityBytes = pageBytes("contacts", allColumns("contacts"), "last_name");
+        long contactRowBytes = pageBytes("contacts", List.of("id", "civility", "first_name", "last_name", "is_primary",
+            "job_title", "email", "phone", "mobile", "status", "type", "customer_id",
+            "(SELECT company_name FROM customers WHERE customers.id = contacts.customer_id)"), "last_name");
+        long customerEntityBytes = pageBytes("customers", allColumns("customers"), "company_name");
+        long customerRowBytes = pageBytes("customers", List.of("id", "code", "company_name", "siret",
+            "contact_first_name", "contact_last_name", "email", "phone", "status", "type"), "company_name");
+
+        long productEntityHeap = allocatedPerPage(() -> productService.findWithFilters(
+            null, null, false, null, null, null, null, null, productPage, null));
+        long productRowHeap = allocatedPerPage(() -> productService.findRows(
+            null, null, false, null, null, null, null, null, productPage, null));
+        long contactEntityHeap = allocatedPerPage(() -> contactService.findWithFilters(
+            null, null, null, null, null, null, contactPage, null));
+        long contactRowHeap = allocatedPerPage(() -> contactService.findRows(
+            null, null, null, null, null, null, contactPage, null));
+        long customerEntityHeap = allocatedPerPage(() -> customerService.findWithFilters(null, null, null, customerPage, null));
+        long customerRowHeap = allocatedPerPage(() -> customerService.findRows(null, null, null, customerPage, null));
+
+        // Then
+        log.info("Page de {} lignes - octets lus (entité -> ligne) : produits {} -> {}, contacts {} -> {}, clients {} -> {}",
+            PAGE, productEntityBytes, productRowBytes, contactEntityBytes, contactRowBytes, customerEntityBytes, customerRowBytes);
+        log.info("Page de {} lignes - octets alloués (entité -> ligne) : produits {} -> {}, contacts {} -> {}, clients {} -> {}",
+            PAGE, productEntityHeap, productRowHeap, contactEntityHeap, contactRowHeap, customerEntityHeap, customerRowHeap);
+        assertThat(productRowBytes).isLessThan(productEntityBytes / 2);
+        assertThat(contactRowBytes).isLessThan(contactEntityBytes / 2);
+        assertThat(customerRowBytes).isLessThan(customerEntityBytes / 2);
+        assertThat(productRowHeap).isLessThan(productEntityHeap);
+        assertThat(contactRowHeap).isLessThan(contactEntityHeap);
+        assertThat(customerRowHeap).isLessThan(customerEntityHeap);
+    }
+
+    private List<String> allColumns(String table) {
+        return jdbcTemplate.queryForList(
+            "SELECT column_name FROM information_schema.columns WHERE table_name = ?", String.class, table.toUpperCase());
+    }
+
+    /**
+     * Volume des valeurs de la première page sous forme texte (approximation des octets transmis par le pilote)
+     */
+    private long pageBytes(String table, List<String> columns, String orderBy) {
+        String sum = columns.stream()
+            .map(column -> "COALESCE(OCTET_LENGTH(CAST(" + column + " AS VARCHAR)), 0)")
+            .collect(Collectors.joining(" + "));
+        Long bytes = jdbcTemplate.queryForObject(
+            "SELECT SUM(bytes) FROM (SELECT " + sum + " AS bytes FROM " + table + " ORDER BY " + orderBy + ", id LIMIT " + PAGE + ") page",
+            Long.class);
+        return bytes != null ? bytes : 0;
+    }
+
+    /**
+     * Octets alloués par le fil courant pour une page, moyenne après préchauffage
+     */
+    private static long allocatedPerPage(Supplier<?> page) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < ITERATIONS; i++) {
+            page.get();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            page.get();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/SequenceBlockConcurrencyIntegrationTest.java
+ * @description Test de concurrence de la numérotation par blocs : 64 créations simultanées de produits
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_sequence;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "app.sequence.gap-policy=ALLOW_GAPS",
+    "app.sequence.block-sizes.PRODUCT=5"
+})
+@ActiveProfiles("test")
+class SequenceBlockConcurrencyIntegrationTest {
+
+    private static final int THREADS = 64;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    @DisplayName("Doit générer des codes produit uniques avec 64 créations concurrentes")
+    void shouldGenerateUniqueCodesUnderConcurrentCreation() throws Exception {
+        // Given
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Concurrence");
+        Long categoryId = categoryService.create(category).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                ProductDTO product = new ProductDTO();
+                product.setName("Produit concurrent " + index);
+                product.setCategoryId(categoryId);
+                product.setUnitPrice(BigDecimal.TEN);
+                return productService.create(product).getCode();
+            }));
+        }
+
+        // When
+        start.countDown();
+        Set<String> codes = new HashSet<>();
+        for (Future<String> future : futures) {
+            codes.add(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(codes).hasSize(THREADS);
+        assertThat(codes).allMatch(code -> code.matches("PRD-\\d{4}-\\d{4}"));
+        assertThat(productService.countAll()).isEqualTo(THREADS);
+    }
+}
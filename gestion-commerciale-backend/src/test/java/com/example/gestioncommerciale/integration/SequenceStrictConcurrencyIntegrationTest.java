@@ -0,0 +1,65 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/SequenceStrictConcurrencyIntegrationTest.java
+ * @description Test de concurrence de la numérotation stricte : premières générations simultanées d'une année
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.service.SequenceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_sequence_strict;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "app.sequence.gap-policy=STRICT"
+})
+@ActiveProfiles("test")
+class SequenceStrictConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private SequenceService sequenceService;
+
+    @Test
+    @DisplayName("Doit créer une seule ligne de séquence et des codes sans trou quand les premiers appels de l'année sont simultanés")
+    void shouldCreateSequenceRowOnceUnderConcurrentFirstCalls() throws Exception {
+        // Given : aucune ligne pour ce type, tous les appels partent en même temps
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return sequenceService.generateSequentialCode("STRICT_RACE", "SRC");
+            }));
+        }
+
+        // When
+        start.countDown();
+        List<String> codes = new ArrayList<>();
+        for (Future<String> future : futures) {
+            codes.add(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Then
+        int year = LocalDate.now().getYear();
+        assertThat(codes).containsExactlyInAnyOrderElementsOf(
+            IntStream.rangeClosed(1, THREADS).mapToObj(i -> String.format("SRC-%d-%04d", year, i)).toList());
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/SqlInstrumentationIntegrationTest.java
+ * @description Instrumentation SQL : en-tête X-Query-Count, métriques par route et par méthode de service, journal des requêtes lentes, budgets
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.config.SqlInstrumentationProperties;
+import com.example.gestioncommerciale.service.crm.ContactService;
+import com.example.gestioncommerciale.service.instrumentation.QueryBudget;
+import com.example.gestioncommerciale.service.instrumentation.SqlActivity;
+import com.example.gestioncommerciale.service.instrumentation.SqlRequestFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_sql_instrumentation;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import(SqlInstrumentationIntegrationTest.BudgetProbeController.class)
+@ExtendWith(OutputCaptureExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlInstrumentationIntegrationTest {
+
+    private static final int CUSTOMERS = 20;
+    private static final int CONTACTS_PER_CUSTOMER = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SqlInstrumentationProperties properties;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void createData() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("""
+                INSERT INTO categories (code, name, active, sort_order, created_at, updated_at)
+                SELECT 'SQLI-CAT-' || X, 'Rayon ' || X, TRUE, X, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, 4)
+                """);
+            jdbcTemplate.update("""
+                INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+                SELECT id, id, 0 FROM categories WHERE code LIKE 'SQLI-CAT-%'
+                """);
+            jdbcTemplate.update("""
+                INSERT INTO products (code, name, active, type, status, unit_price, cost_price, vat_rate,
+                                      stock_managed, stock_quantity, min_stock_level, max_stock_level, unit, category_id,
+                                      created_at, updated_at)
+                SELECT 'SQLI-PRD-' || X, 'Article ' || X, TRUE, 'PRODUCT', 'AVAILABLE', 10.00, 5.00, 20.00,
+                       FALSE, 0, 0, 0, 'pce', (SELECT MIN(id) FROM categories WHERE code LIKE 'SQLI-CAT-%') + MOD(X, 4),
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, 30)
+                """);
+            jdbcTemplate.update("""
+                INSERT INTO customers (code, company_name, payment_term_days, status, type, created_at, updated_at)
+                SELECT 'SQLI-' || X, 'Société ' || X, 30, 'ACTIVE', 'COMPANY', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, ?)
+                """, CUSTOMERS);
+            jdbcTemplate.update("""
+                INSERT INTO contacts (code, type, status, civility, first_name, last_name, email_opt_in, sms_opt_in,
+                                      phone_opt_in, preferred_language, preferred_contact, customer_id, priority,
+                                      is_primary, is_decision_maker, is_influencer, next_contact_date,
+                                      created_at, updated_at)
+                SELECT 'SQLI-CNT-' || c.id || '-' || r.X, 'CONTACT', 'ACTIVE', 'MR', 'Prénom' || r.X, 'Nom' || c.id,
+                       TRUE, TRUE, TRUE, 'FRENCH', 'EMAIL', c.id, 'NORMAL', r.X = 1, FALSE, FALSE,
+                       DATEADD('DAY', -1, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM customers c CROSS JOIN SYSTEM_RANGE(1, ?) r
+                WHERE c.code LIKE 'SQLI-%'
+                """, CONTACTS_PER_CUSTOMER);
+        });
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Doit rendre visible la tempête N+1 de la liste des contacts dans l'en-tête et les métriques de la route")
+    void shouldExposeContactListStorm() throws Exception {
+        // Given : une page de contacts de CUSTOMERS clients distincts, client chargé paresseusement par le mapper
+        int pageSize = CUSTOMERS * CONTACTS_PER_CUSTOMER;
+
+        // When
+        long contactList = queryCount("/api/contacts?size=" + pageSize);
+        long followUps = queryCount("/api/contacts/follow-ups?size=" + pageSize);
+
+        // Then : une requête par client pour la liste, une seule avec le client chargé en jointure
+        assertThat(contactList).isGreaterThanOrEqualTo(CUSTOMERS);
+        assertThat(followUps).isEqualTo(1);
+
+        DistributionSummary statements = meterRegistry.get("app.sql.request.statements")
+            .tags("uri", "/api/contacts", "method", "GET").summary();
+        assertThat(statements.count()).isGreaterThanOrEqualTo(1);
+        assertThat(statements.max()).isEqualTo(contactList);
+        assertThat(meterRegistry.get("app.sql.request.rows").tags("uri", "/api/contacts").summary().max())
+            .isGreaterThanOrEqualTo(pageSize);
+        assertThat(meterRegistry.get("app.sql.request.jdbc").tags("uri", "/api/contacts").timer()
+            .totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Doit respecter les budgets déclarés de la liste des catégories et des relances")
+    void shouldStayWithinDeclaredBudgets() throws Exception {
+        // Given : budgets appliqués (profil de test), dépassement = réponse en erreur
+        assertThat(properties.isEnforceBudgets()).isTrue();
+
+        // When / Then : arbre des catégories reconstruit à froid compris (deux requêtes, une fois par modification)
+        Map<String, Integer> budgets = Map.of(
+            "/api/categories?size=50", 4,
+            "/api/contacts/follow-ups?size=50", 1);
+        for (Map.Entry<String, Integer> budget : budgets.entrySet()) {
+            assertThat(queryCount(budget.getKey())).as(budget.getKey()).isLessThanOrEqualTo(budget.getValue());
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Doit faire échouer le point d'entrée qui dépasse son budget et compter le dépassement")
+    void shouldFailWhenBudgetExceeded(CapturedOutput output) throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/test/sql-budget")).andReturn();
+
+        // Then : la troisième requête SQL est refusée avant exécution, mais comptée
+        assertThat(result.getResponse().getStatus()).isEqualTo(500);
+        assertThat(result.getResponse().getContentAsString()).contains("Budget de 2 requête(s) SQL dépassé");
+        assertThat(result.getResponse().getHeader(SqlRequestFilter.QUERY_COUNT_HEADER)).isEqualTo("3");
+        assertThat(meterRegistry.get("app.sql.request.budget.exceeded").tags("uri", "/test/sql-budget")
+            .counter().count()).isEqualTo(1);
+        assertThat(output).contains("GET /test/sql-budget (/test/sql-budget)", "3 requ", "budget de 2");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Doit journaliser une requête lente avec le détail des requêtes SQL répétées")
+    void shouldLogSlowRequestBreakdown(CapturedOutput output) throws Exception {
+        // Given : seuil abaissé sous le nombre de requêtes de la liste des contacts
+        int threshold = properties.getSlowRequestStatements();
+        properties.setSlowRequestStatements(CUSTOMERS);
+        try {
+            // When
+            queryCount("/api/contacts?size=" + CUSTOMERS * CONTACTS_PER_CUSTOMER);
+        } finally {
+            properties.setSlowRequestStatements(threshold);
+        }
+
+        // Then : la requête de chargement du client apparaît une fois par client
+        assertThat(output).contains("GET /api/contacts (/api/contacts) : ");
+        assertThat(output.getOut().lines()
+            .filter(line -> line.contains(" x ") && line.contains("from customers"))
+            .anyMatch(line -> line.trim().startsWith(String.valueOf(CUSTOMERS))))
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("Doit mesurer chaque méthode de service, hors requête HTTP comprise")
+    void shouldMeasureServiceMethods() {
+        // When
+        contactService.findContactsDueForFollowup(10);
+
+        // Then
+        DistributionSummary statements = meterRegistry.get("app.sql.service.statements")
+            .tags("service", "ContactService", "method", "findContactsDueForFollowup").summary();
+        assertThat(statements.count()).isGreaterThanOrEqualTo(1);
+        assertThat(statements.max()).isEqualTo(1);
+        Timer jdbc = meterRegistry.get("app.sql.service.jdbc")
+            .tags("service", "ContactService", "method", "findContactsDueForFollowup").timer();
+        assertThat(jdbc.count()).isGreaterThanOrEqualTo(1);
+        assertThat(SqlActivity.current()).isNull();
+    }
+
+    private long queryCount(String uri) throws Exception {
+        MvcResult result = mockMvc.perform(get(uri)).andReturn();
+        assertThat(result.getResponse().getStatus()).as(uri).isEqualTo(200);
+        String header = result.getResponse().getHeader(SqlRequestFilter.QUERY_COUNT_HEADER);
+        assertThat(header).as(uri).isNotNull();
+        return Long.parseLong(header);
+    }
+
+    /**
+     * Point d'entrée de test : trois requêtes SQL pour un budget de deux
+     */
+    @RestController
+    static class BudgetProbeController {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        BudgetProbeController(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @GetMapping("/test/sql-budget")
+        @QueryBudget(2)
+        Map<String, Long> probe() {
+            long customers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Long.class);
+            long contacts = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM contacts", Long.class);
+            long products = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class);
+            return Map.of("customers", customers, "contacts", contacts, "products", products);
+        }
+    }
+}
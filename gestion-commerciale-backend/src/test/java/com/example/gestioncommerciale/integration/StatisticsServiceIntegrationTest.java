@@ -0,0 +1,126 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/StatisticsServiceIntegrationTest.java
+ * @description Compteurs de tableau de bord : requête agrégée unique, cache et invalidation sur écriture
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.service.StatisticsService;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_statistics;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.statistics.ttl=10m"
+})
+@ActiveProfiles("test")
+class StatisticsServiceIntegrationTest {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Doit calculer les compteurs produits en une requête, les servir depuis le cache puis les invalider à l'écriture")
+    void shouldAggregateCacheAndInvalidateProductCounters() {
+        // Given
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Statistiques");
+        Long categoryId = categoryService.create(category).getId();
+
+        productService.create(newProduct("Actif en stock", categoryId, true, 50, 10));
+        productService.create(newProduct("Actif stock bas", categoryId, true, 5, 10));
+        productService.create(newProduct("Actif en rupture", categoryId, true, 0, 10));
+        productService.create(newProduct("Inactif sans stock géré", categoryId, false, 0, 0));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        StatisticsService.ProductStats cold = statisticsService.productStats();
+        long coldStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        StatisticsService.ProductStats warm = statisticsService.productStats();
+        long warmStatements = statistics.getPrepareStatementCount();
+
+        productService.create(newProduct("Nouveau en rupture", categoryId, true, 0, 1));
+        StatisticsService.ProductStats afterWrite = statisticsService.productStats();
+
+        // Then
+        assertThat(coldStatements).isEqualTo(1);
+        assertThat(warmStatements).isZero();
+        assertThat(cold).isEqualTo(new StatisticsService.ProductStats(4, 3, 2, 1));
+        assertThat(warm).isEqualTo(cold);
+        assertThat(afterWrite).isEqualTo(new StatisticsService.ProductStats(5, 4, 3, 2));
+        assertThat(statisticsService.homeStats().products()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Doit compter les factures par statut et les reporter sur la page d'accueil")
+    void shouldAggregateInvoiceCounters() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> {
+            insertInvoice("FAC-STAT-1", "ISSUED");
+            insertInvoice("FAC-STAT-2", "ISSUED");
+            insertInvoice("FAC-STAT-3", "PAID");
+        });
+        statisticsService.invalidate(StatisticsService.Module.INVOICES);
+
+        // When
+        StatisticsService.InvoiceStats stats = statisticsService.invoiceStats();
+
+        // Then
+        assertThat(stats).isEqualTo(new StatisticsService.InvoiceStats(3, 2, 1));
+        assertThat(statisticsService.homeStats().invoices()).isEqualTo(3);
+    }
+
+    private void insertInvoice(String code, String status) {
+        jdbcTemplate.update("""
+            INSERT INTO invoices (code, status_code, issue_date, currency_code, subtotal_ht, tax_amount, total_ttc,
+                                  created_at, updated_at)
+            VALUES (?, ?, CURRENT_DATE, 'EUR', 100.00, 20.00, 120.00, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """, code, status);
+    }
+
+    private ProductDTO newProduct(String name, Long categoryId, boolean active, int stock, int minStock) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setCategoryId(categoryId);
+        product.setUnitPrice(BigDecimal.TEN);
+        product.setActive(active);
+        product.setStockManaged(active);
+        product.setStockQuantity(stock);
+        product.setMinStockLevel(minStock);
+        return product;
+    }
+}
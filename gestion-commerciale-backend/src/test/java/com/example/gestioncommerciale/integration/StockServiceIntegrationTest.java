@@ -0,0 +1,236 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/StockServiceIntegrationTest.java
+ * @description Stock : réservations concurrentes sans survente, cycle de vie des réservations, journal et compactage
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.dto.catalog.CategoryDTO;
+import com.example.gestioncommerciale.dto.catalog.ProductDTO;
+import com.example.gestioncommerciale.model.stock.StockMovement;
+import com.example.gestioncommerciale.model.stock.StockReservation;
+import com.example.gestioncommerciale.repository.stock.StockMovementRepository;
+import com.example.gestioncommerciale.service.catalog.CategoryService;
+import com.example.gestioncommerciale.service.catalog.ProductService;
+import com.example.gestioncommerciale.service.stock.InsufficientStockException;
+import com.example.gestioncommerciale.service.stock.StockLedgerCompactor;
+import com.example.gestioncommerciale.service.stock.StockService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:gc_stock;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "app.stock.compaction-interval=0"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class StockServiceIntegrationTest {
+
+    private static final int THREADS = 100;
+    private static final int ATTEMPTS_PER_THREAD = 30;
+    private static final int INITIAL_STOCK = 2_000;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockLedgerCompactor stockLedgerCompactor;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    private Long categoryId;
+
+    @BeforeAll
+    void createCategory() {
+        CategoryDTO category = new CategoryDTO();
+        category.setName("Stock");
+        categoryId = categoryService.create(category).getId();
+    }
+
+    @Test
+    @DisplayName("Doit servir 100 fils réservant le même produit sans survente ni perte de mise à jour")
+    void shouldNeverOversellUnderContention() throws Exception {
+        // Given
+        Long productId = productService.create(newProduct("Très demandé", true, INITIAL_STOCK)).getId();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < THREADS; t++) {
+            String reference = "CMD-" + t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        stockService.reserve(productId, 1, reference);
+                        reserved.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        refused.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        pool.shutdown();
+
+        // Then
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        log.info("Contention : {} fils, {} tentatives en {} ms ({} réservations/s), {} servies, {} refusées",
+            THREADS, attempts, elapsedMillis, attempts * 1000L / Math.max(elapsedMillis, 1), reserved.get(), refused.get());
+
+        assertThat(reserved.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(refused.get()).isEqualTo(attempts - INITIAL_STOCK);
+        assertThat(productService.getById(productId).getStockQuantity()).isZero();
+        assertThat(stockMovementRepository.sumQuantityByProductId(productId)).isZero();
+        assertThat(stockMovementRepository.countByProductId(productId)).isEqualTo(INITIAL_STOCK + 1);
+        assertThat(stockService.projectionDrift()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit libérer ou consommer une réservation une seule fois et refuser les demandes non couvertes")
+    void shouldReleaseOrCommitReservationsOnce() {
+        // Given
+        Long productId = productService.create(newProduct("Cycle de vie", true, 10)).getId();
+        Long serviceId = productService.create(newProduct("Prestation", false, 0)).getId();
+
+        // When
+        StockReservation released = stockService.reserve(productId, 4, "CMD-A");
+        StockReservation committed = stockService.reserve(productId, 5, "CMD-B");
+        stockService.release(released.getId());
+        stockService.commit(committed.getId());
+
+        // Then
+        assertThat(productService.getById(productId).getStockQuantity()).isEqualTo(5);
+        assertThatThrownBy(() -> stockService.release(released.getId()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("RELEASED");
+        assertThatThrownBy(() -> stockService.release(committed.getId()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("COMMITTED");
+        assertThatThrownBy(() -> stockService.reserve(productId, 6, "CMD-C"))
+            .isInstanceOfSatisfying(InsufficientStockException.class, e -> assertThat(e.getAvailable()).isEqualTo(5));
+        assertThatThrownBy(() -> stockService.reserve(serviceId, 1, "CMD-D"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> stockService.commit(-1L))
+            .hasMessageContaining("Réservation non trouvée");
+
+        assertThat(stockService.movements(productId, PageRequest.of(0, 10)).getContent())
+            .extracting(StockMovement::getType, StockMovement::getQuantity)
+            .containsExactly(
+                tuple(StockMovement.MovementType.COMMIT, 0),
+                tuple(StockMovement.MovementType.RELEASE, 4),
+                tuple(StockMovement.MovementType.RESERVATION, -5),
+                tuple(StockMovement.MovementType.RESERVATION, -4),
+                tuple(StockMovement.MovementType.ADJUSTMENT, 10)
+            );
+    }
+
+    @Test
+    @DisplayName("Doit journaliser l'inventaire et ignorer le stock d'un formulaire produit périmé")
+    void shouldAdjustThroughLedgerAndIgnoreStaleProductForms() {
+        // Given
+        ProductDTO form = productService.create(newProduct("Inventorié", true, 20));
+        stockService.reserve(form.getId(), 3, "CMD-E");
+
+        // When
+        form.setName("Inventorié (renommé)");
+        form.setStockQuantity(20);
+        productService.update(form.getId(), form);
+        int afterStaleForm = productService.getById(form.getId()).getStockQuantity();
+        ProductDTO counted = productService.updateStock(form.getId(), 12);
+
+        // Then
+        assertThat(afterStaleForm).isEqualTo(17);
+        assertThat(counted.getStockQuantity()).isEqualTo(12);
+        assertThat(counted.getName()).isEqualTo("Inventorié (renommé)");
+        assertThat(stockService.movements(form.getId(), PageRequest.of(0, 1)).getContent().get(0))
+            .satisfies(movement -> {
+                assertThat(movement.getType()).isEqualTo(StockMovement.MovementType.ADJUSTMENT);
+                assertThat(movement.getQuantity()).isEqualTo(-5);
+                assertThat(movement.getReference()).isEqualTo("Inventaire");
+            });
+        assertThat(stockService.projectionDrift()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Doit fusionner les mouvements anciens en un instantané sans changer la somme du journal")
+    void shouldCompactOldMovementsIntoSnapshots() {
+        // Given
+        Long productId = productService.create(newProduct("Compacté", true, 50)).getId();
+        for (int i = 0; i < 10; i++) {
+            StockReservation reservation = stockService.reserve(productId, 2, "CMD-F" + i);
+            if (i % 2 == 0) {
+                stockService.release(reservation.getId());
+            } else {
+                stockService.commit(reservation.getId());
+            }
+        }
+        long movementsBefore = stockMovementRepository.countByProductId(productId);
+
+        // When
+        StockLedgerCompactor.CompactionResult result = stockLedgerCompactor.compact(LocalDateTime.now().plusMinutes(1));
+        StockLedgerCompactor.CompactionResult again = stockLedgerCompactor.compact(LocalDateTime.now().plusMinutes(1));
+        stockService.reserve(productId, 1, "CMD-G");
+
+        // Then
+        assertThat(movementsBefore).isEqualTo(21);
+        assertThat(result.products()).isPositive();
+        assertThat(result.removed()).isGreaterThanOrEqualTo(20);
+        assertThat(again.products()).isZero();
+        assertThat(stockService.movements(productId, PageRequest.of(0, 10)).getContent())
+            .extracting(StockMovement::getType, StockMovement::getQuantity)
+            .containsExactly(
+                tuple(StockMovement.MovementType.RESERVATION, -1),
+                tuple(StockMovement.MovementType.SNAPSHOT, 40)
+            );
+        assertThat(productService.getById(productId).getStockQuantity()).isEqualTo(39);
+        assertThat(stockService.projectionDrift()).isEmpty();
+    }
+
+    private ProductDTO newProduct(String name, boolean stockManaged, int stock) {
+        ProductDTO product = new ProductDTO();
+        product.setName(name);
+        product.setCategoryId(categoryId);
+        product.setUnitPrice(BigDecimal.TEN);
+        product.setStockManaged(stockManaged);
+        product.setStockQuantity(stock);
+        return product;
+    }
+}
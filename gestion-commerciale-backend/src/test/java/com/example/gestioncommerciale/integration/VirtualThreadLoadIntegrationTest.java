@@ -0,0 +1,104 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/VirtualThreadLoadIntegrationTest.java
+ * @description Charge de 2 000 utilisateurs sur la liste des contacts : latence p99 en threads de plateforme puis virtuels
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.DemoApplication;
+import com.example.gestioncommerciale.service.VirtualThreadPinningDetector;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Lancement à la demande : {@code mvn test -Dtest=VirtualThreadLoadIntegrationTest -Dloadtest=true}
+ * (options -Dloadtest.users, -Dloadtest.requests) ; le mode virtuel exige une JVM 21+
+ * <p>
+ * Comparaison non effectuée à ce jour : aucun chiffre p99 à 2 000 utilisateurs n'a été mesuré, ni en threads
+ * de plateforme ni en threads virtuels. Seul un essai en threads de plateforme (JDK 17, 1 CPU, 20 utilisateurs)
+ * a tourné ; sur JDK 17 le mode virtuel est ignoré (assumption). Le gain du profil virtual-threads reste à mesurer
+ * sur un hôte JDK 21+.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@Slf4j
+class VirtualThreadLoadIntegrationTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 2_000);
+    private static final int REQUESTS_PER_USER = Integer.getInteger("loadtest.requests", 5);
+    private static final int CUSTOMERS = 200;
+
+    @Test
+    @DisplayName("Doit servir 2 000 utilisateurs simultanés sans erreur et comparer la latence p99 des deux modes")
+    void shouldCompareP99BetweenPlatformAndVirtualThreads() {
+        // Given / When
+        LoadDriver.Result platform = runContactListLoad(false);
+        log.info("Threads de plateforme, {} utilisateurs : {}", USERS, platform);
+        assertThat(platform.errors()).isZero();
+        assumeTrue(Runtime.version().feature() >= 21,
+            "Threads virtuels indisponibles avant Java 21 : comparaison p99 non effectuée");
+        LoadDriver.Result virtual = runContactListLoad(true);
+
+        // Then
+        log.info("Threads virtuels, {} utilisateurs : {}", USERS, virtual);
+        log.info("p99 : plateforme {} ms, virtuels {} ms", platform.p99Micros() / 1_000, virtual.p99Micros() / 1_000);
+        assertThat(virtual.errors()).isZero();
+        assertThat(virtual.requests()).isEqualTo(USERS * REQUESTS_PER_USER);
+    }
+
+    private LoadDriver.Result runContactListLoad(boolean virtualThreads) {
+        String mode = virtualThreads ? "virtual" : "platform";
+        // Arguments de ligne de commande : prioritaires sur application.yml (profil dev par défaut)
+        String[] arguments = {
+            "--spring.profiles.active=" + (virtualThreads ? "test,virtual-threads" : "test"),
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:gc_load_" + mode + ";MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.com.example.gestioncommerciale=INFO",
+            "--logging.level.org.springframework.security=INFO"
+        };
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class).run(arguments)) {
+            seed(context);
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            LoadDriver.Result result = LoadDriver.run(URI.create("http://localhost:" + port + "/api/contacts?size=50&search=Nom1"),
+                LoadDriver.basicAuth("admin", "admin123"), USERS, REQUESTS_PER_USER);
+            if (virtualThreads) {
+                context.getBeanProvider(VirtualThreadPinningDetector.class).ifAvailable(detector ->
+                    detector.sites().forEach(site -> log.info("Épinglage {} : {} fois, max {}",
+                        site.site(), site.count(), site.maxDuration())));
+            }
+            return result;
+        }
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        context.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            jdbcTemplate.update("""
+                INSERT INTO customers (code, company_name, email, payment_term_days, status, type, created_at, updated_at)
+                SELECT 'CLI-' || LPAD(X, 4, '0'), 'Société ' || X, 'client' || X || '@example.com', 30,
+                       'ACTIVE', 'COMPANY', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, ?)
+                """, CUSTOMERS);
+            jdbcTemplate.update("""
+                INSERT INTO contacts (code, type, status, civility, first_name, last_name, email, email_opt_in,
+                                      sms_opt_in, phone_opt_in, preferred_language, preferred_contact, customer_id,
+                                      priority, is_primary, is_decision_maker, is_influencer, created_at, updated_at)
+                SELECT 'CNT-' || LPAD(c.id * 10 + r.X, 6, '0'), 'CONTACT', 'ACTIVE', 'MRS', 'Prénom' || r.X, 'Nom' || c.id,
+                       'contact' || c.id || '-' || r.X || '@example.com', TRUE, TRUE, TRUE, 'FRENCH', 'EMAIL', c.id,
+                       'NORMAL', r.X = 1, FALSE, FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM customers c CROSS JOIN SYSTEM_RANGE(1, 5) r
+                """);
+        });
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/integration/WorkloadLoadIntegrationTest.java
+ * @description Charge de production reproduite en local : base H2 (mode MySQL) aux volumes configurables, mélange de scénarios, percentiles par endpoint
+ */
+package com.example.gestioncommerciale.integration;
+
+import com.example.gestioncommerciale.DemoApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Deux démarrages sur la même base en mémoire : le premier crée le schéma et charge les volumes en SQL,
+ * le second démarre comme en production (index de recherche et caches construits sur la base pleine)
+ * puis reçoit la charge.
+ * <p>
+ * Lancement : {@code mvn -Pload-test test} ; volumes {@code -Dloadtest.products}, {@code -Dloadtest.customers},
+ * {@code -Dloadtest.contacts}, charge {@code -Dloadtest.users}, {@code -Dloadtest.requests}, {@code -Dloadtest.seed}
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@Slf4j
+class WorkloadLoadIntegrationTest {
+
+    private static final int PRODUCTS = Integer.getInteger("loadtest.products", 1_000_000);
+    private static final int CUSTOMERS = Integer.getInteger("loadtest.customers", 100_000);
+    private static final int CONTACTS = Integer.getInteger("loadtest.contacts", 500_000);
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final int REQUESTS_PER_USER = Integer.getInteger("loadtest.requests", 40);
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+
+    private static final int ROOT_CATEGORIES = 10;
+    private static final int CHILD_CATEGORIES = 10;
+    private static final int INSERT_CHUNK = 100_000;
+    // Attente de verrou alignée sur innodb_lock_wait_timeout (50 s) plutôt que sur les 10 s de H2
+    private static final String DATABASE_URL =
+        "jdbc:h2:mem:gc_workload;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=50000";
+    private static final String[] PRODUCT_WORDS = {
+        "Vis", "Écrou", "Perceuse", "Cheville", "Tournevis", "Marteau", "Câble", "Ampoule", "Peinture", "Rouleau"
+    };
+
+    @Test
+    @DisplayName("Doit tenir le mélange de scénarios sur les volumes de production sans erreur et rapporter les percentiles par endpoint")
+    void shouldServeProductionWorkload() {
+        // Given
+        long seedingStartedAt = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("create", true)) {
+            seed(context);
+        }
+        log.info("Jeu de données : {} produits, {} clients, {} contacts chargés en {} s",
+            PRODUCTS, CUSTOMERS, CONTACTS, Duration.ofNanos(System.nanoTime() - seedingStartedAt).toSeconds());
+
+        LoadDriver.Report report;
+        try (ConfigurableApplicationContext context = start("none", false)) {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            long firstProductId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM products", Long.class);
+            long firstCustomerId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM customers", Long.class);
+            List<Long> rootCategoryIds = jdbcTemplate.queryForList(
+                "SELECT id FROM categories WHERE parent_id IS NULL ORDER BY id", Long.class);
+
+            // When
+            report = LoadDriver.run(
+                scenarios(URI.create("http://localhost:" + port), firstProductId, firstCustomerId, rootCategoryIds),
+                USERS, REQUESTS_PER_USER, SEED);
+        }
+
+        // Then
+        log.info("{} utilisateurs, {} requêtes chacun :\n{}", USERS, REQUESTS_PER_USER, report);
+        assertThat(report.total().errors()).isZero();
+        assertThat(report.total().requests()).isEqualTo(USERS * REQUESTS_PER_USER);
+        assertThat(report.scenarios().values()).allMatch(result -> result.requests() > 0);
+    }
+
+    /**
+     * Mélange pondéré : recherche filtrée, rafraîchissement HTMX d'une ligne, relances, contacts d'un client, création
+     */
+    private static List<LoadDriver.Scenario> scenarios(URI base, long firstProductId, long firstCustomerId,
+                                                       List<Long> rootCategoryIds) {
+        String authorization = LoadDriver.basicAuth("admin", "admin123");
+        AtomicInteger createdCustomers = new AtomicInteger();
+        return List.of(
+            new LoadDriver.Scenario("recherche produits", 35, random -> get(base, authorization,
+                "/api/products?size=50&active=true&search="
+                    + URLEncoder.encode(PRODUCT_WORDS[random.nextInt(PRODUCT_WORDS.length)], StandardCharsets.UTF_8)
+                    + "&categoryId=" + rootCategoryIds.get(random.nextInt(rootCategoryIds.size())))
+                .build()),
+            new LoadDriver.Scenario("ligne produit HTMX", 25, random -> get(base, authorization,
+                "/catalog/products/_row/" + (firstProductId + random.nextInt(PRODUCTS)))
+                .header("HX-Request", "true")
+                .build()),
+            new LoadDriver.Scenario("relances contacts", 15, random -> get(base, authorization,
+                "/api/contacts/follow-ups?size=50")
+                .build()),
+            new LoadDriver.Scenario("contacts d'un client", 15, random -> get(base, authorization,
+                "/api/contacts?size=50&customerId=" + (firstCustomerId + random.nextInt(CUSTOMERS)))
+                .build()),
+            new LoadDriver.Scenario("création client", 10, random -> {
+                int number = createdCustomers.incrementAndGet();
+                return HttpRequest.newBuilder(base.resolve("/api/customers"))
+                    .header("Authorization", authorization)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(customerJson(number, random)))
+                    .build();
+            })
+        );
+    }
+
+    private static HttpRequest.Builder get(URI base, String authorization, String pathAndQuery) {
+        return HttpRequest.newBuilder(base.resolve(pathAndQuery))
+            .header("Authorization", authorization)
+            .GET();
+    }
+
+    private static String customerJson(int number, SplittableRandom random) {
+        return """
+            {"companyName": "Nouvelle société %1$d", "email": "nouveau%1$d@example.com", "paymentTermDays": 30,
+             "addresses": [
+               {"type": "BILLING", "street1": "%2$d rue de la Paix", "zipCode": "%3$05d", "city": "Paris",
+                "countryCode": "FR", "isDefault": true},
+               {"type": "SHIPPING", "street1": "%4$d avenue des Entrepôts", "zipCode": "%5$05d", "city": "Lyon",
+                "countryCode": "FR"}
+             ]}
+            """.formatted(number, 1 + random.nextInt(200), 75_001 + random.nextInt(20),
+            1 + random.nextInt(200), 69_001 + random.nextInt(9));
+    }
+
+    private static ConfigurableApplicationContext start(String ddlAuto, boolean seeding) {
+        // Arguments de ligne de commande : prioritaires sur application.yml (profil dev par défaut)
+        return new SpringApplicationBuilder(DemoApplication.class).run(
+            "--spring.profiles.active=test",
+            "--spring.main.web-application-type=" + (seeding ? "none" : "servlet"),
+            "--server.port=0",
+            "--spring.datasource.url=" + DATABASE_URL,
+            "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+            "--spring.jpa.show-sql=false",
+            "--logging.level.com.example.gestioncommerciale=INFO",
+            "--logging.level.org.springframework.security=INFO"
+        );
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("""
+                INSERT INTO categories (code, name, active, sort_order, created_at, updated_at)
+                SELECT 'RAY-' || X, 'Rayon ' || X, TRUE, X, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, ?)
+                """, ROOT_CATEGORIES);
+            jdbcTemplate.update("""
+                INSERT INTO categories (code, name, active, sort_order, parent_id, created_at, updated_at)
+                SELECT 'FAM-' || p.id || '-' || r.X, 'Famille ' || p.id || '.' || r.X, TRUE, r.X, p.id,
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM categories p CROSS JOIN SYSTEM_RANGE(1, ?) r
+                WHERE p.parent_id IS NULL
+                """, CHILD_CATEGORIES);
+            jdbcTemplate.update("INSERT INTO category_closure (ancestor_id, descendant_id, depth) SELECT id, id, 0 FROM categories");
+            jdbcTemplate.update("""
+                INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+                SELECT parent_id, id, 1 FROM categories WHERE parent_id IS NOT NULL
+                """);
+        });
+        long firstLeafId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM categories WHERE parent_id IS NOT NULL", Long.class);
+
+        // Tranches d'une transaction chacune : journal de transaction H2 borné
+        for (int from = 1; from <= PRODUCTS; from += INSERT_CHUNK) {
+            int to = Math.min(from + INSERT_CHUNK - 1, PRODUCTS);
+            int chunkFrom = from;
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("""
+                INSERT INTO products (code, name, description, active, type, status, reference, sku, unit_price,
+                                      cost_price, vat_rate, stock_managed, stock_quantity, min_stock_level,
+                                      max_stock_level, unit, category_id, created_at, updated_at)
+                SELECT 'PRD-' || LPAD(X, 7, '0'),
+                       ARRAY['Vis', 'Écrou', 'Perceuse', 'Cheville', 'Tournevis', 'Marteau', 'Câble', 'Ampoule',
+                             'Peinture', 'Rouleau'][MOD(X, 10) + 1] || ' modèle ' || X,
+                       'Article de quincaillerie ' || X, MOD(X, 20) <> 0, 'PRODUCT', 'AVAILABLE', 'REF-' || X,
+                       'SKU-' || X, 1 + MOD(X, 5000) / 10.0, 0.5 + MOD(X, 5000) / 20.0, 20.00, MOD(X, 2) = 0,
+                       MOD(X, 300), 10, 500, 'pce', ? + MOD(X / 10, ?), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(?, ?)
+                """, firstLeafId, ROOT_CATEGORIES * CHILD_CATEGORIES, chunkFrom, to));
+        }
+        for (int from = 1; from <= CUSTOMERS; from += INSERT_CHUNK) {
+            int to = Math.min(from + INSERT_CHUNK - 1, CUSTOMERS);
+            int chunkFrom = from;
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("""
+                INSERT INTO customers (code, company_name, email, payment_term_days, status, type, created_at, updated_at)
+                SELECT 'CLI-' || LPAD(X, 7, '0'), 'Société ' || X, 'client' || X || '@example.com', 30,
+                       CASE WHEN MOD(X, 10) = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END, 'COMPANY',
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(?, ?)
+                """, chunkFrom, to));
+        }
+        long firstCustomerId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM customers", Long.class);
+        for (int from = 1; from <= CONTACTS; from += INSERT_CHUNK) {
+            int to = Math.min(from + INSERT_CHUNK - 1, CONTACTS);
+            int chunkFrom = from;
+            // Une relance sur deux programmée entre J-30 et J+29 : environ un quart des contacts en retard
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("""
+                INSERT INTO contacts (code, type, status, civility, first_name, last_name, email, email_opt_in,
+                                      sms_opt_in, phone_opt_in, preferred_language, preferred_contact, customer_id,
+                                      priority, is_primary, is_decision_maker, is_influencer, last_contact_date,
+                                      next_contact_date, created_at, updated_at)
+                SELECT 'CNT-' || LPAD(X, 7, '0'), 'CONTACT', 'ACTIVE', 'MRS', 'Prénom' || MOD(X, 1000),
+                       'Nom' || X, 'contact' || X || '@example.com', TRUE, TRUE, TRUE, 'FRENCH', 'EMAIL',
+                       ? + MOD(X, ?), 'NORMAL', X <= ?, FALSE, FALSE,
+                       DATEADD('DAY', -MOD(X, 90), CURRENT_TIMESTAMP),
+                       CASE WHEN MOD(X, 2) = 0 THEN DATEADD('DAY', MOD(X / 2, 60) - 30, CURRENT_TIMESTAMP) END,
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(?, ?)
+                """, firstCustomerId, CUSTOMERS, CUSTOMERS, chunkFrom, to));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/service/catalog/ProductFullTextQueryTest.java
+ * @description Traduction de la saisie en requête BOOLEAN MODE et en motif de préfixe (moteur FULLTEXT)
+ */
+package com.example.gestioncommerciale.service.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ProductFullTextQueryTest {
+
+    @Test
+    @DisplayName("Doit rendre chaque mot requis et en préfixe")
+    void shouldRequireEveryTokenAsPrefix() {
+        assertThat(ProductService.toBooleanModeQuery("perceuse  sans fil", 3)).isEqualTo("+perceuse* +sans* +fil*");
+        assertThat(ProductService.toBooleanModeQuery("  visserie ", 3)).isEqualTo("+visserie*");
+    }
+
+    @Test
+    @DisplayName("Doit retirer les opérateurs BOOLEAN MODE de la saisie")
+    void shouldStripBooleanOperators() {
+        assertThat(ProductService.toBooleanModeQuery("-câble +(rouge) \"usb\"* ~fi@xe <a>", 3))
+            .isEqualTo("+câble* +rouge* +usb* +fixe*");
+    }
+
+    @Test
+    @DisplayName("Doit ignorer les mots sous la longueur indexée et signaler une saisie sans mot indexable")
+    void shouldSkipShortTokens() {
+        assertThat(ProductService.toBooleanModeQuery("vis de 6 mm", 3)).isEqualTo("+vis*");
+        assertThat(ProductService.toBooleanModeQuery("de 6 mm", 3)).isNull();
+        assertThat(ProductService.toBooleanModeQuery("de 6 mm", 2)).isEqualTo("+de* +mm*");
+        assertThat(ProductService.toBooleanModeQuery("--", 1)).isNull();
+    }
+
+    @Test
+    @DisplayName("Doit échapper les jokers LIKE du motif de préfixe")
+    void shouldEscapePrefixPattern() {
+        assertThat(ProductService.toPrefixPattern(" PRD-00 ")).isEqualTo("PRD-00%");
+        assertThat(ProductService.toPrefixPattern("50%_off\\x")).isEqualTo("50\\%\\_off\\\\x%");
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * @path src/test/java/com/example/gestioncommerciale/service/search/RebuildableIndexTest.java
+ * @description Reconstruction d'index : ancien index servi pendant le chargement, modifications rejouées, substitution d'un bloc
+ */
+package com.example.gestioncommerciale.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RebuildableIndexTest {
+
+    @Test
+    @DisplayName("Doit servir l'ancien index pendant le chargement puis rejouer les modifications reçues")
+    void shouldReplayChangesReceivedDuringRebuild() {
+        // Given
+        RebuildableIndex<String> index = new RebuildableIndex<>("test");
+        index.rebuild(target -> {
+            target.put(1L, "a", "perceuse", "Perceuse");
+            target.put(2L, "a", "scie", "Scie sauteuse");
+        });
+        InvertedIndex<String> previous = index.current();
+
+        // When : chargement qui lit l'ancienne version du 1, pendant que le 1 est renommé et le 2 supprimé
+        index.rebuild(target -> {
+            target.put(1L, "a", "perceuse", "Perceuse");
+            target.put(2L, "a", "scie", "Scie sauteuse");
+            index.apply(live -> live.put(1L, "a", "visseuse", "Visseuse"));
+            index.apply(live -> live.remove(2L));
+            target.put(3L, "a", "marteau", "Marteau");
+
+            // Pendant le chargement : l'ancien index, complet et à jour, reste servi
+            assertThat(index.current()).isSameAs(previous);
+            assertThat(previous.search("visseuse", null, 0, 10).ids()).containsExactly(1L);
+            assertThat(previous.search("scie", null, 0, 10).ids()).isEmpty();
+        });
+
+        // Then
+        assertThat(index.current()).isNotSameAs(previous);
+        assertThat(index.current().isReady()).isTrue();
+        assertThat(index.current().search("visseuse", null, 0, 10).ids()).containsExactly(1L);
+        assertThat(index.current().search("perceuse", null, 0, 10).ids()).isEmpty();
+        assertThat(index.current().search("scie", null, 0, 10).ids()).isEmpty();
+        assertThat(index.current().search("marteau", null, 0, 10).ids()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Doit garder l'index servi si le chargement échoue et ne plus mémoriser de modifications")
+    void shouldKeepServedIndexWhenLoadFails() {
+        // Given
+        RebuildableIndex<String> index = new RebuildableIndex<>("test");
+        index.rebuild(target -> target.put(1L, "a", "perceuse", "Perceuse"));
+        InvertedIndex<String> served = index.current();
+
+        // When
+        assertThatThrownBy(() -> index.rebuild(target -> {
+            throw new IllegalStateException("base indisponible");
+        })).isInstanceOf(IllegalStateException.class);
+        index.apply(live -> live.put(2L, "a", "scie", "Scie"));
+
+        // Then
+        assertThat(index.current()).isSameAs(served);
+        assertThat(served.search("scie", null, 0, 10).ids()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Doit sérialiser les reconstructions concurrentes")
+    void shouldSerializeConcurrentRebuilds() throws Exception {
+        // Given
+        RebuildableIndex<String> index = new RebuildableIndex<>("test");
+        AtomicInteger loading = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        try {
+            Future<?>[] rebuilds = new Future<?>[8];
+            for (int i = 0; i < rebuilds.length; i++) {
+                long id = i;
+                rebuilds[i] = executor.submit(() -> {
+                    start.await();
+                    return index.rebuild(target -> {
+                        if (loading.incrementAndGet() > 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        target.put(id, "a", "outil", "Outil " + id);
+                        Thread.onSpinWait();
+                        loading.decrementAndGet();
+                    });
+                });
+            }
+            start.countDown();
+            for (Future<?> rebuild : rebuilds) {
+                rebuild.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then : un seul chargement à la fois, index final issu d'une seule reconstruction
+        assertThat(overlaps.get()).isZero();
+        assertThat(index.current().search("outil", null, 0, 10).ids()).hasSize(1);
+    }
+}